@@ -44,14 +44,32 @@ dependencies {
     annotationProcessor("org.projectlombok:lombok:1.18.30")
     
     // JUnit for testing
-    testImplementation(platform("org.junit:junit-bom:5.10.0"))
-    testImplementation("org.junit.jupiter:junit-jupiter-api:5.11.0")
-    testRuntimeOnly("org.junit.jupiter:junit-jupiter-engine:5.11.0")
+    testImplementation(platform("org.junit:junit-bom:5.11.0"))
+    testImplementation("org.junit.jupiter:junit-jupiter-api")
+    testRuntimeOnly("org.junit.jupiter:junit-jupiter-engine")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+// 向量化内核：src/vector/java 中依赖孵化模块 jdk.incubator.vector 的类单独编译，只有该源码集需要 --add-modules，
+// 其他源码集编译时不解析孵化模块；编译孵化模块必然产生的警告也只在该源码集中关闭。
+// 运行时需加 --add-modules jdk.incubator.vector，未加载该模块时 AbnormalFlagEvaluator 使用标量实现。
+val vectorSourceSet = sourceSets.create("vector")
+val vectorJvmArgs = listOf("--add-modules", "jdk.incubator.vector")
+
+tasks.named<JavaCompile>(vectorSourceSet.compileJavaTaskName) {
+    options.compilerArgs.addAll(vectorJvmArgs)
+    options.isWarnings = false
+}
+
+sourceSets.main {
+    compileClasspath += vectorSourceSet.output
+    runtimeClasspath += vectorSourceSet.output
 }
 
 // 配置应用程序主类
 application {
     mainClass.set("com.healthsys.HealthApp")
+    applicationDefaultJvmArgs = vectorJvmArgs
 }
 
 // 配置测试
@@ -64,6 +82,218 @@ tasks.jar {
     manifest {
         attributes["Main-Class"] = "com.healthsys.HealthApp"
     }
+    from(vectorSourceSet.output)
     from(configurations.runtimeClasspath.get().map { if (it.isDirectory) it else zipTree(it) })
     duplicatesStrategy = DuplicatesStrategy.EXCLUDE
-}
\ No newline at end of file
+}
+
+// AppCDS：用一次训练运行生成动态类数据共享归档，之后的启动直接映射归档中已解析的类，缩短冷启动时间。
+// 训练运行以探测模式启动 HealthApp：显示登录界面、完成后台初始化后离屏构建并绘制主界面的全部面板，然后退出。
+// 训练和对比默认需要图形环境；没有显示器时用 xvfb-run ./gradlew cdsArchive，
+// 或加 -PcdsHeadless 以 java.awt.headless=true 运行（登录界面也离屏构建，不创建窗口，
+// 归档不含窗口系统相关的类，测得的时间也不含窗口显示，只适合在无法提供显示器时使用）。
+// 归档只对生成它的同一个 JAR 有效，JAR 重新打包后需重新生成（任务会因输入变化自动重跑）。
+val cdsArchiveFile = layout.buildDirectory.file("cds/healthsys.jsa")
+val cdsJavaExecutable = javaToolchains.launcherFor(java.toolchain).map { it.executablePath.asFile.absolutePath }
+val appJarFile = tasks.jar.flatMap { it.archiveFile }
+val cdsProbeArgs = listOf("-Dhealthsys.startup.probe=true") +
+    (if (project.hasProperty("cdsHeadless")) listOf("-Djava.awt.headless=true") else emptyList())
+
+tasks.register<Exec>("cdsArchive") {
+    group = "distribution"
+    description = "训练运行 HealthApp 并生成 AppCDS 动态归档"
+    dependsOn(tasks.jar)
+    inputs.file(appJarFile)
+    inputs.property("cdsProbeArgs", cdsProbeArgs)
+    outputs.file(cdsArchiveFile)
+
+    // 训练失败时 JVM 仍会写出只含部分类的归档，此时删除它，避免启动脚本使用
+    isIgnoreExitValue = true
+    doFirst {
+        cdsArchiveFile.get().asFile.delete()
+        cdsArchiveFile.get().asFile.parentFile.mkdirs()
+        executable = cdsJavaExecutable.get()
+    }
+    doLast {
+        val exitCode = executionResult.get().exitValue
+        if (exitCode != 0) {
+            cdsArchiveFile.get().asFile.delete()
+            throw GradleException("AppCDS 训练运行失败（退出码 $exitCode），请确认存在图形环境，或使用 -PcdsHeadless")
+        }
+    }
+    argumentProviders.add(CommandLineArgumentProvider {
+        vectorJvmArgs + listOf(
+            "-XX:ArchiveClassesAtExit=" + cdsArchiveFile.get().asFile.absolutePath
+        ) + cdsProbeArgs + listOf("-jar", appJarFile.get().asFile.absolutePath)
+    })
+}
+
+// 对比使用和不使用 AppCDS 归档时的启动耗时，运行次数可用 -PcdsRuns=N 指定（默认3次）
+tasks.register("cdsStartupComparison") {
+    group = "verification"
+    description = "对比使用和不使用 AppCDS 归档时登录界面可交互所需时间"
+    dependsOn("cdsArchive")
+
+    doLast {
+        val java = cdsJavaExecutable.get()
+        val jar = appJarFile.get().asFile.absolutePath
+        val archive = cdsArchiveFile.get().asFile.absolutePath
+        val runs = (project.findProperty("cdsRuns") as String?)?.toInt() ?: 3
+
+        // 返回 (登录界面可交互时间, 进程总耗时)，单位毫秒
+        fun probe(vararg jvmArgs: String): Pair<Long, Long> {
+            val start = System.nanoTime()
+            val process = ProcessBuilder(listOf(java) + vectorJvmArgs + jvmArgs +
+                cdsProbeArgs + listOf("-jar", jar))
+                .redirectErrorStream(true)
+                .start()
+            val tti = process.inputStream.bufferedReader().useLines { lines ->
+                lines.mapNotNull { it.substringAfter("STARTUP_TTI_MS=", "").toLongOrNull() }.lastOrNull()
+            }
+            val exitCode = process.waitFor()
+            if (tti == null || exitCode != 0) {
+                throw GradleException("启动探测失败（退出码 $exitCode），请确认存在图形环境，或使用 -PcdsHeadless")
+            }
+            return Pair(tti, (System.nanoTime() - start) / 1_000_000)
+        }
+
+        fun report(label: String, results: List<Pair<Long, Long>>) {
+            logger.lifecycle(String.format("%-10s 可交互 平均 %5d ms（%s），进程总耗时 平均 %5d ms",
+                label, results.map { it.first }.average().toLong(), results.joinToString(", ") { "${it.first}" },
+                results.map { it.second }.average().toLong()))
+        }
+
+        // 先各运行一次预热操作系统文件缓存，不计入结果
+        probe()
+        probe("-XX:SharedArchiveFile=$archive")
+
+        report("不使用CDS", (1..runs).map { probe() })
+        report("使用CDS", (1..runs).map { probe("-XX:SharedArchiveFile=$archive") })
+    }
+}
+
+// JMH 微基准：源码位于 src/jmh/java，与被测类同包，可直接调用包内可见的计算方法。
+// jmh 任务输出 JSON 结果；jmhCompare 与已保存的基线对比，超过容差的退化会使任务失败；
+// jmhSaveBaseline 将最近一次结果保存为新基线。基线只在同一台机器、同一JDK上对比才有意义。
+// 可用 -PjmhInclude=正则 只运行部分基准，-PjmhTolerance=0.1 设置容差（默认10%）。
+val jmhSourceSet = sourceSets.create("jmh") {
+    compileClasspath += sourceSets.main.get().output + vectorSourceSet.output
+    runtimeClasspath += sourceSets.main.get().output + vectorSourceSet.output
+}
+configurations[jmhSourceSet.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[jmhSourceSet.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
+dependencies {
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:1.37")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
+}
+
+val jmhResultsFile = layout.buildDirectory.file("reports/jmh/results.json")
+val jmhBaselineFile = layout.projectDirectory.file("src/jmh/baseline.json")
+
+tasks.register<JavaExec>("jmh") {
+    group = "verification"
+    description = "运行 JMH 微基准并输出 JSON 结果"
+    classpath = jmhSourceSet.runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    jvmArgs(vectorJvmArgs)
+    outputs.file(jmhResultsFile)
+    outputs.upToDateWhen { false }
+
+    doFirst {
+        jmhResultsFile.get().asFile.parentFile.mkdirs()
+    }
+    argumentProviders.add(CommandLineArgumentProvider {
+        listOfNotNull(
+            project.findProperty("jmhInclude") as String?,
+            "-rf", "json",
+            "-rff", jmhResultsFile.get().asFile.absolutePath
+        )
+    })
+}
+
+tasks.register("jmhCompare") {
+    group = "verification"
+    description = "将 JMH 结果与基线对比，标出性能退化"
+    dependsOn("jmh")
+
+    doLast {
+        val baselineFile = jmhBaselineFile.asFile
+        if (!baselineFile.exists()) {
+            logger.lifecycle("未找到基线 ${baselineFile.path}，请先运行 jmhSaveBaseline")
+            return@doLast
+        }
+        val tolerance = (project.findProperty("jmhTolerance") as String?)?.toDouble() ?: 0.1
+
+        // 以“基准方法 + 参数”为键，值为 (模式, 得分, 单位)
+        @Suppress("UNCHECKED_CAST")
+        fun load(file: File): Map<String, Triple<String, Double, String>> =
+            (groovy.json.JsonSlurper().parse(file) as List<Map<String, Any?>>).associate { result ->
+                val params = (result["params"] as Map<String, Any?>?)?.toSortedMap()?.toString() ?: ""
+                val metric = result["primaryMetric"] as Map<String, Any?>
+                "${result["benchmark"]}$params" to Triple(result["mode"] as String,
+                    (metric["score"] as Number).toDouble(), metric["scoreUnit"] as String)
+            }
+
+        val baseline = load(baselineFile)
+        val current = load(jmhResultsFile.get().asFile)
+        val regressions = mutableListOf<String>()
+        current.forEach { (key, result) ->
+            val (mode, score, unit) = result
+            val base = baseline[key]
+            if (base == null) {
+                logger.lifecycle(String.format("%-90s %12.3f %s（新增）", key, score, unit))
+                return@forEach
+            }
+            // 吞吐量模式越大越好，其余模式（平均时间、采样时间等）越小越好
+            val change = if (mode == "thrpt") base.second / score - 1 else score / base.second - 1
+            val line = String.format("%-90s %12.3f -> %12.3f %s (%+.1f%%)", key, base.second, score, unit, change * 100)
+            logger.lifecycle(line)
+            if (change > tolerance) {
+                regressions.add(line)
+            }
+        }
+        if (regressions.isNotEmpty()) {
+            throw GradleException("以下基准比基线慢超过 ${(tolerance * 100).toInt()}%：\n" + regressions.joinToString("\n"))
+        }
+    }
+}
+
+tasks.register<Copy>("jmhSaveBaseline") {
+    group = "verification"
+    description = "将最近一次 JMH 结果保存为基线"
+    from(jmhResultsFile)
+    into(jmhBaselineFile.asFile.parentFile)
+    rename { jmhBaselineFile.asFile.name }
+}
+
+// 端到端压测：源码位于 src/perf/java，不启动界面，直接在合成数据上并发调用服务接口。
+// 参数通过 -PperfArgs 传入，如 -PperfArgs="--threads=16 --duration=60 --scenarios=admin-search"；
+// 数据库可用 -PperfDbUrl 指向专用压测库，避免合成数据写入日常使用的数据库。
+val perfSourceSet = sourceSets.create("perf") {
+    compileClasspath += sourceSets.main.get().output + vectorSourceSet.output
+    runtimeClasspath += sourceSets.main.get().output + vectorSourceSet.output
+}
+configurations[perfSourceSet.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[perfSourceSet.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
+tasks.register<JavaExec>("perfScenarios") {
+    group = "verification"
+    description = "在合成数据上运行端到端压测场景"
+    classpath = perfSourceSet.runtimeClasspath
+    mainClass.set("com.healthsys.perf.ScenarioHarness")
+    jvmArgs(vectorJvmArgs)
+    args((project.findProperty("perfArgs") as String?)?.split(" ")?.filter { it.isNotBlank() } ?: emptyList<String>())
+    (project.findProperty("perfDbUrl") as String?)?.let { systemProperty("spring.datasource.url", it) }
+}
+
+// 生成大规模合成数据，如 -PperfArgs="--users=100000 --appointments=1000000 --workers=8"（约3000万条体检结果）
+tasks.register<JavaExec>("perfGenerate") {
+    group = "verification"
+    description = "用 COPY 并行生成压测用的合成数据"
+    classpath = perfSourceSet.runtimeClasspath
+    mainClass.set("com.healthsys.perf.SyntheticDataGenerator")
+    jvmArgs(vectorJvmArgs)
+    args((project.findProperty("perfArgs") as String?)?.split(" ")?.filter { it.isNotBlank() } ?: emptyList<String>())
+    (project.findProperty("perfDbUrl") as String?)?.let { systemProperty("spring.datasource.url", it) }
+}
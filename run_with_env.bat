@@ -32,7 +32,17 @@ if "!SPRING_MAIL_USERNAME!"=="your_qq_email@qq.com" (
 echo 正在启动应用程序...
 echo.
 
-REM 运行应用程序
+REM 运行应用程序：已通过 gradlew cdsArchive 生成 AppCDS 归档时直接以 JAR 启动并使用归档
+REM --add-modules 加载向量化内核所需的孵化模块，与 cdsArchive 训练运行的参数一致
+set "APP_JAR=build\libs\healthsys-1.0-SNAPSHOT.jar"
+set "CDS_ARCHIVE=build\cds\healthsys.jsa"
+if exist "!APP_JAR!" if exist "!CDS_ARCHIVE!" (
+    echo 使用 AppCDS 归档启动
+    java --add-modules jdk.incubator.vector -XX:SharedArchiveFile="!CDS_ARCHIVE!" -Xshare:auto -jar "!APP_JAR!"
+    goto :end
+)
 ./gradlew run
 
+:end
+
 pause
\ No newline at end of file
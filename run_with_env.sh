@@ -26,5 +26,13 @@ fi
 echo "正在启动应用程序..."
 echo
 
-# 运行应用程序
-./gradlew run
\ No newline at end of file
+# 运行应用程序：已通过 ./gradlew cdsArchive 生成 AppCDS 归档时直接以 JAR 启动并使用归档
+# --add-modules 加载向量化内核所需的孵化模块，与 cdsArchive 训练运行的参数一致
+APP_JAR=build/libs/healthsys-1.0-SNAPSHOT.jar
+CDS_ARCHIVE=build/cds/healthsys.jsa
+if [ -f "$APP_JAR" ] && [ -f "$CDS_ARCHIVE" ]; then
+    echo "使用 AppCDS 归档启动"
+    java --add-modules jdk.incubator.vector -XX:SharedArchiveFile="$CDS_ARCHIVE" -Xshare:auto -jar "$APP_JAR"
+else
+    ./gradlew run
+fi
\ No newline at end of file
@@ -0,0 +1,104 @@
+package com.healthsys.analysis;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 异常标记判定的基准，1000万行，测量值约四分之一超出参考范围并混有少量 NaN，异常行随机分布。
+ * 对比带分支的标量写法、无分支的标量实现和向量化内核；按检查项范围判定的120个检查项范围随机生成。
+ * 向量化内核需要 jdk.incubator.vector 模块，分叉的 JVM 通过参数加载。
+ *
+ * @author 梦辰
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "--add-modules", "jdk.incubator.vector" })
+@State(Scope.Benchmark)
+public class AbnormalFlagBenchmark {
+
+  private static final int ROWS = 10_000_000;
+  private static final int ITEMS = 120;
+  private static final double LOW = 3.9;
+  private static final double HIGH = 6.1;
+
+  private double[] values;
+  private int[] itemIds;
+  private double[] lows;
+  private double[] highs;
+  private long[] flags;
+
+  @Setup
+  public void setUp() {
+    SplittableRandom random = new SplittableRandom(42);
+    values = new double[ROWS];
+    itemIds = new int[ROWS];
+    for (int i = 0; i < ROWS; i++) {
+      values[i] = random.nextDouble() < 0.02 ? Double.NaN : 5.0 + random.nextGaussian() * 0.9;
+      itemIds[i] = random.nextInt(ITEMS);
+    }
+    lows = new double[ITEMS];
+    highs = new double[ITEMS];
+    for (int i = 0; i < ITEMS; i++) {
+      lows[i] = 3.5 + random.nextDouble();
+      highs[i] = lows[i] + 2;
+    }
+    flags = AbnormalFlagEvaluator.newBitmap(ROWS);
+  }
+
+  /**
+   * 逐行判断并只在异常时写位图，异常行随机分布时分支难以预测
+   */
+  @Benchmark
+  public long rangeBranchy() {
+    Arrays.fill(flags, 0);
+    int count = 0;
+    for (int row = 0; row < ROWS; row++) {
+      double value = values[row];
+      if (value < LOW || value > HIGH) {
+        flags[row >>> 6] |= 1L << row;
+        count++;
+      }
+    }
+    return count;
+  }
+
+  @Benchmark
+  public long rangeBranchFree() {
+    Arrays.fill(flags, 0);
+    return AbnormalFlagEvaluator.flagRangeScalar(values, 0, ROWS, LOW, HIGH, flags);
+  }
+
+  @Benchmark
+  public long rangeVector() {
+    Arrays.fill(flags, 0);
+    return VectorFlagKernel.flagRange(values, 0, ROWS >>> 6, LOW, HIGH, flags);
+  }
+
+  @Benchmark
+  public long[] rowsBranchFree() {
+    Arrays.fill(flags, 0);
+    AbnormalFlagEvaluator.flagRowsScalar(itemIds, values, lows, highs, 0, ROWS, flags);
+    return flags;
+  }
+
+  @Benchmark
+  public long[] rowsVector() {
+    Arrays.fill(flags, 0);
+    VectorFlagKernel.flagRows(itemIds, values, lows, highs, 0, ROWS >>> 6, flags);
+    return flags;
+  }
+}
@@ -0,0 +1,59 @@
+package com.healthsys.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 日期格式化与解析的基准，表格和报告中每行都会调用。
+ *
+ * @author 梦辰
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DateUtilBenchmark {
+
+  private final Date date = new Date(1_700_000_000_000L);
+  private final LocalDate localDate = LocalDate.of(2024, 3, 15);
+  private final LocalDateTime localDateTime = LocalDateTime.of(2024, 3, 15, 9, 30, 45);
+
+  @Benchmark
+  public String formatDate() {
+    return DateUtil.formatDate(date, DateUtil.DATE_FORMAT_YYYY_MM_DD_HH_MM_SS);
+  }
+
+  @Benchmark
+  public String formatLocalDate() {
+    return DateUtil.formatLocalDate(localDate, DateUtil.DATE_FORMAT_YYYY_MM_DD);
+  }
+
+  @Benchmark
+  public String formatLocalDateChinese() {
+    return DateUtil.formatLocalDate(localDate, DateUtil.DATE_FORMAT_CHINESE);
+  }
+
+  @Benchmark
+  public String formatLocalDateTime() {
+    return DateUtil.formatLocalDateTime(localDateTime, DateUtil.DATE_FORMAT_YYYY_MM_DD_HH_MM_SS);
+  }
+
+  @Benchmark
+  public LocalDate parseLocalDate() {
+    return DateUtil.parseLocalDate("2024-03-15", DateUtil.DATE_FORMAT_YYYY_MM_DD);
+  }
+}
@@ -0,0 +1,94 @@
+package com.healthsys.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 表单校验和密码工具的基准，输入混合合法与非法的值。
+ * BCrypt 校验按设计耗时较长，单独以毫秒计。
+ *
+ * @author 梦辰
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationBenchmark {
+
+  private static final String[] EMAILS = { "zhangsan@example.com", "li.si+test@mail.healthsys.cn", "not-an-email",
+      "wangwu@", "" };
+  private static final String[] PHONES = { "13812345678", "19900001111", "12345678901", "1381234567", "abc" };
+  private static final String[] ID_CARDS = { "11010519491231002X", "440524188001010014", "123456789012345678",
+      "1101051949123100" };
+  private static final String[] USERNAMES = { "zhangsan", "user_01", "ab", "这是用户名", "a-very-long-username-over" };
+  private static final String[] NUMBERS = { "120", "5.6", "-3.25", "12a", "" };
+  private static final String[] PASSWORDS = { "123456", "password", "Abc12345", "Str0ng!Passw0rd", "短" };
+
+  private String hashedPassword;
+
+  @Setup
+  public void setUp() {
+    hashedPassword = PasswordUtil.encryptPassword("Abc12345");
+  }
+
+  @Benchmark
+  public void email(Blackhole blackhole) {
+    for (String email : EMAILS) {
+      blackhole.consume(ValidationUtil.isValidEmail(email));
+    }
+  }
+
+  @Benchmark
+  public void phone(Blackhole blackhole) {
+    for (String phone : PHONES) {
+      blackhole.consume(ValidationUtil.isValidPhone(phone));
+    }
+  }
+
+  @Benchmark
+  public void idCard(Blackhole blackhole) {
+    for (String idCard : ID_CARDS) {
+      blackhole.consume(ValidationUtil.isValidIdCard(idCard));
+    }
+  }
+
+  @Benchmark
+  public void username(Blackhole blackhole) {
+    for (String username : USERNAMES) {
+      blackhole.consume(ValidationUtil.isValidUsername(username));
+    }
+  }
+
+  @Benchmark
+  public void number(Blackhole blackhole) {
+    for (String number : NUMBERS) {
+      blackhole.consume(ValidationUtil.isValidNumber(number));
+    }
+  }
+
+  @Benchmark
+  public void passwordStrength(Blackhole blackhole) {
+    for (String password : PASSWORDS) {
+      blackhole.consume(PasswordUtil.checkPasswordStrength(password));
+    }
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public boolean verifyPassword() {
+    return PasswordUtil.verifyPassword("Abc12345", hashedPassword);
+  }
+}
@@ -0,0 +1,121 @@
+package com.healthsys.view.common;
+
+import com.healthsys.model.entity.ExaminationResult;
+import com.healthsys.viewmodel.base.RowSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 表格行构建的基准：懒加载表格按块格式化行，以及按主键比对替换数据。
+ * 格式化器与体检数据表格的列一致。
+ *
+ * @author 梦辰
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TableRowBenchmark {
+
+  private static final String[] COLUMNS = { "记录ID", "记录日期", "检查组", "检查项", "测量值", "参考值", "备注", "记录时间" };
+
+  @Param({ "100", "1000" })
+  public int rowCount;
+
+  private List<ExaminationResult> rows;
+  private List<ExaminationResult> changedRows;
+  private LazyTableModel<ExaminationResult> lazyModel;
+  private ResultTableModel keyedModel;
+  private RowSource<ExaminationResult> source;
+
+  @Setup
+  public void setUp() {
+    LocalDateTime start = LocalDateTime.of(2024, 1, 1, 8, 0);
+    rows = new ArrayList<>(rowCount);
+    for (int i = 0; i < rowCount; i++) {
+      rows.add(ExaminationResult.builder()
+          .resultId(i)
+          .groupId(i % 5)
+          .itemId(i % 30)
+          .measuredValue(String.valueOf(i % 90 + 10))
+          .resultNotes(i % 4 == 0 ? null : "复查")
+          .recordedAt(start.plusMinutes(i * 7L))
+          .build());
+    }
+
+    // 约1%的行内容变化，另有一行删除、一行新增，模拟刷新后的数据
+    changedRows = new ArrayList<>(rows);
+    for (int i = 0; i < rowCount; i += 100) {
+      ExaminationResult copy = ExaminationResult.builder()
+          .resultId(rows.get(i).getResultId())
+          .itemId(rows.get(i).getItemId())
+          .measuredValue("99")
+          .build();
+      changedRows.set(i, copy);
+    }
+    changedRows.remove(rowCount / 2);
+    changedRows.add(ExaminationResult.builder().resultId(rowCount).itemId(1).measuredValue("1").build());
+
+    source = RowSource.ofList(rows);
+    lazyModel = new LazyTableModel<>(COLUMNS, TableRowBenchmark::formatRow);
+    keyedModel = new ResultTableModel();
+  }
+
+  @Benchmark
+  public Object formatBlock() {
+    return lazyModel.loadBlock(source, null, 0, rowCount);
+  }
+
+  @Benchmark
+  public int diffRows() {
+    keyedModel.setRows(rows);
+    keyedModel.setRows(changedRows);
+    return keyedModel.getRowCount();
+  }
+
+  private static Object[] formatRow(ExaminationResult result) {
+    return new Object[] {
+        result.getResultId(),
+        result.getRecordedAt() != null ? result.getRecordedAt().toLocalDate().toString() : "-",
+        "检查组_" + result.getGroupId(),
+        "检查项_" + result.getItemId(),
+        result.getMeasuredValue(),
+        "60-100",
+        result.getResultNotes() != null ? result.getResultNotes() : "-",
+        result.getRecordedAt() != null ? result.getRecordedAt().toString() : "-"
+    };
+  }
+
+  private static final class ResultTableModel extends KeyedTableModel<ExaminationResult, Integer> {
+
+    ResultTableModel() {
+      super(ExaminationResult::getResultId);
+    }
+
+    @Override
+    public int getColumnCount() {
+      return COLUMNS.length;
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+      return formatRow(rows.get(rowIndex))[columnIndex];
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package com.healthsys.viewmodel.user.analysis;
+
+import com.healthsys.model.dto.ExaminationResultTrend;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 体检结果分析的基准：测量值正常性判断和分析报告生成。
+ * 人群百分位查询替换为固定值，只测文本生成本身。
+ *
+ * @author 梦辰
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResultAnalysisBenchmark {
+
+  @Param({ "10", "50" })
+  public int itemCount;
+
+  private List<ExaminationResultTrend> results;
+
+  @Setup
+  public void setUp() {
+    String[] references = { "3.5-5.5", "60-100", "阴性", "", "0.8-1.2" };
+    String[] values = { "4.2", "105", "阴性", "12", "abc" };
+    LocalDateTime now = LocalDateTime.of(2024, 3, 15, 9, 0);
+
+    results = new ArrayList<>(itemCount);
+    for (int i = 0; i < itemCount; i++) {
+      ExaminationResultTrend result = new ExaminationResultTrend();
+      result.setItemId(i);
+      result.setItemName("检查项" + i);
+      result.setReferenceVal(references[i % references.length]);
+      result.setMeasuredValue(values[i % values.length]);
+      result.setUnit(i % 2 == 0 ? "mmol/L" : "");
+      result.setRecordedAt(now);
+      if (i % 3 != 0) {
+        result.setPreviousValue(String.valueOf(i % 7 + 1.5));
+        result.setPreviousRecordedAt(now.minusYears(1));
+      }
+      results.add(result);
+    }
+  }
+
+  @Benchmark
+  public void classify(Blackhole blackhole) {
+    for (ExaminationResultTrend result : results) {
+      blackhole.consume(ResultAnalysisViewModel.isValueNormal(result.getMeasuredValue(), result.getReferenceVal()));
+    }
+  }
+
+  @Benchmark
+  public Object buildReport() {
+    return ResultAnalysisViewModel.buildReport(results, (itemId, value) -> itemId % 100);
+  }
+}
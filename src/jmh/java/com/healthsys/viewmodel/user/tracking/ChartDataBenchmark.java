@@ -0,0 +1,63 @@
+package com.healthsys.viewmodel.user.tracking;
+
+import com.healthsys.model.entity.ExaminationResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 健康跟踪图表数据处理的基准：按检查项分组并按时间排序。
+ * 输入按时间乱序，与数据库未排序返回的情况一致。
+ *
+ * @author 梦辰
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChartDataBenchmark {
+
+  @Param({ "100", "2000" })
+  public int resultCount;
+
+  private List<ExaminationResult> results;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    LocalDateTime start = LocalDateTime.of(2020, 1, 1, 8, 0);
+
+    results = new ArrayList<>(resultCount);
+    for (int i = 0; i < resultCount; i++) {
+      results.add(ExaminationResult.builder()
+          .resultId(i)
+          .itemId(i % 20)
+          .measuredValue(String.format("%.1f", 3 + random.nextDouble() * 5))
+          .recordedAt(start.plusDays(i / 20))
+          .build());
+    }
+    Collections.shuffle(results, random);
+  }
+
+  @Benchmark
+  public Object buildChartData() {
+    return HealthTrackingViewModel.buildChartData(results);
+  }
+}
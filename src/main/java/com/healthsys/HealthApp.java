@@ -1,16 +1,24 @@
 package com.healthsys;
 
 import com.formdev.flatlaf.FlatLightLaf;
+import com.healthsys.config.AppExecutor;
+import com.healthsys.config.EdtWatchdog;
+import com.healthsys.config.StartupOrchestrator;
+import com.healthsys.config.StartupTimeline;
 import com.healthsys.view.MainFrame;
+import com.healthsys.view.StartupProbeView;
 import com.healthsys.util.ConfigTestUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.awt.GraphicsEnvironment;
 import javax.swing.*;
 
 /**
  * 健康管理系统主程序入口。
  * 启动应用并初始化主界面。
+ * 数据源、Mapper注册和邮件账户在后台并行初始化，同时在主线程设置外观，
+ * 随后立即显示登录界面，不等待后台初始化完成。
  * 
  * @author 梦辰
  */
@@ -18,6 +26,13 @@ public class HealthApp {
 
   private static final Logger logger = LoggerFactory.getLogger(HealthApp.class);
 
+  /**
+   * 启动探测模式：启动完成后离屏构建主界面的全部面板，输出可交互时间并退出，
+   * 用于生成 AppCDS 归档和对比启动耗时。
+   * 没有显示器时以 -Djava.awt.headless=true 运行，登录界面也在离屏构建，不创建窗口
+   */
+  private static final boolean STARTUP_PROBE = Boolean.getBoolean("healthsys.startup.probe");
+
   /**
    * 应用程序主入口方法
    * 
@@ -25,19 +40,29 @@ public class HealthApp {
    */
   public static void main(String[] args) {
     try {
-      // 设置系统属性
-      System.setProperty("java.awt.headless", "false");
+      StartupTimeline.mark("进入main");
+
+      // 设置系统属性，显式指定的值（无显示器的启动探测）保持不变
+      if (System.getProperty("java.awt.headless") == null) {
+        System.setProperty("java.awt.headless", "false");
+      }
 
-      // 设置FlatLaf外观
-      setupLookAndFeel();
+      // 在界面创建前接管事件队列，记录事件处理耗时和卡顿
+      EdtWatchdog.install();
 
-      // 设置默认字体（支持中文）
-      setupFonts();
+      // 后台并行初始化数据源、Mapper和邮件账户
+      StartupOrchestrator startup = StartupOrchestrator.start();
+
+      // 设置FlatLaf外观和默认字体（支持中文），与后台初始化并行
+      StartupTimeline.measure("外观和字体", () -> {
+        setupLookAndFeel();
+        setupFonts();
+      });
 
       // 在事件调度线程中启动GUI
       SwingUtilities.invokeLater(() -> {
         try {
-          startApplication();
+          startApplication(startup);
         } catch (Exception e) {
           logger.error("启动应用程序失败", e);
           showErrorMessage("应用程序启动失败: " + e.getMessage());
@@ -107,19 +132,53 @@ public class HealthApp {
 
   /**
    * 启动应用程序
+   * 
+   * @param startup 已开始的后台初始化
    */
-  private static void startApplication() {
+  private static void startApplication(StartupOrchestrator startup) {
     logger.info("正在启动健康管理系统...");
 
-    // 测试配置
-    logger.info("检查系统配置...");
-    ConfigTestUtil.runAllTests();
+    if (STARTUP_PROBE && GraphicsEnvironment.isHeadless()) {
+      // 没有图形环境时无法创建窗口，在离屏构建并绘制登录界面
+      StartupTimeline.measure("离屏构建登录界面", StartupProbeView::renderLoginView);
+    } else {
+      // 创建并显示主窗口
+      MainFrame mainFrame = StartupTimeline.measure("创建主窗口", MainFrame::new);
+      mainFrame.showStartupProgress(startup);
+      mainFrame.setVisible(true);
+    }
+
+    // 排在首次绘制之后执行，此时登录界面已可交互
+    SwingUtilities.invokeLater(() -> {
+      StartupTimeline.mark(StartupTimeline.INTERACTIVE);
+      logger.info("健康管理系统启动成功，{} ms 后可交互", StartupTimeline.getTimeToInteractive());
+    });
 
-    // 创建并显示主窗口
-    MainFrame mainFrame = new MainFrame();
-    mainFrame.setVisible(true);
+    // 后台初始化结束后在后台检查配置，并输出启动时间线
+    startup.whenFinished().thenRun(() -> AppExecutor.runAsync("Startup.configTests", () -> {
+      logger.info("检查系统配置...");
+      StartupTimeline.measure("配置检查", ConfigTestUtil::runAllTests);
+      StartupTimeline.logSummary();
+      if (STARTUP_PROBE) {
+        finishStartupProbe();
+      }
+    }));
+  }
 
-    logger.info("健康管理系统启动成功");
+  /**
+   * 结束启动探测：在EDT上离屏构建并绘制主界面的全部面板，输出可交互时间后退出。
+   * 可交互里程碑在EDT上记录，排在其后执行
+   */
+  private static void finishStartupProbe() {
+    SwingUtilities.invokeLater(() -> {
+      try {
+        StartupTimeline.measure("离屏构建主界面", StartupProbeView::renderMainView);
+      } catch (RuntimeException e) {
+        logger.warn("离屏构建主界面失败", e);
+      }
+      System.out.println("STARTUP_TTI_MS=" + StartupTimeline.getTimeToInteractive());
+      System.exit(0);
+    });
   }
 
   /**
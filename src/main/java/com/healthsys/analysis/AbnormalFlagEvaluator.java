@@ -0,0 +1,214 @@
+package com.healthsys.analysis;
+
+import java.util.stream.IntStream;
+
+/**
+ * 异常标记批量判定器。
+ * 在数值列上逐行判定是否超出参考范围，结果写入位图（第 i 位对应第 i 行）。
+ * 内层循环每次处理一个 64 行的位图字，比较结果直接移位合并，不含数据相关分支；
+ * NaN（非数值测量值）与任何边界比较均为假，因此视为非异常。
+ * <p>
+ * 运行时加载了 jdk.incubator.vector 模块（--add-modules jdk.incubator.vector）且硬件支持至少4通道的双精度向量时，
+ * 同一参考范围和按检查项范围的判定改用 {@link VectorFlagKernel}，否则使用标量实现；可用 -Dhealthsys.vector=false 关闭。
+ * 只判定单个检查项时目标行很少，标量实现的分支几乎总能预测正确，不使用向量内核。
+ *
+ * @author 梦辰
+ */
+public final class AbnormalFlagEvaluator {
+
+  /**
+   * 超过该行数时按位图字分块并行判定
+   */
+  private static final int PARALLEL_THRESHOLD = 256 * 1024;
+
+  /**
+   * 并行判定时每块包含的位图字数
+   */
+  private static final int WORDS_PER_CHUNK = 1024;
+
+  /**
+   * 是否使用向量化内核
+   */
+  static final boolean VECTORIZED = vectorAvailable();
+
+  private AbnormalFlagEvaluator() {
+  }
+
+  private static boolean vectorAvailable() {
+    if (!Boolean.parseBoolean(System.getProperty("healthsys.vector", "true"))
+        || !ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+      return false;
+    }
+    try {
+      return VectorFlagKernel.lanes() >= 4;
+    } catch (LinkageError | RuntimeException e) {
+      return false;
+    }
+  }
+
+  /**
+   * 创建可容纳指定行数的位图
+   */
+  public static long[] newBitmap(int rows) {
+    return new long[(rows + 63) >>> 6];
+  }
+
+  /**
+   * 判断位图中某行是否被标记
+   */
+  public static boolean isSet(long[] flags, int row) {
+    return (flags[row >>> 6] & (1L << row)) != 0;
+  }
+
+  /**
+   * 统计位图中被标记的行数
+   */
+  public static int cardinality(long[] flags) {
+    int count = 0;
+    for (long word : flags) {
+      count += Long.bitCount(word);
+    }
+    return count;
+  }
+
+  /**
+   * 用同一参考范围判定一段数值
+   *
+   * @param values 数值列
+   * @param from   起始行（包含）
+   * @param to     结束行（不包含）
+   * @param range  参考范围
+   * @param flags  结果位图，异常行对应位被置1
+   * @return 异常行数
+   */
+  public static int flagRange(double[] values, int from, int to, ReferenceRange range, long[] flags) {
+    double low = range.getLow();
+    double high = range.getHigh();
+    if (!VECTORIZED) {
+      return flagRangeScalar(values, from, to, low, high, flags);
+    }
+    // 首尾不足一字的行用标量实现，中间完整的字交给向量内核
+    int firstWord = (from + 63) >>> 6;
+    int lastWord = to >>> 6;
+    if (firstWord >= lastWord) {
+      return flagRangeScalar(values, from, to, low, high, flags);
+    }
+    return flagRangeScalar(values, from, firstWord << 6, low, high, flags)
+        + VectorFlagKernel.flagRange(values, firstWord, lastWord, low, high, flags)
+        + flagRangeScalar(values, lastWord << 6, to, low, high, flags);
+  }
+
+  /**
+   * 标量实现，逐行比较后移位合并到位图字
+   */
+  static int flagRangeScalar(double[] values, int from, int to, double low, double high, long[] flags) {
+    int count = 0;
+    int row = from;
+    while (row < to) {
+      int wordIndex = row >>> 6;
+      int wordEnd = Math.min(to, (wordIndex + 1) << 6);
+      long word = 0;
+      for (; row < wordEnd; row++) {
+        double value = values[row];
+        // long 移位只取低6位，row 即为字内位置
+        word |= ((value < low) | (value > high) ? 1L : 0L) << row;
+      }
+      flags[wordIndex] |= word;
+      count += Long.bitCount(word);
+    }
+    return count;
+  }
+
+  /**
+   * 按各行所属检查项的参考范围判定整个快照
+   *
+   * @param view           列式快照视图
+   * @param rangesByItemId 以检查项ID为下标的参考范围，缺失项视为无界
+   * @return 异常位图
+   */
+  public static long[] flagRows(ExaminationColumns.View view, ReferenceRange[] rangesByItemId) {
+    double[] lows = new double[rangesByItemId.length];
+    double[] highs = new double[rangesByItemId.length];
+    for (int i = 0; i < rangesByItemId.length; i++) {
+      ReferenceRange range = rangesByItemId[i] != null ? rangesByItemId[i] : ReferenceRange.UNBOUNDED;
+      lows[i] = range.getLow();
+      highs[i] = range.getHigh();
+    }
+
+    long[] flags = newBitmap(view.size);
+    if (view.size < PARALLEL_THRESHOLD) {
+      flagRows(view, lows, highs, 0, view.size, flags);
+    } else {
+      // 按位图字对齐分块，各块写入互不重叠的字，无需同步
+      int chunkRows = WORDS_PER_CHUNK << 6;
+      int chunks = (view.size + chunkRows - 1) / chunkRows;
+      IntStream.range(0, chunks).parallel().forEach(chunk -> flagRows(view, lows, highs,
+          chunk * chunkRows, Math.min(view.size, (chunk + 1) * chunkRows), flags));
+    }
+    return flags;
+  }
+
+  /**
+   * 只判定指定检查项的行，其余行保持未标记
+   *
+   * @param view   列式快照视图
+   * @param itemId 检查项ID
+   * @param range  参考范围
+   * @return 异常位图
+   */
+  public static long[] flagItem(ExaminationColumns.View view, int itemId, ReferenceRange range) {
+    double low = range.getLow();
+    double high = range.getHigh();
+    int[] itemIds = view.itemIds;
+    double[] values = view.values;
+    long[] flags = newBitmap(view.size);
+    int row = 0;
+    while (row < view.size) {
+      int wordIndex = row >>> 6;
+      int wordEnd = Math.min(view.size, (wordIndex + 1) << 6);
+      long word = 0;
+      for (; row < wordEnd; row++) {
+        double value = values[row];
+        word |= ((itemIds[row] == itemId) & ((value < low) | (value > high)) ? 1L : 0L) << row;
+      }
+      flags[wordIndex] = word;
+    }
+    return flags;
+  }
+
+  private static void flagRows(ExaminationColumns.View view, double[] lows, double[] highs, int from, int to,
+      long[] flags) {
+    int firstWord = (from + 63) >>> 6;
+    int lastWord = to >>> 6;
+    if (!VECTORIZED || firstWord >= lastWord) {
+      flagRowsScalar(view.itemIds, view.values, lows, highs, from, to, flags);
+      return;
+    }
+    flagRowsScalar(view.itemIds, view.values, lows, highs, from, firstWord << 6, flags);
+    VectorFlagKernel.flagRows(view.itemIds, view.values, lows, highs, firstWord, lastWord, flags);
+    flagRowsScalar(view.itemIds, view.values, lows, highs, lastWord << 6, to, flags);
+  }
+
+  /**
+   * 标量实现，越界的检查项ID视为无界
+   */
+  static void flagRowsScalar(int[] itemIds, double[] values, double[] lows, double[] highs, int from, int to,
+      long[] flags) {
+    int limit = lows.length;
+    int row = from;
+    while (row < to) {
+      int wordIndex = row >>> 6;
+      int wordEnd = Math.min(to, (wordIndex + 1) << 6);
+      long word = 0;
+      for (; row < wordEnd; row++) {
+        int itemId = itemIds[row];
+        if (itemId < 0 || itemId >= limit) {
+          continue;
+        }
+        double value = values[row];
+        word |= ((value < lows[itemId]) | (value > highs[itemId]) ? 1L : 0L) << row;
+      }
+      flags[wordIndex] |= word;
+    }
+  }
+}
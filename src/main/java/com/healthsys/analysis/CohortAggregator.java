@@ -0,0 +1,196 @@
+package com.healthsys.analysis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 人群分析执行器。
+ * 在列式快照上用 fork-join 按行区间并行执行过滤、分组与聚合，各分片结果逐级合并。
+ *
+ * @author 梦辰
+ */
+public final class CohortAggregator {
+
+  /**
+   * 单个任务直接扫描的最大行数
+   */
+  private static final int SPLIT_THRESHOLD = 64 * 1024;
+
+  /**
+   * 每个维度编码在分组键中占用的位数
+   */
+  private static final int DIMENSION_BITS = 21;
+  private static final long DIMENSION_MASK = (1L << DIMENSION_BITS) - 1;
+
+  /**
+   * 维度编码的显示文本解析器
+   */
+  public interface Labeler {
+    String label(CohortDimension dimension, int code);
+  }
+
+  private CohortAggregator() {
+  }
+
+  /**
+   * 执行查询
+   *
+   * @param columns        列式快照
+   * @param query          查询条件
+   * @param rangesByItemId 以检查项ID为下标的参考范围（仅异常过滤时使用，可含null）
+   * @param labeler        维度显示文本解析器
+   * @return 查询结果，按维度编码排序
+   */
+  public static CohortResult execute(ExaminationColumns columns, CohortQuery query,
+      ReferenceRange[] rangesByItemId, Labeler labeler) {
+    long startTime = System.currentTimeMillis();
+    ExaminationColumns.View view = columns.view();
+
+    int sexCode = -1;
+    if (query.getSex() != null) {
+      sexCode = columns.getSexDictionary().lookup(query.getSex());
+      if (sexCode < 0) {
+        return new CohortResult(query.getGroupBy(), new ArrayList<>(), view.size,
+            System.currentTimeMillis() - startTime);
+      }
+    }
+
+    // 异常过滤时先批量判定整个快照，扫描阶段只需查位图
+    long[] abnormalFlags = null;
+    if (query.isAbnormalOnly()) {
+      abnormalFlags = AbnormalFlagEvaluator.flagRows(view,
+          rangesByItemId != null ? rangesByItemId : new ReferenceRange[0]);
+    }
+
+    ScanContext context = new ScanContext(view, query, buildItemMask(query), sexCode, abnormalFlags);
+    Map<Long, CohortGroup> groups = ForkJoinPool.commonPool().invoke(new ScanTask(context, 0, view.size));
+
+    List<CohortDimension> dimensions = query.getGroupBy();
+    List<CohortResult.Row> rows = new ArrayList<>(groups.size());
+    for (Map.Entry<Long, CohortGroup> entry : new TreeMap<>(groups).entrySet()) {
+      String[] labels = new String[dimensions.size()];
+      long key = entry.getKey();
+      for (int i = dimensions.size() - 1; i >= 0; i--) {
+        labels[i] = labeler.label(dimensions.get(i), (int) (key & DIMENSION_MASK));
+        key >>>= DIMENSION_BITS;
+      }
+      rows.add(new CohortResult.Row(Arrays.asList(labels), entry.getValue()));
+    }
+
+    return new CohortResult(dimensions, rows, view.size, System.currentTimeMillis() - startTime);
+  }
+
+  private static boolean[] buildItemMask(CohortQuery query) {
+    if (query.getItemIds().isEmpty()) {
+      return null;
+    }
+    int maxItemId = query.getItemIds().stream().mapToInt(Integer::intValue).max().orElse(0);
+    boolean[] mask = new boolean[Math.max(0, maxItemId) + 1];
+    for (Integer itemId : query.getItemIds()) {
+      if (itemId >= 0) {
+        mask[itemId] = true;
+      }
+    }
+    return mask;
+  }
+
+  /**
+   * 扫描任务共享的只读参数
+   */
+  private static final class ScanContext {
+    final ExaminationColumns.View view;
+    final CohortDimension[] dimensions;
+    final boolean[] itemMask;
+    final int fromDay;
+    final int toDay;
+    final int sexCode;
+    final long[] abnormalFlags;
+
+    ScanContext(ExaminationColumns.View view, CohortQuery query, boolean[] itemMask, int sexCode,
+        long[] abnormalFlags) {
+      this.view = view;
+      this.dimensions = query.getGroupBy().toArray(new CohortDimension[0]);
+      this.itemMask = itemMask;
+      this.fromDay = query.getFromDay();
+      this.toDay = query.getToDay();
+      this.sexCode = sexCode;
+      this.abnormalFlags = abnormalFlags;
+    }
+  }
+
+  private static final class ScanTask extends RecursiveTask<Map<Long, CohortGroup>> {
+    private final ScanContext context;
+    private final int start;
+    private final int end;
+
+    ScanTask(ScanContext context, int start, int end) {
+      this.context = context;
+      this.start = start;
+      this.end = end;
+    }
+
+    @Override
+    protected Map<Long, CohortGroup> compute() {
+      if (end - start <= SPLIT_THRESHOLD) {
+        return scan();
+      }
+
+      int middle = (start + end) >>> 1;
+      ScanTask left = new ScanTask(context, start, middle);
+      left.fork();
+      Map<Long, CohortGroup> right = new ScanTask(context, middle, end).compute();
+      return merge(left.join(), right);
+    }
+
+    private Map<Long, CohortGroup> scan() {
+      ScanContext c = context;
+      ExaminationColumns.View view = c.view;
+      Map<Long, CohortGroup> groups = new HashMap<>();
+
+      for (int row = start; row < end; row++) {
+        if (view.isDeleted(row)) {
+          continue;
+        }
+        int itemId = view.itemIds[row];
+        if (c.itemMask != null && (itemId >= c.itemMask.length || itemId < 0 || !c.itemMask[itemId])) {
+          continue;
+        }
+        int day = view.recordedDays[row];
+        if (day < c.fromDay || day > c.toDay) {
+          continue;
+        }
+        if (c.sexCode >= 0 && view.sexCodes[row] != c.sexCode) {
+          continue;
+        }
+        if (c.abnormalFlags != null && !AbnormalFlagEvaluator.isSet(c.abnormalFlags, row)) {
+          continue;
+        }
+
+        long key = 0;
+        for (CohortDimension dimension : c.dimensions) {
+          key = (key << DIMENSION_BITS) | (dimension.code(view, row) & DIMENSION_MASK);
+        }
+        groups.computeIfAbsent(key, k -> new CohortGroup()).add(view.userIds[row], view.values[row]);
+      }
+      return groups;
+    }
+
+    private static Map<Long, CohortGroup> merge(Map<Long, CohortGroup> a, Map<Long, CohortGroup> b) {
+      Map<Long, CohortGroup> target = a.size() >= b.size() ? a : b;
+      Map<Long, CohortGroup> source = target == a ? b : a;
+      source.forEach((key, group) -> {
+        CohortGroup existing = target.putIfAbsent(key, group);
+        if (existing != null) {
+          existing.merge(group);
+        }
+      });
+      return target;
+    }
+  }
+}
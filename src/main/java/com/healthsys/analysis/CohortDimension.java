@@ -0,0 +1,102 @@
+package com.healthsys.analysis;
+
+import java.time.LocalDate;
+
+/**
+ * 人群分析分组维度。
+ * 每个维度把列式快照中的一行映射为一个非负整数编码，0 表示缺失。
+ *
+ * @author 梦辰
+ */
+public enum CohortDimension {
+
+  /**
+   * 性别（字典编码）
+   */
+  SEX("性别"),
+
+  /**
+   * 检查时的年龄段
+   */
+  AGE_BAND("年龄段"),
+
+  /**
+   * 检查项
+   */
+  ITEM("检查项"),
+
+  /**
+   * 检查组
+   */
+  GROUP("检查组"),
+
+  /**
+   * 记录季度（编码为 年*4+季度序号）
+   */
+  QUARTER("季度");
+
+  private static final String[] AGE_BAND_LABELS = { "未知", "<18", "18-29", "30-39", "40-49", "50-59", "60+" };
+
+  private final String displayName;
+
+  CohortDimension(String displayName) {
+    this.displayName = displayName;
+  }
+
+  public String getDisplayName() {
+    return displayName;
+  }
+
+  /**
+   * 计算指定行在本维度上的编码
+   */
+  public int code(ExaminationColumns.View view, int row) {
+    switch (this) {
+      case SEX:
+        return view.sexCodes[row];
+      case AGE_BAND:
+        return ageBand(view.birthDays[row], view.recordedDays[row]);
+      case ITEM:
+        return view.itemIds[row];
+      case GROUP:
+        return view.groupIds[row];
+      case QUARTER:
+        if (view.recordedDays[row] == ExaminationColumns.NO_DATE) {
+          return 0;
+        }
+        LocalDate date = LocalDate.ofEpochDay(view.recordedDays[row]);
+        return date.getYear() * 4 + (date.getMonthValue() - 1) / 3;
+      default:
+        return 0;
+    }
+  }
+
+  /**
+   * 年龄段和季度的默认显示文本，其余维度需由调用方解析
+   */
+  public String defaultLabel(int code) {
+    switch (this) {
+      case AGE_BAND:
+        return code >= 0 && code < AGE_BAND_LABELS.length ? AGE_BAND_LABELS[code] : AGE_BAND_LABELS[0];
+      case QUARTER:
+        return code == 0 ? AGE_BAND_LABELS[0] : (code / 4) + "Q" + (code % 4 + 1);
+      default:
+        return String.valueOf(code);
+    }
+  }
+
+  private static int ageBand(int birthDay, int recordedDay) {
+    if (birthDay == ExaminationColumns.NO_DATE || recordedDay == ExaminationColumns.NO_DATE) {
+      return 0;
+    }
+    int age = (int) ((recordedDay - birthDay) / 365.25);
+    if (age < 18) {
+      return 1;
+    }
+    if (age >= 60) {
+      return 6;
+    }
+    // 18-29 为一段，其余按十岁分段
+    return age < 30 ? 2 : age / 10;
+  }
+}
@@ -0,0 +1,68 @@
+package com.healthsys.analysis;
+
+import java.util.BitSet;
+
+/**
+ * 人群分析分组累加器。
+ * 记录行数、去重用户数及数值测量值的汇总，可与其他分片的同组结果合并。
+ *
+ * @author 梦辰
+ */
+public class CohortGroup {
+
+  private long rowCount;
+  private long numericCount;
+  private double sum;
+  private double min = Double.POSITIVE_INFINITY;
+  private double max = Double.NEGATIVE_INFINITY;
+  private final BitSet users = new BitSet();
+
+  void add(int userId, double value) {
+    rowCount++;
+    if (userId >= 0) {
+      users.set(userId);
+    }
+    if (!Double.isNaN(value)) {
+      numericCount++;
+      sum += value;
+      if (value < min) {
+        min = value;
+      }
+      if (value > max) {
+        max = value;
+      }
+    }
+  }
+
+  void merge(CohortGroup other) {
+    rowCount += other.rowCount;
+    numericCount += other.numericCount;
+    sum += other.sum;
+    min = Math.min(min, other.min);
+    max = Math.max(max, other.max);
+    users.or(other.users);
+  }
+
+  public long getRowCount() {
+    return rowCount;
+  }
+
+  public int getUserCount() {
+    return users.cardinality();
+  }
+
+  /**
+   * 数值测量值的均值，无数值时返回 NaN
+   */
+  public double getMean() {
+    return numericCount > 0 ? sum / numericCount : Double.NaN;
+  }
+
+  public double getMin() {
+    return numericCount > 0 ? min : Double.NaN;
+  }
+
+  public double getMax() {
+    return numericCount > 0 ? max : Double.NaN;
+  }
+}
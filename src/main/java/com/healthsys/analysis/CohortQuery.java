@@ -0,0 +1,129 @@
+package com.healthsys.analysis;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 人群分析查询。
+ * 描述过滤条件（检查项、日期范围、性别、是否仅异常）与分组维度，通过 {@link Builder} 构造。
+ *
+ * @author 梦辰
+ */
+public final class CohortQuery {
+
+  /**
+   * 最多支持的分组维度数
+   */
+  public static final int MAX_DIMENSIONS = 3;
+
+  private final Set<Integer> itemIds;
+  private final int fromDay;
+  private final int toDay;
+  private final String sex;
+  private final boolean abnormalOnly;
+  private final List<CohortDimension> groupBy;
+
+  private CohortQuery(Builder builder) {
+    this.itemIds = Collections.unmodifiableSet(new LinkedHashSet<>(builder.itemIds));
+    this.fromDay = builder.fromDay;
+    this.toDay = builder.toDay;
+    this.sex = builder.sex;
+    this.abnormalOnly = builder.abnormalOnly;
+    this.groupBy = Collections.unmodifiableList(new ArrayList<>(builder.groupBy));
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * 限定的检查项ID，为空表示不限
+   */
+  public Set<Integer> getItemIds() {
+    return itemIds;
+  }
+
+  public int getFromDay() {
+    return fromDay;
+  }
+
+  public int getToDay() {
+    return toDay;
+  }
+
+  /**
+   * 限定的性别，为null表示不限
+   */
+  public String getSex() {
+    return sex;
+  }
+
+  public boolean isAbnormalOnly() {
+    return abnormalOnly;
+  }
+
+  public List<CohortDimension> getGroupBy() {
+    return groupBy;
+  }
+
+  /**
+   * 查询构造器
+   */
+  public static final class Builder {
+    private final Set<Integer> itemIds = new LinkedHashSet<>();
+    private int fromDay = Integer.MIN_VALUE;
+    private int toDay = Integer.MAX_VALUE;
+    private String sex;
+    private boolean abnormalOnly;
+    private final List<CohortDimension> groupBy = new ArrayList<>();
+
+    private Builder() {
+    }
+
+    public Builder item(Integer itemId) {
+      if (itemId != null) {
+        itemIds.add(itemId);
+      }
+      return this;
+    }
+
+    /**
+     * 限定记录日期范围（包含两端，任一端可为null）
+     */
+    public Builder recordedBetween(LocalDate from, LocalDate to) {
+      this.fromDay = from != null ? (int) from.toEpochDay() : Integer.MIN_VALUE;
+      this.toDay = to != null ? (int) to.toEpochDay() : Integer.MAX_VALUE;
+      return this;
+    }
+
+    public Builder sex(String sex) {
+      this.sex = sex;
+      return this;
+    }
+
+    public Builder abnormalOnly(boolean abnormalOnly) {
+      this.abnormalOnly = abnormalOnly;
+      return this;
+    }
+
+    public Builder groupBy(CohortDimension... dimensions) {
+      for (CohortDimension dimension : dimensions) {
+        if (!groupBy.contains(dimension)) {
+          groupBy.add(dimension);
+        }
+      }
+      return this;
+    }
+
+    public CohortQuery build() {
+      if (groupBy.size() > MAX_DIMENSIONS) {
+        throw new IllegalArgumentException("分组维度不能超过" + MAX_DIMENSIONS + "个");
+      }
+      return new CohortQuery(this);
+    }
+  }
+}
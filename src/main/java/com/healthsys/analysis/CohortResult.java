@@ -0,0 +1,80 @@
+package com.healthsys.analysis;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 人群分析查询结果。
+ *
+ * @author 梦辰
+ */
+public class CohortResult {
+
+  private final List<CohortDimension> dimensions;
+  private final List<Row> rows;
+  private final int scannedRows;
+  private final long elapsedMillis;
+
+  public CohortResult(List<CohortDimension> dimensions, List<Row> rows, int scannedRows, long elapsedMillis) {
+    this.dimensions = dimensions;
+    this.rows = Collections.unmodifiableList(rows);
+    this.scannedRows = scannedRows;
+    this.elapsedMillis = elapsedMillis;
+  }
+
+  public List<CohortDimension> getDimensions() {
+    return dimensions;
+  }
+
+  public List<Row> getRows() {
+    return rows;
+  }
+
+  /**
+   * 扫描的快照行数
+   */
+  public int getScannedRows() {
+    return scannedRows;
+  }
+
+  public long getElapsedMillis() {
+    return elapsedMillis;
+  }
+
+  /**
+   * 结果行：各维度的显示文本及该组的汇总
+   */
+  public static class Row {
+    private final List<String> labels;
+    private final CohortGroup group;
+
+    public Row(List<String> labels, CohortGroup group) {
+      this.labels = Collections.unmodifiableList(labels);
+      this.group = group;
+    }
+
+    public List<String> getLabels() {
+      return labels;
+    }
+
+    public long getRowCount() {
+      return group.getRowCount();
+    }
+
+    public int getUserCount() {
+      return group.getUserCount();
+    }
+
+    public double getMean() {
+      return group.getMean();
+    }
+
+    public double getMin() {
+      return group.getMin();
+    }
+
+    public double getMax() {
+      return group.getMax();
+    }
+  }
+}
@@ -0,0 +1,197 @@
+package com.healthsys.analysis;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * 体检结果列式快照。
+ * 以原始类型数组按列保存体检结果及用户人口学信息，供并行分析扫描。
+ * 单线程追加写入，调用 {@link #publish()} 后新行才对读取方可见；
+ * 读取方通过 {@link #view()} 获得一致的只读视图，后续追加不影响已取得的视图。
+ * 已修改或删除的结果通过 {@link #delete} 标记为删除，扫描时跳过；标记写在新数组上，同样在发布后才可见。
+ *
+ * @author 梦辰
+ */
+public class ExaminationColumns {
+
+  /**
+   * 缺失日期的占位值
+   */
+  public static final int NO_DATE = Integer.MIN_VALUE;
+
+  private static final int INITIAL_CAPACITY = 1024;
+
+  private final StringDictionary sexDictionary = new StringDictionary();
+
+  private volatile View current = new View(INITIAL_CAPACITY);
+  private View working = current;
+  private int pendingSize;
+  private long lastResultId;
+
+  /**
+   * 删除标记位图，修改时复制，已发布的视图不受影响
+   */
+  private long[] deleted = new long[0];
+
+  /**
+   * 追加一行
+   *
+   * @param resultId    结果ID
+   * @param userId      用户ID
+   * @param itemId      检查项ID
+   * @param groupId     检查组ID
+   * @param value       数值测量值，非数值为 NaN
+   * @param recordedDay 记录日期（epoch day）
+   * @param sex         性别
+   * @param birthDay    出生日期（epoch day），未知为 {@link #NO_DATE}
+   */
+  public synchronized void append(int resultId, int userId, int itemId, int groupId, double value,
+      int recordedDay, String sex, int birthDay) {
+    if (pendingSize == working.resultIds.length) {
+      working = working.grow();
+    }
+
+    View view = working;
+    int row = pendingSize++;
+    view.resultIds[row] = resultId;
+    view.userIds[row] = userId;
+    view.itemIds[row] = itemId;
+    view.groupIds[row] = groupId;
+    view.values[row] = value;
+    view.recordedDays[row] = recordedDay;
+    view.sexCodes[row] = sexDictionary.encode(sex);
+    view.birthDays[row] = birthDay;
+
+    if (resultId > lastResultId) {
+      lastResultId = resultId;
+    }
+  }
+
+  /**
+   * 把指定结果ID的已有行标记为删除
+   *
+   * @param resultIds 结果ID
+   * @return 新标记的行数
+   */
+  public synchronized int delete(Collection<Integer> resultIds) {
+    if (resultIds.isEmpty()) {
+      return 0;
+    }
+    int[] sortedIds = resultIds.stream().mapToInt(Integer::intValue).sorted().toArray();
+    int min = sortedIds[0];
+    int max = sortedIds[sortedIds.length - 1];
+
+    long[] marks = Arrays.copyOf(deleted, Math.max(deleted.length, (pendingSize + 63) >>> 6));
+    int[] ids = working.resultIds;
+    int count = 0;
+    for (int row = 0; row < pendingSize; row++) {
+      int resultId = ids[row];
+      // 先比较范围，绝大多数行无需查找
+      if (resultId >= min && resultId <= max && (marks[row >>> 6] & (1L << row)) == 0
+          && Arrays.binarySearch(sortedIds, resultId) >= 0) {
+        marks[row >>> 6] |= 1L << row;
+        count++;
+      }
+    }
+    if (count > 0) {
+      deleted = marks;
+    }
+    return count;
+  }
+
+  /**
+   * 发布已追加的行和删除标记
+   */
+  public synchronized void publish() {
+    current = working.withSize(pendingSize, deleted);
+  }
+
+  /**
+   * 获取当前只读视图
+   */
+  public View view() {
+    return current;
+  }
+
+  /**
+   * 已加载的最大结果ID，增量刷新从其后开始
+   */
+  public synchronized long getLastResultId() {
+    return lastResultId;
+  }
+
+  public StringDictionary getSexDictionary() {
+    return sexDictionary;
+  }
+
+  /**
+   * 列数组视图。数组可能比行数长，只有前 size 行有效。
+   */
+  public static final class View {
+    public final int size;
+    public final int[] resultIds;
+    public final int[] userIds;
+    public final int[] itemIds;
+    public final int[] groupIds;
+    public final double[] values;
+    public final int[] recordedDays;
+    public final int[] sexCodes;
+    public final int[] birthDays;
+
+    /**
+     * 删除标记位图，可能比行数短，超出部分视为未删除
+     */
+    private final long[] deleted;
+
+    private View(int capacity) {
+      this(0, new int[capacity], new int[capacity], new int[capacity], new int[capacity],
+          new double[capacity], new int[capacity], new int[capacity], new int[capacity], new long[0]);
+    }
+
+    private View(int size, int[] resultIds, int[] userIds, int[] itemIds, int[] groupIds, double[] values,
+        int[] recordedDays, int[] sexCodes, int[] birthDays, long[] deleted) {
+      this.size = size;
+      this.resultIds = resultIds;
+      this.userIds = userIds;
+      this.itemIds = itemIds;
+      this.groupIds = groupIds;
+      this.values = values;
+      this.recordedDays = recordedDays;
+      this.sexCodes = sexCodes;
+      this.birthDays = birthDays;
+      this.deleted = deleted;
+    }
+
+    /**
+     * 行是否已标记为删除
+     */
+    public boolean isDeleted(int row) {
+      int wordIndex = row >>> 6;
+      return wordIndex < deleted.length && (deleted[wordIndex] & (1L << row)) != 0;
+    }
+
+    /**
+     * 从行位图中清除已删除的行
+     *
+     * @param rows 行位图
+     */
+    public void clearDeleted(long[] rows) {
+      for (int i = 0, n = Math.min(rows.length, deleted.length); i < n; i++) {
+        rows[i] &= ~deleted[i];
+      }
+    }
+
+    private View grow() {
+      int capacity = resultIds.length * 2;
+      return new View(size, Arrays.copyOf(resultIds, capacity), Arrays.copyOf(userIds, capacity),
+          Arrays.copyOf(itemIds, capacity), Arrays.copyOf(groupIds, capacity), Arrays.copyOf(values, capacity),
+          Arrays.copyOf(recordedDays, capacity), Arrays.copyOf(sexCodes, capacity),
+          Arrays.copyOf(birthDays, capacity), deleted);
+    }
+
+    private View withSize(int newSize, long[] newDeleted) {
+      return new View(newSize, resultIds, userIds, itemIds, groupIds, values, recordedDays, sexCodes, birthDays,
+          newDeleted);
+    }
+  }
+}
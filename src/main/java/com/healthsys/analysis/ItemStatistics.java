@@ -0,0 +1,132 @@
+package com.healthsys.analysis;
+
+import java.util.Arrays;
+
+/**
+ * 单个检查项的人群统计。
+ * 组合流式矩统计与分位数草图，并缓存百分位表供界面常数时间查询。
+ *
+ * @author 梦辰
+ */
+public class ItemStatistics {
+
+  /**
+   * 百分位表长度（P0 ~ P100）
+   */
+  public static final int PERCENTILE_POINTS = 101;
+
+  private final Integer itemId;
+  private final RunningStats moments;
+  private final KllSketch sketch;
+
+  /**
+   * 百分位表，写入后置空并在下次查询时重建
+   */
+  private volatile double[] percentileTable;
+
+  public ItemStatistics(Integer itemId) {
+    this(itemId, new RunningStats(), new KllSketch());
+  }
+
+  public ItemStatistics(Integer itemId, RunningStats moments, KllSketch sketch) {
+    this.itemId = itemId;
+    this.moments = moments;
+    this.sketch = sketch;
+  }
+
+  /**
+   * 加入一个测量值
+   */
+  public synchronized void add(double value) {
+    if (Double.isNaN(value) || Double.isInfinite(value)) {
+      return;
+    }
+    moments.add(value);
+    sketch.update(value);
+    percentileTable = null;
+  }
+
+  /**
+   * 合并另一分片的统计
+   */
+  public synchronized void merge(ItemStatistics other) {
+    synchronized (other) {
+      moments.merge(other.moments);
+      sketch.merge(other.sketch);
+    }
+    percentileTable = null;
+  }
+
+  /**
+   * 计算测量值在人群中的百分位
+   *
+   * @param value 测量值
+   * @return 百分位（0-100），无样本时返回-1
+   */
+  public int percentileOf(double value) {
+    double[] table = getPercentileTable();
+    if (table.length == 0) {
+      return -1;
+    }
+    if (value < table[0]) {
+      return 0;
+    }
+    // 表长固定为101，二分查找为常数时间
+    int pos = Arrays.binarySearch(table, value);
+    if (pos < 0) {
+      return -pos - 2;
+    }
+    while (pos + 1 < table.length && table[pos + 1] == value) {
+      pos++;
+    }
+    return pos;
+  }
+
+  /**
+   * 获取百分位表（第 i 项为 Pi）
+   */
+  public double[] getPercentileTable() {
+    double[] table = percentileTable;
+    if (table == null) {
+      synchronized (this) {
+        table = percentileTable;
+        if (table == null) {
+          table = sketch.isEmpty() ? new double[0] : sketch.getQuantiles(PERCENTILE_POINTS);
+          percentileTable = table;
+        }
+      }
+    }
+    return table;
+  }
+
+  public Integer getItemId() {
+    return itemId;
+  }
+
+  public synchronized long getCount() {
+    return moments.getCount();
+  }
+
+  public synchronized double getMean() {
+    return moments.getMean();
+  }
+
+  public synchronized double getStandardDeviation() {
+    return moments.getStandardDeviation();
+  }
+
+  /**
+   * 获取统计量快照（用于持久化）
+   */
+  public synchronized RunningStats getMomentsSnapshot() {
+    return new RunningStats(moments.getCount(), moments.getMean(), moments.getM2(),
+        moments.getMin(), moments.getMax());
+  }
+
+  /**
+   * 获取序列化后的分位数草图（用于持久化）
+   */
+  public synchronized byte[] getSketchBytes() {
+    return sketch.toBytes();
+  }
+}
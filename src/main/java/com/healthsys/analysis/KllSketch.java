@@ -0,0 +1,299 @@
+package com.healthsys.analysis;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * KLL 分位数草图。
+ * 以固定内存近似维护数据流的分布，支持增量更新、分片合并和紧凑序列化。
+ * 第 h 层中的每个元素代表 2^h 个原始样本，层满时排序后隔一取一压缩到上一层。
+ *
+ * @author 梦辰
+ */
+public class KllSketch {
+
+  /**
+   * 默认精度参数，k=200 时秩误差约为 1.65%
+   */
+  public static final int DEFAULT_K = 200;
+
+  private static final double CAPACITY_DECAY = 2.0 / 3.0;
+  private static final int MIN_LEVEL_CAPACITY = 8;
+
+  private final int k;
+  private long n;
+  private double[][] levels;
+  private int[] sizes;
+
+  public KllSketch() {
+    this(DEFAULT_K);
+  }
+
+  public KllSketch(int k) {
+    if (k < MIN_LEVEL_CAPACITY) {
+      throw new IllegalArgumentException("k不能小于" + MIN_LEVEL_CAPACITY);
+    }
+    this.k = k;
+    this.levels = new double[][] { new double[k] };
+    this.sizes = new int[] { 0 };
+  }
+
+  /**
+   * 加入一个样本
+   *
+   * @param value 样本值
+   */
+  public void update(double value) {
+    if (Double.isNaN(value)) {
+      return;
+    }
+    append(0, value);
+    n++;
+    compressIfNeeded();
+  }
+
+  /**
+   * 合并另一草图（两者精度参数可以不同，以本草图为准）
+   *
+   * @param other 另一草图
+   */
+  public void merge(KllSketch other) {
+    if (other == null || other.n == 0) {
+      return;
+    }
+    while (levels.length < other.levels.length) {
+      addLevel();
+    }
+    for (int h = 0; h < other.levels.length; h++) {
+      for (int i = 0; i < other.sizes[h]; i++) {
+        append(h, other.levels[h][i]);
+      }
+    }
+    n += other.n;
+    compressIfNeeded();
+  }
+
+  /**
+   * 样本总数
+   */
+  public long getN() {
+    return n;
+  }
+
+  public boolean isEmpty() {
+    return n == 0;
+  }
+
+  /**
+   * 获取近似分位数
+   *
+   * @param fraction 分位点，取值 [0, 1]
+   * @return 分位数，草图为空时返回 NaN
+   */
+  public double getQuantile(double fraction) {
+    double[] result = getQuantiles(new double[] { fraction });
+    return result.length == 0 ? Double.NaN : result[0];
+  }
+
+  /**
+   * 获取均匀分布的分位数表
+   *
+   * @param points 表长度（至少2），第 i 项为 i/(points-1) 分位数
+   * @return 分位数表，草图为空时返回空数组
+   */
+  public double[] getQuantiles(int points) {
+    if (points < 2) {
+      throw new IllegalArgumentException("分位数表长度至少为2");
+    }
+    double[] fractions = new double[points];
+    for (int i = 0; i < points; i++) {
+      fractions[i] = (double) i / (points - 1);
+    }
+    return getQuantiles(fractions);
+  }
+
+  /**
+   * 获取指定分位点的分位数
+   *
+   * @param fractions 升序排列的分位点
+   * @return 分位数数组，草图为空时返回空数组
+   */
+  public double[] getQuantiles(double[] fractions) {
+    int retained = getRetainedItems();
+    if (retained == 0) {
+      return new double[0];
+    }
+
+    // 汇总所有层的样本及权重并按值排序
+    double[] values = new double[retained];
+    long[] weights = new long[retained];
+    int idx = 0;
+    for (int h = 0; h < levels.length; h++) {
+      for (int i = 0; i < sizes[h]; i++) {
+        values[idx] = levels[h][i];
+        weights[idx] = 1L << h;
+        idx++;
+      }
+    }
+    sortByValue(values, weights);
+
+    long totalWeight = 0;
+    for (long w : weights) {
+      totalWeight += w;
+    }
+
+    double[] result = new double[fractions.length];
+    long cumulative = 0;
+    int pos = 0;
+    for (int f = 0; f < fractions.length; f++) {
+      double target = Math.min(Math.max(fractions[f], 0.0), 1.0) * totalWeight;
+      while (pos < retained - 1 && cumulative + weights[pos] < target) {
+        cumulative += weights[pos];
+        pos++;
+      }
+      result[f] = values[pos];
+    }
+    return result;
+  }
+
+  /**
+   * 序列化为紧凑字节数组
+   */
+  public byte[] toBytes() {
+    int retained = getRetainedItems();
+    ByteBuffer buffer = ByteBuffer.allocate(4 + 8 + 4 + levels.length * 4 + retained * 8);
+    buffer.putInt(k);
+    buffer.putLong(n);
+    buffer.putInt(levels.length);
+    for (int h = 0; h < levels.length; h++) {
+      buffer.putInt(sizes[h]);
+      for (int i = 0; i < sizes[h]; i++) {
+        buffer.putDouble(levels[h][i]);
+      }
+    }
+    return buffer.array();
+  }
+
+  /**
+   * 从字节数组恢复草图
+   *
+   * @param bytes 序列化数据
+   * @return 草图实例
+   */
+  public static KllSketch fromBytes(byte[] bytes) {
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    KllSketch sketch = new KllSketch(buffer.getInt());
+    sketch.n = buffer.getLong();
+    int levelCount = buffer.getInt();
+    sketch.levels = new double[levelCount][];
+    sketch.sizes = new int[levelCount];
+    for (int h = 0; h < levelCount; h++) {
+      int size = buffer.getInt();
+      double[] level = new double[Math.max(size, MIN_LEVEL_CAPACITY)];
+      for (int i = 0; i < size; i++) {
+        level[i] = buffer.getDouble();
+      }
+      sketch.levels[h] = level;
+      sketch.sizes[h] = size;
+    }
+    return sketch;
+  }
+
+  /**
+   * 当前保留的样本数
+   */
+  public int getRetainedItems() {
+    int total = 0;
+    for (int size : sizes) {
+      total += size;
+    }
+    return total;
+  }
+
+  private void append(int level, double value) {
+    if (sizes[level] == levels[level].length) {
+      levels[level] = Arrays.copyOf(levels[level], levels[level].length * 2);
+    }
+    levels[level][sizes[level]++] = value;
+  }
+
+  private void addLevel() {
+    int count = levels.length;
+    levels = Arrays.copyOf(levels, count + 1);
+    sizes = Arrays.copyOf(sizes, count + 1);
+    levels[count] = new double[MIN_LEVEL_CAPACITY];
+  }
+
+  private int levelCapacity(int level) {
+    int depth = levels.length - 1 - level;
+    return Math.max(MIN_LEVEL_CAPACITY, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)));
+  }
+
+  private int totalCapacity() {
+    int total = 0;
+    for (int h = 0; h < levels.length; h++) {
+      total += levelCapacity(h);
+    }
+    return total;
+  }
+
+  private void compressIfNeeded() {
+    while (getRetainedItems() > totalCapacity()) {
+      for (int h = 0; h < levels.length; h++) {
+        if (sizes[h] >= levelCapacity(h)) {
+          compactLevel(h);
+          break;
+        }
+      }
+    }
+  }
+
+  /**
+   * 压缩一层：排序后随机选择奇数位或偶数位的一半元素提升到上一层
+   */
+  private void compactLevel(int level) {
+    if (level == levels.length - 1) {
+      addLevel();
+    }
+
+    double[] buffer = levels[level];
+    int size = sizes[level];
+    Arrays.sort(buffer, 0, size);
+
+    // 奇数个元素时保留一个在本层，保证总权重不变
+    boolean odd = (size & 1) == 1;
+    int evenSize = odd ? size - 1 : size;
+    int offset = ThreadLocalRandom.current().nextBoolean() ? 1 : 0;
+    for (int i = offset; i < evenSize; i += 2) {
+      append(level + 1, buffer[i]);
+    }
+
+    if (odd) {
+      buffer[0] = buffer[size - 1];
+      sizes[level] = 1;
+    } else {
+      sizes[level] = 0;
+    }
+  }
+
+  /**
+   * 按值对样本及其权重同步排序
+   */
+  private static void sortByValue(double[] values, long[] weights) {
+    int count = values.length;
+    Integer[] order = new Integer[count];
+    for (int i = 0; i < count; i++) {
+      order[i] = i;
+    }
+    Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+    double[] sortedValues = new double[count];
+    long[] sortedWeights = new long[count];
+    for (int i = 0; i < count; i++) {
+      sortedValues[i] = values[order[i]];
+      sortedWeights[i] = weights[order[i]];
+    }
+    System.arraycopy(sortedValues, 0, values, 0, count);
+    System.arraycopy(sortedWeights, 0, weights, 0, count);
+  }
+}
@@ -0,0 +1,41 @@
+package com.healthsys.analysis;
+
+/**
+ * 测量值解析工具。
+ * 将以字符串存储的测量值转换为数值，非数值结果统一视为缺失。
+ *
+ * @author 梦辰
+ */
+public final class MeasuredValues {
+
+  private MeasuredValues() {
+  }
+
+  /**
+   * 解析测量值
+   *
+   * @param measuredValue 测量值字符串
+   * @return 数值，空值或非数值时返回 NaN
+   */
+  public static double parse(String measuredValue) {
+    if (measuredValue == null) {
+      return Double.NaN;
+    }
+    String text = measuredValue.trim();
+    if (text.isEmpty()) {
+      return Double.NaN;
+    }
+    try {
+      return Double.parseDouble(text);
+    } catch (NumberFormatException e) {
+      return Double.NaN;
+    }
+  }
+
+  /**
+   * 判断是否为有效数值
+   */
+  public static boolean isNumeric(double value) {
+    return !Double.isNaN(value) && !Double.isInfinite(value);
+  }
+}
@@ -0,0 +1,84 @@
+package com.healthsys.analysis;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 检查项参考范围。
+ * 解析 check_items.reference_val 中的数值区间，如 "3.9-6.1 mmol/L"、"&lt;5.2 mmol/L"。
+ *
+ * @author 梦辰
+ */
+public final class ReferenceRange {
+
+  /**
+   * 无法解析时使用的无界范围（任何值都视为正常）
+   */
+  public static final ReferenceRange UNBOUNDED = new ReferenceRange(Double.NEGATIVE_INFINITY,
+      Double.POSITIVE_INFINITY);
+
+  private static final Pattern RANGE_PATTERN = Pattern.compile(
+      "^\\s*(?<op>[<>≤≥]=?)?\\s*(?<low>-?\\d+(?:\\.\\d+)?)\\s*(?:[-~～—]\\s*(?<high>-?\\d+(?:\\.\\d+)?))?");
+
+  private final double low;
+  private final double high;
+
+  public ReferenceRange(double low, double high) {
+    this.low = low;
+    this.high = high;
+  }
+
+  /**
+   * 解析参考值文本
+   *
+   * @param referenceVal 参考值文本
+   * @return 参考范围，无法解析时返回 {@link #UNBOUNDED}
+   */
+  public static ReferenceRange parse(String referenceVal) {
+    if (referenceVal == null || referenceVal.trim().isEmpty()) {
+      return UNBOUNDED;
+    }
+
+    Matcher matcher = RANGE_PATTERN.matcher(referenceVal);
+    if (!matcher.find()) {
+      return UNBOUNDED;
+    }
+
+    String op = matcher.group("op");
+    double first = Double.parseDouble(matcher.group("low"));
+    String high = matcher.group("high");
+
+    if (op != null) {
+      if (op.startsWith("<") || op.startsWith("≤")) {
+        return new ReferenceRange(Double.NEGATIVE_INFINITY, first);
+      }
+      return new ReferenceRange(first, Double.POSITIVE_INFINITY);
+    }
+    if (high != null) {
+      return new ReferenceRange(first, Double.parseDouble(high));
+    }
+    return UNBOUNDED;
+  }
+
+  /**
+   * 判断数值是否超出参考范围
+   *
+   * @param value 测量值，NaN 视为非异常
+   * @return 超出范围返回true
+   */
+  public boolean isAbnormal(double value) {
+    return value < low || value > high;
+  }
+
+  public boolean isBounded() {
+    return low != Double.NEGATIVE_INFINITY || high != Double.POSITIVE_INFINITY;
+  }
+
+  public double getLow() {
+    return low;
+  }
+
+  public double getHigh() {
+    return high;
+  }
+}
@@ -0,0 +1,72 @@
+package com.healthsys.analysis;
+
+/**
+ * 参考范围变更后的重新判定汇总。
+ *
+ * @author 梦辰
+ */
+public class ReflagSummary {
+
+  private final int itemId;
+  private final int abnormalBefore;
+  private final int abnormalAfter;
+  private final int newlyAbnormal;
+  private final int newlyNormal;
+
+  public ReflagSummary(int itemId, int abnormalBefore, int abnormalAfter, int newlyAbnormal, int newlyNormal) {
+    this.itemId = itemId;
+    this.abnormalBefore = abnormalBefore;
+    this.abnormalAfter = abnormalAfter;
+    this.newlyAbnormal = newlyAbnormal;
+    this.newlyNormal = newlyNormal;
+  }
+
+  /**
+   * 比较同一检查项在新旧参考范围下的异常位图
+   *
+   * @param itemId 检查项ID
+   * @param before 旧范围下的异常位图
+   * @param after  新范围下的异常位图
+   * @return 汇总
+   */
+  public static ReflagSummary compare(int itemId, long[] before, long[] after) {
+    int abnormalBefore = 0;
+    int abnormalAfter = 0;
+    int newlyAbnormal = 0;
+    int newlyNormal = 0;
+    for (int i = 0; i < before.length; i++) {
+      abnormalBefore += Long.bitCount(before[i]);
+      abnormalAfter += Long.bitCount(after[i]);
+      newlyAbnormal += Long.bitCount(after[i] & ~before[i]);
+      newlyNormal += Long.bitCount(before[i] & ~after[i]);
+    }
+    return new ReflagSummary(itemId, abnormalBefore, abnormalAfter, newlyAbnormal, newlyNormal);
+  }
+
+  public int getItemId() {
+    return itemId;
+  }
+
+  public int getAbnormalBefore() {
+    return abnormalBefore;
+  }
+
+  public int getAbnormalAfter() {
+    return abnormalAfter;
+  }
+
+  public int getNewlyAbnormal() {
+    return newlyAbnormal;
+  }
+
+  public int getNewlyNormal() {
+    return newlyNormal;
+  }
+
+  /**
+   * 是否有结果的异常标记发生变化
+   */
+  public boolean hasChanges() {
+    return newlyAbnormal > 0 || newlyNormal > 0;
+  }
+}
@@ -0,0 +1,109 @@
+package com.healthsys.analysis;
+
+/**
+ * 流式统计量。
+ * 基于 Welford 算法增量维护样本数、均值与二阶中心矩，支持并行分片结果合并。
+ *
+ * @author 梦辰
+ */
+public class RunningStats {
+
+  private long count;
+  private double mean;
+  private double m2;
+  private double min = Double.POSITIVE_INFINITY;
+  private double max = Double.NEGATIVE_INFINITY;
+
+  public RunningStats() {
+  }
+
+  /**
+   * 由已持久化的统计量恢复
+   */
+  public RunningStats(long count, double mean, double m2, double min, double max) {
+    this.count = count;
+    this.mean = mean;
+    this.m2 = m2;
+    this.min = count > 0 ? min : Double.POSITIVE_INFINITY;
+    this.max = count > 0 ? max : Double.NEGATIVE_INFINITY;
+  }
+
+  /**
+   * 加入一个样本
+   *
+   * @param value 样本值
+   */
+  public void add(double value) {
+    count++;
+    double delta = value - mean;
+    mean += delta / count;
+    m2 += delta * (value - mean);
+    if (value < min) {
+      min = value;
+    }
+    if (value > max) {
+      max = value;
+    }
+  }
+
+  /**
+   * 合并另一分片的统计量（Chan 等人的并行合并公式）
+   *
+   * @param other 另一分片统计量
+   */
+  public void merge(RunningStats other) {
+    if (other == null || other.count == 0) {
+      return;
+    }
+    if (count == 0) {
+      count = other.count;
+      mean = other.mean;
+      m2 = other.m2;
+      min = other.min;
+      max = other.max;
+      return;
+    }
+
+    long total = count + other.count;
+    double delta = other.mean - mean;
+    mean += delta * other.count / total;
+    m2 += other.m2 + delta * delta * ((double) count * other.count / total);
+    count = total;
+    min = Math.min(min, other.min);
+    max = Math.max(max, other.max);
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public double getMean() {
+    return mean;
+  }
+
+  public double getM2() {
+    return m2;
+  }
+
+  public double getMin() {
+    return min;
+  }
+
+  public double getMax() {
+    return max;
+  }
+
+  /**
+   * 获取样本方差
+   */
+  public double getVariance() {
+    return count > 1 ? m2 / (count - 1) : 0.0;
+  }
+
+  /**
+   * 获取样本标准差
+   */
+  public double getStandardDeviation() {
+    return Math.sqrt(getVariance());
+  }
+}
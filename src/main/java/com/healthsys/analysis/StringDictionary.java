@@ -0,0 +1,66 @@
+package com.healthsys.analysis;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 字符串字典编码。
+ * 将低基数字符串列（如性别）编码为连续整数，列存中只保存编码。
+ *
+ * @author 梦辰
+ */
+public class StringDictionary {
+
+  /**
+   * 空值对应的显示文本
+   */
+  public static final String UNKNOWN = "未知";
+
+  private final Map<String, Integer> codes = new HashMap<>();
+  private final List<String> values = new ArrayList<>();
+
+  /**
+   * 获取字符串的编码，不存在时分配新编码
+   *
+   * @param value 字符串，null或空白视为未知
+   * @return 编码
+   */
+  public synchronized int encode(String value) {
+    String key = value == null || value.trim().isEmpty() ? UNKNOWN : value.trim();
+    Integer code = codes.get(key);
+    if (code == null) {
+      code = values.size();
+      codes.put(key, code);
+      values.add(key);
+    }
+    return code;
+  }
+
+  /**
+   * 查找字符串的编码
+   *
+   * @param value 字符串
+   * @return 编码，不存在时返回-1
+   */
+  public synchronized int lookup(String value) {
+    String key = value == null || value.trim().isEmpty() ? UNKNOWN : value.trim();
+    Integer code = codes.get(key);
+    return code != null ? code : -1;
+  }
+
+  /**
+   * 解码
+   *
+   * @param code 编码
+   * @return 字符串
+   */
+  public synchronized String decode(int code) {
+    return code >= 0 && code < values.size() ? values.get(code) : UNKNOWN;
+  }
+
+  public synchronized int size() {
+    return values.size();
+  }
+}
@@ -0,0 +1,344 @@
+package com.healthsys.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 应用后台任务执行器。
+ * 所有视图模型的后台工作统一提交到这里，不再使用公共 fork-join 池或各自创建的线程池。
+ * 线程数有上限；访问数据库的任务先在队列中等待许可，取得许可后才交给线程执行，
+ * 许可数与连接池最大连接数一致，避免阻塞的 JDBC 调用占满线程或在连接池上排队超时。
+ * 每个任务带有名称，执行期间追加在线程名后，便于在线程转储中定位。
+ * 
+ * @author 梦辰
+ */
+public final class AppExecutor {
+
+  private static final Logger logger = LoggerFactory.getLogger(AppExecutor.class);
+
+  private static final String THREAD_PREFIX = "healthsys-worker-";
+  private static final long KEEP_ALIVE_SECONDS = 30;
+  private static final long SHUTDOWN_TIMEOUT_SECONDS = 3;
+
+  private static volatile ThreadPoolExecutor executor;
+  private static volatile Semaphore dbPermits;
+  private static volatile boolean shutdown;
+  private static int dbPermitCount;
+  private static final Queue<Task<?>> waitingDbTasks = new ConcurrentLinkedQueue<>();
+  private static final Object lock = new Object();
+
+  private AppExecutor() {
+  }
+
+  /**
+   * 提交不访问数据库的任务
+   * 
+   * @param taskName 任务名称
+   * @param task     任务
+   * @return 任务结果
+   */
+  public static CompletableFuture<Void> runAsync(String taskName, Runnable task) {
+    return submit(taskName, null, false, () -> {
+      task.run();
+      return null;
+    });
+  }
+
+  /**
+   * 提交不访问数据库的任务
+   * 
+   * @param taskName 任务名称
+   * @param task     任务
+   * @return 任务结果
+   */
+  public static <T> CompletableFuture<T> supplyAsync(String taskName, Supplier<T> task) {
+    return submit(taskName, null, false, task);
+  }
+
+  /**
+   * 提交访问数据库的任务
+   * 
+   * @param taskName 任务名称
+   * @param task     任务
+   * @return 任务结果
+   */
+  public static CompletableFuture<Void> runDbAsync(String taskName, Runnable task) {
+    return submit(taskName, null, true, () -> {
+      task.run();
+      return null;
+    });
+  }
+
+  /**
+   * 提交访问数据库的任务
+   * 
+   * @param taskName 任务名称
+   * @param task     任务
+   * @return 任务结果
+   */
+  public static <T> CompletableFuture<T> supplyDbAsync(String taskName, Supplier<T> task) {
+    return submit(taskName, null, true, task);
+  }
+
+  /**
+   * 提交可取消的数据库任务。
+   * 令牌取消后返回的 future 立即以 {@link CancellationException} 结束；
+   * 尚未开始的任务不再执行，已开始的任务应自行检查令牌。
+   * 
+   * @param taskName 任务名称
+   * @param token    取消令牌
+   * @param task     任务
+   * @return 任务结果
+   */
+  public static <T> CompletableFuture<T> supplyDbAsync(String taskName, CancellationToken token, Supplier<T> task) {
+    return submit(taskName, token, true, task);
+  }
+
+  /**
+   * 执行数据库任务（如 {@link javax.swing.SwingWorker}），结果由任务自身处理
+   * 
+   * @param taskName 任务名称
+   * @param task     任务
+   */
+  public static void executeDb(String taskName, Runnable task) {
+    runDbAsync(taskName, task).exceptionally(throwable -> {
+      logger.error("后台任务执行失败: {}", taskName, throwable);
+      return null;
+    });
+  }
+
+  /**
+   * 正在执行的任务数
+   */
+  public static int getActiveCount() {
+    ThreadPoolExecutor current = executor;
+    return current != null ? current.getActiveCount() : 0;
+  }
+
+  /**
+   * 排队等待线程的任务数
+   */
+  public static int getQueuedCount() {
+    ThreadPoolExecutor current = executor;
+    return current != null ? current.getQueue().size() : 0;
+  }
+
+  /**
+   * 当前可用的数据库许可数
+   */
+  public static int getAvailableDbPermits() {
+    Semaphore current = dbPermits;
+    return current != null ? current.availablePermits() : 0;
+  }
+
+  /**
+   * 等待数据库许可的任务数
+   */
+  public static int getWaitingDbTaskCount() {
+    return waitingDbTasks.size();
+  }
+
+  /**
+   * 数据库许可总数
+   */
+  public static int getDbPermitCount() {
+    if (!shutdown) {
+      pool();
+    }
+    return dbPermitCount;
+  }
+
+  /**
+   * 关闭执行器，等待正在执行的任务结束，超时后中断
+   */
+  public static void shutdown() {
+    ThreadPoolExecutor current;
+    synchronized (lock) {
+      shutdown = true;
+      current = executor;
+    }
+    if (current == null) {
+      return;
+    }
+
+    // 尚未取得许可的数据库任务不再执行
+    Task<?> waiting;
+    while ((waiting = waitingDbTasks.poll()) != null) {
+      waiting.future.cancel(false);
+    }
+
+    current.shutdown();
+    try {
+      if (!current.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        logger.warn("后台任务未在{}秒内结束，强制中断", SHUTDOWN_TIMEOUT_SECONDS);
+        current.shutdownNow();
+      }
+    } catch (InterruptedException e) {
+      current.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+    logger.info("后台任务执行器已关闭");
+  }
+
+  private static <T> CompletableFuture<T> submit(String taskName, CancellationToken token, boolean db,
+      Supplier<T> supplier) {
+    Task<T> task = new Task<>(taskName, token, supplier);
+    if (shutdown) {
+      logger.warn("执行器已关闭，任务被拒绝: {}", taskName);
+      task.future.completeExceptionally(new CompletionException(new RejectedExecutionException("执行器已关闭")));
+      return task.future;
+    }
+    if (token != null) {
+      // 任务结束后注销，令牌被多个任务共用时不再持有已完成任务的结果
+      CancellationToken.Registration registration = token.onCancel(() -> task.future.cancel(false));
+      task.future.whenComplete((result, throwable) -> registration.close());
+    }
+
+    if (db) {
+      waitingDbTasks.add(task);
+      drainDbTasks();
+    } else {
+      execute(task);
+    }
+    return task.future;
+  }
+
+  /**
+   * 有空闲许可时把等待中的数据库任务交给线程池，许可在任务结束后归还
+   */
+  private static void drainDbTasks() {
+    while (!waitingDbTasks.isEmpty() && dbPermits().tryAcquire()) {
+      Task<?> task = waitingDbTasks.poll();
+      if (task == null) {
+        dbPermits.release();
+        continue;
+      }
+      execute(task, () -> {
+        dbPermits.release();
+        drainDbTasks();
+      });
+    }
+  }
+
+  private static void execute(Task<?> task) {
+    execute(task, null);
+  }
+
+  private static void execute(Task<?> task, Runnable afterRun) {
+    try {
+      pool().execute(() -> {
+        try {
+          task.run();
+        } finally {
+          if (afterRun != null) {
+            afterRun.run();
+          }
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      logger.warn("执行器已关闭，任务被拒绝: {}", task.name);
+      task.future.completeExceptionally(new CompletionException(e));
+      if (afterRun != null) {
+        afterRun.run();
+      }
+    }
+  }
+
+  private static Semaphore dbPermits() {
+    pool();
+    return dbPermits;
+  }
+
+  private static ThreadPoolExecutor pool() {
+    ThreadPoolExecutor current = executor;
+    if (current != null) {
+      return current;
+    }
+    synchronized (lock) {
+      if (shutdown) {
+        throw new RejectedExecutionException("执行器已关闭");
+      }
+      if (executor == null) {
+        dbPermitCount = Math.max(1, DatabaseConfig.getMaximumPoolSize());
+        dbPermits = new Semaphore(dbPermitCount);
+
+        // 数据库任务取得许可后才占用线程，最多占用 dbPermitCount 个，其余线程留给不访问数据库的任务
+        int threads = dbPermitCount + Math.max(2, Runtime.getRuntime().availableProcessors());
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), new WorkerThreadFactory());
+        pool.allowCoreThreadTimeOut(true);
+        executor = pool;
+        logger.info("后台任务执行器已创建: 线程数={}, 数据库许可数={}", threads, dbPermitCount);
+      }
+      return executor;
+    }
+  }
+
+  /**
+   * 带名称和取消令牌的任务
+   */
+  private static final class Task<T> implements Runnable {
+    final String name;
+    final CancellationToken token;
+    final Supplier<T> supplier;
+    final CompletableFuture<T> future = new CompletableFuture<>();
+
+    Task(String name, CancellationToken token, Supplier<T> supplier) {
+      this.name = name;
+      this.token = token;
+      this.supplier = supplier;
+    }
+
+    @Override
+    public void run() {
+      if (future.isDone()) {
+        // 开始前已被取消
+        return;
+      }
+      Thread thread = Thread.currentThread();
+      String threadName = thread.getName();
+      thread.setName(threadName + " [" + name + "]");
+      CancellationToken.setCurrent(token);
+      try {
+        if (token != null) {
+          token.throwIfCancelled();
+        }
+        future.complete(supplier.get());
+      } catch (CancellationException e) {
+        future.cancel(false);
+      } catch (Throwable throwable) {
+        // 与 CompletableFuture.supplyAsync 一致，异常包装为 CompletionException
+        future.completeExceptionally(
+            throwable instanceof CompletionException ? throwable : new CompletionException(throwable));
+      } finally {
+        CancellationToken.setCurrent(null);
+        thread.setName(threadName);
+      }
+    }
+  }
+
+  private static final class WorkerThreadFactory implements ThreadFactory {
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, THREAD_PREFIX + sequence.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
@@ -0,0 +1,119 @@
+package com.healthsys.config;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+
+/**
+ * 取消令牌。
+ * 由发起方持有并在不再需要结果时调用 {@link #cancel()}，
+ * 后台任务在开始前和执行过程中检查令牌，也可注册取消回调以中止正在进行的操作。
+ * {@link AppExecutor} 执行任务期间令牌绑定到当前线程，数据库语句据此在取消时被中止。
+ * 令牌可能被多次加载共用而长期存在，回调对应的操作结束后应关闭注册，避免回调及其引用的结果一直留在令牌上。
+ * 
+ * @author 梦辰
+ */
+public final class CancellationToken {
+
+  private static final ThreadLocal<CancellationToken> CURRENT = new ThreadLocal<>();
+
+  private final Set<Registration> registrations = new LinkedHashSet<>();
+  private volatile boolean cancelled;
+
+  /**
+   * 取消，依次执行已注册的回调。重复调用无效果。
+   */
+  public void cancel() {
+    List<Registration> toRun;
+    synchronized (registrations) {
+      if (cancelled) {
+        return;
+      }
+      cancelled = true;
+      toRun = new ArrayList<>(registrations);
+      registrations.clear();
+    }
+    for (Registration registration : toRun) {
+      registration.callback.run();
+    }
+  }
+
+  /**
+   * 是否已取消
+   */
+  public boolean isCancelled() {
+    return cancelled;
+  }
+
+  /**
+   * 已取消时抛出 {@link CancellationException}
+   */
+  public void throwIfCancelled() {
+    if (cancelled) {
+      throw new CancellationException("任务已取消");
+    }
+  }
+
+  /**
+   * 注册取消回调。已取消时立即在当前线程执行。
+   * 
+   * @param callback 回调
+   * @return 注册，回调不再需要时关闭
+   */
+  public Registration onCancel(Runnable callback) {
+    synchronized (registrations) {
+      if (!cancelled) {
+        Registration registration = new Registration(this, callback);
+        registrations.add(registration);
+        return registration;
+      }
+    }
+    callback.run();
+    return Registration.NONE;
+  }
+
+  /**
+   * 获取当前线程正在执行的任务的令牌
+   * 
+   * @return 令牌，任务不可取消时返回null
+   */
+  public static CancellationToken current() {
+    return CURRENT.get();
+  }
+
+  static void setCurrent(CancellationToken token) {
+    if (token != null) {
+      CURRENT.set(token);
+    } else {
+      CURRENT.remove();
+    }
+  }
+
+  /**
+   * 取消回调的注册。关闭后令牌不再持有回调，重复关闭无效果
+   */
+  public static final class Registration implements AutoCloseable {
+
+    private static final Registration NONE = new Registration(null, () -> {
+    });
+
+    private final CancellationToken token;
+    private final Runnable callback;
+
+    private Registration(CancellationToken token, Runnable callback) {
+      this.token = token;
+      this.callback = callback;
+    }
+
+    @Override
+    public void close() {
+      if (token != null) {
+        synchronized (token.registrations) {
+          token.registrations.remove(this);
+        }
+      }
+    }
+  }
+}
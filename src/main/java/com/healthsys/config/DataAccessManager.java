@@ -6,14 +6,24 @@ import com.healthsys.dao.CheckGroupMapper;
 import com.healthsys.dao.AppointmentMapper;
 import com.healthsys.dao.MedicalHistoryMapper;
 import com.healthsys.dao.ExaminationResultMapper;
+import com.healthsys.dao.CheckItemStatisticsMapper;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Statement;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * 数据访问管理器。
  * 统一管理数据源和 Mapper 实例。
+ * Mapper 绑定在 {@link SqlSessionManager} 上，每次调用单独打开会话、执行后提交并关闭，
+ * 从连接池借用的连接随之归还，因此同一个 Mapper 可以被多个后台任务并发使用。
  * 
  * @author 梦辰
  */
@@ -23,8 +33,13 @@ public class DataAccessManager {
   private static volatile DataAccessManager instance;
   private static final Object lock = new Object();
 
+  /**
+   * 后台正在进行的初始化，见 {@link #initializeAsync}
+   */
+  private static volatile CompletableFuture<DataAccessManager> pendingInitialization;
+
   private SqlSessionFactory sqlSessionFactory;
-  private SqlSession sqlSession;
+  private SqlSessionManager sqlSession;
 
   /**
    * 私有构造函数
@@ -33,10 +48,48 @@ public class DataAccessManager {
     initializeMyBatis();
   }
 
+  /**
+   * 使用已创建的SqlSessionFactory构造
+   */
+  private DataAccessManager(SqlSessionFactory sqlSessionFactory) {
+    this.sqlSessionFactory = sqlSessionFactory;
+    this.sqlSession = SqlSessionManager.newInstance(sqlSessionFactory);
+  }
+
+  /**
+   * 用后台创建的SqlSessionFactory完成初始化。
+   * 初始化完成前调用 {@link #getInstance()} 的线程会等待其完成，而不是重复初始化；
+   * 后台初始化失败时 {@link #getInstance()} 回退为同步初始化。
+   * 
+   * @param factory 正在创建的SqlSessionFactory
+   * @return 初始化完成的实例
+   */
+  public static CompletableFuture<DataAccessManager> initializeAsync(CompletableFuture<SqlSessionFactory> factory) {
+    CompletableFuture<DataAccessManager> initialization = factory.thenApply(sqlSessionFactory -> {
+      synchronized (lock) {
+        if (instance == null) {
+          instance = new DataAccessManager(sqlSessionFactory);
+          logger.info("MyBatis配置初始化成功");
+        }
+        return instance;
+      }
+    });
+    pendingInitialization = initialization;
+    return initialization;
+  }
+
   /**
    * 获取单例实例
    */
   public static DataAccessManager getInstance() {
+    CompletableFuture<DataAccessManager> pending = pendingInitialization;
+    if (instance == null && pending != null) {
+      try {
+        return pending.join();
+      } catch (CompletionException e) {
+        logger.warn("后台初始化数据访问层失败，改为同步初始化: {}", e.getMessage());
+      }
+    }
     if (instance == null) {
       synchronized (lock) {
         if (instance == null) {
@@ -57,8 +110,8 @@ public class DataAccessManager {
       // 使用MybatisPlusConfig创建SqlSessionFactory
       sqlSessionFactory = MybatisPlusConfig.createSqlSessionFactory();
 
-      // 创建SqlSession
-      sqlSession = sqlSessionFactory.openSession(true); // 自动提交事务
+      // 每次调用使用独立会话
+      sqlSession = SqlSessionManager.newInstance(sqlSessionFactory);
 
       logger.info("MyBatis配置初始化成功");
 
@@ -129,14 +182,27 @@ public class DataAccessManager {
   }
 
   /**
-   * 获取SqlSession
+   * 获取CheckItemStatisticsMapper实例
+   */
+  public CheckItemStatisticsMapper getCheckItemStatisticsMapper() {
+    if (sqlSession == null) {
+      throw new RuntimeException("SqlSession未初始化");
+    }
+    return sqlSession.getMapper(CheckItemStatisticsMapper.class);
+  }
+
+  /**
+   * 获取线程安全的SqlSession，每次调用使用独立会话。
+   * 需要在一个事务中执行多条语句时，应通过 {@link #getSqlSessionFactory()} 另开会话
    */
   public SqlSession getSqlSession() {
     return sqlSession;
   }
 
   /**
-   * 获取SqlSessionFactory
+   * 获取SqlSessionFactory。
+   * 另开的会话使用 MyBatis 默认的会话级一级缓存：同一会话中重复执行相同的查询会直接返回缓存结果，
+   * 不访问数据库，也不计入 QueryCounter 的语句数；需要重新读取时先调用 {@link SqlSession#clearCache()}
    */
   public SqlSessionFactory getSqlSessionFactory() {
     return sqlSessionFactory;
@@ -147,9 +213,12 @@ public class DataAccessManager {
    */
   public boolean testConnection() {
     try {
-      if (sqlSession != null) {
+      if (sqlSessionFactory != null) {
         // 通过连接对象执行简单查询来测试连接
-        sqlSession.getConnection().createStatement().executeQuery("SELECT 1").close();
+        try (SqlSession session = sqlSessionFactory.openSession(true);
+            Statement statement = session.getConnection().createStatement()) {
+          statement.executeQuery("SELECT 1").close();
+        }
         logger.info("数据库连接测试成功");
         return true;
       }
@@ -160,16 +229,12 @@ public class DataAccessManager {
   }
 
   /**
-   * 关闭资源
+   * 关闭资源。各次调用的会话已在调用结束时关闭，这里只停止提供 Mapper，数据源由 {@link DatabaseConfig} 关闭
    */
   public void close() {
-    try {
-      if (sqlSession != null) {
-        sqlSession.close();
-        logger.info("SqlSession已关闭");
-      }
-    } catch (Exception e) {
-      logger.error("关闭SqlSession时发生错误: {}", e.getMessage());
+    if (sqlSession != null) {
+      sqlSession = null;
+      logger.info("SqlSession已关闭");
     }
   }
 
@@ -184,6 +249,38 @@ public class DataAccessManager {
     }
   }
 
+  /**
+   * 获取延迟解析的Mapper。
+   * 返回的代理在第一次调用方法时才取得实际Mapper（必要时等待数据访问层初始化完成），
+   * 用于在数据访问层就绪前创建的组件，如启动时立即显示的登录界面所用的服务。
+   * 调用应发生在后台线程。
+   * 
+   * @param mapperType Mapper接口
+   * @return Mapper代理
+   */
+  public static <T> T getDeferredMapper(Class<T> mapperType) {
+    Object proxy = Proxy.newProxyInstance(mapperType.getClassLoader(), new Class<?>[] { mapperType },
+        (self, method, args) -> {
+          if (method.getDeclaringClass() == Object.class) {
+            switch (method.getName()) {
+              case "equals":
+                return self == args[0];
+              case "hashCode":
+                return System.identityHashCode(self);
+              default:
+                return "DeferredMapper[" + mapperType.getSimpleName() + "]";
+            }
+          }
+          T mapper = getInstance().getSqlSession().getMapper(mapperType);
+          try {
+            return method.invoke(mapper, args);
+          } catch (InvocationTargetException e) {
+            throw e.getCause();
+          }
+        });
+    return mapperType.cast(proxy);
+  }
+
   // 静态方法，便于在Service中调用
   public static UserMapper getUserMapperStatic() {
     return getInstance().getUserMapper();
@@ -208,4 +305,8 @@ public class DataAccessManager {
   public static ExaminationResultMapper getExaminationResultMapperStatic() {
     return getInstance().getExaminationResultMapper();
   }
+
+  public static CheckItemStatisticsMapper getCheckItemStatisticsMapperStatic() {
+    return getInstance().getCheckItemStatisticsMapper();
+  }
 }
\ No newline at end of file
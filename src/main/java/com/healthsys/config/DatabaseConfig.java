@@ -1,7 +1,9 @@
 package com.healthsys.config;
 
+import com.healthsys.service.metrics.ConnectionPoolMetrics;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -72,6 +74,9 @@ public class DatabaseConfig {
       // 连接测试查询
       config.setConnectionTestQuery("SELECT 1");
 
+      // 记录获取连接的等待时间
+      config.setMetricsTrackerFactory(ConnectionPoolMetrics.trackerFactory());
+
       logger.info("数据库连接池配置完成");
       return new HikariDataSource(config);
 
@@ -81,6 +86,34 @@ public class DatabaseConfig {
     }
   }
 
+  /**
+   * 获取连接池最大连接数
+   * 
+   * @return 最大连接数
+   */
+  public static int getMaximumPoolSize() {
+    if (dataSource instanceof HikariDataSource) {
+      return ((HikariDataSource) dataSource).getMaximumPoolSize();
+    }
+    try {
+      return Integer.parseInt(loadProperties().getProperty("spring.datasource.hikari.maximum-pool-size", "20"));
+    } catch (NumberFormatException e) {
+      return 20;
+    }
+  }
+
+  /**
+   * 获取连接池的运行状态，不会触发数据源创建
+   * 
+   * @return 连接池状态，数据源尚未创建时返回null
+   */
+  public static HikariPoolMXBean getPoolMXBean() {
+    if (dataSource instanceof HikariDataSource) {
+      return ((HikariDataSource) dataSource).getHikariPoolMXBean();
+    }
+    return null;
+  }
+
   /**
    * 加载配置文件
    * 
@@ -99,6 +132,12 @@ public class DatabaseConfig {
     } catch (IOException e) {
       logger.warn("加载配置文件失败，使用默认配置", e);
     }
+    // 同名系统属性优先，便于压测等场景临时指向其他数据库
+    for (String name : System.getProperties().stringPropertyNames()) {
+      if (name.startsWith("spring.datasource.")) {
+        props.setProperty(name, System.getProperty(name));
+      }
+    }
     return props;
   }
 
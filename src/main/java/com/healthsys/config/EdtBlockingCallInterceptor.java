@@ -0,0 +1,26 @@
+package com.healthsys.config;
+
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+
+import java.sql.Connection;
+
+/**
+ * EDT数据库访问检测插件。
+ * 在事件调度线程上准备JDBC语句时登记到 {@link EdtWatchdog}，
+ * 用于找出界面事件处理中仍然同步访问数据库的位置。
+ *
+ * @author 梦辰
+ */
+@Intercepts(@Signature(type = StatementHandler.class, method = "prepare", args = { Connection.class, Integer.class }))
+public class EdtBlockingCallInterceptor implements Interceptor {
+
+  @Override
+  public Object intercept(Invocation invocation) throws Throwable {
+    EdtWatchdog.recordBlockingCall("数据库语句");
+    return invocation.proceed();
+  }
+}
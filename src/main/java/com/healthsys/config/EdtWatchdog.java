@@ -0,0 +1,634 @@
+package com.healthsys.config;
+
+import com.healthsys.service.metrics.LatencyHistogram;
+import com.healthsys.service.metrics.jfr.EdtLongEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.AbstractButton;
+import javax.swing.SwingUtilities;
+import java.awt.AWTEvent;
+import java.awt.Component;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.awt.event.InvocationEvent;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 事件调度线程（EDT）卡顿检测器。
+ * 替换系统事件队列，记录每个事件的处理耗时，按事件类型和目标组件汇总为耗时分布；
+ * 后台线程定时检查，事件处理超过阈值时抓取EDT的调用栈，写入日志和滚动诊断文件。
+ * 模态对话框等嵌套事件循环中等待用户操作的时间不计入外层事件的耗时。
+ * 另外记录在EDT上直接执行的数据库语句及其调用位置，即使未超过阈值也能发现同步数据库访问。
+ * 开启飞行记录时，超过阈值的事件同时提交为 {@link EdtLongEvent}。
+ * <p>
+ * 通过系统属性配置：healthsys.edt.watchdog=false 关闭，healthsys.edt.threshold 设置阈值（毫秒，默认200），
+ * healthsys.edt.log 设置诊断文件路径（默认 logs/edt-stalls.log）。
+ *
+ * @author 梦辰
+ */
+public final class EdtWatchdog extends EventQueue {
+
+  private static final Logger logger = LoggerFactory.getLogger(EdtWatchdog.class);
+
+  private static final long THRESHOLD_MILLIS = Long.getLong("healthsys.edt.threshold", 200);
+  private static final long THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(THRESHOLD_MILLIS);
+  private static final long CHECK_INTERVAL_MILLIS = 50;
+  private static final int MAX_KEYS = 200;
+  private static final int MAX_STALLS = 50;
+  private static final int MAX_STACK_DEPTH = 40;
+  private static final long MAX_LOG_BYTES = 1024 * 1024;
+  private static final int LOG_BACKUPS = 3;
+  private static final String OTHER_KEY = "其他事件";
+
+  /**
+   * 耗时分布的桶上界（毫秒），最后一个桶收集超过最大上界的事件
+   */
+  private static final long[] BUCKET_BOUNDS_MILLIS = { 1, 5, 16, 50, 100, 200, 500, 1000, 2000 };
+
+  private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+
+  private static volatile EdtWatchdog instance;
+
+  private final Path logFile = Paths.get(System.getProperty("healthsys.edt.log", "logs/edt-stalls.log"));
+  private final ScheduledExecutorService sampler;
+  private final Map<String, EventStats> statsByKey = new ConcurrentHashMap<>();
+  private final Deque<Stall> stalls = new ArrayDeque<>();
+  private final Map<String, LongAdder> edtDbCalls = new ConcurrentHashMap<>();
+  private final LatencyHistogram overallLatency = new LatencyHistogram();
+  private final LongAdder stallCount = new LongAdder();
+
+  /**
+   * 正在处理的事件，嵌套事件循环中会有多层，只在EDT上访问
+   */
+  private final Deque<Dispatch> dispatches = new ArrayDeque<>();
+
+  private volatile Thread edtThread;
+  private volatile Dispatch busyDispatch;
+  private volatile long busySince;
+
+  private EdtWatchdog() {
+    sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "healthsys-edt-watchdog");
+      thread.setDaemon(true);
+      return thread;
+    });
+    sampler.scheduleWithFixedDelay(this::checkStall, CHECK_INTERVAL_MILLIS, CHECK_INTERVAL_MILLIS,
+        TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * 安装卡顿检测器，重复调用无效
+   */
+  public static synchronized void install() {
+    if (instance != null || !Boolean.parseBoolean(System.getProperty("healthsys.edt.watchdog", "true"))) {
+      return;
+    }
+    instance = new EdtWatchdog();
+    Toolkit.getDefaultToolkit().getSystemEventQueue().push(instance);
+    logger.info("EDT卡顿检测已启用，阈值 {} ms，诊断文件: {}", THRESHOLD_MILLIS, instance.logFile.toAbsolutePath());
+  }
+
+  /**
+   * 是否已安装
+   */
+  public static boolean isInstalled() {
+    return instance != null;
+  }
+
+  @Override
+  protected void dispatchEvent(AWTEvent event) {
+    long start = System.nanoTime();
+    if (edtThread == null) {
+      edtThread = Thread.currentThread();
+    }
+    Dispatch parent = dispatches.peek();
+    if (parent != null) {
+      parent.pause(start);
+    }
+    Dispatch dispatch = new Dispatch(event, start);
+    dispatches.push(dispatch);
+    markBusy(dispatch, start);
+    EdtLongEvent longEvent = new EdtLongEvent();
+    longEvent.begin();
+
+    try {
+      super.dispatchEvent(event);
+    } finally {
+      long end = System.nanoTime();
+      dispatches.pop();
+      dispatch.pause(end);
+      record(dispatch);
+      longEvent.end();
+      if (dispatch.activeNanos >= THRESHOLD_NANOS && longEvent.shouldCommit()) {
+        longEvent.eventKey = dispatch.key;
+        longEvent.activeTime = dispatch.activeNanos;
+        longEvent.commit();
+      }
+      if (parent != null) {
+        // 嵌套事件处理完后外层事件可能继续执行，直到事件循环再次等待事件
+        parent.resume(end);
+        markBusy(parent, end);
+      } else {
+        busySince = 0;
+        busyDispatch = null;
+      }
+    }
+  }
+
+  @Override
+  public AWTEvent getNextEvent() throws InterruptedException {
+    // 事件循环（包括模态对话框的嵌套循环）在此等待，期间EDT空闲
+    if (Thread.currentThread() == edtThread) {
+      Dispatch current = dispatches.peek();
+      if (current != null) {
+        current.pause(System.nanoTime());
+      }
+      busySince = 0;
+      busyDispatch = null;
+    }
+    return super.getNextEvent();
+  }
+
+  private void markBusy(Dispatch dispatch, long now) {
+    busyDispatch = dispatch;
+    busySince = now;
+  }
+
+  /**
+   * 事件处理结束，计入耗时分布；触发过卡顿的事件补记总耗时
+   */
+  private void record(Dispatch dispatch) {
+    statsByKey.computeIfAbsent(statsByKey.size() < MAX_KEYS ? dispatch.key : OTHER_KEY, k -> new EventStats())
+        .record(dispatch.activeNanos);
+    overallLatency.record(TimeUnit.NANOSECONDS.toMicros(dispatch.activeNanos));
+
+    Stall stall = dispatch.stall;
+    if (stall != null) {
+      stall.totalMillis = TimeUnit.NANOSECONDS.toMillis(dispatch.activeNanos);
+      logger.warn("EDT卡顿结束: {}，共 {} ms", stall.key, stall.totalMillis);
+      sampler.execute(() -> appendLog(String.format("%s 卡顿结束: %s，共 %d ms%n",
+          LocalDateTime.now().format(TIME_FORMATTER), stall.key, stall.totalMillis)));
+    }
+  }
+
+  /**
+   * 在检测线程上执行：当前事件超过阈值时抓取EDT调用栈，每个事件只抓取一次
+   */
+  private void checkStall() {
+    Dispatch dispatch = busyDispatch;
+    long since = busySince;
+    Thread thread = edtThread;
+    if (dispatch == null || since == 0 || thread == null || dispatch.stall != null) {
+      return;
+    }
+    long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - since);
+    if (elapsedMillis < THRESHOLD_MILLIS) {
+      return;
+    }
+    StackTraceElement[] stack = thread.getStackTrace();
+    // 抓取期间事件可能已结束，此时调用栈已无意义
+    if (busyDispatch != dispatch || busySince != since) {
+      return;
+    }
+
+    Stall stall = new Stall(dispatch.key, elapsedMillis, formatStack(stack));
+    // 事件结束时据此补记总耗时
+    dispatch.stall = stall;
+    stallCount.increment();
+    synchronized (stalls) {
+      stalls.addFirst(stall);
+      while (stalls.size() > MAX_STALLS) {
+        stalls.removeLast();
+      }
+    }
+
+    logger.warn("检测到EDT卡顿: {}，已持续 {} ms，调用栈:\n{}", stall.key, elapsedMillis, stall.stack);
+    appendLog(String.format("%s 检测到卡顿: %s，已持续 %d ms%n%s%n", stall.time.format(TIME_FORMATTER),
+        stall.key, elapsedMillis, stall.stack));
+  }
+
+  private static String formatStack(StackTraceElement[] stack) {
+    StringBuilder builder = new StringBuilder();
+    int depth = Math.min(stack.length, MAX_STACK_DEPTH);
+    for (int i = 0; i < depth; i++) {
+      builder.append("    at ").append(stack[i]).append('\n');
+    }
+    if (stack.length > depth) {
+      builder.append("    ... ").append(stack.length - depth).append(" more\n");
+    }
+    return builder.toString();
+  }
+
+  /**
+   * 追加到诊断文件，超过大小后滚动，只在检测线程上调用
+   */
+  private void appendLog(String text) {
+    try {
+      Path parent = logFile.toAbsolutePath().getParent();
+      if (parent != null) {
+        Files.createDirectories(parent);
+      }
+      if (Files.exists(logFile) && Files.size(logFile) > MAX_LOG_BYTES) {
+        for (int i = LOG_BACKUPS - 1; i >= 1; i--) {
+          Path from = Paths.get(logFile + "." + i);
+          if (Files.exists(from)) {
+            Files.move(from, Paths.get(logFile + "." + (i + 1)), StandardCopyOption.REPLACE_EXISTING);
+          }
+        }
+        Files.move(logFile, Paths.get(logFile + ".1"), StandardCopyOption.REPLACE_EXISTING);
+      }
+      try (Writer writer = Files.newBufferedWriter(logFile, StandardCharsets.UTF_8,
+          StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+        writer.write(text);
+      }
+    } catch (IOException e) {
+      logger.debug("写入EDT诊断文件失败: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * 记录在EDT上执行的阻塞调用（如数据库语句），非EDT线程调用时直接返回
+   *
+   * @param what 调用说明
+   */
+  public static void recordBlockingCall(String what) {
+    EdtWatchdog watchdog = instance;
+    if (watchdog == null || !SwingUtilities.isEventDispatchThread()) {
+      return;
+    }
+    String site = findCallSite(Thread.currentThread().getStackTrace());
+    String key = site + " -> " + what;
+    LongAdder counter = watchdog.edtDbCalls.get(key);
+    if (counter == null && watchdog.edtDbCalls.size() < MAX_KEYS) {
+      counter = watchdog.edtDbCalls.computeIfAbsent(key, k -> new LongAdder());
+      Dispatch current = watchdog.dispatches.peek();
+      logger.warn("在EDT上执行了{}: {}（事件: {}）", what, site, current != null ? current.key : "-");
+    }
+    if (counter != null) {
+      counter.increment();
+    }
+  }
+
+  /**
+   * 调用栈中第一个业务代码位置（跳过配置、数据访问和框架代码）
+   */
+  private static String findCallSite(StackTraceElement[] stack) {
+    for (StackTraceElement element : stack) {
+      String className = element.getClassName();
+      if (className.startsWith("com.healthsys.") && !className.startsWith("com.healthsys.config.")
+          && !className.startsWith("com.healthsys.dao.")
+          && !className.startsWith("com.healthsys.service.metrics.")) {
+        return simpleName(className) + "." + element.getMethodName() + ":" + element.getLineNumber();
+      }
+    }
+    return "未知位置";
+  }
+
+  /**
+   * 事件的统计键：事件类型 @ 目标
+   */
+  private static String keyOf(AWTEvent event) {
+    if (event instanceof InvocationEvent) {
+      // paramString 形如 INVOCATION_DEFAULT,runnable=com.x.Foo$$Lambda$12/0x...@1a2b,notifier=...
+      String param = event.paramString();
+      int start = param.indexOf("runnable=");
+      if (start < 0) {
+        return "invokeLater";
+      }
+      start += "runnable=".length();
+      int end = start;
+      while (end < param.length() && param.charAt(end) != '@' && param.charAt(end) != ',') {
+        end++;
+      }
+      return "invokeLater @ " + simpleName(param.substring(start, end));
+    }
+
+    String type = typeName(event.getID());
+    Object source = event.getSource();
+    if (source instanceof AbstractButton) {
+      String text = ((AbstractButton) source).getText();
+      if (text != null && !text.isEmpty()) {
+        return type + " @ " + simpleName(source.getClass().getName()) + "[" + text + "]";
+      }
+    }
+    if (source instanceof Component) {
+      return type + " @ " + simpleName(source.getClass().getName());
+    }
+    return type + " @ " + (source != null ? simpleName(source.getClass().getName()) : "-");
+  }
+
+  private static String typeName(int id) {
+    switch (id) {
+      case java.awt.event.MouseEvent.MOUSE_PRESSED:
+        return "鼠标按下";
+      case java.awt.event.MouseEvent.MOUSE_RELEASED:
+        return "鼠标释放";
+      case java.awt.event.MouseEvent.MOUSE_CLICKED:
+        return "鼠标单击";
+      case java.awt.event.MouseEvent.MOUSE_MOVED:
+      case java.awt.event.MouseEvent.MOUSE_DRAGGED:
+      case java.awt.event.MouseEvent.MOUSE_ENTERED:
+      case java.awt.event.MouseEvent.MOUSE_EXITED:
+        return "鼠标移动";
+      case java.awt.event.MouseEvent.MOUSE_WHEEL:
+        return "鼠标滚轮";
+      case java.awt.event.KeyEvent.KEY_PRESSED:
+      case java.awt.event.KeyEvent.KEY_RELEASED:
+      case java.awt.event.KeyEvent.KEY_TYPED:
+        return "键盘";
+      case java.awt.event.FocusEvent.FOCUS_GAINED:
+      case java.awt.event.FocusEvent.FOCUS_LOST:
+        return "焦点";
+      case java.awt.event.PaintEvent.PAINT:
+      case java.awt.event.PaintEvent.UPDATE:
+        return "绘制";
+      default:
+        if (id >= java.awt.event.WindowEvent.WINDOW_FIRST && id <= java.awt.event.WindowEvent.WINDOW_LAST) {
+          return "窗口";
+        }
+        if (id >= java.awt.event.ComponentEvent.COMPONENT_FIRST && id <= java.awt.event.ComponentEvent.COMPONENT_LAST) {
+          return "组件";
+        }
+        return "事件" + id;
+    }
+  }
+
+  /**
+   * 去掉包名和 lambda 后缀，匿名类保留外部类名
+   */
+  private static String simpleName(String className) {
+    int lambda = className.indexOf("$$Lambda");
+    if (lambda >= 0) {
+      className = className.substring(0, lambda);
+    }
+    return className.substring(className.lastIndexOf('.') + 1);
+  }
+
+  /**
+   * 获取各事件的耗时统计快照，按最大耗时降序
+   */
+  public static List<EventStatsSnapshot> getEventStats() {
+    EdtWatchdog watchdog = instance;
+    List<EventStatsSnapshot> snapshots = new ArrayList<>();
+    if (watchdog == null) {
+      return snapshots;
+    }
+    watchdog.statsByKey.forEach((key, stats) -> snapshots.add(stats.snapshot(key)));
+    snapshots.sort((a, b) -> Long.compare(b.getMaxNanos(), a.getMaxNanos()));
+    return snapshots;
+  }
+
+  /**
+   * 所有事件的耗时分布（微秒），未安装时返回null
+   */
+  public static LatencyHistogram getOverallLatency() {
+    EdtWatchdog watchdog = instance;
+    return watchdog != null ? watchdog.overallLatency : null;
+  }
+
+  /**
+   * 累计检测到的卡顿次数
+   */
+  public static long getStallCount() {
+    EdtWatchdog watchdog = instance;
+    return watchdog != null ? watchdog.stallCount.sum() : 0;
+  }
+
+  /**
+   * 获取最近的卡顿记录，最新的在前
+   */
+  public static List<Stall> getRecentStalls() {
+    EdtWatchdog watchdog = instance;
+    if (watchdog == null) {
+      return new ArrayList<>();
+    }
+    synchronized (watchdog.stalls) {
+      return new ArrayList<>(watchdog.stalls);
+    }
+  }
+
+  /**
+   * 获取在EDT上执行的数据库语句，键为调用位置，值为次数
+   */
+  public static Map<String, Long> getEdtDatabaseCalls() {
+    EdtWatchdog watchdog = instance;
+    Map<String, Long> calls = new HashMap<>();
+    if (watchdog != null) {
+      watchdog.edtDbCalls.forEach((key, count) -> calls.put(key, count.sum()));
+    }
+    return calls;
+  }
+
+  /**
+   * 耗时分布桶的上界（毫秒）
+   */
+  public static long[] getBucketBoundsMillis() {
+    return BUCKET_BOUNDS_MILLIS.clone();
+  }
+
+  /**
+   * 卡顿阈值（毫秒）
+   */
+  public static long getThresholdMillis() {
+    return THRESHOLD_MILLIS;
+  }
+
+  /**
+   * 生成文本形式的响应报告
+   */
+  public static String formatReport() {
+    StringBuilder report = new StringBuilder();
+    if (instance == null) {
+      return "EDT卡顿检测未启用";
+    }
+    report.append("卡顿阈值: ").append(THRESHOLD_MILLIS).append(" ms\n\n");
+
+    report.append("事件耗时分布（桶上界 ms:");
+    for (long bound : BUCKET_BOUNDS_MILLIS) {
+      report.append(' ').append(bound);
+    }
+    report.append(" >").append(BUCKET_BOUNDS_MILLIS[BUCKET_BOUNDS_MILLIS.length - 1]).append("）:\n");
+    for (EventStatsSnapshot stats : getEventStats()) {
+      report.append(String.format("  %-48s 次数 %7d  平均 %8.2f ms  最大 %8.1f ms  分布 %s%n", stats.getKey(),
+          stats.getCount(), stats.getAverageMillis(), stats.getMaxNanos() / 1_000_000.0,
+          java.util.Arrays.toString(stats.getBuckets())));
+    }
+
+    Map<String, Long> dbCalls = getEdtDatabaseCalls();
+    report.append("\nEDT上执行的数据库语句:\n");
+    if (dbCalls.isEmpty()) {
+      report.append("  无\n");
+    }
+    dbCalls.forEach((site, count) -> report.append("  ").append(site).append("  ×").append(count).append('\n'));
+
+    report.append("\n最近的卡顿:\n");
+    List<Stall> recent = getRecentStalls();
+    if (recent.isEmpty()) {
+      report.append("  无\n");
+    }
+    for (Stall stall : recent) {
+      report.append(String.format("  %s  %s  %s%n%s%n", stall.getTime().format(TIME_FORMATTER), stall.getKey(),
+          stall.getTotalMillis() >= 0 ? "共 " + stall.getTotalMillis() + " ms" : "检测时已持续 " + stall.getDetectedMillis() + " ms",
+          stall.getStack()));
+    }
+    return report.toString();
+  }
+
+  /**
+   * 一次事件处理。嵌套事件循环等待期间暂停计时
+   */
+  private static final class Dispatch {
+    private final String key;
+    private long activeNanos;
+    private long segmentStart;
+    private volatile Stall stall;
+
+    Dispatch(AWTEvent event, long start) {
+      this.key = keyOf(event);
+      this.segmentStart = start;
+    }
+
+    void pause(long now) {
+      if (segmentStart >= 0) {
+        activeNanos += now - segmentStart;
+        segmentStart = -1;
+      }
+    }
+
+    void resume(long now) {
+      segmentStart = now;
+    }
+  }
+
+  /**
+   * 单类事件的耗时统计
+   */
+  private static final class EventStats {
+    private final long[] buckets = new long[BUCKET_BOUNDS_MILLIS.length + 1];
+    private long count;
+    private long totalNanos;
+    private long maxNanos;
+
+    synchronized void record(long nanos) {
+      long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+      int bucket = 0;
+      while (bucket < BUCKET_BOUNDS_MILLIS.length && millis >= BUCKET_BOUNDS_MILLIS[bucket]) {
+        bucket++;
+      }
+      buckets[bucket]++;
+      count++;
+      totalNanos += nanos;
+      maxNanos = Math.max(maxNanos, nanos);
+    }
+
+    synchronized EventStatsSnapshot snapshot(String key) {
+      return new EventStatsSnapshot(key, count, totalNanos, maxNanos, buckets.clone());
+    }
+  }
+
+  /**
+   * 事件耗时统计快照
+   */
+  public static final class EventStatsSnapshot {
+    private final String key;
+    private final long count;
+    private final long totalNanos;
+    private final long maxNanos;
+    private final long[] buckets;
+
+    EventStatsSnapshot(String key, long count, long totalNanos, long maxNanos, long[] buckets) {
+      this.key = key;
+      this.count = count;
+      this.totalNanos = totalNanos;
+      this.maxNanos = maxNanos;
+      this.buckets = buckets;
+    }
+
+    public String getKey() {
+      return key;
+    }
+
+    public long getCount() {
+      return count;
+    }
+
+    public long getMaxNanos() {
+      return maxNanos;
+    }
+
+    public double getAverageMillis() {
+      return count == 0 ? 0 : totalNanos / 1_000_000.0 / count;
+    }
+
+    /**
+     * 各桶的事件数，与 {@link #getBucketBoundsMillis()} 对应，最后一个为超出最大上界的事件数
+     */
+    public long[] getBuckets() {
+      return buckets.clone();
+    }
+  }
+
+  /**
+   * 卡顿记录
+   */
+  public static final class Stall {
+    private final LocalDateTime time = LocalDateTime.now();
+    private final String key;
+    private final long detectedMillis;
+    private final String stack;
+    private volatile long totalMillis = -1;
+
+    Stall(String key, long detectedMillis, String stack) {
+      this.key = key;
+      this.detectedMillis = detectedMillis;
+      this.stack = stack;
+    }
+
+    public LocalDateTime getTime() {
+      return time;
+    }
+
+    public String getKey() {
+      return key;
+    }
+
+    /**
+     * 检测到卡顿时已持续的毫秒数
+     */
+    public long getDetectedMillis() {
+      return detectedMillis;
+    }
+
+    /**
+     * 事件总耗时，事件尚未结束时返回-1
+     */
+    public long getTotalMillis() {
+      return totalMillis;
+    }
+
+    public String getStack() {
+      return stack;
+    }
+  }
+}
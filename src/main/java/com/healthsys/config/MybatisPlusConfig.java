@@ -29,9 +29,16 @@ public class MybatisPlusConfig {
    * @return SqlSessionFactory
    */
   public static SqlSessionFactory createSqlSessionFactory() {
-    try {
-      DataSource dataSource = DatabaseConfig.getDataSource();
+    return createSqlSessionFactory(createConfiguration(), DatabaseConfig.getDataSource());
+  }
 
+  /**
+   * 创建MyBatis配置并注册Mapper，不需要数据源，可与数据源初始化并行执行
+   * 
+   * @return MyBatis配置
+   */
+  public static MybatisConfiguration createConfiguration() {
+    try {
       // MyBatis配置
       MybatisConfiguration configuration = new MybatisConfiguration();
       configuration.setMapUnderscoreToCamelCase(true);
@@ -39,12 +46,6 @@ public class MybatisPlusConfig {
       configuration.setLazyLoadingEnabled(true);
       configuration.setUseGeneratedKeys(true);
 
-      // 设置数据源
-      org.apache.ibatis.mapping.Environment environment = new org.apache.ibatis.mapping.Environment("development",
-          new org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory(),
-          dataSource);
-      configuration.setEnvironment(environment);
-
       // 设置实体类别名包
       configuration.getTypeAliasRegistry().registerAliases("com.healthsys.model.entity");
 
@@ -60,6 +61,10 @@ public class MybatisPlusConfig {
       MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
       interceptor.addInnerInterceptor(new PaginationInnerInterceptor(DbType.POSTGRE_SQL));
       configuration.addInterceptor(interceptor);
+      configuration.addInterceptor(new StatementCancellationInterceptor());
+      configuration.addInterceptor(new EdtBlockingCallInterceptor());
+      configuration.addInterceptor(new StatementCountingInterceptor());
+      configuration.addInterceptor(new QueryTimingInterceptor());
 
       // 注册Mapper接口
       configuration.addMapper(com.healthsys.dao.UserMapper.class);
@@ -68,6 +73,31 @@ public class MybatisPlusConfig {
       configuration.addMapper(com.healthsys.dao.AppointmentMapper.class);
       configuration.addMapper(com.healthsys.dao.ExaminationResultMapper.class);
       configuration.addMapper(com.healthsys.dao.MedicalHistoryMapper.class);
+      configuration.addMapper(com.healthsys.dao.CheckItemStatisticsMapper.class);
+
+      logger.info("MyBatis-Plus Mapper注册完成");
+      return configuration;
+
+    } catch (Exception e) {
+      logger.error("创建MyBatis配置失败", e);
+      throw new RuntimeException("MyBatis-Plus配置初始化失败", e);
+    }
+  }
+
+  /**
+   * 为已注册Mapper的配置设置数据源并创建SqlSessionFactory
+   * 
+   * @param configuration MyBatis配置
+   * @param dataSource    数据源
+   * @return SqlSessionFactory
+   */
+  public static SqlSessionFactory createSqlSessionFactory(MybatisConfiguration configuration, DataSource dataSource) {
+    try {
+      // 设置数据源
+      org.apache.ibatis.mapping.Environment environment = new org.apache.ibatis.mapping.Environment("development",
+          new org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory(),
+          dataSource);
+      configuration.setEnvironment(environment);
 
       SqlSessionFactory factory = new SqlSessionFactoryBuilder().build(configuration);
       logger.info("MyBatis-Plus配置完成");
@@ -78,4 +108,4 @@ public class MybatisPlusConfig {
       throw new RuntimeException("MyBatis-Plus配置初始化失败", e);
     }
   }
-}
\ No newline at end of file
+}
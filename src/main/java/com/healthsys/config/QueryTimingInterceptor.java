@@ -0,0 +1,63 @@
+package com.healthsys.config;
+
+import com.healthsys.service.metrics.QueryMetrics;
+import com.healthsys.service.metrics.jfr.StatementExecutionEvent;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.util.List;
+
+/**
+ * 语句耗时统计插件。
+ * 按 Mapper 方法记录查询和更新的执行耗时到 {@link QueryMetrics}，开启飞行记录时同时提交 {@link StatementExecutionEvent}，
+ * 需在分页插件之后注册，使分页查询连同计数语句一起计时。
+ *
+ * @author 梦辰
+ */
+@Intercepts({
+    @Signature(type = Executor.class, method = "query",
+        args = { MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class }),
+    @Signature(type = Executor.class, method = "update", args = { MappedStatement.class, Object.class }) })
+public class QueryTimingInterceptor implements Interceptor {
+
+  @Override
+  public Object intercept(Invocation invocation) throws Throwable {
+    MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+    StatementExecutionEvent event = new StatementExecutionEvent();
+    event.begin();
+    long start = System.nanoTime();
+    Object result = null;
+    boolean failed = true;
+    try {
+      result = invocation.proceed();
+      failed = false;
+      return result;
+    } finally {
+      QueryMetrics.record(statement.getId(), System.nanoTime() - start, failed);
+      event.end();
+      if (event.shouldCommit()) {
+        event.statementId = statement.getId();
+        event.commandType = statement.getSqlCommandType().name();
+        event.rows = rowsOf(result);
+        event.failed = failed;
+        event.commit();
+      }
+    }
+  }
+
+  private static int rowsOf(Object result) {
+    if (result instanceof List) {
+      return ((List<?>) result).size();
+    }
+    if (result instanceof Integer) {
+      return (Integer) result;
+    }
+    return -1;
+  }
+}
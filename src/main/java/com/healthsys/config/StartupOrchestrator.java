@@ -0,0 +1,192 @@
+package com.healthsys.config;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * 启动编排器。
+ * 在后台线程并行初始化数据源、MyBatis Mapper注册和邮件账户，登录界面无需等待即可显示；
+ * 数据源和Mapper注册都完成后再组装数据访问层。
+ * 各步骤的耗时记录到 {@link StartupTimeline}，进度通过 {@link ProgressListener} 在EDT上通知。
+ *
+ * @author 梦辰
+ */
+public final class StartupOrchestrator {
+
+  private static final Logger logger = LoggerFactory.getLogger(StartupOrchestrator.class);
+
+  public static final String STEP_DATA_SOURCE = "数据库连接池";
+  public static final String STEP_MAPPERS = "MyBatis Mapper注册";
+  public static final String STEP_DATA_ACCESS = "数据访问层";
+  public static final String STEP_MAIL = "邮件账户";
+
+  private static final int TOTAL_STEPS = 4;
+
+  /**
+   * 启动进度监听器，回调均在EDT上执行
+   */
+  public interface ProgressListener {
+
+    /**
+     * 某个步骤完成
+     *
+     * @param step      步骤名称
+     * @param completed 已完成步骤数
+     * @param total     总步骤数
+     */
+    void onStepCompleted(String step, int completed, int total);
+
+    /**
+     * 全部步骤结束
+     *
+     * @param failure 数据访问层初始化失败的原因，成功时为null
+     */
+    void onFinished(Throwable failure);
+  }
+
+  private final List<String> completedSteps = new ArrayList<>();
+  private final List<ProgressListener> listeners = new ArrayList<>();
+  private CompletableFuture<Void> dataAccessReady;
+  private CompletableFuture<Void> finished;
+  private boolean done;
+  private Throwable failure;
+
+  private StartupOrchestrator() {
+  }
+
+  /**
+   * 启动后台初始化
+   *
+   * @return 编排器
+   */
+  public static StartupOrchestrator start() {
+    StartupOrchestrator orchestrator = new StartupOrchestrator();
+    orchestrator.launch();
+    return orchestrator;
+  }
+
+  private void launch() {
+    logger.info("开始后台初始化...");
+
+    CompletableFuture<DataSource> dataSource = step(STEP_DATA_SOURCE,
+        AppExecutor.supplyAsync("Startup.dataSource",
+            () -> StartupTimeline.measure(STEP_DATA_SOURCE, DatabaseConfig::getDataSource)));
+
+    CompletableFuture<MybatisConfiguration> configuration = step(STEP_MAPPERS,
+        AppExecutor.supplyAsync("Startup.mappers",
+            () -> StartupTimeline.measure(STEP_MAPPERS, MybatisPlusConfig::createConfiguration)));
+
+    CompletableFuture<SqlSessionFactory> sqlSessionFactory = configuration.thenCombine(dataSource,
+        (config, source) -> StartupTimeline.measure(STEP_DATA_ACCESS,
+            () -> MybatisPlusConfig.createSqlSessionFactory(config, source)));
+    dataAccessReady = step(STEP_DATA_ACCESS,
+        DataAccessManager.initializeAsync(sqlSessionFactory).thenApply(manager -> null));
+
+    // 邮件配置失败不影响启动，邮件功能在发送时报告不可用
+    CompletableFuture<Void> mail = step(STEP_MAIL,
+        AppExecutor.runAsync("Startup.mail",
+            () -> StartupTimeline.measure(STEP_MAIL, () -> {
+              MailConfig.getMailAccount();
+            })))
+        .exceptionally(throwable -> null);
+
+    finished = CompletableFuture.allOf(dataAccessReady.exceptionally(throwable -> null), mail)
+        .whenComplete((result, throwable) -> {
+          Throwable cause = unwrap(dataAccessReady);
+          SwingUtilities.invokeLater(() -> finish(cause));
+        });
+  }
+
+  /**
+   * 登记步骤；返回的任务在进度通知发出后才完成，保证后续步骤和结束通知排在其后
+   */
+  private <T> CompletableFuture<T> step(String name, CompletableFuture<T> future) {
+    return future.whenComplete((result, throwable) -> {
+      if (throwable == null) {
+        SwingUtilities.invokeLater(() -> completeStep(name));
+      } else {
+        logger.error("启动步骤失败: {}，原因: {}", name, throwable.getMessage());
+      }
+    });
+  }
+
+  private void completeStep(String name) {
+    completedSteps.add(name);
+    for (ProgressListener listener : new ArrayList<>(listeners)) {
+      listener.onStepCompleted(name, completedSteps.size(), TOTAL_STEPS);
+    }
+  }
+
+  private void finish(Throwable cause) {
+    done = true;
+    failure = cause;
+    StartupTimeline.mark("后台初始化完成");
+    if (cause == null) {
+      logger.info("后台初始化完成");
+    }
+    for (ProgressListener listener : new ArrayList<>(listeners)) {
+      listener.onFinished(cause);
+    }
+  }
+
+  private static Throwable unwrap(CompletableFuture<?> future) {
+    if (!future.isCompletedExceptionally()) {
+      return null;
+    }
+    try {
+      future.join();
+      return null;
+    } catch (CompletionException e) {
+      return e.getCause() != null ? e.getCause() : e;
+    } catch (RuntimeException e) {
+      return e;
+    }
+  }
+
+  /**
+   * 添加进度监听器，已完成的步骤会立即补发。须在EDT上调用。
+   *
+   * @param listener 监听器
+   */
+  public void addProgressListener(ProgressListener listener) {
+    listeners.add(listener);
+    for (int i = 0; i < completedSteps.size(); i++) {
+      listener.onStepCompleted(completedSteps.get(i), i + 1, TOTAL_STEPS);
+    }
+    if (done) {
+      listener.onFinished(failure);
+    }
+  }
+
+  /**
+   * 移除进度监听器。须在EDT上调用。
+   *
+   * @param listener 监听器
+   */
+  public void removeProgressListener(ProgressListener listener) {
+    listeners.remove(listener);
+  }
+
+  /**
+   * 数据访问层就绪
+   */
+  public CompletableFuture<Void> whenDataAccessReady() {
+    return dataAccessReady;
+  }
+
+  /**
+   * 所有后台初始化步骤结束（无论成功与否）
+   */
+  public CompletableFuture<Void> whenFinished() {
+    return finished;
+  }
+}
@@ -0,0 +1,150 @@
+package com.healthsys.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * 启动时间线。
+ * 记录启动过程中各阶段的起止时间和里程碑，时间均为相对 JVM 启动的毫秒数，
+ * 用于跟踪启动到界面可交互所需的时间。
+ *
+ * @author 梦辰
+ */
+public final class StartupTimeline {
+
+  private static final Logger logger = LoggerFactory.getLogger(StartupTimeline.class);
+
+  /**
+   * 登录界面可交互的里程碑名称
+   */
+  public static final String INTERACTIVE = "登录界面可交互";
+
+  private static final long JVM_START_MILLIS = ManagementFactory.getRuntimeMXBean().getStartTime();
+
+  private static final List<Entry> entries = new CopyOnWriteArrayList<>();
+
+  private StartupTimeline() {
+  }
+
+  /**
+   * 记录里程碑
+   *
+   * @param name 里程碑名称
+   */
+  public static void mark(String name) {
+    long now = now();
+    entries.add(new Entry(name, Thread.currentThread().getName(), now, now));
+  }
+
+  /**
+   * 执行并记录一个阶段
+   *
+   * @param name 阶段名称
+   * @param step 阶段任务
+   * @return 任务结果
+   */
+  public static <T> T measure(String name, Supplier<T> step) {
+    long start = now();
+    try {
+      return step.get();
+    } finally {
+      entries.add(new Entry(name, Thread.currentThread().getName(), start, now()));
+    }
+  }
+
+  /**
+   * 执行并记录一个阶段
+   *
+   * @param name 阶段名称
+   * @param step 阶段任务
+   */
+  public static void measure(String name, Runnable step) {
+    measure(name, () -> {
+      step.run();
+      return null;
+    });
+  }
+
+  /**
+   * 获取按开始时间排序的全部记录
+   */
+  public static List<Entry> getEntries() {
+    List<Entry> sorted = new ArrayList<>(entries);
+    sorted.sort(Comparator.comparingLong(Entry::getStartMillis));
+    return sorted;
+  }
+
+  /**
+   * 获取界面可交互时相对 JVM 启动的毫秒数
+   *
+   * @return 毫秒数，尚未可交互时返回-1
+   */
+  public static long getTimeToInteractive() {
+    for (Entry entry : entries) {
+      if (INTERACTIVE.equals(entry.getName())) {
+        return entry.getStartMillis();
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * 将时间线输出到日志
+   */
+  public static void logSummary() {
+    StringBuilder summary = new StringBuilder("启动时间线（相对JVM启动，毫秒）:");
+    for (Entry entry : getEntries()) {
+      summary.append(String.format("%n  %6d - %6d  %6d  %-24s [%s]", entry.getStartMillis(), entry.getEndMillis(),
+          entry.getDurationMillis(), entry.getName(), entry.getThread()));
+    }
+    logger.info(summary.toString());
+  }
+
+  private static long now() {
+    return System.currentTimeMillis() - JVM_START_MILLIS;
+  }
+
+  /**
+   * 时间线记录
+   */
+  public static final class Entry {
+    private final String name;
+    private final String thread;
+    private final long startMillis;
+    private final long endMillis;
+
+    Entry(String name, String thread, long startMillis, long endMillis) {
+      this.name = name;
+      this.thread = thread;
+      this.startMillis = startMillis;
+      this.endMillis = endMillis;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public String getThread() {
+      return thread;
+    }
+
+    public long getStartMillis() {
+      return startMillis;
+    }
+
+    public long getEndMillis() {
+      return endMillis;
+    }
+
+    public long getDurationMillis() {
+      return endMillis - startMillis;
+    }
+  }
+}
@@ -0,0 +1,76 @@
+package com.healthsys.config;
+
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * 语句取消插件。
+ * 在可取消的后台任务中创建的 JDBC 语句会登记到任务的 {@link CancellationToken}，
+ * 令牌取消时调用 {@link Statement#cancel()} 中止数据库端仍在执行的查询。
+ * 取消请求需要另建连接通知数据库，因此放到后台线程发送，不阻塞发起取消的界面线程。
+ * 语句执行结束后注销登记，令牌上不会累积已关闭的语句；语句的创建和执行在同一线程上依次进行，
+ * 执行前失败而遗留的登记在该线程创建下一条语句时注销。
+ *
+ * @author 梦辰
+ */
+@Intercepts({
+    @Signature(type = StatementHandler.class, method = "prepare", args = { Connection.class, Integer.class }),
+    @Signature(type = StatementHandler.class, method = "query", args = { Statement.class, ResultHandler.class }),
+    @Signature(type = StatementHandler.class, method = "update", args = { Statement.class }),
+    @Signature(type = StatementHandler.class, method = "batch", args = { Statement.class }) })
+public class StatementCancellationInterceptor implements Interceptor {
+
+  private static final Logger logger = LoggerFactory.getLogger(StatementCancellationInterceptor.class);
+
+  private static final ThreadLocal<CancellationToken.Registration> PENDING = new ThreadLocal<>();
+
+  @Override
+  public Object intercept(Invocation invocation) throws Throwable {
+    if (!"prepare".equals(invocation.getMethod().getName())) {
+      try {
+        return invocation.proceed();
+      } finally {
+        release();
+      }
+    }
+
+    release();
+    Object result = invocation.proceed();
+    CancellationToken token = CancellationToken.current();
+    if (token != null && result instanceof Statement) {
+      Statement statement = (Statement) result;
+      PENDING.set(token.onCancel(() -> AppExecutor.runAsync("StatementCancellationInterceptor.cancel",
+          () -> cancel(statement))));
+    }
+    return result;
+  }
+
+  private static void release() {
+    CancellationToken.Registration registration = PENDING.get();
+    if (registration != null) {
+      PENDING.remove();
+      registration.close();
+    }
+  }
+
+  private static void cancel(Statement statement) {
+    try {
+      if (!statement.isClosed()) {
+        statement.cancel();
+        logger.debug("已取消正在执行的数据库语句");
+      }
+    } catch (SQLException e) {
+      logger.debug("取消数据库语句失败: {}", e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,68 @@
+package com.healthsys.config;
+
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import com.healthsys.service.metrics.QueryCounter;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+
+import java.sql.Connection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 语句计数插件。
+ * 在创建 JDBC 语句时把语句ID和参数值摘要登记到 {@link QueryCounter}，用于按操作统计语句数和发现 N+1 查询。
+ * 当前线程没有统计范围时直接放行，不解析参数。
+ *
+ * @author 梦辰
+ */
+@Intercepts(@Signature(type = StatementHandler.class, method = "prepare", args = { Connection.class, Integer.class }))
+public class StatementCountingInterceptor implements Interceptor {
+
+  @Override
+  public Object intercept(Invocation invocation) throws Throwable {
+    if (QueryCounter.isActive()) {
+      StatementHandler target = (StatementHandler) invocation.getTarget();
+      PluginUtils.MPStatementHandler handler = PluginUtils.mpStatementHandler(target);
+      QueryCounter.record(handler.mappedStatement().getId(),
+          parameterFingerprint(handler.boundSql(), handler.configuration()));
+    }
+    return invocation.proceed();
+  }
+
+  /**
+   * 按绑定到占位符的参数值计算摘要，与 DefaultParameterHandler 取值方式一致
+   */
+  private static int parameterFingerprint(BoundSql boundSql, Configuration configuration) {
+    Object parameter = boundSql.getParameterObject();
+    List<ParameterMapping> mappings = boundSql.getParameterMappings();
+    if (parameter == null || mappings.isEmpty()) {
+      return 0;
+    }
+    if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameter.getClass())) {
+      return parameter.hashCode();
+    }
+
+    try {
+      MetaObject metaObject = configuration.newMetaObject(parameter);
+      int hash = 1;
+      for (ParameterMapping mapping : mappings) {
+        String property = mapping.getProperty();
+        Object value = boundSql.hasAdditionalParameter(property) ? boundSql.getAdditionalParameter(property)
+            : metaObject.getValue(property);
+        hash = 31 * hash + Objects.hashCode(value);
+      }
+      return hash;
+    } catch (RuntimeException e) {
+      // 无法解析的参数按对象身份区分，最多把相同参数的重复执行算作不同参数
+      return System.identityHashCode(parameter);
+    }
+  }
+}
@@ -8,6 +8,7 @@ import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -19,6 +20,15 @@ import java.util.List;
 @Mapper
 public interface AppointmentMapper extends BaseMapper<Appointment> {
 
+  /**
+   * 关键词条件：预约ID、用户名、真实姓名、检查组名称或编码包含关键词，pattern 为已转义的 LIKE 模式
+   */
+  String KEYWORD_CONDITION = "<if test='pattern != null'> AND (CAST(appointment_id AS TEXT) LIKE #{pattern}" +
+      " OR EXISTS (SELECT 1 FROM users u WHERE u.user_id = appointments.user_id" +
+      " AND (u.username ILIKE #{pattern} OR u.uname ILIKE #{pattern}))" +
+      " OR EXISTS (SELECT 1 FROM check_groups g WHERE g.group_id = appointments.group_id" +
+      " AND (g.group_name ILIKE #{pattern} OR g.group_code ILIKE #{pattern})))</if>";
+
   /**
    * 根据用户ID查询预约记录
    * 
@@ -108,4 +118,47 @@ public interface AppointmentMapper extends BaseMapper<Appointment> {
    */
   @Select("SELECT COUNT(*) FROM appointments WHERE status = #{status}")
   Integer countByStatus(@Param("status") String status);
-}
\ No newline at end of file
+
+  /**
+   * 按条件统计预约数量
+   * 
+   * @param userId  用户ID（可为null，表示所有用户）
+   * @param status  预约状态（可为null，表示所有状态）
+   * @param pattern 关键词的 LIKE 模式（可为null，表示不按关键词过滤）
+   * @return 预约数量
+   */
+  @Select("<script>" +
+      "SELECT COUNT(*) FROM appointments WHERE 1 = 1" +
+      "<if test='userId != null'> AND user_id = #{userId}</if>" +
+      "<if test='status != null'> AND status = #{status}</if>" +
+      KEYWORD_CONDITION +
+      "</script>")
+  Integer countByCondition(@Param("userId") Integer userId, @Param("status") String status,
+      @Param("pattern") String pattern);
+
+  /**
+   * 按创建时间倒序分块查询预约
+   * 给出上一块最后一行的创建时间和ID时使用键集分页，否则按偏移量分页
+   * 
+   * @param userId         用户ID（可为null）
+   * @param status         预约状态（可为null）
+   * @param pattern        关键词的 LIKE 模式（可为null）
+   * @param afterCreatedAt 上一块最后一行的创建时间（可为null）
+   * @param afterId        上一块最后一行的预约ID（可为null）
+   * @param offset         偏移量（键集分页时忽略）
+   * @param limit          数量限制
+   * @return 预约列表
+   */
+  @Select("<script>" +
+      "SELECT * FROM appointments WHERE 1 = 1" +
+      "<if test='userId != null'> AND user_id = #{userId}</if>" +
+      "<if test='status != null'> AND status = #{status}</if>" +
+      KEYWORD_CONDITION +
+      "<if test='afterCreatedAt != null'> AND (created_at, appointment_id) &lt; (#{afterCreatedAt}, #{afterId})</if>" +
+      " ORDER BY created_at DESC, appointment_id DESC LIMIT #{limit}" +
+      "<if test='afterCreatedAt == null'> OFFSET #{offset}</if>" +
+      "</script>")
+  List<Appointment> findBlock(@Param("userId") Integer userId, @Param("status") String status,
+      @Param("pattern") String pattern, @Param("afterCreatedAt") LocalDateTime afterCreatedAt, @Param("afterId") Integer afterId,
+      @Param("offset") Integer offset, @Param("limit") Integer limit);
+}
@@ -85,6 +85,20 @@ public interface CheckItemMapper extends BaseMapper<CheckItem> {
       "ORDER BY ci.created_at DESC")
   List<CheckItem> findByGroupId(@Param("groupId") Integer groupId);
 
+  /**
+   * 查询指定检查组中启用的检查项，按关联记录的顺序排列（即检查项加入检查组的顺序），
+   * 与逐项读取关联表时的顺序一致，用于录入表单。
+   * 关联记录只插入和删除、从不更新，其物理位置（ctid）保持插入顺序
+   * 
+   * @param groupId 检查组ID
+   * @return 检查项列表
+   */
+  @Select("SELECT ci.* FROM group_check_item gci " +
+      "INNER JOIN check_items ci ON ci.item_id = gci.item_id " +
+      "WHERE gci.group_id = #{groupId} AND ci.is_active = true " +
+      "ORDER BY gci.ctid")
+  List<CheckItem> findActiveByGroupIdInLinkOrder(@Param("groupId") Integer groupId);
+
   /**
    * 检查检查项是否被检查组使用
    * 
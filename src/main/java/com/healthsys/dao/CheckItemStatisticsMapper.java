@@ -0,0 +1,59 @@
+package com.healthsys.dao;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.healthsys.model.entity.CheckItemStatistics;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * 检查项人群统计数据访问接口。
+ * 提供统计快照的读写操作。
+ * 
+ * @author 梦辰
+ */
+@Mapper
+public interface CheckItemStatisticsMapper extends BaseMapper<CheckItemStatistics> {
+
+  /**
+   * 插入或更新检查项统计快照
+   * 
+   * @param statistics 统计快照
+   * @return 影响行数
+   */
+  @Insert("INSERT INTO check_item_statistics " +
+      "(item_id, sample_count, mean_value, m2_value, min_value, max_value, sketch, updated_at) " +
+      "VALUES (#{itemId}, #{sampleCount}, #{meanValue}, #{m2Value}, #{minValue}, #{maxValue}, #{sketch}, #{updatedAt}) " +
+      "ON CONFLICT (item_id) DO UPDATE SET sample_count = EXCLUDED.sample_count, mean_value = EXCLUDED.mean_value, " +
+      "m2_value = EXCLUDED.m2_value, min_value = EXCLUDED.min_value, max_value = EXCLUDED.max_value, " +
+      "sketch = EXCLUDED.sketch, updated_at = EXCLUDED.updated_at")
+  int upsert(CheckItemStatistics statistics);
+
+  /**
+   * 用一条语句批量插入或更新检查项统计快照
+   * 
+   * @param statistics 统计快照，检查项ID不重复
+   * @return 影响行数
+   */
+  @Insert("<script>" +
+      "INSERT INTO check_item_statistics " +
+      "(item_id, sample_count, mean_value, m2_value, min_value, max_value, sketch, updated_at) VALUES " +
+      "<foreach collection='statistics' item='s' separator=','>" +
+      "(#{s.itemId}, #{s.sampleCount}, #{s.meanValue}, #{s.m2Value}, #{s.minValue}, #{s.maxValue}, #{s.sketch}, " +
+      "#{s.updatedAt})" +
+      "</foreach>" +
+      " ON CONFLICT (item_id) DO UPDATE SET sample_count = EXCLUDED.sample_count, mean_value = EXCLUDED.mean_value, " +
+      "m2_value = EXCLUDED.m2_value, min_value = EXCLUDED.min_value, max_value = EXCLUDED.max_value, " +
+      "sketch = EXCLUDED.sketch, updated_at = EXCLUDED.updated_at" +
+      "</script>")
+  int upsertAll(@Param("statistics") List<CheckItemStatistics> statistics);
+
+  /**
+   * 清空所有统计快照
+   */
+  @Delete("DELETE FROM check_item_statistics")
+  void deleteAll();
+}
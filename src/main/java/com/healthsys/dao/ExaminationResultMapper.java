@@ -2,12 +2,19 @@ package com.healthsys.dao;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.healthsys.model.dto.ExaminationAnalyticsRow;
+import com.healthsys.model.dto.ExaminationResultTrend;
 import com.healthsys.model.entity.ExaminationResult;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.ResultType;
 import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.mapping.ResultSetType;
+import org.apache.ibatis.session.ResultHandler;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -19,6 +26,16 @@ import java.util.List;
 @Mapper
 public interface ExaminationResultMapper extends BaseMapper<ExaminationResult> {
 
+  /**
+   * 关键词条件：结果备注、测量值、检查项名称或检查组名称包含关键词，pattern 为已转义的 LIKE 模式
+   */
+  String KEYWORD_CONDITION = "<if test='pattern != null'> AND (result_notes ILIKE #{pattern}" +
+      " OR measured_value ILIKE #{pattern}" +
+      " OR EXISTS (SELECT 1 FROM check_items i WHERE i.item_id = examination_results.item_id" +
+      " AND i.item_name ILIKE #{pattern})" +
+      " OR EXISTS (SELECT 1 FROM check_groups g WHERE g.group_id = examination_results.group_id" +
+      " AND g.group_name ILIKE #{pattern}))</if>";
+
   /**
    * 根据用户ID查询体检结果
    * 
@@ -66,6 +83,39 @@ public interface ExaminationResultMapper extends BaseMapper<ExaminationResult> {
   @Select("SELECT * FROM examination_results WHERE user_id = #{userId} AND item_id = #{itemId} ORDER BY recorded_at DESC")
   List<ExaminationResult> findByUserIdAndItemId(@Param("userId") Integer userId, @Param("itemId") Integer itemId);
 
+  /**
+   * 查询指定预约的体检结果及同一用户同一检查项的上一次测量值
+   * 通过 LAG() 窗口函数一次取回当前值与上一次值，并关联检查项名称和参考值
+   * 
+   * @param appointmentId 预约ID
+   * @return 体检结果趋势列表（按检查项ID排序）
+   */
+  @Select("SELECT t.result_id, t.appointment_id, t.user_id, t.item_id, " +
+      "ci.item_name, ci.reference_val, ci.unit, " +
+      "t.measured_value, t.recorded_at, t.previous_value, t.previous_recorded_at " +
+      "FROM (SELECT er.result_id, er.appointment_id, er.user_id, er.item_id, er.measured_value, er.recorded_at, " +
+      "LAG(er.measured_value) OVER w AS previous_value, " +
+      "LAG(er.recorded_at) OVER w AS previous_recorded_at " +
+      "FROM examination_results er " +
+      "WHERE er.user_id = (SELECT a.user_id FROM appointments a WHERE a.appointment_id = #{appointmentId}) " +
+      "AND er.item_id IN (SELECT r.item_id FROM examination_results r WHERE r.appointment_id = #{appointmentId}) " +
+      "WINDOW w AS (PARTITION BY er.user_id, er.item_id ORDER BY er.recorded_at, er.result_id)) t " +
+      "LEFT JOIN check_items ci ON ci.item_id = t.item_id " +
+      "WHERE t.appointment_id = #{appointmentId} " +
+      "ORDER BY t.item_id")
+  List<ExaminationResultTrend> findTrendsByAppointmentId(@Param("appointmentId") Integer appointmentId);
+
+  /**
+   * 查询指定用户每个检查项的最新一条体检结果
+   * 使用 DISTINCT ON (item_id)，由 (user_id, item_id, recorded_at DESC) 索引支撑
+   * 
+   * @param userId 用户ID
+   * @return 每个检查项的最新体检结果（按检查项ID排序）
+   */
+  @Select("SELECT DISTINCT ON (item_id) * FROM examination_results WHERE user_id = #{userId} " +
+      "ORDER BY item_id, recorded_at DESC")
+  List<ExaminationResult> findLatestPerItemByUserId(@Param("userId") Integer userId);
+
   /**
    * 查询指定用户在指定时间范围内的体检结果
    * 
@@ -106,6 +156,29 @@ public interface ExaminationResultMapper extends BaseMapper<ExaminationResult> {
       @Param("itemId") Integer itemId,
       @Param("limit") Integer limit);
 
+  /**
+   * 按记录时间倒序分块查询用户的体检结果
+   * 给出上一块最后一行的记录时间和ID时使用键集分页，否则按偏移量分页
+   * 
+   * @param userId          用户ID
+   * @param pattern         关键词的 LIKE 模式（可为null，表示不按关键词过滤）
+   * @param afterRecordedAt 上一块最后一行的记录时间（可为null）
+   * @param afterId         上一块最后一行的结果ID（可为null）
+   * @param offset          偏移量（键集分页时忽略）
+   * @param limit           数量限制
+   * @return 体检结果列表
+   */
+  @Select("<script>" +
+      "SELECT * FROM examination_results WHERE user_id = #{userId}" +
+      KEYWORD_CONDITION +
+      "<if test='afterRecordedAt != null'> AND (recorded_at, result_id) &lt; (#{afterRecordedAt}, #{afterId})</if>" +
+      " ORDER BY recorded_at DESC, result_id DESC LIMIT #{limit}" +
+      "<if test='afterRecordedAt == null'> OFFSET #{offset}</if>" +
+      "</script>")
+  List<ExaminationResult> findBlockByUserId(@Param("userId") Integer userId, @Param("pattern") String pattern,
+      @Param("afterRecordedAt") LocalDateTime afterRecordedAt, @Param("afterId") Integer afterId,
+      @Param("offset") Integer offset, @Param("limit") Integer limit);
+
   /**
    * 统计用户的体检结果数量
    * 
@@ -115,6 +188,19 @@ public interface ExaminationResultMapper extends BaseMapper<ExaminationResult> {
   @Select("SELECT COUNT(*) FROM examination_results WHERE user_id = #{userId}")
   Integer countByUserId(@Param("userId") Integer userId);
 
+  /**
+   * 统计用户包含关键词的体检结果数量
+   * 
+   * @param userId  用户ID
+   * @param pattern 关键词的 LIKE 模式
+   * @return 体检结果数量
+   */
+  @Select("<script>" +
+      "SELECT COUNT(*) FROM examination_results WHERE user_id = #{userId}" +
+      KEYWORD_CONDITION +
+      "</script>")
+  Integer countByUserIdAndKeyword(@Param("userId") Integer userId, @Param("pattern") String pattern);
+
   /**
    * 统计指定检查项的体检结果数量
    * 
@@ -123,4 +209,57 @@ public interface ExaminationResultMapper extends BaseMapper<ExaminationResult> {
    */
   @Select("SELECT COUNT(*) FROM examination_results WHERE item_id = #{itemId}")
   Integer countByItemId(@Param("itemId") Integer itemId);
+
+  /**
+   * 查询最大结果ID
+   * 
+   * @return 最大结果ID，无数据时返回0
+   */
+  @Select("SELECT COALESCE(MAX(result_id), 0) FROM examination_results")
+  Integer findMaxResultId();
+
+  /**
+   * 流式扫描指定结果ID区间内的检查项ID与测量值
+   * 用于并行重建统计，结果逐行交给处理器而不在内存中汇总
+   * 
+   * @param fromId  起始结果ID（包含）
+   * @param toId    结束结果ID（不包含）
+   * @param handler 行处理器
+   */
+  @Select("SELECT item_id, measured_value FROM examination_results " +
+      "WHERE result_id >= #{fromId} AND result_id < #{toId}")
+  @Options(fetchSize = 5000, resultSetType = ResultSetType.FORWARD_ONLY)
+  @ResultType(ExaminationResult.class)
+  void scanItemValues(@Param("fromId") Integer fromId, @Param("toId") Integer toId,
+      ResultHandler<ExaminationResult> handler);
+
+  /**
+   * 流式扫描指定结果ID之后的体检结果及用户人口学字段
+   * 用于增量加载人群分析列式快照
+   * 
+   * @param afterResultId 起始结果ID（不包含）
+   * @param handler       行处理器
+   */
+  @Select("SELECT er.result_id, er.user_id, er.item_id, er.group_id, er.measured_value, er.recorded_at, " +
+      "u.sex, u.bir FROM examination_results er JOIN users u ON u.user_id = er.user_id " +
+      "WHERE er.result_id > #{afterResultId} ORDER BY er.result_id")
+  @Options(fetchSize = 5000, resultSetType = ResultSetType.FORWARD_ONLY)
+  @ResultType(ExaminationAnalyticsRow.class)
+  void scanAnalyticsRows(@Param("afterResultId") Long afterResultId,
+      ResultHandler<ExaminationAnalyticsRow> handler);
+
+  /**
+   * 按结果ID查询体检结果及用户人口学字段
+   * 用于在人群分析列式快照中替换已修改的结果
+   * 
+   * @param resultIds 结果ID
+   * @return 仍存在的结果
+   */
+  @Select("<script>" +
+      "SELECT er.result_id, er.user_id, er.item_id, er.group_id, er.measured_value, er.recorded_at, " +
+      "u.sex, u.bir FROM examination_results er JOIN users u ON u.user_id = er.user_id " +
+      "WHERE er.result_id IN " +
+      "<foreach collection='resultIds' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+      "</script>")
+  List<ExaminationAnalyticsRow> findAnalyticsRowsByIds(@Param("resultIds") Collection<Integer> resultIds);
 }
\ No newline at end of file
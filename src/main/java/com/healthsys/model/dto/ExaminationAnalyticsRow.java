@@ -0,0 +1,60 @@
+package com.healthsys.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 人群分析扫描行。
+ * 体检结果与用户人口学字段的联接投影，仅用于加载列式快照。
+ *
+ * @author 梦辰
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExaminationAnalyticsRow {
+
+  /**
+   * 结果ID
+   */
+  private Integer resultId;
+
+  /**
+   * 用户ID
+   */
+  private Integer userId;
+
+  /**
+   * 检查项ID
+   */
+  private Integer itemId;
+
+  /**
+   * 检查组ID
+   */
+  private Integer groupId;
+
+  /**
+   * 测量值
+   */
+  private String measuredValue;
+
+  /**
+   * 记录时间
+   */
+  private LocalDateTime recordedAt;
+
+  /**
+   * 性别
+   */
+  private String sex;
+
+  /**
+   * 出生日期
+   */
+  private LocalDate bir;
+}
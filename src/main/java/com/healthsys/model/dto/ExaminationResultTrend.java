@@ -0,0 +1,140 @@
+package com.healthsys.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 体检结果趋势数据。
+ * 包含本次测量值及同一用户同一检查项的上一次测量值。
+ *
+ * @author 梦辰
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExaminationResultTrend {
+
+  /**
+   * 趋势：上升
+   */
+  public static final String TREND_UP = "↑";
+
+  /**
+   * 趋势：下降
+   */
+  public static final String TREND_DOWN = "↓";
+
+  /**
+   * 趋势：持平
+   */
+  public static final String TREND_FLAT = "→";
+
+  /**
+   * 结果ID
+   */
+  private Integer resultId;
+
+  /**
+   * 预约ID
+   */
+  private Integer appointmentId;
+
+  /**
+   * 用户ID
+   */
+  private Integer userId;
+
+  /**
+   * 检查项ID
+   */
+  private Integer itemId;
+
+  /**
+   * 检查项名称
+   */
+  private String itemName;
+
+  /**
+   * 检查项参考值
+   */
+  private String referenceVal;
+
+  /**
+   * 测量单位
+   */
+  private String unit;
+
+  /**
+   * 本次测量值
+   */
+  private String measuredValue;
+
+  /**
+   * 本次记录时间
+   */
+  private LocalDateTime recordedAt;
+
+  /**
+   * 上一次测量值（首次检查时为null）
+   */
+  private String previousValue;
+
+  /**
+   * 上一次记录时间（首次检查时为null）
+   */
+  private LocalDateTime previousRecordedAt;
+
+  /**
+   * 是否存在上一次测量记录
+   */
+  public boolean hasPrevious() {
+    return previousValue != null;
+  }
+
+  /**
+   * 计算本次与上一次测量值的差值
+   *
+   * @return 差值，无上一次记录或非数值时返回null
+   */
+  public Double getDelta() {
+    Double current = parseNumber(measuredValue);
+    Double previous = parseNumber(previousValue);
+    if (current == null || previous == null) {
+      return null;
+    }
+    return current - previous;
+  }
+
+  /**
+   * 获取趋势箭头
+   *
+   * @return 趋势箭头，无法比较时返回空字符串
+   */
+  public String getTrendArrow() {
+    Double delta = getDelta();
+    if (delta == null) {
+      return "";
+    }
+    if (Math.abs(delta) < 1e-9) {
+      return TREND_FLAT;
+    }
+    return delta > 0 ? TREND_UP : TREND_DOWN;
+  }
+
+  /**
+   * 解析数值，非数值返回null
+   */
+  private static Double parseNumber(String value) {
+    if (value == null || value.trim().isEmpty()) {
+      return null;
+    }
+    try {
+      return Double.parseDouble(value.trim());
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+}
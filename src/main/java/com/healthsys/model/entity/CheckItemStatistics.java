@@ -0,0 +1,70 @@
+package com.healthsys.model.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import java.time.LocalDateTime;
+
+/**
+ * 检查项人群统计实体类。
+ * 持久化每个检查项的流式统计量与分位数草图。
+ * 
+ * @author 梦辰
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@TableName("check_item_statistics")
+public class CheckItemStatistics {
+
+  /**
+   * 检查项ID（主键）
+   */
+  @TableId(value = "item_id", type = IdType.INPUT)
+  private Integer itemId;
+
+  /**
+   * 样本数
+   */
+  @TableField("sample_count")
+  private Long sampleCount;
+
+  /**
+   * 均值
+   */
+  @TableField("mean_value")
+  private Double meanValue;
+
+  /**
+   * 二阶中心矩（Welford M2）
+   */
+  @TableField("m2_value")
+  private Double m2Value;
+
+  /**
+   * 最小值
+   */
+  @TableField("min_value")
+  private Double minValue;
+
+  /**
+   * 最大值
+   */
+  @TableField("max_value")
+  private Double maxValue;
+
+  /**
+   * 序列化的KLL分位数草图
+   */
+  @TableField("sketch")
+  private byte[] sketch;
+
+  /**
+   * 最后更新时间
+   */
+  @TableField("updated_at")
+  private LocalDateTime updatedAt;
+}
@@ -68,4 +68,49 @@ public interface IAppointmentService {
    * @return 预约列表
    */
   List<Appointment> getAppointmentsByStatus(String status);
-}
\ No newline at end of file
+
+  /**
+   * 按条件统计预约数量
+   * 
+   * @param userId 用户ID（可为null，表示所有用户）
+   * @param status 预约状态（可为null，表示所有状态）
+   * @return 预约数量，失败时返回0
+   */
+  int countAppointments(Integer userId, String status);
+
+  /**
+   * 按创建时间倒序分块查询预约，供懒加载表格使用
+   * 
+   * @param userId 用户ID（可为null，表示所有用户）
+   * @param status 预约状态（可为null，表示所有状态）
+   * @param after  上一块的最后一行（可为null，此时按偏移量查询）
+   * @param offset 起始行号
+   * @param limit  最大行数
+   * @return 预约列表，失败时返回null
+   */
+  List<Appointment> getAppointmentBlock(Integer userId, String status, Appointment after, int offset, int limit);
+
+  /**
+   * 按条件和关键词统计预约数量，关键词匹配预约ID、用户名、真实姓名、检查组名称或编码，不区分大小写
+   * 
+   * @param userId  用户ID（可为null，表示所有用户）
+   * @param status  预约状态（可为null，表示所有状态）
+   * @param keyword 关键词（可为null或空白，表示不按关键词过滤）
+   * @return 预约数量，失败时返回0
+   */
+  int countAppointments(Integer userId, String status, String keyword);
+
+  /**
+   * 按条件和关键词分块查询预约，顺序与 {@link #getAppointmentBlock(Integer, String, Appointment, int, int)} 相同
+   * 
+   * @param userId  用户ID（可为null，表示所有用户）
+   * @param status  预约状态（可为null，表示所有状态）
+   * @param keyword 关键词（可为null或空白，表示不按关键词过滤）
+   * @param after   上一块的最后一行（可为null，此时按偏移量查询）
+   * @param offset  起始行号
+   * @param limit   最大行数
+   * @return 预约列表，失败时返回null
+   */
+  List<Appointment> getAppointmentBlock(Integer userId, String status, String keyword, Appointment after, int offset,
+      int limit);
+}
@@ -0,0 +1,56 @@
+package com.healthsys.service;
+
+import com.healthsys.analysis.CohortQuery;
+import com.healthsys.analysis.CohortResult;
+import com.healthsys.analysis.ReflagSummary;
+
+import java.util.Collection;
+
+/**
+ * 人群分析服务接口。
+ * 定义基于体检结果列式快照的多维人群统计操作。
+ * 
+ * @author 梦辰
+ */
+public interface ICohortAnalyticsService {
+
+  /**
+   * 增量刷新列式快照：替换已登记修改或删除的结果，加载新提交的结果；距上次全量重建较久时在后台全量重建
+   * 
+   * @return 本次加载的行数，失败时返回-1
+   */
+  int refreshSnapshot();
+
+  /**
+   * 登记已修改或删除的体检结果，下次刷新时替换或移除快照中的对应行
+   * 
+   * @param resultIds 结果ID
+   */
+  void invalidateResults(Collection<Integer> resultIds);
+
+  /**
+   * 执行人群分析查询
+   * 快照较久未刷新时会先刷新
+   * 
+   * @param query 查询条件
+   * @return 查询结果，失败时返回null
+   */
+  CohortResult query(CohortQuery query);
+
+  /**
+   * 获取快照中的行数
+   * 
+   * @return 行数
+   */
+  int getSnapshotSize();
+
+  /**
+   * 检查项参考范围变更后，对该检查项的全部历史结果重新判定异常
+   * 
+   * @param itemId          检查项ID
+   * @param oldReferenceVal 变更前的参考值
+   * @param newReferenceVal 变更后的参考值
+   * @return 重新判定汇总，失败时返回null
+   */
+  ReflagSummary reflagItem(Integer itemId, String oldReferenceVal, String newReferenceVal);
+}
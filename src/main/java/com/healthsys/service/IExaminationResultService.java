@@ -1,5 +1,6 @@
 package com.healthsys.service;
 
+import com.healthsys.model.dto.ExaminationResultTrend;
 import com.healthsys.model.entity.ExaminationResult;
 import java.util.List;
 
@@ -43,6 +44,57 @@ public interface IExaminationResultService {
    */
   List<ExaminationResult> getExaminationResultsByUserId(Integer userId);
 
+  /**
+   * 统计用户的体检结果数量
+   * 
+   * @param userId 用户ID
+   * @return 体检结果数量，失败时返回0
+   */
+  int countExaminationResultsByUserId(Integer userId);
+
+  /**
+   * 按记录时间倒序分块查询用户的体检结果，供懒加载表格使用
+   * 
+   * @param userId 用户ID
+   * @param after  上一块的最后一行（可为null，此时按偏移量查询）
+   * @param offset 起始行号
+   * @param limit  最大行数
+   * @return 体检结果列表，失败时返回null
+   */
+  List<ExaminationResult> getExaminationResultBlockByUserId(Integer userId, ExaminationResult after, int offset,
+      int limit);
+
+  /**
+   * 统计用户包含关键词的体检结果数量，关键词匹配备注、测量值、检查项名称或检查组名称，不区分大小写
+   * 
+   * @param userId  用户ID
+   * @param keyword 关键词（可为null或空白，表示不按关键词过滤）
+   * @return 体检结果数量，失败时返回0
+   */
+  int countExaminationResultsByUserId(Integer userId, String keyword);
+
+  /**
+   * 按关键词分块查询用户的体检结果，顺序与 {@link #getExaminationResultBlockByUserId(Integer, ExaminationResult, int, int)} 相同
+   * 
+   * @param userId  用户ID
+   * @param keyword 关键词（可为null或空白，表示不按关键词过滤）
+   * @param after   上一块的最后一行（可为null，此时按偏移量查询）
+   * @param offset  起始行号
+   * @param limit   最大行数
+   * @return 体检结果列表，失败时返回null
+   */
+  List<ExaminationResult> getExaminationResultBlockByUserId(Integer userId, String keyword, ExaminationResult after,
+      int offset, int limit);
+
+  /**
+   * 查询用户每个检查项的最新体检结果
+   * 结果按用户缓存，在写入该用户的体检结果时失效
+   * 
+   * @param userId 用户ID
+   * @return 每个检查项的最新体检结果列表（只读）
+   */
+  List<ExaminationResult> getLatestExaminationResultsByUserId(Integer userId);
+
   /**
    * 根据预约ID查询体检结果
    * 
@@ -51,6 +103,14 @@ public interface IExaminationResultService {
    */
   List<ExaminationResult> getExaminationResultsByAppointmentId(Integer appointmentId);
 
+  /**
+   * 根据预约ID查询体检结果及各检查项相对上一次测量的变化
+   * 
+   * @param appointmentId 预约ID
+   * @return 体检结果趋势列表
+   */
+  List<ExaminationResultTrend> getExaminationResultTrendsByAppointmentId(Integer appointmentId);
+
   /**
    * 根据检查项ID查询体检结果
    * 
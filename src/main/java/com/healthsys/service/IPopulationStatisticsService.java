@@ -0,0 +1,46 @@
+package com.healthsys.service;
+
+import com.healthsys.analysis.ItemStatistics;
+import com.healthsys.model.entity.ExaminationResult;
+import java.util.List;
+
+/**
+ * 人群统计服务接口。
+ * 定义检查项人群分布统计的增量维护、重建和查询操作。
+ * 
+ * @author 梦辰
+ */
+public interface IPopulationStatisticsService {
+
+  /**
+   * 将新保存的体检结果计入人群统计
+   * 非数值测量值会被忽略
+   * 
+   * @param results 体检结果列表
+   */
+  void recordResults(List<ExaminationResult> results);
+
+  /**
+   * 获取检查项的人群统计
+   * 
+   * @param itemId 检查项ID
+   * @return 人群统计，无数据时返回null
+   */
+  ItemStatistics getItemStatistics(Integer itemId);
+
+  /**
+   * 计算测量值在该检查项人群中的百分位
+   * 
+   * @param itemId        检查项ID
+   * @param measuredValue 测量值
+   * @return 百分位（0-100），无统计或非数值时返回-1
+   */
+  int getPercentile(Integer itemId, String measuredValue);
+
+  /**
+   * 从体检结果表并行重建全部人群统计并持久化
+   * 
+   * @return 重建是否成功
+   */
+  boolean rebuildStatistics();
+}
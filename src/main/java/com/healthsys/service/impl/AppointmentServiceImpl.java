@@ -6,6 +6,7 @@ import com.healthsys.dao.AppointmentMapper;
 import com.healthsys.model.entity.Appointment;
 import com.healthsys.service.IAppointmentService;
 import com.healthsys.config.DataAccessManager;
+import com.healthsys.util.CommonUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -22,6 +23,11 @@ public class AppointmentServiceImpl implements IAppointmentService {
 
   private static final Logger logger = LoggerFactory.getLogger(AppointmentServiceImpl.class);
 
+  /**
+   * 所有实例共享，合并不同页面同时发起的相同查询
+   */
+  private static final SingleFlight FLIGHTS = new SingleFlight("AppointmentService");
+
   private AppointmentMapper appointmentMapper;
 
   public AppointmentServiceImpl() {
@@ -41,6 +47,7 @@ public class AppointmentServiceImpl implements IAppointmentService {
       }
 
       int result = appointmentMapper.insert(appointment);
+      FLIGHTS.forget();
       logger.info("创建预约: 用户ID={}, 检查组ID={}, 预约日期={}",
           appointment.getUserId(), appointment.getGroupId(), appointment.getAppointmentDate());
       return result > 0;
@@ -59,6 +66,7 @@ public class AppointmentServiceImpl implements IAppointmentService {
       appointment.setUpdatedAt(LocalDateTime.now());
 
       int result = appointmentMapper.updateById(appointment);
+      FLIGHTS.forget();
       logger.info("更新预约状态: 预约ID={}, 新状态={}", appointmentId, status);
       return result > 0;
     } catch (Exception e) {
@@ -74,7 +82,8 @@ public class AppointmentServiceImpl implements IAppointmentService {
       queryWrapper.eq("user_id", userId)
           .orderByDesc("created_at");
 
-      List<Appointment> appointments = appointmentMapper.selectList(queryWrapper);
+      List<Appointment> appointments = FLIGHTS.execute("getAppointmentsByUserId",
+          () -> appointmentMapper.selectList(queryWrapper), userId);
       logger.info("查询用户预约历史: 用户ID={}, 记录数={}", userId, appointments.size());
       return appointments;
     } catch (Exception e) {
@@ -112,10 +121,13 @@ public class AppointmentServiceImpl implements IAppointmentService {
       QueryWrapper<Appointment> queryWrapper = new QueryWrapper<>();
       queryWrapper.orderByDesc("created_at");
 
-      Page<Appointment> result = appointmentMapper.selectPage(page, queryWrapper);
-      logger.info("分页查询所有预约: 当前页={}, 每页大小={}, 总记录数={}",
-          current, size, result.getTotal());
-      return result.getRecords();
+      List<Appointment> records = FLIGHTS.execute("getAllAppointments", () -> {
+        Page<Appointment> result = appointmentMapper.selectPage(page, queryWrapper);
+        logger.info("分页查询所有预约: 当前页={}, 每页大小={}, 总记录数={}",
+            current, size, result.getTotal());
+        return result.getRecords();
+      }, current, size);
+      return records;
     } catch (Exception e) {
       logger.error("分页查询所有预约失败", e);
       return null;
@@ -129,7 +141,8 @@ public class AppointmentServiceImpl implements IAppointmentService {
       queryWrapper.eq("status", status)
           .orderByDesc("created_at");
 
-      List<Appointment> appointments = appointmentMapper.selectList(queryWrapper);
+      List<Appointment> appointments = FLIGHTS.execute("getAppointmentsByStatus",
+          () -> appointmentMapper.selectList(queryWrapper), status);
       logger.info("根据状态查询预约: 状态={}, 记录数={}", status, appointments.size());
       return appointments;
     } catch (Exception e) {
@@ -137,4 +150,45 @@ public class AppointmentServiceImpl implements IAppointmentService {
       return null;
     }
   }
-}
\ No newline at end of file
+
+  @Override
+  public int countAppointments(Integer userId, String status) {
+    return countAppointments(userId, status, null);
+  }
+
+  @Override
+  public List<Appointment> getAppointmentBlock(Integer userId, String status, Appointment after, int offset,
+      int limit) {
+    return getAppointmentBlock(userId, status, null, after, offset, limit);
+  }
+
+  @Override
+  public int countAppointments(Integer userId, String status, String keyword) {
+    try {
+      String pattern = CommonUtil.likeContains(keyword);
+      Integer count = FLIGHTS.execute("countAppointments",
+          () -> appointmentMapper.countByCondition(userId, status, pattern), userId, status, pattern);
+      return count != null ? count : 0;
+    } catch (Exception e) {
+      logger.error("统计预约数量失败: 用户ID={}, 状态={}, 关键词={}", userId, status, keyword, e);
+      return 0;
+    }
+  }
+
+  @Override
+  public List<Appointment> getAppointmentBlock(Integer userId, String status, String keyword, Appointment after,
+      int offset, int limit) {
+    try {
+      String pattern = CommonUtil.likeContains(keyword);
+      boolean keyset = after != null && after.getCreatedAt() != null && after.getAppointmentId() != null;
+      LocalDateTime afterCreatedAt = keyset ? after.getCreatedAt() : null;
+      Integer afterId = keyset ? after.getAppointmentId() : null;
+      return FLIGHTS.execute("getAppointmentBlock",
+          () -> appointmentMapper.findBlock(userId, status, pattern, afterCreatedAt, afterId, offset, limit),
+          userId, status, pattern, afterCreatedAt, afterId, offset, limit);
+    } catch (Exception e) {
+      logger.error("分块查询预约失败: 用户ID={}, 状态={}, 关键词={}, 起始行={}", userId, status, keyword, offset, e);
+      return null;
+    }
+  }
+}
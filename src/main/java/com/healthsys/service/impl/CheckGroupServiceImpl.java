@@ -26,6 +26,11 @@ public class CheckGroupServiceImpl implements ICheckGroupService {
 
   private static final Logger logger = LoggerFactory.getLogger(CheckGroupServiceImpl.class);
 
+  /**
+   * 所有实例共享，合并不同页面同时发起的相同查询
+   */
+  private static final SingleFlight FLIGHTS = new SingleFlight("CheckGroupService");
+
   private CheckGroupMapper checkGroupMapper;
   private CheckItemMapper checkItemMapper;
 
@@ -33,8 +38,12 @@ public class CheckGroupServiceImpl implements ICheckGroupService {
    * 构造函数
    */
   public CheckGroupServiceImpl() {
-    this.checkGroupMapper = DataAccessManager.getCheckGroupMapperStatic();
-    this.checkItemMapper = DataAccessManager.getCheckItemMapperStatic();
+    this(DataAccessManager.getCheckGroupMapperStatic(), DataAccessManager.getCheckItemMapperStatic());
+  }
+
+  public CheckGroupServiceImpl(CheckGroupMapper checkGroupMapper, CheckItemMapper checkItemMapper) {
+    this.checkGroupMapper = checkGroupMapper;
+    this.checkItemMapper = checkItemMapper;
   }
 
   @Override
@@ -114,6 +123,7 @@ public class CheckGroupServiceImpl implements ICheckGroupService {
 
       // 插入检查组
       int insertResult = checkGroupMapper.insert(checkGroup);
+      FLIGHTS.forget();
       if (insertResult <= 0) {
         logger.error("添加检查组失败：数据库插入失败");
         return false;
@@ -169,6 +179,7 @@ public class CheckGroupServiceImpl implements ICheckGroupService {
 
       // 更新检查组
       int updateResult = checkGroupMapper.updateById(checkGroup);
+      FLIGHTS.forget();
       if (updateResult <= 0) {
         logger.error("更新检查组失败：数据库更新失败");
         return false;
@@ -218,6 +229,7 @@ public class CheckGroupServiceImpl implements ICheckGroupService {
       checkGroup.setUpdatedAt(LocalDateTime.now());
 
       int deleteResult = checkGroupMapper.updateById(checkGroup);
+      FLIGHTS.forget();
       if (deleteResult <= 0) {
         logger.error("删除检查组失败：数据库更新失败");
         return false;
@@ -281,20 +293,9 @@ public class CheckGroupServiceImpl implements ICheckGroupService {
         return new ArrayList<>();
       }
 
-      List<Integer> itemIds = getCheckItemIdsByGroupId(groupId);
-      if (itemIds.isEmpty()) {
-        return new ArrayList<>();
-      }
-
-      List<CheckItem> checkItems = new ArrayList<>();
-      for (Integer itemId : itemIds) {
-        CheckItem item = checkItemMapper.selectById(itemId);
-        if (item != null && Boolean.TRUE.equals(item.getIsActive())) {
-          checkItems.add(item);
-        }
-      }
-
-      return checkItems;
+      // 一次关联查询取回启用的检查项，避免逐项查询；保持检查项在检查组中的顺序
+      List<CheckItem> checkItems = checkItemMapper.findActiveByGroupIdInLinkOrder(groupId);
+      return checkItems != null ? checkItems : new ArrayList<>();
 
     } catch (Exception e) {
       logger.error("获取检查组关联的检查项失败：groupId={}", groupId, e);
@@ -334,7 +335,7 @@ public class CheckGroupServiceImpl implements ICheckGroupService {
   @Override
   public List<CheckGroup> getAllActiveCheckGroups() {
     try {
-      return checkGroupMapper.findAllActive();
+      return FLIGHTS.execute("getAllActiveCheckGroups", () -> checkGroupMapper.findAllActive());
     } catch (Exception e) {
       logger.error("获取所有启用检查组失败", e);
       return new ArrayList<>();
@@ -355,6 +356,7 @@ public class CheckGroupServiceImpl implements ICheckGroupService {
       checkGroup.setUpdatedAt(LocalDateTime.now());
 
       int updateResult = checkGroupMapper.updateById(checkGroup);
+      FLIGHTS.forget();
       if (updateResult > 0) {
         logger.info("成功更新检查组状态：ID={}, isActive={}", groupId, isActive);
         return true;
@@ -0,0 +1,368 @@
+package com.healthsys.service.impl;
+
+import com.healthsys.analysis.AbnormalFlagEvaluator;
+import com.healthsys.analysis.CohortAggregator;
+import com.healthsys.analysis.CohortDimension;
+import com.healthsys.analysis.CohortQuery;
+import com.healthsys.analysis.CohortResult;
+import com.healthsys.analysis.ExaminationColumns;
+import com.healthsys.analysis.MeasuredValues;
+import com.healthsys.analysis.ReferenceRange;
+import com.healthsys.analysis.ReflagSummary;
+import com.healthsys.config.AppExecutor;
+import com.healthsys.config.DataAccessManager;
+import com.healthsys.dao.CheckGroupMapper;
+import com.healthsys.dao.CheckItemMapper;
+import com.healthsys.dao.ExaminationResultMapper;
+import com.healthsys.model.dto.ExaminationAnalyticsRow;
+import com.healthsys.model.entity.CheckGroup;
+import com.healthsys.model.entity.CheckItem;
+import com.healthsys.service.ICohortAnalyticsService;
+import org.apache.ibatis.session.SqlSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 人群分析服务实现。
+ * 将体检结果按列加载到内存快照中（各服务实例共享），查询时在快照上并行聚合，不再访问数据库。
+ * <p>
+ * 快照增量刷新：
+ * <ul>
+ * <li>新结果：结果ID按插入顺序分配，但事务提交顺序可能不同，较小的ID可能晚于较大的ID可见。
+ * 刷新时从水位线（已加载最大结果ID减去 {@link #LATE_COMMIT_WINDOW}）之后重新扫描，跳过水位线之上已加载的结果；</li>
+ * <li>修改和删除：写入方通过 {@link #invalidateResults} 登记结果ID，刷新时把快照中的旧行标记为删除，
+ * 再按ID加载仍存在的结果追加到快照。</li>
+ * </ul>
+ * 首次加载在调用线程上完成。此后每隔 {@link #FULL_REBUILD_MILLIS} 在后台全量重建一次，
+ * 补上未经服务写入的变化（如删除预约、用户时级联删除的结果，用户人口学字段的修改）并回收已删除的行；
+ * 重建期间查询继续使用旧快照，完成后整体替换。查询时快照超过 {@link #STALE_AFTER_MILLIS} 未刷新则先增量刷新。
+ *
+ * @author 梦辰
+ */
+public class CohortAnalyticsServiceImpl implements ICohortAnalyticsService {
+
+  private static final Logger logger = LoggerFactory.getLogger(CohortAnalyticsServiceImpl.class);
+
+  /**
+   * 查询前允许的快照最长未刷新时间
+   */
+  private static final long STALE_AFTER_MILLIS = 30_000;
+
+  /**
+   * 后台全量重建间隔
+   */
+  private static final long FULL_REBUILD_MILLIS = 6 * 60 * 60_000L;
+
+  /**
+   * 水位线落后于已加载最大结果ID的ID数，在此范围内晚提交的结果由增量刷新补上
+   */
+  private static final int LATE_COMMIT_WINDOW = 10_000;
+
+  /**
+   * 每次按ID查询的最大结果数
+   */
+  private static final int RELOAD_BATCH_SIZE = 1_000;
+
+  private static final Object refreshLock = new Object();
+
+  /**
+   * 列式快照，各服务实例共享。全量重建时整体替换
+   */
+  private static volatile ExaminationColumns columns = new ExaminationColumns();
+
+  /**
+   * 以下状态由 refreshLock 保护：水位线、水位线之上已加载的结果ID、
+   * 后台重建期间已处理的修改（重建完成后在新快照上重新处理，未重建时为 null）
+   */
+  private static long watermark;
+  private static final Set<Integer> loadedAboveWatermark = new HashSet<>();
+  private static Set<Integer> changesDuringRebuild;
+
+  /**
+   * 已修改或删除、尚未反映到快照中的结果ID
+   */
+  private static final Set<Integer> changedResultIds = ConcurrentHashMap.newKeySet();
+
+  private static final AtomicBoolean rebuilding = new AtomicBoolean();
+  private static volatile long lastFullRebuildMillis;
+  private static volatile long lastRefreshMillis;
+
+  private final CheckItemMapper checkItemMapper;
+  private final CheckGroupMapper checkGroupMapper;
+
+  public CohortAnalyticsServiceImpl() {
+    this.checkItemMapper = DataAccessManager.getCheckItemMapperStatic();
+    this.checkGroupMapper = DataAccessManager.getCheckGroupMapperStatic();
+  }
+
+  @Override
+  public int refreshSnapshot() {
+    if (lastFullRebuildMillis == 0) {
+      synchronized (refreshLock) {
+        if (lastFullRebuildMillis == 0) {
+          return rebuildSnapshot();
+        }
+      }
+    }
+
+    int loaded = refreshIncrementally();
+    if (System.currentTimeMillis() - lastFullRebuildMillis >= FULL_REBUILD_MILLIS
+        && rebuilding.compareAndSet(false, true)) {
+      AppExecutor.runDbAsync("CohortAnalytics.rebuildSnapshot", this::rebuildSnapshot)
+          .whenComplete((result, throwable) -> rebuilding.set(false));
+    }
+    return loaded;
+  }
+
+  @Override
+  public void invalidateResults(Collection<Integer> resultIds) {
+    if (resultIds == null) {
+      return;
+    }
+    for (Integer resultId : resultIds) {
+      if (resultId != null) {
+        changedResultIds.add(resultId);
+      }
+    }
+  }
+
+  /**
+   * 在当前快照上处理已登记的修改，并加载水位线之后新提交的结果
+   *
+   * @return 加载的行数，失败时返回-1
+   */
+  private int refreshIncrementally() {
+    long startTime = System.currentTimeMillis();
+    synchronized (refreshLock) {
+      ExaminationColumns target = columns;
+      List<Integer> changed = new ArrayList<>();
+      for (Iterator<Integer> iterator = changedResultIds.iterator(); iterator.hasNext();) {
+        changed.add(iterator.next());
+        iterator.remove();
+      }
+      if (changesDuringRebuild != null) {
+        changesDuringRebuild.addAll(changed);
+      }
+
+      int[] loaded = { 0 };
+      int removed = target.delete(changed);
+      // 关闭自动提交，PostgreSQL 驱动才会按 fetchSize 使用游标分批读取
+      try (SqlSession session = DataAccessManager.getInstance().getSqlSessionFactory().openSession(false)) {
+        ExaminationResultMapper mapper = session.getMapper(ExaminationResultMapper.class);
+        for (int from = 0; from < changed.size(); from += RELOAD_BATCH_SIZE) {
+          List<Integer> batch = changed.subList(from, Math.min(from + RELOAD_BATCH_SIZE, changed.size()));
+          for (ExaminationAnalyticsRow row : mapper.findAnalyticsRowsByIds(batch)) {
+            appendTracked(target, row);
+            loaded[0]++;
+          }
+        }
+        mapper.scanAnalyticsRows(watermark, context -> {
+          ExaminationAnalyticsRow row = context.getResultObject();
+          if (!loadedAboveWatermark.contains(row.getResultId())) {
+            appendTracked(target, row);
+            loaded[0]++;
+          }
+        });
+      } catch (Exception e) {
+        logger.error("刷新人群分析快照失败", e);
+        // 已追加的行仍然有效且已登记；修改重新登记，下次重新替换
+        changedResultIds.addAll(changed);
+        target.publish();
+        return -1;
+      }
+      target.publish();
+      advanceWatermark(target.view(), false);
+      lastRefreshMillis = System.currentTimeMillis();
+
+      logger.info("增量刷新人群分析快照: 加载行数={}, 移除旧行数={}, 总行数={}, 耗时={}ms",
+          loaded[0], removed, target.view().size, lastRefreshMillis - startTime);
+      return loaded[0];
+    }
+  }
+
+  /**
+   * 在新快照中全量加载后替换当前快照。扫描不持有 refreshLock，期间查询和增量刷新使用旧快照
+   *
+   * @return 加载的行数，失败时返回-1
+   */
+  private int rebuildSnapshot() {
+    long startTime = System.currentTimeMillis();
+    synchronized (refreshLock) {
+      changesDuringRebuild = new HashSet<>();
+    }
+
+    ExaminationColumns rebuilt = new ExaminationColumns();
+    int[] loaded = { 0 };
+    try (SqlSession session = DataAccessManager.getInstance().getSqlSessionFactory().openSession(false)) {
+      session.getMapper(ExaminationResultMapper.class).scanAnalyticsRows(0L, context -> {
+        append(rebuilt, context.getResultObject());
+        loaded[0]++;
+      });
+    } catch (Exception e) {
+      logger.error("全量重建人群分析快照失败", e);
+      synchronized (refreshLock) {
+        changesDuringRebuild = null;
+      }
+      return -1;
+    }
+    rebuilt.publish();
+
+    synchronized (refreshLock) {
+      // 重建扫描可能早于这些修改，在新快照上重新处理
+      changedResultIds.addAll(changesDuringRebuild);
+      changesDuringRebuild = null;
+      columns = rebuilt;
+      watermark = 0;
+      loadedAboveWatermark.clear();
+      advanceWatermark(rebuilt.view(), true);
+      lastFullRebuildMillis = startTime;
+      logger.info("全量重建人群分析快照: 总行数={}, 耗时={}ms", loaded[0], System.currentTimeMillis() - startTime);
+      refreshIncrementally();
+    }
+    return loaded[0];
+  }
+
+  private static void append(ExaminationColumns target, ExaminationAnalyticsRow row) {
+    target.append(row.getResultId(),
+        row.getUserId() != null ? row.getUserId() : 0,
+        row.getItemId() != null ? row.getItemId() : 0,
+        row.getGroupId() != null ? row.getGroupId() : 0,
+        MeasuredValues.parse(row.getMeasuredValue()),
+        row.getRecordedAt() != null ? (int) row.getRecordedAt().toLocalDate().toEpochDay()
+            : ExaminationColumns.NO_DATE,
+        row.getSex(),
+        row.getBir() != null ? (int) row.getBir().toEpochDay() : ExaminationColumns.NO_DATE);
+  }
+
+  /**
+   * 追加到当前快照并登记水位线之上的结果ID。调用方持有 refreshLock
+   */
+  private static void appendTracked(ExaminationColumns target, ExaminationAnalyticsRow row) {
+    append(target, row);
+    if (row.getResultId() > watermark) {
+      loadedAboveWatermark.add(row.getResultId());
+    }
+  }
+
+  /**
+   * 把水位线推进到已加载最大结果ID之前 {@link #LATE_COMMIT_WINDOW} 处，只保留水位线之上已加载的结果ID。
+   * 全量重建后按新快照重新登记。调用方持有 refreshLock
+   */
+  private static void advanceWatermark(ExaminationColumns.View view, boolean fullRebuild) {
+    long newWatermark = Math.max(watermark, columns.getLastResultId() - LATE_COMMIT_WINDOW);
+    loadedAboveWatermark.removeIf(resultId -> resultId <= newWatermark);
+    if (fullRebuild) {
+      for (int row = 0; row < view.size; row++) {
+        if (view.resultIds[row] > newWatermark) {
+          loadedAboveWatermark.add(view.resultIds[row]);
+        }
+      }
+    }
+    watermark = newWatermark;
+  }
+
+  @Override
+  public CohortResult query(CohortQuery query) {
+    if (query == null) {
+      return null;
+    }
+
+    try {
+      if (System.currentTimeMillis() - lastRefreshMillis >= STALE_AFTER_MILLIS) {
+        refreshSnapshot();
+      }
+
+      List<CheckItem> checkItems = checkItemMapper.selectList(null);
+      Map<Integer, String> itemNames = new HashMap<>();
+      int maxItemId = 0;
+      for (CheckItem item : checkItems) {
+        itemNames.put(item.getItemId(), item.getItemName());
+        maxItemId = Math.max(maxItemId, item.getItemId());
+      }
+
+      ReferenceRange[] ranges = null;
+      if (query.isAbnormalOnly()) {
+        ranges = new ReferenceRange[maxItemId + 1];
+        for (CheckItem item : checkItems) {
+          ranges[item.getItemId()] = ReferenceRange.parse(item.getReferenceVal());
+        }
+      }
+
+      Map<Integer, String> groupNames = new HashMap<>();
+      if (query.getGroupBy().contains(CohortDimension.GROUP)) {
+        for (CheckGroup group : checkGroupMapper.selectList(null)) {
+          groupNames.put(group.getGroupId(), group.getGroupName());
+        }
+      }
+
+      // 全量重建会替换快照，聚合和标签使用同一个快照的字典
+      ExaminationColumns snapshot = columns;
+      CohortResult result = CohortAggregator.execute(snapshot, query, ranges,
+          (dimension, code) -> label(snapshot, dimension, code, itemNames, groupNames));
+      logger.debug("人群分析查询完成: 扫描行数={}, 分组数={}, 耗时={}ms",
+          result.getScannedRows(), result.getRows().size(), result.getElapsedMillis());
+      return result;
+    } catch (Exception e) {
+      logger.error("人群分析查询失败", e);
+      return null;
+    }
+  }
+
+  @Override
+  public ReflagSummary reflagItem(Integer itemId, String oldReferenceVal, String newReferenceVal) {
+    if (itemId == null) {
+      return null;
+    }
+
+    try {
+      // 先补齐快照，保证包含该检查项的最新结果
+      refreshSnapshot();
+
+      long startTime = System.currentTimeMillis();
+      ExaminationColumns.View view = columns.view();
+      long[] before = AbnormalFlagEvaluator.flagItem(view, itemId, ReferenceRange.parse(oldReferenceVal));
+      long[] after = AbnormalFlagEvaluator.flagItem(view, itemId, ReferenceRange.parse(newReferenceVal));
+      view.clearDeleted(before);
+      view.clearDeleted(after);
+      ReflagSummary summary = ReflagSummary.compare(itemId, before, after);
+
+      logger.info("检查项参考范围变更重新判定: 检查项ID={}, 异常数 {} -> {}, 新增异常={}, 恢复正常={}, 耗时={}ms",
+          itemId, summary.getAbnormalBefore(), summary.getAbnormalAfter(), summary.getNewlyAbnormal(),
+          summary.getNewlyNormal(), System.currentTimeMillis() - startTime);
+      return summary;
+    } catch (Exception e) {
+      logger.error("重新判定检查项异常结果失败: 检查项ID={}", itemId, e);
+      return null;
+    }
+  }
+
+  @Override
+  public int getSnapshotSize() {
+    return columns.view().size;
+  }
+
+  private String label(ExaminationColumns snapshot, CohortDimension dimension, int code, Map<Integer, String> itemNames,
+      Map<Integer, String> groupNames) {
+    switch (dimension) {
+      case SEX:
+        return snapshot.getSexDictionary().decode(code);
+      case ITEM:
+        return itemNames.getOrDefault(code, dimension.defaultLabel(code));
+      case GROUP:
+        return groupNames.getOrDefault(code, dimension.defaultLabel(code));
+      default:
+        return dimension.defaultLabel(code);
+    }
+  }
+}
@@ -34,8 +34,9 @@ public class EmailServiceImpl implements IEmailService {
   // 定时任务执行器，用于清理过期验证码
   private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
 
-  // 邮件账户配置（从MailConfig获取）
+  // 邮件账户配置（从MailConfig获取，首次发送时初始化）
   private MailAccount mailAccount;
+  private boolean mailAccountInitialized;
 
   /**
    * 验证码信息内部类
@@ -63,9 +64,7 @@ public class EmailServiceImpl implements IEmailService {
    * 构造函数，启动定时清理任务
    */
   public EmailServiceImpl() {
-    // 初始化邮件账户配置
-    initMailAccount();
-
+    // 邮件账户在启动时由后台任务加载，这里不在构造时读取，避免阻塞界面线程
     // 每分钟清理一次过期的验证码
     scheduler.scheduleAtFixedRate(this::cleanExpiredCodes, 1, 1, TimeUnit.MINUTES);
   }
@@ -78,6 +77,7 @@ public class EmailServiceImpl implements IEmailService {
     }
 
     // 检查邮件配置是否可用
+    MailAccount mailAccount = getMailAccount();
     if (mailAccount == null) {
       logger.error("邮件配置未初始化，无法发送邮件");
       return false;
@@ -145,6 +145,17 @@ public class EmailServiceImpl implements IEmailService {
     }
   }
 
+  /**
+   * 获取邮件账户配置，首次调用时初始化
+   */
+  private synchronized MailAccount getMailAccount() {
+    if (!mailAccountInitialized) {
+      initMailAccount();
+      mailAccountInitialized = true;
+    }
+    return mailAccount;
+  }
+
   /**
    * 初始化邮件账户配置
    */
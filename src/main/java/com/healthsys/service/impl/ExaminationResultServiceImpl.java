@@ -3,14 +3,25 @@ package com.healthsys.service.impl;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.healthsys.dao.ExaminationResultMapper;
+import com.healthsys.model.dto.ExaminationResultTrend;
 import com.healthsys.model.entity.ExaminationResult;
+import com.healthsys.service.ICohortAnalyticsService;
 import com.healthsys.service.IExaminationResultService;
+import com.healthsys.service.IPopulationStatisticsService;
 import com.healthsys.config.DataAccessManager;
+import com.healthsys.service.metrics.ServiceMetrics;
+import com.healthsys.util.CommonUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 /**
  * 体检结果服务实现。
@@ -22,10 +33,56 @@ public class ExaminationResultServiceImpl implements IExaminationResultService {
 
   private static final Logger logger = LoggerFactory.getLogger(ExaminationResultServiceImpl.class);
 
+  /**
+   * 最新结果缓存保留的用户数上限，超出时淘汰最久未访问的用户
+   */
+  private static final int MAX_LATEST_RESULTS_USERS = 1000;
+
+  /**
+   * 失效代数的分段数，用户按ID散列到各段
+   */
+  private static final int GENERATION_STRIPES = 64;
+
+  /**
+   * 用户最新体检结果快照缓存（用户ID -> 各检查项最新结果），按最近访问顺序淘汰。
+   * 各视图模型各自创建服务实例，因此缓存为静态共享
+   */
+  private static final Map<Integer, List<ExaminationResult>> latestResultsCache = Collections.synchronizedMap(
+      new LinkedHashMap<Integer, List<ExaminationResult>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<ExaminationResult>> eldest) {
+          return size() > MAX_LATEST_RESULTS_USERS;
+        }
+      });
+
+  /**
+   * 最新结果缓存的失效代数（按用户ID分段计数），以及清空全部缓存的次数。
+   * 查询在失效前开始、失效后才写入缓存时，据此发现并撤销写入，避免缓存旧数据；
+   * 分段计数占用固定空间，同段其他用户失效时只会多撤销一次写入
+   */
+  private static final AtomicLongArray latestResultsGenerations = new AtomicLongArray(GENERATION_STRIPES);
+  private static final AtomicLong latestResultsClears = new AtomicLong();
+
+  /**
+   * 所有实例共享，合并不同页面同时发起的相同查询
+   */
+  private static final SingleFlight FLIGHTS = new SingleFlight("ExaminationResultService");
+
   private ExaminationResultMapper examinationResultMapper;
+  private IPopulationStatisticsService populationStatisticsService;
+  private ICohortAnalyticsService cohortAnalyticsService;
 
   public ExaminationResultServiceImpl() {
-    this.examinationResultMapper = DataAccessManager.getExaminationResultMapperStatic();
+    this(DataAccessManager.getExaminationResultMapperStatic(),
+        ServiceMetrics.instrument(IPopulationStatisticsService.class, new PopulationStatisticsServiceImpl()),
+        ServiceMetrics.instrument(ICohortAnalyticsService.class, new CohortAnalyticsServiceImpl()));
+  }
+
+  public ExaminationResultServiceImpl(ExaminationResultMapper examinationResultMapper,
+      IPopulationStatisticsService populationStatisticsService, ICohortAnalyticsService cohortAnalyticsService) {
+    this.examinationResultMapper = examinationResultMapper;
+    this.populationStatisticsService = populationStatisticsService;
+    this.cohortAnalyticsService = cohortAnalyticsService;
   }
 
   @Override
@@ -37,6 +94,10 @@ public class ExaminationResultServiceImpl implements IExaminationResultService {
       }
 
       int result = examinationResultMapper.insert(examinationResult);
+      invalidateLatestResults(examinationResult.getUserId());
+      if (result > 0) {
+        populationStatisticsService.recordResults(Collections.singletonList(examinationResult));
+      }
       logger.info("添加体检结果: 用户ID={}, 检查项ID={}, 测量值={}",
           examinationResult.getUserId(), examinationResult.getItemId(),
           examinationResult.getMeasuredValue());
@@ -51,6 +112,8 @@ public class ExaminationResultServiceImpl implements IExaminationResultService {
   public boolean updateExaminationResult(ExaminationResult examinationResult) {
     try {
       int result = examinationResultMapper.updateById(examinationResult);
+      invalidateLatestResults(examinationResult.getUserId());
+      cohortAnalyticsService.invalidateResults(Collections.singletonList(examinationResult.getResultId()));
       logger.info("更新体检结果: 结果ID={}", examinationResult.getResultId());
       return result > 0;
     } catch (Exception e) {
@@ -63,6 +126,8 @@ public class ExaminationResultServiceImpl implements IExaminationResultService {
   public boolean deleteExaminationResult(Integer resultId) {
     try {
       int result = examinationResultMapper.deleteById(resultId);
+      invalidateLatestResults(null);
+      cohortAnalyticsService.invalidateResults(Collections.singletonList(resultId));
       logger.info("删除体检结果: 结果ID={}", resultId);
       return result > 0;
     } catch (Exception e) {
@@ -78,7 +143,8 @@ public class ExaminationResultServiceImpl implements IExaminationResultService {
       queryWrapper.eq("user_id", userId)
           .orderByDesc("recorded_at");
 
-      List<ExaminationResult> results = examinationResultMapper.selectList(queryWrapper);
+      List<ExaminationResult> results = FLIGHTS.execute("getExaminationResultsByUserId",
+          () -> examinationResultMapper.selectList(queryWrapper), userId);
       logger.info("查询用户体检结果: 用户ID={}, 记录数={}", userId, results.size());
       return results;
     } catch (Exception e) {
@@ -86,6 +152,88 @@ public class ExaminationResultServiceImpl implements IExaminationResultService {
       return null;
     }
   }
+  @Override
+  public int countExaminationResultsByUserId(Integer userId) {
+    try {
+      Integer count = FLIGHTS.execute("countExaminationResultsByUserId",
+          () -> examinationResultMapper.countByUserId(userId), userId);
+      return count != null ? count : 0;
+    } catch (Exception e) {
+      logger.error("统计用户体检结果数量失败: 用户ID={}", userId, e);
+      return 0;
+    }
+  }
+
+  @Override
+  public List<ExaminationResult> getExaminationResultBlockByUserId(Integer userId, ExaminationResult after,
+      int offset, int limit) {
+    return getExaminationResultBlockByUserId(userId, null, after, offset, limit);
+  }
+
+  @Override
+  public int countExaminationResultsByUserId(Integer userId, String keyword) {
+    String pattern = CommonUtil.likeContains(keyword);
+    if (pattern == null) {
+      return countExaminationResultsByUserId(userId);
+    }
+    try {
+      Integer count = FLIGHTS.execute("countExaminationResultsByUserIdAndKeyword",
+          () -> examinationResultMapper.countByUserIdAndKeyword(userId, pattern), userId, pattern);
+      return count != null ? count : 0;
+    } catch (Exception e) {
+      logger.error("按关键词统计用户体检结果数量失败: 用户ID={}, 关键词={}", userId, keyword, e);
+      return 0;
+    }
+  }
+
+  @Override
+  public List<ExaminationResult> getExaminationResultBlockByUserId(Integer userId, String keyword,
+      ExaminationResult after, int offset, int limit) {
+    try {
+      String pattern = CommonUtil.likeContains(keyword);
+      boolean keyset = after != null && after.getRecordedAt() != null && after.getResultId() != null;
+      LocalDateTime afterRecordedAt = keyset ? after.getRecordedAt() : null;
+      Integer afterId = keyset ? after.getResultId() : null;
+      return FLIGHTS.execute("getExaminationResultBlockByUserId",
+          () -> examinationResultMapper.findBlockByUserId(userId, pattern, afterRecordedAt, afterId, offset, limit),
+          userId, pattern, afterRecordedAt, afterId, offset, limit);
+    } catch (Exception e) {
+      logger.error("分块查询用户体检结果失败: 用户ID={}, 关键词={}, 起始行={}", userId, keyword, offset, e);
+      return null;
+    }
+  }
+
+
+  @Override
+  public List<ExaminationResult> getLatestExaminationResultsByUserId(Integer userId) {
+    if (userId == null) {
+      return Collections.emptyList();
+    }
+
+    List<ExaminationResult> cached = latestResultsCache.get(userId);
+    if (cached != null) {
+      return cached;
+    }
+
+    try {
+      long clears = latestResultsClears.get();
+      int stripe = generationStripe(userId);
+      long generation = latestResultsGenerations.get(stripe);
+      List<ExaminationResult> results = Collections.unmodifiableList(
+          examinationResultMapper.findLatestPerItemByUserId(userId));
+      // 先写入再检查代数：失效若发生在检查之后，其移除操作也在写入之后，不会留下旧数据
+      latestResultsCache.put(userId, results);
+      if (clears != latestResultsClears.get()
+          || generation != latestResultsGenerations.get(stripe)) {
+        latestResultsCache.remove(userId, results);
+      }
+      logger.info("查询用户最新体检结果: 用户ID={}, 检查项数={}", userId, results.size());
+      return results;
+    } catch (Exception e) {
+      logger.error("查询用户最新体检结果失败: 用户ID={}", userId, e);
+      return null;
+    }
+  }
 
   @Override
   public List<ExaminationResult> getExaminationResultsByAppointmentId(Integer appointmentId) {
@@ -94,7 +242,8 @@ public class ExaminationResultServiceImpl implements IExaminationResultService {
       queryWrapper.eq("appointment_id", appointmentId)
           .orderByAsc("item_id");
 
-      List<ExaminationResult> results = examinationResultMapper.selectList(queryWrapper);
+      List<ExaminationResult> results = FLIGHTS.execute("getExaminationResultsByAppointmentId",
+          () -> examinationResultMapper.selectList(queryWrapper), appointmentId);
       logger.info("查询预约体检结果: 预约ID={}, 记录数={}", appointmentId, results.size());
       return results;
     } catch (Exception e) {
@@ -103,6 +252,18 @@ public class ExaminationResultServiceImpl implements IExaminationResultService {
     }
   }
 
+  @Override
+  public List<ExaminationResultTrend> getExaminationResultTrendsByAppointmentId(Integer appointmentId) {
+    try {
+      List<ExaminationResultTrend> trends = examinationResultMapper.findTrendsByAppointmentId(appointmentId);
+      logger.info("查询预约体检结果趋势: 预约ID={}, 记录数={}", appointmentId, trends.size());
+      return trends;
+    } catch (Exception e) {
+      logger.error("查询预约体检结果趋势失败: 预约ID={}", appointmentId, e);
+      return null;
+    }
+  }
+
   @Override
   public List<ExaminationResult> getExaminationResultsByItemId(Integer itemId) {
     try {
@@ -202,18 +363,28 @@ public class ExaminationResultServiceImpl implements IExaminationResultService {
         }
       }
 
-      // 批量保存
+      // 批量保存；中途失败时已插入的记录仍需计入统计并使缓存失效
       int successCount = 0;
-      for (ExaminationResult result : results) {
-        // 设置创建时间
-        if (result.getRecordedAt() == null) {
-          result.setRecordedAt(LocalDateTime.now());
-        }
+      List<ExaminationResult> savedResults = new ArrayList<>(results.size());
+      try {
+        for (ExaminationResult result : results) {
+          // 设置创建时间
+          if (result.getRecordedAt() == null) {
+            result.setRecordedAt(LocalDateTime.now());
+          }
 
-        int insertResult = examinationResultMapper.insert(result);
-        if (insertResult > 0) {
-          successCount++;
+          int insertResult = examinationResultMapper.insert(result);
+          if (insertResult > 0) {
+            successCount++;
+            savedResults.add(result);
+          }
         }
+      } finally {
+        results.stream()
+            .map(ExaminationResult::getUserId)
+            .distinct()
+            .forEach(this::invalidateLatestResults);
+        populationStatisticsService.recordResults(savedResults);
       }
 
       boolean allSuccess = successCount == results.size();
@@ -230,4 +401,24 @@ public class ExaminationResultServiceImpl implements IExaminationResultService {
       return false;
     }
   }
+
+  /**
+   * 使用户最新体检结果缓存失效，并使之后的查询不再合并到写入前开始的查询
+   * 
+   * @param userId 用户ID，为null时清空全部缓存
+   */
+  private void invalidateLatestResults(Integer userId) {
+    FLIGHTS.forget();
+    if (userId == null) {
+      latestResultsClears.incrementAndGet();
+      latestResultsCache.clear();
+    } else {
+      latestResultsGenerations.incrementAndGet(generationStripe(userId));
+      latestResultsCache.remove(userId);
+    }
+  }
+
+  private static int generationStripe(Integer userId) {
+    return Math.floorMod(userId.hashCode(), GENERATION_STRIPES);
+  }
 }
\ No newline at end of file
@@ -0,0 +1,377 @@
+package com.healthsys.service.impl;
+
+import com.healthsys.analysis.ItemStatistics;
+import com.healthsys.analysis.KllSketch;
+import com.healthsys.analysis.MeasuredValues;
+import com.healthsys.analysis.RunningStats;
+import com.healthsys.config.AppExecutor;
+import com.healthsys.config.DataAccessManager;
+import com.healthsys.dao.CheckItemStatisticsMapper;
+import com.healthsys.dao.ExaminationResultMapper;
+import com.healthsys.model.entity.CheckItemStatistics;
+import com.healthsys.model.entity.ExaminationResult;
+import com.healthsys.service.IPopulationStatisticsService;
+import org.apache.ibatis.session.SqlSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 人群统计服务实现。
+ * 在内存中维护各检查项的流式统计。写入体检结果时只更新内存统计并标记检查项，
+ * 稍后在后台用一条批量语句持久化有变化的检查项快照，不占用保存体检结果的调用。
+ * 重建期间写入的结果先缓冲，重建扫描结束后并入新统计，再在同一事务中替换持久化快照；
+ * 快照的写入由 {@code persistLock} 串行化，重建替换之后不会再写入替换前的统计。
+ *
+ * @author 梦辰
+ */
+public class PopulationStatisticsServiceImpl implements IPopulationStatisticsService {
+
+  private static final Logger logger = LoggerFactory.getLogger(PopulationStatisticsServiceImpl.class);
+
+  /**
+   * 重建时的最大并行分片数（每个分片占用一个数据库连接）
+   */
+  private static final int MAX_REBUILD_PARTITIONS = 4;
+
+  /**
+   * 每个分片的最小结果数，数据量小时不再细分
+   */
+  private static final int MIN_PARTITION_ROWS = 50_000;
+
+  /**
+   * 结果写入后延迟持久化的时间，期间的多次写入合并为一次
+   */
+  private static final long FLUSH_DELAY_MILLIS = 2_000;
+
+  /**
+   * 每条批量写入语句包含的检查项数，避免超出 PostgreSQL 单条语句的参数个数上限
+   */
+  private static final int UPSERT_BATCH_SIZE = 1_000;
+
+  /**
+   * 检查项统计（检查项ID -> 统计），各服务实例共享
+   */
+  private static final Map<Integer, ItemStatistics> statisticsRegistry = new ConcurrentHashMap<>();
+  private static final Object statisticsLock = new Object();
+  private static final Object persistLock = new Object();
+  private static volatile boolean loaded = false;
+
+  /**
+   * 内存统计已变化、尚未持久化的检查项
+   */
+  private static final Set<Integer> dirtyItems = ConcurrentHashMap.newKeySet();
+  private static final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+  /**
+   * 重建期间写入的结果，未在重建时为 null。由 statisticsLock 保护
+   */
+  private static List<ExaminationResult> rebuildBuffer;
+
+  private final CheckItemStatisticsMapper statisticsMapper;
+  private final ExaminationResultMapper examinationResultMapper;
+
+  public PopulationStatisticsServiceImpl() {
+    this(DataAccessManager.getCheckItemStatisticsMapperStatic(), DataAccessManager.getExaminationResultMapperStatic());
+  }
+
+  public PopulationStatisticsServiceImpl(CheckItemStatisticsMapper statisticsMapper,
+      ExaminationResultMapper examinationResultMapper) {
+    this.statisticsMapper = statisticsMapper;
+    this.examinationResultMapper = examinationResultMapper;
+  }
+
+  @Override
+  public void recordResults(List<ExaminationResult> results) {
+    if (results == null || results.isEmpty()) {
+      return;
+    }
+
+    try {
+      ensureLoaded();
+
+      Set<Integer> changedItems;
+      synchronized (statisticsLock) {
+        if (rebuildBuffer != null) {
+          rebuildBuffer.addAll(results);
+        }
+        changedItems = addResults(statisticsRegistry, results);
+      }
+      dirtyItems.addAll(changedItems);
+      scheduleFlush();
+      logger.debug("更新人群统计: 检查项数={}", changedItems.size());
+    } catch (Exception e) {
+      // 统计失败不影响体检结果保存，可通过重建恢复
+      logger.error("更新人群统计失败", e);
+    }
+  }
+
+  @Override
+  public ItemStatistics getItemStatistics(Integer itemId) {
+    if (itemId == null) {
+      return null;
+    }
+    ensureLoaded();
+    return statisticsRegistry.get(itemId);
+  }
+
+  @Override
+  public int getPercentile(Integer itemId, String measuredValue) {
+    double value = MeasuredValues.parse(measuredValue);
+    if (!MeasuredValues.isNumeric(value)) {
+      return -1;
+    }
+    ItemStatistics statistics = getItemStatistics(itemId);
+    return statistics != null ? statistics.percentileOf(value) : -1;
+  }
+
+  @Override
+  public boolean rebuildStatistics() {
+    long startTime = System.currentTimeMillis();
+    synchronized (statisticsLock) {
+      if (rebuildBuffer != null) {
+        logger.warn("人群统计正在重建，忽略重复的重建请求");
+        return false;
+      }
+      rebuildBuffer = new ArrayList<>();
+    }
+
+    try {
+      // 先开始缓冲再读取最大结果ID：此后写入的结果ID都大于它，不会被扫描，由缓冲补上
+      int maxResultId = examinationResultMapper.findMaxResultId();
+      int partitions = Math.max(1, Math.min(MAX_REBUILD_PARTITIONS, maxResultId / MIN_PARTITION_ROWS + 1));
+      int step = maxResultId / partitions + 1;
+
+      // 按结果ID区间分片并行扫描，各分片独立统计后合并
+      List<CompletableFuture<Map<Integer, ItemStatistics>>> futures = new ArrayList<>();
+      for (int i = 0; i < partitions; i++) {
+        int fromId = i * step;
+        int toId = Math.min((i + 1) * step, maxResultId + 1);
+        futures.add(AppExecutor.supplyDbAsync("PopulationStatistics.scanPartition", () -> scanPartition(fromId, toId)));
+      }
+
+      Map<Integer, ItemStatistics> merged = new HashMap<>();
+      for (CompletableFuture<Map<Integer, ItemStatistics>> future : futures) {
+        future.join().forEach((itemId, partial) -> {
+          ItemStatistics existing = merged.putIfAbsent(itemId, partial);
+          if (existing != null) {
+            existing.merge(partial);
+          }
+        });
+      }
+
+      synchronized (statisticsLock) {
+        List<ExaminationResult> pending = new ArrayList<>();
+        for (ExaminationResult result : rebuildBuffer) {
+          if (result.getResultId() == null || result.getResultId() > maxResultId) {
+            pending.add(result);
+          }
+        }
+        addResults(merged, pending);
+
+        statisticsRegistry.clear();
+        statisticsRegistry.putAll(merged);
+        loaded = true;
+      }
+
+      // 替换后的写入只会读到新统计；等待中的延迟写入在替换完成后执行
+      synchronized (persistLock) {
+        try {
+          replaceSnapshots(merged);
+        } catch (RuntimeException e) {
+          dirtyItems.addAll(merged.keySet());
+          scheduleFlush();
+          throw e;
+        }
+      }
+
+      logger.info("重建人群统计完成: 检查项数={}, 分片数={}, 耗时={}ms",
+          merged.size(), partitions, System.currentTimeMillis() - startTime);
+      return true;
+    } catch (Exception e) {
+      logger.error("重建人群统计失败", e);
+      return false;
+    } finally {
+      synchronized (statisticsLock) {
+        rebuildBuffer = null;
+      }
+    }
+  }
+
+  /**
+   * 把结果的数值测量值计入统计
+   *
+   * @return 有变化的检查项ID
+   */
+  private static Set<Integer> addResults(Map<Integer, ItemStatistics> statistics, List<ExaminationResult> results) {
+    Set<Integer> changedItems = new LinkedHashSet<>();
+    for (ExaminationResult result : results) {
+      double value = MeasuredValues.parse(result.getMeasuredValue());
+      if (result.getItemId() == null || !MeasuredValues.isNumeric(value)) {
+        continue;
+      }
+      statistics.computeIfAbsent(result.getItemId(), ItemStatistics::new).add(value);
+      changedItems.add(result.getItemId());
+    }
+    return changedItems;
+  }
+
+  /**
+   * 在一个事务中用新统计替换全部持久化快照，失败时回滚，保留原快照
+   */
+  private void replaceSnapshots(Map<Integer, ItemStatistics> statistics) {
+    try (SqlSession session = DataAccessManager.getInstance().getSqlSessionFactory().openSession(false)) {
+      CheckItemStatisticsMapper mapper = session.getMapper(CheckItemStatisticsMapper.class);
+      try {
+        mapper.deleteAll();
+        upsertAll(mapper, new ArrayList<>(statistics.values()));
+        session.commit();
+      } catch (RuntimeException e) {
+        session.rollback();
+        throw e;
+      }
+    }
+  }
+
+  /**
+   * 安排一次延迟的后台持久化，已安排时不重复安排
+   */
+  private void scheduleFlush() {
+    if (flushScheduled.compareAndSet(false, true)) {
+      CompletableFuture.delayedExecutor(FLUSH_DELAY_MILLIS, TimeUnit.MILLISECONDS)
+          .execute(() -> AppExecutor.executeDb("PopulationStatistics.flush", this::flushDirtyItems));
+    }
+  }
+
+  /**
+   * 持久化有变化的检查项快照。失败的检查项保持待写入，随下一次写入或重建一起持久化
+   */
+  private void flushDirtyItems() {
+    // 先清除标记，持久化期间的新写入会再安排一次
+    flushScheduled.set(false);
+    synchronized (persistLock) {
+      List<Integer> itemIds = new ArrayList<>();
+      List<ItemStatistics> statistics = new ArrayList<>();
+      for (Iterator<Integer> iterator = dirtyItems.iterator(); iterator.hasNext();) {
+        Integer itemId = iterator.next();
+        iterator.remove();
+        ItemStatistics item = statisticsRegistry.get(itemId);
+        if (item != null) {
+          itemIds.add(itemId);
+          statistics.add(item);
+        }
+      }
+      if (statistics.isEmpty()) {
+        return;
+      }
+
+      try {
+        upsertAll(statisticsMapper, statistics);
+        logger.debug("持久化人群统计: 检查项数={}", statistics.size());
+      } catch (Exception e) {
+        dirtyItems.addAll(itemIds);
+        logger.error("持久化人群统计失败: 检查项数={}", statistics.size(), e);
+      }
+    }
+  }
+
+  /**
+   * 分批用多行语句写入统计快照
+   */
+  private void upsertAll(CheckItemStatisticsMapper mapper, List<ItemStatistics> statistics) {
+    for (int from = 0; from < statistics.size(); from += UPSERT_BATCH_SIZE) {
+      List<CheckItemStatistics> entities = new ArrayList<>();
+      for (ItemStatistics item : statistics.subList(from, Math.min(from + UPSERT_BATCH_SIZE, statistics.size()))) {
+        entities.add(toEntity(item));
+      }
+      mapper.upsertAll(entities);
+    }
+  }
+
+  /**
+   * 扫描一个结果ID区间，使用独立会话以便并行执行
+   */
+  private Map<Integer, ItemStatistics> scanPartition(int fromId, int toId) {
+    Map<Integer, ItemStatistics> partial = new HashMap<>();
+    // 关闭自动提交，PostgreSQL 驱动才会按 fetchSize 使用游标分批读取
+    try (SqlSession session = DataAccessManager.getInstance().getSqlSessionFactory().openSession(false)) {
+      ExaminationResultMapper mapper = session.getMapper(ExaminationResultMapper.class);
+      mapper.scanItemValues(fromId, toId, context -> {
+        ExaminationResult row = context.getResultObject();
+        double value = MeasuredValues.parse(row.getMeasuredValue());
+        if (row.getItemId() != null && MeasuredValues.isNumeric(value)) {
+          partial.computeIfAbsent(row.getItemId(), ItemStatistics::new).add(value);
+        }
+      });
+    }
+    return partial;
+  }
+
+  /**
+   * 首次使用时从持久化快照加载统计
+   */
+  private void ensureLoaded() {
+    if (loaded) {
+      return;
+    }
+    // 在锁外查询，首次并发使用时可能重复加载，只有先完成的一次生效
+    List<CheckItemStatistics> snapshots = statisticsMapper.selectList(null);
+    synchronized (statisticsLock) {
+      if (loaded) {
+        return;
+      }
+      for (CheckItemStatistics snapshot : snapshots) {
+        ItemStatistics statistics = fromEntity(snapshot);
+        if (statistics != null) {
+          statisticsRegistry.put(snapshot.getItemId(), statistics);
+        }
+      }
+      loaded = true;
+      logger.info("加载人群统计快照: 检查项数={}", statisticsRegistry.size());
+    }
+  }
+
+  private CheckItemStatistics toEntity(ItemStatistics statistics) {
+    RunningStats moments = statistics.getMomentsSnapshot();
+    return CheckItemStatistics.builder()
+        .itemId(statistics.getItemId())
+        .sampleCount(moments.getCount())
+        .meanValue(moments.getMean())
+        .m2Value(moments.getM2())
+        .minValue(moments.getCount() > 0 ? moments.getMin() : null)
+        .maxValue(moments.getCount() > 0 ? moments.getMax() : null)
+        .sketch(statistics.getSketchBytes())
+        .updatedAt(LocalDateTime.now())
+        .build();
+  }
+
+  private ItemStatistics fromEntity(CheckItemStatistics snapshot) {
+    if (snapshot.getItemId() == null || snapshot.getSketch() == null) {
+      return null;
+    }
+    try {
+      long count = snapshot.getSampleCount() != null ? snapshot.getSampleCount() : 0L;
+      RunningStats moments = new RunningStats(count,
+          snapshot.getMeanValue() != null ? snapshot.getMeanValue() : 0.0,
+          snapshot.getM2Value() != null ? snapshot.getM2Value() : 0.0,
+          snapshot.getMinValue() != null ? snapshot.getMinValue() : 0.0,
+          snapshot.getMaxValue() != null ? snapshot.getMaxValue() : 0.0);
+      return new ItemStatistics(snapshot.getItemId(), moments, KllSketch.fromBytes(snapshot.getSketch()));
+    } catch (Exception e) {
+      logger.warn("解析人群统计快照失败: 检查项ID={}", snapshot.getItemId(), e);
+      return null;
+    }
+  }
+}
@@ -0,0 +1,208 @@
+package com.healthsys.service.impl;
+
+import com.healthsys.config.CancellationToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 并发相同查询合并器（single-flight）。
+ * 同一方法、相同参数的查询在执行期间再次到达时，不再访问数据库，而是等待并共用正在执行的那次查询的结果。
+ * 只合并同时进行的查询，不缓存已完成的结果；写操作成功后应调用 {@link #forget()}，
+ * 使之后到达的查询不会共用写入前开始的查询。
+ * 发起查询的任务被取消时，其结果不会共享给其他调用方，等待中的调用方会自行重新查询。
+ * 列表结果会为每个等待方复制一份，列表中的实体对象仍然共享。
+ *
+ * @author 梦辰
+ */
+public final class SingleFlight {
+
+  private static final Logger logger = LoggerFactory.getLogger(SingleFlight.class);
+
+  private static final List<SingleFlight> GROUPS = new CopyOnWriteArrayList<>();
+
+  /**
+   * 发起方被取消时放入共享结果的标记
+   */
+  private static final Object ABANDONED = new Object();
+
+  private final String name;
+  private final Map<List<Object>, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+  private final AtomicLong executedCount = new AtomicLong();
+  private final AtomicLong collapsedCount = new AtomicLong();
+  private final Map<String, LongAdder> collapsedByMethod = new ConcurrentHashMap<>();
+
+  /**
+   * @param name 分组名称，通常为服务名
+   */
+  public SingleFlight(String name) {
+    this.name = name;
+    GROUPS.add(this);
+  }
+
+  /**
+   * 执行查询；相同方法和参数的查询正在执行时，等待并共用其结果
+   *
+   * @param method 方法名
+   * @param loader 实际查询
+   * @param args   查询参数，需正确实现 equals 和 hashCode
+   * @return 查询结果
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T execute(String method, Supplier<T> loader, Object... args) {
+    List<Object> key = key(method, args);
+
+    while (true) {
+      CompletableFuture<Object> flight = new CompletableFuture<>();
+      CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+
+      if (existing == null) {
+        return (T) lead(key, flight, loader);
+      }
+
+      collapsedCount.incrementAndGet();
+      collapsedByMethod.computeIfAbsent(method, m -> new LongAdder()).increment();
+      logger.debug("合并并发查询: {}.{}{}", name, method, Arrays.toString(args));
+
+      Object result = await(existing);
+      if (result != ABANDONED) {
+        return result instanceof List ? (T) new ArrayList<>((List<?>) result) : (T) result;
+      }
+      // 发起方已被取消，由当前调用方重新发起
+    }
+  }
+
+  /**
+   * 丢弃所有正在执行的查询，之后到达的查询将重新访问数据库。
+   * 正在等待的调用方仍会拿到原查询的结果。
+   */
+  public void forget() {
+    inFlight.clear();
+  }
+
+  private Object lead(List<Object> key, CompletableFuture<Object> flight, Supplier<?> loader) {
+    executedCount.incrementAndGet();
+    CancellationToken token = CancellationToken.current();
+    try {
+      Object result = loader.get();
+      inFlight.remove(key, flight);
+      flight.complete(token != null && token.isCancelled() ? ABANDONED : result);
+      return result;
+    } catch (RuntimeException | Error e) {
+      inFlight.remove(key, flight);
+      if (token != null && token.isCancelled()) {
+        flight.complete(ABANDONED);
+      } else {
+        flight.completeExceptionally(e);
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * 等待正在执行的查询；当前任务被取消时停止等待
+   */
+  private static Object await(CompletableFuture<Object> flight) {
+    CancellationToken token = CancellationToken.current();
+    CompletableFuture<Object> waiting = flight;
+    CancellationToken.Registration registration = null;
+    if (token != null) {
+      waiting = flight.copy();
+      CompletableFuture<Object> cancellable = waiting;
+      registration = token.onCancel(() -> cancellable.cancel(false));
+    }
+
+    try {
+      return waiting.join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw e;
+    } finally {
+      if (registration != null) {
+        registration.close();
+      }
+    }
+  }
+
+  private static List<Object> key(String method, Object[] args) {
+    List<Object> key = new ArrayList<>(args.length + 1);
+    key.add(method);
+    key.addAll(Arrays.asList(args));
+    return key;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * 实际访问数据库的查询次数
+   */
+  public long getExecutedCount() {
+    return executedCount.get();
+  }
+
+  /**
+   * 被合并（未访问数据库）的查询次数
+   */
+  public long getCollapsedCount() {
+    return collapsedCount.get();
+  }
+
+  /**
+   * 按方法名统计的被合并查询次数
+   */
+  public Map<String, Long> getCollapsedCountsByMethod() {
+    Map<String, Long> counts = new TreeMap<>();
+    collapsedByMethod.forEach((method, count) -> counts.put(method, count.sum()));
+    return counts;
+  }
+
+  /**
+   * 所有已创建的分组
+   */
+  public static List<SingleFlight> getGroups() {
+    return new ArrayList<>(GROUPS);
+  }
+
+  /**
+   * 所有分组累计实际访问数据库的查询次数
+   */
+  public static long getTotalExecutedCount() {
+    long total = 0;
+    for (SingleFlight group : GROUPS) {
+      total += group.getExecutedCount();
+    }
+    return total;
+  }
+
+  /**
+   * 所有分组累计被合并的查询次数
+   */
+  public static long getTotalCollapsedCount() {
+    long total = 0;
+    for (SingleFlight group : GROUPS) {
+      total += group.getCollapsedCount();
+    }
+    return total;
+  }
+}
@@ -0,0 +1,78 @@
+package com.healthsys.service.metrics;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 连接池统计：获取连接的等待时间、连接占用时间和获取超时次数。
+ * 通过 {@link #trackerFactory()} 注册到 HikariCP。
+ *
+ * @author 梦辰
+ */
+public final class ConnectionPoolMetrics {
+
+  private static final LatencyHistogram ACQUIRE_LATENCY = new LatencyHistogram();
+  private static final LatencyHistogram USAGE_LATENCY = new LatencyHistogram();
+  private static final LongAdder TIMEOUTS = new LongAdder();
+
+  private ConnectionPoolMetrics() {
+  }
+
+  /**
+   * HikariCP 统计工厂
+   */
+  public static MetricsTrackerFactory trackerFactory() {
+    return (poolName, poolStats) -> new Tracker();
+  }
+
+  /**
+   * 获取连接的等待时间分布（微秒）
+   */
+  public static LatencyHistogram getAcquireLatency() {
+    return ACQUIRE_LATENCY;
+  }
+
+  /**
+   * 连接从借出到归还的时间分布（微秒）
+   */
+  public static LatencyHistogram getUsageLatency() {
+    return USAGE_LATENCY;
+  }
+
+  /**
+   * 获取连接超时次数
+   */
+  public static long getTimeoutCount() {
+    return TIMEOUTS.sum();
+  }
+
+  /**
+   * 清空统计
+   */
+  public static void reset() {
+    ACQUIRE_LATENCY.reset();
+    USAGE_LATENCY.reset();
+    TIMEOUTS.reset();
+  }
+
+  private static final class Tracker implements IMetricsTracker {
+
+    @Override
+    public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+      ACQUIRE_LATENCY.record(TimeUnit.NANOSECONDS.toMicros(elapsedAcquiredNanos));
+    }
+
+    @Override
+    public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+      USAGE_LATENCY.record(TimeUnit.MILLISECONDS.toMicros(elapsedBorrowedMillis));
+    }
+
+    @Override
+    public void recordConnectionTimeout() {
+      TIMEOUTS.increment();
+    }
+  }
+}
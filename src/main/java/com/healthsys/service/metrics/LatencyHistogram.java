@@ -0,0 +1,111 @@
+package com.healthsys.service.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 无锁耗时直方图（微秒）。
+ * 按 HdrHistogram 的思路分桶：每个2的幂区间再线性分为8个子桶，相对误差不超过12.5%，
+ * 记录只做一次原子自增，不加锁、不分配对象，可在任意线程并发调用。
+ *
+ * @author 梦辰
+ */
+public final class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 3;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+  private final LongAdder totalCount = new LongAdder();
+  private final LongAdder totalMicros = new LongAdder();
+  private final AtomicLong maxMicros = new AtomicLong();
+
+  /**
+   * 记录一次耗时
+   *
+   * @param micros 耗时（微秒）
+   */
+  public void record(long micros) {
+    long value = Math.max(0, micros);
+    counts.incrementAndGet(indexOf(value));
+    totalCount.increment();
+    totalMicros.add(value);
+    if (value > maxMicros.get()) {
+      maxMicros.accumulateAndGet(value, Math::max);
+    }
+  }
+
+  static int indexOf(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+    return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+  }
+
+  /**
+   * 桶内的最大值
+   */
+  static long highestValueOf(int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+    int shift = index / SUB_BUCKETS - 1;
+    long sub = index % SUB_BUCKETS;
+    return ((SUB_BUCKETS + sub + 1) << shift) - 1;
+  }
+
+  public long getCount() {
+    return totalCount.sum();
+  }
+
+  public long getMaxMicros() {
+    return maxMicros.get();
+  }
+
+  public double getMeanMicros() {
+    long count = totalCount.sum();
+    return count == 0 ? 0 : (double) totalMicros.sum() / count;
+  }
+
+  /**
+   * 获取百分位耗时
+   *
+   * @param percentile 百分位，0-100
+   * @return 耗时上界（微秒），不超过记录到的最大值
+   */
+  public long getPercentileMicros(double percentile) {
+    // 直接遍历桶计数，不复制快照，可在定时刷新中频繁调用；并发记录时结果为近似值
+    long count = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      count += counts.get(i);
+    }
+    if (count == 0) {
+      return 0;
+    }
+
+    long target = Math.max(1, (long) Math.ceil(count * Math.min(100, Math.max(0, percentile)) / 100.0));
+    long seen = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      seen += counts.get(i);
+      if (seen >= target) {
+        return Math.min(highestValueOf(i), getMaxMicros());
+      }
+    }
+    return getMaxMicros();
+  }
+
+  /**
+   * 清空记录。与并发记录同时进行时可能丢失少量样本
+   */
+  public void reset() {
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      counts.set(i, 0);
+    }
+    totalCount.reset();
+    totalMicros.reset();
+    maxMicros.set(0);
+  }
+}
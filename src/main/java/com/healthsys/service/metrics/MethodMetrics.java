@@ -0,0 +1,63 @@
+package com.healthsys.service.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单个服务方法的调用统计：调用次数、异常次数和耗时分布。
+ *
+ * @author 梦辰
+ */
+public final class MethodMetrics {
+
+  private final String serviceName;
+  private final String methodName;
+  private final LongAdder calls = new LongAdder();
+  private final LongAdder errors = new LongAdder();
+  private final LatencyHistogram latency = new LatencyHistogram();
+
+  MethodMetrics(String serviceName, String methodName) {
+    this.serviceName = serviceName;
+    this.methodName = methodName;
+  }
+
+  /**
+   * 记录一次调用
+   *
+   * @param nanos  耗时（纳秒）
+   * @param failed 是否抛出异常
+   */
+  void record(long nanos, boolean failed) {
+    calls.increment();
+    if (failed) {
+      errors.increment();
+    }
+    latency.record(TimeUnit.NANOSECONDS.toMicros(nanos));
+  }
+
+  void reset() {
+    calls.reset();
+    errors.reset();
+    latency.reset();
+  }
+
+  public String getServiceName() {
+    return serviceName;
+  }
+
+  public String getMethodName() {
+    return methodName;
+  }
+
+  public long getCallCount() {
+    return calls.sum();
+  }
+
+  public long getErrorCount() {
+    return errors.sum();
+  }
+
+  public LatencyHistogram getLatency() {
+    return latency;
+  }
+}
@@ -0,0 +1,303 @@
+package com.healthsys.service.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * 按操作统计数据库语句数，用于约束单次操作的查询次数和发现 N+1 查询。
+ * 统计范围由 {@link #open(String)} 打开的 {@link Scope} 界定，范围绑定在当前线程上，可以嵌套，
+ * 内层范围执行的语句同时计入外层范围；在其他线程上执行的语句不计入。
+ * 语句由 StatementCountingInterceptor 在创建 JDBC 语句时登记，分页的计数语句也计入，命中一级缓存的查询不计入。
+ * <p>
+ * 开发模式（-Dhealthsys.dev=true）下每个视图模型加载和最外层的服务调用自动作为一次操作统计，
+ * 同一语句以不同参数执行超过阈值（-Dhealthsys.query.repeatThreshold，默认10）次时记录警告。
+ * <p>
+ * 测试中可用 {@link #expectAtMost(int, Supplier)} 断言某次调用的语句数不超过上限，超出时抛出 {@link AssertionError}，
+ * 错误信息列出各语句的执行次数。
+ *
+ * @author 梦辰
+ */
+public final class QueryCounter {
+
+  private static final Logger logger = LoggerFactory.getLogger(QueryCounter.class);
+
+  private static final boolean DEV_MODE = Boolean.getBoolean("healthsys.dev");
+  private static final int REPEAT_THRESHOLD = Integer.getInteger("healthsys.query.repeatThreshold", 10);
+
+  /**
+   * 每条语句最多记录的不同参数数，足以判断是否超过阈值，避免批量操作占用过多内存
+   */
+  private static final int MAX_TRACKED_PARAMETERS = 1024;
+
+  private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+  private QueryCounter() {
+  }
+
+  /**
+   * 是否处于开发模式
+   */
+  public static boolean isDevMode() {
+    return DEV_MODE;
+  }
+
+  /**
+   * 当前线程是否有打开的统计范围。没有时无需计算语句参数
+   */
+  public static boolean isActive() {
+    return CURRENT.get() != null;
+  }
+
+  /**
+   * 在当前线程上打开统计范围，需在同一线程上关闭
+   *
+   * @param operation 操作名称，用于日志和断言信息
+   * @return 统计范围
+   */
+  public static Scope open(String operation) {
+    Scope scope = new Scope(operation, CURRENT.get());
+    CURRENT.set(scope);
+    return scope;
+  }
+
+  /**
+   * 开发模式下为一次操作打开统计范围。非开发模式或当前线程已有统计范围时返回 null，由外层范围统一检查
+   *
+   * @param operation 操作名称
+   * @return 新打开的统计范围，未打开时为 null
+   */
+  public static Scope openOperation(String operation) {
+    if (!DEV_MODE || CURRENT.get() != null) {
+      return null;
+    }
+    return open(operation);
+  }
+
+  /**
+   * 登记一次语句执行，计入当前线程上所有打开的统计范围
+   *
+   * @param statementId          MyBatis 语句ID
+   * @param parameterFingerprint 语句参数值的摘要，用于区分同一语句的不同参数
+   */
+  public static void record(String statementId, int parameterFingerprint) {
+    for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+      scope.record(statementId, parameterFingerprint);
+    }
+  }
+
+  /**
+   * 执行操作并统计其语句数
+   *
+   * @param operation 操作名称
+   * @param action    操作
+   * @return 已关闭的统计范围
+   */
+  public static Scope count(String operation, Runnable action) {
+    try (Scope scope = open(operation)) {
+      action.run();
+      return scope;
+    }
+  }
+
+  /**
+   * 执行操作并断言其语句数不超过上限
+   *
+   * @param maxStatements 语句数上限
+   * @param action        操作
+   * @return 操作的返回值
+   * @throws AssertionError 语句数超过上限
+   */
+  public static <T> T expectAtMost(int maxStatements, Supplier<T> action) {
+    T result;
+    Scope scope = open("expectAtMost(" + maxStatements + ")");
+    try {
+      result = action.get();
+    } finally {
+      scope.close();
+    }
+    scope.assertAtMost(maxStatements);
+    return result;
+  }
+
+  /**
+   * 执行操作并断言其语句数不超过上限
+   *
+   * @param maxStatements 语句数上限
+   * @param action        操作
+   * @throws AssertionError 语句数超过上限
+   */
+  public static void expectAtMost(int maxStatements, Runnable action) {
+    expectAtMost(maxStatements, () -> {
+      action.run();
+      return null;
+    });
+  }
+
+  /**
+   * 单条语句在一个统计范围内的执行情况
+   */
+  private static final class StatementCount {
+
+    private int executions;
+    private final Set<Integer> parameters = new HashSet<>();
+
+    void record(int parameterFingerprint) {
+      executions++;
+      if (parameters.size() < MAX_TRACKED_PARAMETERS) {
+        parameters.add(parameterFingerprint);
+      }
+    }
+  }
+
+  /**
+   * 统计范围。只在打开它的线程上使用，不需要同步
+   */
+  public static final class Scope implements AutoCloseable {
+
+    private final String operation;
+    private final Scope parent;
+    private final Map<String, StatementCount> statements = new LinkedHashMap<>();
+    private int statementCount;
+    private boolean closed;
+
+    private Scope(String operation, Scope parent) {
+      this.operation = operation;
+      this.parent = parent;
+    }
+
+    private void record(String statementId, int parameterFingerprint) {
+      statementCount++;
+      statements.computeIfAbsent(statementId, k -> new StatementCount()).record(parameterFingerprint);
+    }
+
+    public String getOperation() {
+      return operation;
+    }
+
+    /**
+     * 范围内执行的语句总数
+     */
+    public int getStatementCount() {
+      return statementCount;
+    }
+
+    /**
+     * 指定语句的执行次数
+     *
+     * @param statementId 完整语句ID，或以 Mapper 简单类名开头的ID，如 UserMapper.selectById
+     */
+    public int getStatementCount(String statementId) {
+      int count = 0;
+      for (Map.Entry<String, StatementCount> entry : statements.entrySet()) {
+        String id = entry.getKey();
+        if (id.equals(statementId) || id.endsWith("." + statementId)) {
+          count += entry.getValue().executions;
+        }
+      }
+      return count;
+    }
+
+    /**
+     * 各语句的执行次数，按首次执行顺序排列
+     */
+    public Map<String, Integer> getStatementCounts() {
+      Map<String, Integer> counts = new LinkedHashMap<>();
+      statements.forEach((id, count) -> counts.put(id, count.executions));
+      return Collections.unmodifiableMap(counts);
+    }
+
+    /**
+     * 以不同参数执行次数超过阈值的语句，通常是逐行查询造成的 N+1 问题
+     *
+     * @param threshold 不同参数的次数阈值
+     * @return 语句ID列表
+     */
+    public List<String> findRepeatedStatements(int threshold) {
+      List<String> repeated = new ArrayList<>();
+      statements.forEach((id, count) -> {
+        if (count.parameters.size() > threshold) {
+          repeated.add(id);
+        }
+      });
+      return repeated;
+    }
+
+    /**
+     * 断言语句总数不超过上限
+     *
+     * @throws AssertionError 语句数超过上限
+     */
+    public void assertAtMost(int maxStatements) {
+      if (statementCount > maxStatements) {
+        throw new AssertionError(String.format("操作 %s 执行了 %d 条语句，上限为 %d%n%s", operation, statementCount,
+            maxStatements, describe()));
+      }
+    }
+
+    /**
+     * 断言没有语句以不同参数执行超过阈值次
+     *
+     * @throws AssertionError 存在重复执行的语句
+     */
+    public void assertNoRepeatedStatements(int threshold) {
+      List<String> repeated = findRepeatedStatements(threshold);
+      if (!repeated.isEmpty()) {
+        throw new AssertionError(String.format("操作 %s 中以不同参数重复执行超过 %d 次的语句: %s%n%s", operation, threshold,
+            repeated, describe()));
+      }
+    }
+
+    /**
+     * 各语句执行次数的明细，按次数从多到少排列
+     */
+    public String describe() {
+      List<Map.Entry<String, StatementCount>> entries = new ArrayList<>(statements.entrySet());
+      entries.sort((a, b) -> Integer.compare(b.getValue().executions, a.getValue().executions));
+      StringBuilder text = new StringBuilder();
+      for (Map.Entry<String, StatementCount> entry : entries) {
+        StatementCount count = entry.getValue();
+        text.append(String.format("  %-60s %6d 次（%d 组参数）%n", entry.getKey(), count.executions,
+            count.parameters.size()));
+      }
+      return text.toString();
+    }
+
+    /**
+     * 关闭统计范围，恢复外层范围。开发模式下最外层范围关闭时检查重复执行的语句
+     */
+    @Override
+    public void close() {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      if (CURRENT.get() == this) {
+        if (parent == null) {
+          CURRENT.remove();
+        } else {
+          CURRENT.set(parent);
+        }
+      }
+      if (DEV_MODE && parent == null) {
+        warnRepeatedStatements();
+      }
+    }
+
+    private void warnRepeatedStatements() {
+      for (String statementId : findRepeatedStatements(REPEAT_THRESHOLD)) {
+        StatementCount count = statements.get(statementId);
+        logger.warn("可能存在N+1查询: 操作 {} 中语句 {} 以 {} 组不同参数执行了 {} 次", operation, statementId,
+            count.parameters.size(), count.executions);
+      }
+    }
+  }
+}
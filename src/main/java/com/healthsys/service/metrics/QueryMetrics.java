@@ -0,0 +1,64 @@
+package com.healthsys.service.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 数据库语句执行统计，按 Mapper 方法汇总调用次数、异常次数和耗时分布。
+ *
+ * @author 梦辰
+ */
+public final class QueryMetrics {
+
+  private static final Map<String, MethodMetrics> REGISTRY = new ConcurrentHashMap<>();
+
+  private QueryMetrics() {
+  }
+
+  /**
+   * 记录一次语句执行
+   *
+   * @param statementId MyBatis 语句ID，如 com.healthsys.dao.UserMapper.selectById
+   * @param nanos       耗时（纳秒）
+   * @param failed      是否抛出异常
+   */
+  public static void record(String statementId, long nanos, boolean failed) {
+    MethodMetrics metrics = REGISTRY.get(statementId);
+    if (metrics == null) {
+      metrics = REGISTRY.computeIfAbsent(statementId, QueryMetrics::create);
+    }
+    metrics.record(nanos, failed);
+  }
+
+  private static MethodMetrics create(String statementId) {
+    int method = statementId.lastIndexOf('.');
+    String mapper = method > 0 ? statementId.substring(0, method) : statementId;
+    return new MethodMetrics(mapper.substring(mapper.lastIndexOf('.') + 1), statementId.substring(method + 1));
+  }
+
+  /**
+   * 已记录的语句数
+   */
+  public static int size() {
+    return REGISTRY.size();
+  }
+
+  /**
+   * 获取所有语句的统计，按 Mapper 和方法名排序
+   */
+  public static List<MethodMetrics> getAll() {
+    List<MethodMetrics> all = new ArrayList<>(REGISTRY.values());
+    all.sort(Comparator.comparing(MethodMetrics::getServiceName).thenComparing(MethodMetrics::getMethodName));
+    return all;
+  }
+
+  /**
+   * 清空所有统计
+   */
+  public static void reset() {
+    REGISTRY.values().forEach(MethodMetrics::reset);
+  }
+}
@@ -0,0 +1,243 @@
+package com.healthsys.service.metrics;
+
+import com.healthsys.service.metrics.jfr.ServiceCallEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * 服务层调用统计。
+ * {@link #instrument(Class, Object)} 用动态代理包装服务实现，记录接口每个方法的调用次数、异常次数和耗时分布；
+ * 同一接口的多个实例汇总到同一组统计。统计可通过 JMX（com.healthsys:type=ServiceMetrics）查看或导出为CSV。
+ * 服务实现内部捕获并吞掉的异常不计入异常次数。开启飞行记录时每次调用同时提交 {@link ServiceCallEvent}。
+ * 开发模式下最外层的服务调用作为一次操作交给 {@link QueryCounter} 检查重复执行的语句。
+ *
+ * @author 梦辰
+ */
+public final class ServiceMetrics {
+
+  private static final Logger logger = LoggerFactory.getLogger(ServiceMetrics.class);
+
+  private static final String OBJECT_NAME = "com.healthsys:type=ServiceMetrics";
+  private static final String CSV_HEADER = "service,method,calls,errors,mean_ms,p50_ms,p90_ms,p99_ms,max_ms";
+
+  private static final Map<String, MethodMetrics> REGISTRY = new ConcurrentHashMap<>();
+  private static volatile boolean jmxRegistered;
+
+  private ServiceMetrics() {
+  }
+
+  /**
+   * 用计时代理包装服务实现
+   *
+   * @param serviceInterface 服务接口
+   * @param target           服务实现
+   * @return 实现同一接口的代理
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> T instrument(Class<T> serviceInterface, T target) {
+    registerJmx();
+    return (T) Proxy.newProxyInstance(serviceInterface.getClassLoader(), new Class<?>[] { serviceInterface },
+        new TimingHandler(serviceInterface.getSimpleName(), target));
+  }
+
+  /**
+   * 获取指定方法的统计，不存在时创建
+   */
+  static MethodMetrics metricsFor(String serviceName, String methodName) {
+    return REGISTRY.computeIfAbsent(serviceName + "." + methodName, k -> new MethodMetrics(serviceName, methodName));
+  }
+
+  /**
+   * 获取所有方法的统计，按服务和方法名排序
+   */
+  public static List<MethodMetrics> getAll() {
+    List<MethodMetrics> all = new ArrayList<>(REGISTRY.values());
+    all.sort(Comparator.comparing(MethodMetrics::getServiceName).thenComparing(MethodMetrics::getMethodName));
+    return all;
+  }
+
+  /**
+   * 清空所有统计
+   */
+  public static void reset() {
+    REGISTRY.values().forEach(MethodMetrics::reset);
+  }
+
+  /**
+   * 生成CSV格式的统计快照
+   */
+  public static String toCsv() {
+    StringBuilder csv = new StringBuilder(CSV_HEADER).append('\n');
+    for (MethodMetrics metrics : getAll()) {
+      LatencyHistogram latency = metrics.getLatency();
+      csv.append(String.format("%s,%s,%d,%d,%.3f,%.3f,%.3f,%.3f,%.3f%n", metrics.getServiceName(),
+          metrics.getMethodName(), metrics.getCallCount(), metrics.getErrorCount(),
+          latency.getMeanMicros() / 1000.0, latency.getPercentileMicros(50) / 1000.0,
+          latency.getPercentileMicros(90) / 1000.0, latency.getPercentileMicros(99) / 1000.0,
+          latency.getMaxMicros() / 1000.0));
+    }
+    return csv.toString();
+  }
+
+  /**
+   * 将统计快照导出为CSV文件
+   *
+   * @param file 文件路径
+   * @throws IOException 写入失败
+   */
+  public static void exportCsv(Path file) throws IOException {
+    Path parent = file.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    Files.write(file, toCsv().getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static synchronized void registerJmx() {
+    if (jmxRegistered) {
+      return;
+    }
+    jmxRegistered = true;
+    try {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      ObjectName name = new ObjectName(OBJECT_NAME);
+      if (!server.isRegistered(name)) {
+        server.registerMBean(new JmxView(), name);
+      }
+    } catch (Exception | LinkageError e) {
+      logger.debug("注册服务统计JMX失败: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * 计时代理。Object 自身的方法直接转发，不计入统计
+   */
+  private static final class TimingHandler implements InvocationHandler {
+
+    private final String serviceName;
+    private final Object target;
+    private final Map<Method, MethodMetrics> metricsByMethod = new ConcurrentHashMap<>();
+
+    TimingHandler(String serviceName, Object target) {
+      this.serviceName = serviceName;
+      this.target = target;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      if (method.getDeclaringClass() == Object.class) {
+        return invokeTarget(method, args);
+      }
+
+      MethodMetrics metrics = metricsByMethod.computeIfAbsent(method, m -> metricsFor(serviceName, m.getName()));
+      QueryCounter.Scope queries = QueryCounter.openOperation(serviceName + "." + method.getName());
+      ServiceCallEvent event = new ServiceCallEvent();
+      event.begin();
+      long start = System.nanoTime();
+      boolean failed = true;
+      try {
+        Object result = invokeTarget(method, args);
+        failed = false;
+        return result;
+      } finally {
+        metrics.record(System.nanoTime() - start, failed);
+        event.end();
+        if (event.shouldCommit()) {
+          event.service = serviceName;
+          event.method = metrics.getMethodName();
+          event.failed = failed;
+          event.commit();
+        }
+        if (queries != null) {
+          queries.close();
+        }
+      }
+    }
+
+    private Object invokeTarget(Method method, Object[] args) throws Throwable {
+      try {
+        return method.invoke(target, args);
+      } catch (InvocationTargetException e) {
+        throw e.getCause();
+      }
+    }
+  }
+
+  /**
+   * JMX 视图
+   */
+  private static final class JmxView implements ServiceMetricsMXBean {
+
+    @Override
+    public Map<String, Long> getCallCounts() {
+      return collectLong(MethodMetrics::getCallCount);
+    }
+
+    @Override
+    public Map<String, Long> getErrorCounts() {
+      return collectLong(MethodMetrics::getErrorCount);
+    }
+
+    @Override
+    public Map<String, Double> getMeanMillis() {
+      return collectDouble(metrics -> metrics.getLatency().getMeanMicros() / 1000.0);
+    }
+
+    @Override
+    public Map<String, Double> getP99Millis() {
+      return collectDouble(metrics -> metrics.getLatency().getPercentileMicros(99) / 1000.0);
+    }
+
+    @Override
+    public String getCsvSnapshot() {
+      return toCsv();
+    }
+
+    @Override
+    public void exportCsv(String file) {
+      try {
+        ServiceMetrics.exportCsv(Paths.get(file));
+      } catch (IOException e) {
+        throw new IllegalStateException("导出服务统计失败: " + e.getMessage(), e);
+      }
+    }
+
+    @Override
+    public void reset() {
+      ServiceMetrics.reset();
+    }
+
+    private static Map<String, Long> collectLong(ToLongFunction<MethodMetrics> value) {
+      Map<String, Long> result = new TreeMap<>();
+      REGISTRY.forEach((key, metrics) -> result.put(key, value.applyAsLong(metrics)));
+      return result;
+    }
+
+    private static Map<String, Double> collectDouble(ToDoubleFunction<MethodMetrics> value) {
+      Map<String, Double> result = new TreeMap<>();
+      REGISTRY.forEach((key, metrics) -> result.put(key, value.applyAsDouble(metrics)));
+      return result;
+    }
+  }
+}
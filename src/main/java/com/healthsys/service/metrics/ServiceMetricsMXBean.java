@@ -0,0 +1,37 @@
+package com.healthsys.service.metrics;
+
+import java.util.Map;
+
+/**
+ * 服务调用统计的 JMX 接口，注册为 com.healthsys:type=ServiceMetrics。
+ * 键均为“服务接口.方法名”。
+ *
+ * @author 梦辰
+ */
+public interface ServiceMetricsMXBean {
+
+  Map<String, Long> getCallCounts();
+
+  Map<String, Long> getErrorCounts();
+
+  Map<String, Double> getMeanMillis();
+
+  Map<String, Double> getP99Millis();
+
+  /**
+   * CSV格式的统计快照
+   */
+  String getCsvSnapshot();
+
+  /**
+   * 将统计快照导出为CSV文件
+   *
+   * @param file 文件路径
+   */
+  void exportCsv(String file);
+
+  /**
+   * 清空所有统计
+   */
+  void reset();
+}
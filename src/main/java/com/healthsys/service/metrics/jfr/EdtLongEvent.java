@@ -0,0 +1,31 @@
+package com.healthsys.service.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * EDT 长事件，由EDT卡顿检测器在事件处理耗时超过阈值时提交。
+ * 事件时长包含模态对话框等嵌套事件循环的等待时间，实际处理耗时见 activeTime。
+ *
+ * @author 梦辰
+ */
+@Name("com.healthsys.EdtLongEvent")
+@Label("EDT长事件")
+@Description("处理耗时超过卡顿阈值的界面事件")
+@Category({ "HealthSys", "界面" })
+@StackTrace(false)
+public class EdtLongEvent extends Event {
+
+  @Label("事件")
+  @Description("事件类型 @ 目标组件")
+  public String eventKey;
+
+  @Label("处理耗时")
+  @Timespan(Timespan.NANOSECONDS)
+  public long activeTime;
+}
@@ -0,0 +1,30 @@
+package com.healthsys.service.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 服务方法调用事件，由服务计时代理提交。
+ *
+ * @author 梦辰
+ */
+@Name("com.healthsys.ServiceCall")
+@Label("服务调用")
+@Description("服务接口方法的调用耗时")
+@Category({ "HealthSys", "服务" })
+@StackTrace(false)
+public class ServiceCallEvent extends Event {
+
+  @Label("服务")
+  public String service;
+
+  @Label("方法")
+  public String method;
+
+  @Label("失败")
+  public boolean failed;
+}
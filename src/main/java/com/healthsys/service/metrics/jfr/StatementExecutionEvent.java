@@ -0,0 +1,34 @@
+package com.healthsys.service.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Mapper 语句执行事件，由语句耗时统计插件在每次查询或更新时提交。
+ *
+ * @author 梦辰
+ */
+@Name("com.healthsys.StatementExecution")
+@Label("数据库语句执行")
+@Description("Mapper 查询或更新语句的执行耗时")
+@Category({ "HealthSys", "数据库" })
+@StackTrace(false)
+public class StatementExecutionEvent extends Event {
+
+  @Label("语句")
+  public String statementId;
+
+  @Label("类型")
+  public String commandType;
+
+  @Label("行数")
+  @Description("查询返回的行数或更新影响的行数，无法获得时为-1")
+  public int rows;
+
+  @Label("失败")
+  public boolean failed;
+}
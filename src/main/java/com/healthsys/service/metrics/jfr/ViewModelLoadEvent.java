@@ -0,0 +1,40 @@
+package com.healthsys.service.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * 视图模型加载事件，覆盖 loadHealthDataCommand、loadAppointmentsCommand 等按通道取消的加载命令。
+ * 事件时长为任务在后台线程上的执行时间，排队等待时间单独记录。
+ *
+ * @author 梦辰
+ */
+@Name("com.healthsys.ViewModelLoad")
+@Label("视图模型加载")
+@Description("视图模型加载命令在后台线程上的执行耗时")
+@Category({ "HealthSys", "界面" })
+@StackTrace(false)
+public class ViewModelLoadEvent extends Event {
+
+  @Label("任务")
+  public String taskName;
+
+  @Label("通道")
+  public String channel;
+
+  @Label("排队耗时")
+  @Timespan(Timespan.NANOSECONDS)
+  public long queuedNanos;
+
+  @Label("已取消")
+  @Description("加载结束时已被更新的加载取代或因离开页面取消")
+  public boolean cancelled;
+
+  @Label("失败")
+  public boolean failed;
+}
@@ -309,4 +309,18 @@ public class CommonUtil {
   public static <T> T getOrDefault(T obj, T defaultValue) {
     return obj != null ? obj : defaultValue;
   }
-}
\ No newline at end of file
+
+  /**
+   * 生成“包含关键词”的 LIKE 模式，转义关键词中的通配符
+   * 
+   * @param keyword 关键词
+   * @return 形如 %关键词% 的模式，关键词为空白时返回null
+   */
+  public static String likeContains(String keyword) {
+    if (keyword == null || keyword.trim().isEmpty()) {
+      return null;
+    }
+    String escaped = keyword.trim().replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    return "%" + escaped + "%";
+  }
+}
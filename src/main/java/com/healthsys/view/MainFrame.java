@@ -1,11 +1,15 @@
 package com.healthsys.view;
 
 import java.awt.BorderLayout;
+import java.awt.Component;
 import java.awt.Dimension;
 import java.awt.FlowLayout;
 import java.awt.Font;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Supplier;
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
@@ -14,23 +18,32 @@ import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.healthsys.config.AppContext;
+import com.healthsys.config.AppExecutor;
+import com.healthsys.config.DataAccessManager;
+import com.healthsys.config.StartupOrchestrator;
 import com.healthsys.dao.UserMapper;
+import com.healthsys.model.enums.UserRoleEnum;
 import com.healthsys.service.IEmailService;
 import com.healthsys.service.IUserService;
 import com.healthsys.service.impl.EmailServiceImpl;
 import com.healthsys.service.impl.UserServiceImpl;
+import com.healthsys.service.metrics.ServiceMetrics;
 import com.healthsys.view.admin.appointment.AdminAppointmentManagementPanel;
 import com.healthsys.view.admin.checkgroup.CheckGroupManagementPanel;
 import com.healthsys.view.admin.checkitem.CheckItemManagementPanel;
 import com.healthsys.view.admin.usermanagement.UserManagementPanel;
+import com.healthsys.view.base.NavigationAware;
 import com.healthsys.view.auth.AuthPanel;
 import com.healthsys.view.common.HeaderComponent;
 import com.healthsys.view.common.SidebarComponent;
+import com.healthsys.view.common.StartupProgressComponent;
 import com.healthsys.view.settings.SystemSettingsPanel;
 import com.healthsys.view.user.appointment.AppointmentPanel;
 import com.healthsys.view.user.healthdata.UserHealthDataPanel;
@@ -53,6 +66,10 @@ public class MainFrame extends JFrame {
   private static final int MIN_WIDTH = 1000;
   private static final int MIN_HEIGHT = 600;
 
+  // 登录后预热面板：首个面板的延迟和之后每个面板的间隔（毫秒）
+  private static final int WARMUP_INITIAL_DELAY = 300;
+  private static final int WARMUP_INTERVAL = 100;
+
   // UI组件
   private JPanel contentPanel;
   private JPanel currentViewPanel;
@@ -77,6 +94,9 @@ public class MainFrame extends JFrame {
   private UserManagementPanel userManagementPanel;
   private SystemSettingsPanel systemSettingsPanel;
 
+  // 登录后预热面板的定时器
+  private Timer warmupTimer;
+
   /**
    * 构造函数
    */
@@ -96,16 +116,14 @@ public class MainFrame extends JFrame {
   private void initializeServices() {
     try {
       // 创建服务实例
-      emailService = new EmailServiceImpl();
-
-      // 初始化数据访问层
-      com.healthsys.config.DataAccessManager dataAccessManager = com.healthsys.config.DataAccessManager.getInstance();
+      emailService = ServiceMetrics.instrument(IEmailService.class, new EmailServiceImpl());
 
-      // 获取UserMapper实例
-      UserMapper userMapper = dataAccessManager.getUserMapper();
+      // 数据访问层由启动编排器在后台初始化，登录界面先显示；
+      // 用户服务只在后台线程中访问数据库，届时再取得实际的UserMapper
+      UserMapper userMapper = DataAccessManager.getDeferredMapper(UserMapper.class);
 
       // 创建用户服务
-      userService = new UserServiceImpl(userMapper, emailService);
+      userService = ServiceMetrics.instrument(IUserService.class, new UserServiceImpl(userMapper, emailService));
 
       logger.info("服务层组件初始化完成");
     } catch (Exception e) {
@@ -214,6 +232,26 @@ public class MainFrame extends JFrame {
     // 状态栏将在用户登录后动态更新
   }
 
+  /**
+   * 在窗口底部显示后台初始化进度，完成后自动隐藏
+   * 
+   * @param startup 启动编排器
+   */
+  public void showStartupProgress(StartupOrchestrator startup) {
+    StartupProgressComponent progressComponent = new StartupProgressComponent();
+    contentPanel.add(progressComponent, BorderLayout.SOUTH);
+    contentPanel.revalidate();
+    startup.addProgressListener(progressComponent);
+
+    startup.whenDataAccessReady().exceptionally(throwable -> {
+      SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this,
+          "系统初始化失败：" + throwable.getMessage(),
+          "错误",
+          JOptionPane.ERROR_MESSAGE));
+      return null;
+    });
+  }
+
   /**
    * 绑定事件处理器
    */
@@ -248,6 +286,9 @@ public class MainFrame extends JFrame {
       // 设置当前登录用户到全局上下文
       AppContext.setCurrentUser(user);
 
+      // 面板绑定了登录用户的数据，不能沿用上一位用户的面板
+      clearPanelCache();
+
       // 创建主应用面板
       JPanel mainAppPanel = new JPanel(new BorderLayout());
 
@@ -292,6 +333,8 @@ public class MainFrame extends JFrame {
 
       logger.info("主应用界面已显示，用户: {}", user.getUsername());
 
+      startWarmup(AppContext.getCurrentUserRole());
+
     } catch (Exception e) {
       logger.error("显示主应用视图失败", e);
       JOptionPane.showMessageDialog(this,
@@ -438,8 +481,17 @@ public class MainFrame extends JFrame {
    */
   private void setMainContent(JPanel content) {
     if (mainContentPanel != null) {
+      // 离开当前页面时取消其尚未完成的加载
+      for (Component component : mainContentPanel.getComponents()) {
+        if (component != content && component instanceof NavigationAware) {
+          ((NavigationAware) component).onNavigatedAway();
+        }
+      }
       mainContentPanel.removeAll();
       mainContentPanel.add(content, BorderLayout.CENTER);
+      if (content instanceof NavigationAware) {
+        ((NavigationAware) content).onNavigatedTo();
+      }
       mainContentPanel.revalidate();
       mainContentPanel.repaint();
     }
@@ -462,6 +514,9 @@ public class MainFrame extends JFrame {
       // 清理全局用户上下文
       AppContext.logout();
 
+      // 停止预热并丢弃当前用户的面板
+      clearPanelCache();
+
       // 清理UI组件
       if (headerComponent != null) {
         headerComponent.dispose();
@@ -629,6 +684,90 @@ public class MainFrame extends JFrame {
     return systemSettingsPanel;
   }
 
+  /**
+   * 登录后按角色预热可访问的面板。
+   * 定时器每次触发只在EDT上构建一个面板，面板构建时其视图模型在后台线程发起初始查询，
+   * 各面板的查询并行进行；首次导航时直接显示已构建并已加载数据的面板。
+   * 用户在预热完成前导航到某个面板时，该面板按原方式立即构建，预热随后跳过它。
+   * 
+   * @param role 当前用户角色
+   */
+  private void startWarmup(UserRoleEnum role) {
+    stopWarmup();
+    if (role == null) {
+      return;
+    }
+
+    Deque<Supplier<JPanel>> steps = new ArrayDeque<>();
+    if (role == UserRoleEnum.NORMAL_USER) {
+      steps.add(this::getAppointmentPanel);
+      steps.add(this::getUserHealthDataPanel);
+    } else {
+      steps.add(this::getAdminAppointmentManagementPanel);
+      steps.add(this::getUserHealthDataPanel);
+      steps.add(this::getCheckItemManagementPanel);
+      steps.add(this::getCheckGroupManagementPanel);
+      if (role == UserRoleEnum.SUPER_ADMIN) {
+        steps.add(this::getUserManagementPanel);
+      }
+      steps.add(this::getAppointmentPanel);
+    }
+    steps.add(this::getSystemSettingsPanel);
+
+    warmupTimer = new Timer(WARMUP_INTERVAL, null);
+    warmupTimer.setInitialDelay(WARMUP_INITIAL_DELAY);
+    warmupTimer.addActionListener(e -> {
+      Supplier<JPanel> step = steps.poll();
+      if (step == null) {
+        stopWarmup();
+        logger.info("面板预热完成");
+        return;
+      }
+      long start = System.nanoTime();
+      try {
+        JPanel panel = step.get();
+        logger.debug("预热面板 {}，用时 {} ms", panel.getClass().getSimpleName(),
+            (System.nanoTime() - start) / 1_000_000);
+      } catch (Exception ex) {
+        logger.warn("预热面板失败", ex);
+      }
+    });
+    warmupTimer.start();
+  }
+
+  /**
+   * 停止预热
+   */
+  private void stopWarmup() {
+    if (warmupTimer != null) {
+      warmupTimer.stop();
+      warmupTimer = null;
+    }
+  }
+
+  /**
+   * 停止预热并丢弃已构建的面板，取消其尚未完成的加载
+   */
+  private void clearPanelCache() {
+    stopWarmup();
+
+    JPanel[] panels = { appointmentPanel, userHealthDataPanel, adminAppointmentManagementPanel,
+        checkItemManagementPanel, checkGroupManagementPanel, userManagementPanel, systemSettingsPanel };
+    for (JPanel panel : panels) {
+      if (panel instanceof NavigationAware) {
+        ((NavigationAware) panel).onNavigatedAway();
+      }
+    }
+
+    appointmentPanel = null;
+    userHealthDataPanel = null;
+    adminAppointmentManagementPanel = null;
+    checkItemManagementPanel = null;
+    checkGroupManagementPanel = null;
+    userManagementPanel = null;
+    systemSettingsPanel = null;
+  }
+
   /**
    * 清理资源
    */
@@ -644,13 +783,10 @@ public class MainFrame extends JFrame {
       }
 
       // 清理面板缓存
-      appointmentPanel = null;
-      userHealthDataPanel = null;
-      adminAppointmentManagementPanel = null;
-      checkItemManagementPanel = null;
-      checkGroupManagementPanel = null;
-      userManagementPanel = null;
-      systemSettingsPanel = null;
+      clearPanelCache();
+
+      // 停止后台任务
+      AppExecutor.shutdown();
 
       // TODO: 关闭数据库连接
       // TODO: 保存用户设置
@@ -0,0 +1,184 @@
+package com.healthsys.view;
+
+import java.awt.BorderLayout;
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import javax.swing.BorderFactory;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.healthsys.config.AppContext;
+import com.healthsys.config.DataAccessManager;
+import com.healthsys.dao.UserMapper;
+import com.healthsys.model.entity.User;
+import com.healthsys.model.enums.UserRoleEnum;
+import com.healthsys.service.IEmailService;
+import com.healthsys.service.IUserService;
+import com.healthsys.service.impl.EmailServiceImpl;
+import com.healthsys.service.impl.UserServiceImpl;
+import com.healthsys.service.metrics.ServiceMetrics;
+import com.healthsys.view.admin.appointment.AdminAppointmentManagementPanel;
+import com.healthsys.view.admin.checkgroup.CheckGroupManagementPanel;
+import com.healthsys.view.admin.checkitem.CheckItemManagementPanel;
+import com.healthsys.view.admin.usermanagement.UserManagementPanel;
+import com.healthsys.view.auth.AuthPanel;
+import com.healthsys.view.base.NavigationAware;
+import com.healthsys.view.common.HeaderComponent;
+import com.healthsys.view.common.SidebarComponent;
+import com.healthsys.view.settings.SystemSettingsPanel;
+import com.healthsys.view.user.appointment.AppointmentPanel;
+import com.healthsys.view.user.healthdata.UserHealthDataPanel;
+import com.healthsys.viewmodel.admin.usermanagement.UserManagementViewModel;
+import com.healthsys.viewmodel.auth.AuthViewModel;
+
+/**
+ * 启动探测用的离屏视图。
+ * 不显示窗口，按主窗口的布局构建登录界面和主界面的全部面板并各绘制一次，
+ * 使面板、视图模型、外观委托和绘制路径在 AppCDS 训练运行中完成加载和初始化。
+ * 只使用轻量组件，没有图形环境（java.awt.headless=true）时也可运行。
+ * 必须在EDT上调用。
+ *
+ * @author 梦辰
+ */
+public final class StartupProbeView {
+
+  private static final Logger logger = LoggerFactory.getLogger(StartupProbeView.class);
+
+  // 离屏绘制尺寸，与主窗口默认尺寸一致
+  private static final int WIDTH = 1200;
+  private static final int HEIGHT = 800;
+
+  private StartupProbeView() {
+  }
+
+  /**
+   * 离屏构建并绘制登录界面，用于没有图形环境、无法创建主窗口的探测运行
+   */
+  public static void renderLoginView() {
+    IEmailService emailService = ServiceMetrics.instrument(IEmailService.class, new EmailServiceImpl());
+    AuthPanel authPanel = new AuthPanel(new AuthViewModel(createUserService(emailService), emailService));
+    try {
+      render(authPanel);
+    } finally {
+      authPanel.dispose();
+    }
+  }
+
+  /**
+   * 以超级管理员身份离屏构建主界面和全部功能面板，依次显示并绘制每个面板，
+   * 结束后丢弃面板并清除登录用户，窗口仍停留在登录界面
+   */
+  public static void renderMainView() {
+    long start = System.nanoTime();
+    IEmailService emailService = ServiceMetrics.instrument(IEmailService.class, new EmailServiceImpl());
+    IUserService userService = createUserService(emailService);
+
+    AppContext.setCurrentUser(User.builder()
+        .userId(0)
+        .username("startup-probe")
+        .email("startup-probe@localhost")
+        .role(UserRoleEnum.SUPER_ADMIN.getCode())
+        .build());
+
+    HeaderComponent headerComponent = null;
+    List<JPanel> panels = new ArrayList<>();
+    try {
+      headerComponent = new HeaderComponent();
+      headerComponent.updateUserInfo();
+      SidebarComponent sidebarComponent = new SidebarComponent();
+      sidebarComponent.updateNavigationButtons();
+
+      JPanel mainContentPanel = new JPanel(new BorderLayout());
+      mainContentPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+      JScrollPane sidebarScrollPane = new JScrollPane(sidebarComponent);
+      sidebarScrollPane.setBorder(null);
+      sidebarScrollPane.setPreferredSize(new Dimension(200, 0));
+
+      JPanel mainAppPanel = new JPanel(new BorderLayout());
+      mainAppPanel.add(headerComponent, BorderLayout.NORTH);
+      mainAppPanel.add(sidebarScrollPane, BorderLayout.WEST);
+      mainAppPanel.add(mainContentPanel, BorderLayout.CENTER);
+
+      List<Supplier<JPanel>> steps = List.of(
+          AdminAppointmentManagementPanel::new,
+          UserHealthDataPanel::new,
+          CheckItemManagementPanel::new,
+          CheckGroupManagementPanel::new,
+          () -> new UserManagementPanel(new UserManagementViewModel(userService), userService),
+          AppointmentPanel::new,
+          SystemSettingsPanel::new);
+
+      // 单个面板构建失败（如数据库不可用）只跳过该面板
+      for (Supplier<JPanel> step : steps) {
+        JPanel panel;
+        try {
+          panel = step.get();
+        } catch (RuntimeException e) {
+          logger.warn("离屏构建面板失败", e);
+          continue;
+        }
+        panels.add(panel);
+        mainContentPanel.removeAll();
+        mainContentPanel.add(panel, BorderLayout.CENTER);
+        if (panel instanceof NavigationAware) {
+          ((NavigationAware) panel).onNavigatedTo();
+        }
+        render(mainAppPanel);
+      }
+      logger.info("离屏构建主界面 {}/{} 个面板，用时 {} ms", panels.size(), steps.size(),
+          (System.nanoTime() - start) / 1_000_000);
+    } finally {
+      for (JPanel panel : panels) {
+        if (panel instanceof NavigationAware) {
+          ((NavigationAware) panel).onNavigatedAway();
+        }
+      }
+      if (headerComponent != null) {
+        headerComponent.dispose();
+      }
+      AppContext.clear();
+    }
+  }
+
+  /**
+   * 创建与主窗口相同的用户服务，数据库只在后台线程中访问
+   */
+  private static IUserService createUserService(IEmailService emailService) {
+    UserMapper userMapper = DataAccessManager.getDeferredMapper(UserMapper.class);
+    return ServiceMetrics.instrument(IUserService.class, new UserServiceImpl(userMapper, emailService));
+  }
+
+  /**
+   * 按主窗口尺寸布局组件并绘制到离屏图像
+   */
+  private static void render(JPanel view) {
+    view.setSize(WIDTH, HEIGHT);
+    layoutTree(view);
+    BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_ARGB);
+    Graphics2D graphics = image.createGraphics();
+    try {
+      view.printAll(graphics);
+    } finally {
+      graphics.dispose();
+    }
+  }
+
+  /**
+   * 未加入窗口的组件不会被验证，逐层布局使子组件获得实际尺寸
+   */
+  private static void layoutTree(Container container) {
+    container.doLayout();
+    for (Component child : container.getComponents()) {
+      if (child instanceof Container) {
+        layoutTree((Container) child);
+      }
+    }
+  }
+}
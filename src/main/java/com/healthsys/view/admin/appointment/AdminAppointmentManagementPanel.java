@@ -2,6 +2,7 @@ package com.healthsys.view.admin.appointment;
 
 import com.healthsys.model.entity.Appointment;
 import com.healthsys.view.admin.appointment.component.AdminAppointmentTableComponent;
+import com.healthsys.view.base.NavigationAware;
 import com.healthsys.view.common.NotificationComponent;
 import com.healthsys.viewmodel.admin.appointment.AdminAppointmentViewModel;
 
@@ -16,7 +17,7 @@ import java.beans.PropertyChangeListener;
  * 
  * @author 梦辰
  */
-public class AdminAppointmentManagementPanel extends JPanel implements PropertyChangeListener {
+public class AdminAppointmentManagementPanel extends JPanel implements PropertyChangeListener, NavigationAware {
 
   private final AdminAppointmentViewModel viewModel;
   private final NotificationComponent notificationComponent;
@@ -28,6 +29,9 @@ public class AdminAppointmentManagementPanel extends JPanel implements PropertyC
   private JTextArea detailTextArea;
   private JScrollPane detailScrollPane;
 
+  // 离开页面时是否中断了加载
+  private boolean reloadOnReturn;
+
   public AdminAppointmentManagementPanel() {
     this.viewModel = new AdminAppointmentViewModel();
     this.notificationComponent = new NotificationComponent();
@@ -236,6 +240,20 @@ public class AdminAppointmentManagementPanel extends JPanel implements PropertyC
     return appointmentTableComponent.getSelectedAppointment();
   }
 
+  @Override
+  public void onNavigatedAway() {
+    reloadOnReturn = viewModel.cancelLoads();
+  }
+
+  @Override
+  public void onNavigatedTo() {
+    // 离开时加载被中断，回来后重新加载
+    if (reloadOnReturn) {
+      reloadOnReturn = false;
+      viewModel.refreshData();
+    }
+  }
+
   /**
    * 获取ViewModel
    */
@@ -261,7 +279,7 @@ public class AdminAppointmentManagementPanel extends JPanel implements PropertyC
         case "selectedAppointment":
           updateDetailPanel();
           break;
-        case "appointmentList":
+        case "appointmentSource":
           // 预约列表更新时，清空详情面板
           detailTitleLabel.setText("请选择一个预约查看详情");
           detailTextArea.setText("");
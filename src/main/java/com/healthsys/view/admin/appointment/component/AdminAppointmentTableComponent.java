@@ -1,10 +1,11 @@
 package com.healthsys.view.admin.appointment.component;
 
 import com.healthsys.model.entity.Appointment;
+import com.healthsys.view.common.LazyTableModel;
+import com.healthsys.view.common.SearchFieldSupport;
 import com.healthsys.viewmodel.admin.appointment.AdminAppointmentViewModel;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.TableColumnModel;
 import java.awt.*;
 import java.awt.event.ActionEvent;
@@ -12,7 +13,6 @@ import java.awt.event.ActionListener;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
 
 /**
  * 管理员预约管理表格组件。
@@ -26,7 +26,7 @@ public class AdminAppointmentTableComponent extends JPanel implements PropertyCh
 
   // UI组件
   private JTable appointmentTable;
-  private DefaultTableModel tableModel;
+  private LazyTableModel<Appointment> tableModel;
   private JScrollPane scrollPane;
 
   // 搜索和筛选组件
@@ -67,13 +67,8 @@ public class AdminAppointmentTableComponent extends JPanel implements PropertyCh
    * 初始化组件
    */
   private void initializeComponents() {
-    // 创建表格模型
-    tableModel = new DefaultTableModel(columnNames, 0) {
-      @Override
-      public boolean isCellEditable(int row, int column) {
-        return false; // 表格不可编辑
-      }
-    };
+    // 创建表格模型（按滚动位置分块加载，表格不可编辑）
+    tableModel = new LazyTableModel<>(columnNames, this::formatRow);
 
     // 创建表格
     appointmentTable = new JTable(tableModel);
@@ -245,7 +240,7 @@ public class AdminAppointmentTableComponent extends JPanel implements PropertyCh
     clearButton.addActionListener(new ActionListener() {
       @Override
       public void actionPerformed(ActionEvent e) {
-        searchField.setText("");
+        SearchFieldSupport.setTextQuietly(searchField, "");
         statusFilterCombo.setSelectedIndex(0);
         viewModel.clearSearchConditions();
       }
@@ -306,11 +301,17 @@ public class AdminAppointmentTableComponent extends JPanel implements PropertyCh
       }
     });
 
+    // 选中行的数据块加载完成后刷新按钮状态
+    tableModel.addTableModelListener(e -> updateButtonStates());
+
     // 回车键搜索
     searchField.addActionListener(e -> {
       String keyword = searchField.getText().trim();
       viewModel.searchAppointmentsCommand(keyword);
     });
+
+    // 输入停顿后自动搜索
+    SearchFieldSupport.onTextTyped(searchField, viewModel::onSearchTextChanged);
   }
 
   /**
@@ -322,8 +323,12 @@ public class AdminAppointmentTableComponent extends JPanel implements PropertyCh
       return;
     }
 
-    Integer appointmentId = (Integer) tableModel.getValueAt(selectedRow, 0);
-    String currentStatus = (String) tableModel.getValueAt(selectedRow, 6);
+    Appointment appointment = tableModel.getRow(selectedRow);
+    if (appointment == null) {
+      return;
+    }
+    Integer appointmentId = appointment.getAppointmentId();
+    String currentStatus = appointment.getStatus();
 
     // 确认操作
     int result = JOptionPane.showConfirmDialog(
@@ -342,39 +347,35 @@ public class AdminAppointmentTableComponent extends JPanel implements PropertyCh
    * 更新表格数据
    */
   private void updateTableData() {
-    // 清空现有数据
-    tableModel.setRowCount(0);
-
-    // 添加新数据
-    List<Appointment> appointments = viewModel.getAppointmentList();
-    if (appointments != null) {
-      for (Appointment appointment : appointments) {
-        Object[] rowData = {
-            appointment.getAppointmentId(),
-            viewModel.getUserName(appointment.getUserId()),
-            viewModel.getCheckGroupName(appointment.getGroupId()),
-            appointment.getAppointmentDate() != null ? appointment.getAppointmentDate().format(dateFormatter) : "",
-            appointment.getAppointmentTime() != null ? appointment.getAppointmentTime().format(timeFormatter) : "",
-            appointment.getExaminationMethod(),
-            appointment.getStatus(),
-            appointment.getCreatedAt() != null ? appointment.getCreatedAt().format(dateTimeFormatter) : ""
-        };
-        tableModel.addRow(rowData);
-      }
-    }
-
+    tableModel.setSource(viewModel.getAppointmentSource());
     updateButtonStates();
   }
 
+  /**
+   * 格式化一行（在后台线程中随数据块调用）
+   */
+  private Object[] formatRow(Appointment appointment) {
+    return new Object[] {
+        appointment.getAppointmentId(),
+        viewModel.getUserName(appointment.getUserId()),
+        viewModel.getCheckGroupName(appointment.getGroupId()),
+        appointment.getAppointmentDate() != null ? appointment.getAppointmentDate().format(dateFormatter) : "",
+        appointment.getAppointmentTime() != null ? appointment.getAppointmentTime().format(timeFormatter) : "",
+        appointment.getExaminationMethod(),
+        appointment.getStatus(),
+        appointment.getCreatedAt() != null ? appointment.getCreatedAt().format(dateTimeFormatter) : ""
+    };
+  }
+
   /**
    * 更新按钮状态
    */
   private void updateButtonStates() {
     int selectedRow = appointmentTable.getSelectedRow();
-    boolean hasSelection = selectedRow >= 0;
+    Appointment selected = selectedRow >= 0 ? tableModel.getRow(selectedRow) : null;
 
-    if (hasSelection) {
-      String status = (String) tableModel.getValueAt(selectedRow, 6);
+    if (selected != null) {
+      String status = selected.getStatus();
 
       // 根据当前状态决定哪些操作可用
       confirmButton.setEnabled("待确认".equals(status));
@@ -398,12 +399,8 @@ public class AdminAppointmentTableComponent extends JPanel implements PropertyCh
       return null;
     }
 
-    List<Appointment> appointments = viewModel.getAppointmentList();
-    if (appointments != null && selectedRow < appointments.size()) {
-      return appointments.get(selectedRow);
-    }
-
-    return null;
+    // 尚未加载的占位行返回null
+    return tableModel.getRow(selectedRow);
   }
 
   /**
@@ -429,11 +426,11 @@ public class AdminAppointmentTableComponent extends JPanel implements PropertyCh
       String propertyName = evt.getPropertyName();
 
       switch (propertyName) {
-        case "appointmentList":
+        case "appointmentSource":
           updateTableData();
           break;
         case "searchKeyword":
-          searchField.setText(viewModel.getSearchKeyword());
+          SearchFieldSupport.setTextQuietly(searchField, viewModel.getSearchKeyword());
           break;
         case "selectedStatus":
           statusFilterCombo.setSelectedItem(viewModel.getSelectedStatus());
@@ -17,6 +17,7 @@ import com.healthsys.service.ICheckGroupService;
 import com.healthsys.service.ICheckItemService;
 import com.healthsys.service.impl.CheckGroupServiceImpl;
 import com.healthsys.service.impl.CheckItemServiceImpl;
+import com.healthsys.service.metrics.ServiceMetrics;
 import com.healthsys.view.admin.checkgroup.component.CheckGroupEditFormComponent;
 import com.healthsys.view.admin.checkgroup.component.CheckGroupTableComponent;
 import com.healthsys.view.common.NotificationComponent;
@@ -67,8 +68,8 @@ public class CheckGroupManagementPanel extends JPanel implements PropertyChangeL
    * 初始化服务
    */
   private void initializeServices() {
-    checkGroupService = new CheckGroupServiceImpl();
-    checkItemService = new CheckItemServiceImpl();
+    checkGroupService = ServiceMetrics.instrument(ICheckGroupService.class, new CheckGroupServiceImpl());
+    checkItemService = ServiceMetrics.instrument(ICheckItemService.class, new CheckItemServiceImpl());
   }
 
   /**
@@ -9,7 +9,6 @@ import java.awt.event.ActionListener;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.List;
 
 import javax.swing.BorderFactory;
@@ -21,11 +20,11 @@ import javax.swing.JTable;
 import javax.swing.JTextField;
 import javax.swing.ListSelectionModel;
 import javax.swing.SwingUtilities;
-import javax.swing.table.AbstractTableModel;
 import javax.swing.table.DefaultTableCellRenderer;
 import javax.swing.table.TableColumnModel;
 
 import com.healthsys.model.entity.CheckGroup;
+import com.healthsys.view.common.KeyedTableModel;
 import com.healthsys.view.common.PagingComponent;
 import com.healthsys.viewmodel.admin.checkgroup.CheckGroupManagementViewModel;
 
@@ -400,6 +399,11 @@ public class CheckGroupTableComponent extends JPanel implements PropertyChangeLi
       switch (propertyName) {
         case "checkGroupList":
           tableModel.setCheckGroups(viewModel.getCheckGroupList());
+          // 选中行保留时同步为刷新后的对象
+          int selectedRow = checkGroupTable.getSelectedRow();
+          if (selectedRow >= 0) {
+            viewModel.setSelectedCheckGroup(tableModel.getCheckGroupAt(selectedRow));
+          }
           break;
         case "searchName":
           searchNameField.setText(viewModel.getSearchName());
@@ -432,30 +436,24 @@ public class CheckGroupTableComponent extends JPanel implements PropertyChangeLi
   /**
    * 检查组表格模型
    */
-  private static class CheckGroupTableModel extends AbstractTableModel {
+  private static class CheckGroupTableModel extends KeyedTableModel<CheckGroup, Integer> {
 
     private static final String[] COLUMN_NAMES = {
         "ID", "代码", "名称", "描述", "状态", "创建时间"
     };
 
-    private List<CheckGroup> checkGroups = new ArrayList<>();
     private final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
 
-    public void setCheckGroups(List<CheckGroup> checkGroups) {
-      this.checkGroups = checkGroups != null ? checkGroups : new ArrayList<>();
-      fireTableDataChanged();
+    CheckGroupTableModel() {
+      super(CheckGroup::getGroupId);
     }
 
-    public CheckGroup getCheckGroupAt(int rowIndex) {
-      if (rowIndex >= 0 && rowIndex < checkGroups.size()) {
-        return checkGroups.get(rowIndex);
-      }
-      return null;
+    public void setCheckGroups(List<CheckGroup> checkGroups) {
+      setRows(checkGroups);
     }
 
-    @Override
-    public int getRowCount() {
-      return checkGroups.size();
+    public CheckGroup getCheckGroupAt(int rowIndex) {
+      return getRowAt(rowIndex);
     }
 
     @Override
@@ -482,11 +480,11 @@ public class CheckGroupTableComponent extends JPanel implements PropertyChangeLi
 
     @Override
     public Object getValueAt(int rowIndex, int columnIndex) {
-      if (rowIndex >= checkGroups.size()) {
+      if (rowIndex >= rows.size()) {
         return null;
       }
 
-      CheckGroup group = checkGroups.get(rowIndex);
+      CheckGroup group = rows.get(rowIndex);
       if (group == null) {
         return null;
       }
@@ -21,11 +21,11 @@ import javax.swing.JScrollPane;
 import javax.swing.JTable;
 import javax.swing.JTextField;
 import javax.swing.ListSelectionModel;
-import javax.swing.table.AbstractTableModel;
 import javax.swing.table.DefaultTableCellRenderer;
 import javax.swing.table.TableColumn;
 
 import com.healthsys.model.entity.CheckItem;
+import com.healthsys.view.common.KeyedTableModel;
 
 /**
  * 检查项选择器组件。
@@ -179,11 +179,12 @@ public class CheckItemSelectorComponent extends JPanel {
    * 全选
    */
   private void selectAll() {
+    Set<Integer> previous = new HashSet<>(selectedItemIds);
     selectedItemIds.clear();
     for (CheckItem item : tableModel.getFilteredItems()) {
       selectedItemIds.add(item.getItemId());
     }
-    tableModel.fireTableDataChanged();
+    tableModel.fireSelectionColumnChanged(previous);
     updateStatusLabel();
     fireSelectionChanged();
   }
@@ -192,8 +193,9 @@ public class CheckItemSelectorComponent extends JPanel {
    * 全不选
    */
   private void selectNone() {
+    Set<Integer> previous = new HashSet<>(selectedItemIds);
     selectedItemIds.clear();
-    tableModel.fireTableDataChanged();
+    tableModel.fireSelectionColumnChanged(previous);
     updateStatusLabel();
     fireSelectionChanged();
   }
@@ -226,8 +228,9 @@ public class CheckItemSelectorComponent extends JPanel {
    * 设置选中的检查项ID
    */
   public void setSelectedItemIds(Set<Integer> selectedIds) {
+    Set<Integer> previous = this.selectedItemIds;
     this.selectedItemIds = selectedIds != null ? new HashSet<>(selectedIds) : new HashSet<>();
-    tableModel.fireTableDataChanged();
+    tableModel.fireSelectionColumnChanged(previous);
     updateStatusLabel();
   }
 
@@ -277,16 +280,19 @@ public class CheckItemSelectorComponent extends JPanel {
   /**
    * 检查项表格模型
    */
-  private class CheckItemTableModel extends AbstractTableModel {
+  private class CheckItemTableModel extends KeyedTableModel<CheckItem, Integer> {
 
     private static final String[] COLUMN_NAMES = {
         "选择", "ID", "代码", "名称", "参考值", "单位"
     };
 
     private List<CheckItem> checkItems = new ArrayList<>();
-    private List<CheckItem> filteredItems = new ArrayList<>();
     private String searchKeyword = "";
 
+    CheckItemTableModel() {
+      super(CheckItem::getItemId);
+    }
+
     public void setCheckItems(List<CheckItem> checkItems) {
       this.checkItems = checkItems != null ? checkItems : new ArrayList<>();
       filterItems();
@@ -298,7 +304,7 @@ public class CheckItemSelectorComponent extends JPanel {
     }
 
     private void filterItems() {
-      filteredItems.clear();
+      List<CheckItem> filteredItems = new ArrayList<>();
 
       if (searchKeyword.isEmpty()) {
         filteredItems.addAll(checkItems);
@@ -311,16 +317,21 @@ public class CheckItemSelectorComponent extends JPanel {
         }
       }
 
-      fireTableDataChanged();
+      setRows(filteredItems);
     }
 
     public List<CheckItem> getFilteredItems() {
-      return filteredItems;
+      return rows;
     }
 
-    @Override
-    public int getRowCount() {
-      return filteredItems.size();
+    /**
+     * 只通知勾选状态发生变化的行的选择列
+     *
+     * @param previous 变化前的选中ID
+     */
+    public void fireSelectionColumnChanged(Set<Integer> previous) {
+      fireColumnUpdated(0,
+          item -> previous.contains(item.getItemId()) != selectedItemIds.contains(item.getItemId()));
     }
 
     @Override
@@ -352,11 +363,11 @@ public class CheckItemSelectorComponent extends JPanel {
 
     @Override
     public Object getValueAt(int rowIndex, int columnIndex) {
-      if (rowIndex >= filteredItems.size()) {
+      if (rowIndex >= rows.size()) {
         return null;
       }
 
-      CheckItem item = filteredItems.get(rowIndex);
+      CheckItem item = rows.get(rowIndex);
       if (item == null) {
         return null;
       }
@@ -381,8 +392,8 @@ public class CheckItemSelectorComponent extends JPanel {
 
     @Override
     public void setValueAt(Object value, int rowIndex, int columnIndex) {
-      if (columnIndex == 0 && rowIndex < filteredItems.size()) {
-        CheckItem item = filteredItems.get(rowIndex);
+      if (columnIndex == 0 && rowIndex < rows.size()) {
+        CheckItem item = rows.get(rowIndex);
         Boolean selected = (Boolean) value;
 
         if (selected) {
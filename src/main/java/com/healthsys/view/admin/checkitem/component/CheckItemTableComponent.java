@@ -1,19 +1,19 @@
 package com.healthsys.view.admin.checkitem.component;
 
 import com.healthsys.model.entity.CheckItem;
+import com.healthsys.view.common.KeyedTableModel;
 import com.healthsys.view.common.PagingComponent;
+import com.healthsys.view.common.SearchFieldSupport;
 import com.healthsys.viewmodel.admin.checkitem.CheckItemManagementViewModel;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
-import javax.swing.table.AbstractTableModel;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -41,6 +41,7 @@ public class CheckItemTableComponent extends JPanel {
   private JButton addButton;
   private JButton editButton;
   private JButton deleteButton;
+  private JButton rebuildStatisticsButton;
 
   // 分页组件
   private PagingComponent pagingComponent;
@@ -79,6 +80,8 @@ public class CheckItemTableComponent extends JPanel {
     addButton = new JButton("添加");
     editButton = new JButton("编辑");
     deleteButton = new JButton("删除");
+    rebuildStatisticsButton = new JButton("重建统计");
+    rebuildStatisticsButton.setToolTipText("从全部体检结果重新计算各检查项的人群分布");
 
     // 分页组件
     pagingComponent = new PagingComponent();
@@ -110,6 +113,7 @@ public class CheckItemTableComponent extends JPanel {
     toolbarPanel.add(addButton);
     toolbarPanel.add(editButton);
     toolbarPanel.add(deleteButton);
+    toolbarPanel.add(rebuildStatisticsButton);
 
     tablePanel.add(toolbarPanel, BorderLayout.NORTH);
     tablePanel.add(tableScrollPane, BorderLayout.CENTER);
@@ -125,8 +129,8 @@ public class CheckItemTableComponent extends JPanel {
    */
   private void bindViewModel() {
     // 绑定搜索字段
-    searchNameField.setText(viewModel.getSearchName());
-    searchCodeField.setText(viewModel.getSearchCode());
+    SearchFieldSupport.setTextQuietly(searchNameField, viewModel.getSearchName());
+    SearchFieldSupport.setTextQuietly(searchCodeField, viewModel.getSearchCode());
 
     // 绑定按钮状态
     addButton.setEnabled(viewModel.isAddButtonEnabled());
@@ -160,6 +164,10 @@ public class CheckItemTableComponent extends JPanel {
     switch (propertyName) {
       case "checkItemList":
         tableModel.setData(viewModel.getCheckItemList());
+        // 选中行保留时同步为刷新后的对象
+        if (checkItemTable.getSelectedRow() >= 0) {
+          updateSelectedItem();
+        }
         break;
       case "editButtonEnabled":
         editButton.setEnabled(viewModel.isEditButtonEnabled());
@@ -196,10 +204,17 @@ public class CheckItemTableComponent extends JPanel {
       }
     });
 
+    // 回车立即搜索，输入停顿后自动搜索
+    searchNameField.addActionListener(e -> performSearch());
+    searchCodeField.addActionListener(e -> performSearch());
+    SearchFieldSupport.onTextTyped(searchNameField, text -> onSearchTextTyped());
+    SearchFieldSupport.onTextTyped(searchCodeField, text -> onSearchTextTyped());
+
     // 操作按钮事件
     addButton.addActionListener(e -> viewModel.addCheckItem());
     editButton.addActionListener(e -> viewModel.editCheckItem());
     deleteButton.addActionListener(e -> viewModel.deleteCheckItem());
+    rebuildStatisticsButton.addActionListener(e -> viewModel.rebuildStatistics());
 
     // 表格选择事件
     checkItemTable.getSelectionModel().addListSelectionListener(e -> {
@@ -226,12 +241,19 @@ public class CheckItemTableComponent extends JPanel {
     viewModel.searchCheckItems();
   }
 
+  /**
+   * 搜索条件输入变化
+   */
+  private void onSearchTextTyped() {
+    viewModel.onSearchTextChanged(searchNameField.getText(), searchCodeField.getText());
+  }
+
   /**
    * 清空搜索
    */
   private void clearSearch() {
-    searchNameField.setText("");
-    searchCodeField.setText("");
+    SearchFieldSupport.setTextQuietly(searchNameField, "");
+    SearchFieldSupport.setTextQuietly(searchCodeField, "");
     viewModel.clearSearch();
   }
 
@@ -280,28 +302,21 @@ public class CheckItemTableComponent extends JPanel {
   /**
    * 检查项表格模型
    */
-  private static class CheckItemTableModel extends AbstractTableModel {
+  private static class CheckItemTableModel extends KeyedTableModel<CheckItem, Integer> {
     private final String[] columnNames = {
         "ID", "代码", "名称", "参考值", "单位", "状态", "创建时间"
     };
 
-    private List<CheckItem> data = new ArrayList<>();
+    CheckItemTableModel() {
+      super(CheckItem::getItemId);
+    }
 
     public void setData(List<CheckItem> data) {
-      this.data = data != null ? data : new ArrayList<>();
-      fireTableDataChanged();
+      setRows(data);
     }
 
     public CheckItem getCheckItemAt(int rowIndex) {
-      if (rowIndex >= 0 && rowIndex < data.size()) {
-        return data.get(rowIndex);
-      }
-      return null;
-    }
-
-    @Override
-    public int getRowCount() {
-      return data.size();
+      return getRowAt(rowIndex);
     }
 
     @Override
@@ -316,11 +331,11 @@ public class CheckItemTableComponent extends JPanel {
 
     @Override
     public Object getValueAt(int rowIndex, int columnIndex) {
-      if (rowIndex >= data.size()) {
+      if (rowIndex >= rows.size()) {
         return null;
       }
 
-      CheckItem item = data.get(rowIndex);
+      CheckItem item = rows.get(rowIndex);
       switch (columnIndex) {
         case 0:
           return item.getItemId();
@@ -3,11 +3,12 @@ package com.healthsys.view.admin.usermanagement.component;
 import com.healthsys.config.AppContext;
 import com.healthsys.model.entity.User;
 import com.healthsys.model.enums.UserRoleEnum;
+import com.healthsys.view.common.KeyedTableModel;
+import com.healthsys.view.common.SearchFieldSupport;
 import com.healthsys.viewmodel.admin.usermanagement.UserManagementViewModel;
 import com.healthsys.util.GuiUtil;
 
 import javax.swing.*;
-import javax.swing.table.AbstractTableModel;
 import javax.swing.table.DefaultTableCellRenderer;
 import javax.swing.table.TableColumnModel;
 import java.awt.*;
@@ -16,7 +17,6 @@ import java.awt.event.ActionListener;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
 
@@ -194,6 +194,9 @@ public class UserTableComponent extends JPanel {
       }
     });
 
+    // 输入停顿后自动搜索
+    SearchFieldSupport.onTextTyped(searchField, viewModel::onSearchTextChanged);
+
     // 刷新按钮
     refreshButton.addActionListener(e -> viewModel.refreshUserList());
 
@@ -380,29 +383,23 @@ public class UserTableComponent extends JPanel {
   /**
    * 用户表格数据模型
    */
-  private static class UserTableModel extends AbstractTableModel {
+  private static class UserTableModel extends KeyedTableModel<User, Integer> {
     private final String[] columnNames = {
         "ID", "用户名", "姓名", "邮箱", "电话", "角色", "创建时间"
     };
 
-    private List<User> users = new ArrayList<>();
     private final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
 
-    public void setUsers(List<User> users) {
-      this.users = users != null ? new ArrayList<>(users) : new ArrayList<>();
-      fireTableDataChanged();
+    UserTableModel() {
+      super(User::getUserId);
     }
 
-    public User getUserAt(int rowIndex) {
-      if (rowIndex >= 0 && rowIndex < users.size()) {
-        return users.get(rowIndex);
-      }
-      return null;
+    public void setUsers(List<User> users) {
+      setRows(users);
     }
 
-    @Override
-    public int getRowCount() {
-      return users.size();
+    public User getUserAt(int rowIndex) {
+      return getRowAt(rowIndex);
     }
 
     @Override
@@ -417,11 +414,11 @@ public class UserTableComponent extends JPanel {
 
     @Override
     public Object getValueAt(int rowIndex, int columnIndex) {
-      if (rowIndex >= users.size()) {
+      if (rowIndex >= rows.size()) {
         return null;
       }
 
-      User user = users.get(rowIndex);
+      User user = rows.get(rowIndex);
       switch (columnIndex) {
         case 0:
           return user.getUserId();
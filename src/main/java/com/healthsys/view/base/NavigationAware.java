@@ -0,0 +1,21 @@
+package com.healthsys.view.base;
+
+/**
+ * 导航感知接口。
+ * 主窗口切换页面时回调，页面离开时可取消尚未完成的加载，回到页面时再补充加载。
+ * 
+ * @author 梦辰
+ */
+public interface NavigationAware {
+
+  /**
+   * 页面被切换离开
+   */
+  void onNavigatedAway();
+
+  /**
+   * 页面被切换进入
+   */
+  default void onNavigatedTo() {
+  }
+}
@@ -0,0 +1,102 @@
+package com.healthsys.view.common;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+
+/**
+ * 动画暂停辅助类。
+ * 组件不可见、所在窗口最小化或失去焦点时通知暂停，恢复后通知继续，
+ * 避免看不见的动画持续占用EDT。
+ *
+ * @author 梦辰
+ */
+final class AnimationPauseSupport {
+
+  /**
+   * 活动状态变化回调，在EDT上执行
+   */
+  interface Listener {
+    void onActiveChanged(boolean active);
+  }
+
+  private final JComponent component;
+  private final Listener listener;
+  private final WindowAdapter windowListener = new WindowAdapter() {
+    @Override
+    public void windowActivated(WindowEvent e) {
+      update();
+    }
+
+    @Override
+    public void windowDeactivated(WindowEvent e) {
+      update();
+    }
+
+    @Override
+    public void windowIconified(WindowEvent e) {
+      update();
+    }
+
+    @Override
+    public void windowDeiconified(WindowEvent e) {
+      update();
+    }
+  };
+
+  private Window window;
+  private boolean active;
+
+  AnimationPauseSupport(JComponent component, Listener listener) {
+    this.component = component;
+    this.listener = listener;
+    component.addHierarchyListener(e -> {
+      if ((e.getChangeFlags() & HierarchyEvent.PARENT_CHANGED) != 0) {
+        attachWindow();
+      }
+      if ((e.getChangeFlags() & (HierarchyEvent.SHOWING_CHANGED | HierarchyEvent.PARENT_CHANGED)) != 0) {
+        update();
+      }
+    });
+    attachWindow();
+    active = computeActive();
+  }
+
+  /**
+   * 当前是否应播放动画
+   */
+  boolean isActive() {
+    return active;
+  }
+
+  private void attachWindow() {
+    Window current = SwingUtilities.getWindowAncestor(component);
+    if (current == window) {
+      return;
+    }
+    if (window != null) {
+      window.removeWindowListener(windowListener);
+    }
+    window = current;
+    if (window != null) {
+      window.addWindowListener(windowListener);
+    }
+  }
+
+  private void update() {
+    boolean now = computeActive();
+    if (now != active) {
+      active = now;
+      listener.onActiveChanged(now);
+    }
+  }
+
+  private boolean computeActive() {
+    if (window == null || !component.isShowing() || !window.isActive()) {
+      return false;
+    }
+    return !(window instanceof Frame) || (((Frame) window).getExtendedState() & Frame.ICONIFIED) == 0;
+  }
+}
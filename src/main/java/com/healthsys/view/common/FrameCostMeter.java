@@ -0,0 +1,95 @@
+package com.healthsys.view.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 帧绘制耗时统计。
+ * 动画组件在每次绘制时记录耗时，用于观察空闲动画占用的CPU。
+ * 只在EDT上记录。
+ *
+ * @author 梦辰
+ */
+public final class FrameCostMeter {
+
+  private static final List<FrameCostMeter> METERS = new CopyOnWriteArrayList<>();
+
+  private final String name;
+  private volatile long frameCount;
+  private volatile long totalNanos;
+  private volatile long lastNanos;
+  private volatile long maxNanos;
+
+  /**
+   * @param name 组件名称
+   */
+  public FrameCostMeter(String name) {
+    this.name = name;
+    METERS.add(this);
+  }
+
+  /**
+   * 开始计时
+   *
+   * @return 开始时间，传给 {@link #end(long)}
+   */
+  public long begin() {
+    return System.nanoTime();
+  }
+
+  /**
+   * 结束计时并记录一帧
+   *
+   * @param startNanos {@link #begin()} 的返回值
+   */
+  public void end(long startNanos) {
+    long cost = System.nanoTime() - startNanos;
+    lastNanos = cost;
+    totalNanos += cost;
+    frameCount++;
+    if (cost > maxNanos) {
+      maxNanos = cost;
+    }
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * 已绘制帧数
+   */
+  public long getFrameCount() {
+    return frameCount;
+  }
+
+  /**
+   * 平均每帧耗时（微秒）
+   */
+  public double getAverageFrameMicros() {
+    long count = frameCount;
+    return count == 0 ? 0 : totalNanos / 1000.0 / count;
+  }
+
+  /**
+   * 最近一帧耗时（微秒）
+   */
+  public double getLastFrameMicros() {
+    return lastNanos / 1000.0;
+  }
+
+  /**
+   * 最大单帧耗时（微秒）
+   */
+  public double getMaxFrameMicros() {
+    return maxNanos / 1000.0;
+  }
+
+  /**
+   * 所有已创建的统计
+   */
+  public static List<FrameCostMeter> getMeters() {
+    return new ArrayList<>(METERS);
+  }
+}
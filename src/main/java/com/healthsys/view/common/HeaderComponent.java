@@ -5,12 +5,18 @@ import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.FlowLayout;
 import java.awt.Font;
+import java.awt.FontMetrics;
 import java.awt.GradientPaint;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
 import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 
 import javax.swing.BorderFactory;
+import javax.swing.JComponent;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.SwingConstants;
@@ -23,16 +29,25 @@ import com.healthsys.model.entity.User;
 /**
  * 顶部信息栏组件。
  * 展示用户信息和全局操作入口。
+ * 渐变背景缓存在兼容图像中，时钟每秒只重绘自身区域且不触发重新布局；
+ * 窗口不可见或失去焦点时时钟暂停，恢复时立即刷新。
  * 
  * @author 梦辰
  * @since 1.0
  */
 public class HeaderComponent extends JPanel {
 
+  private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+  private static final FrameCostMeter frameCost = new FrameCostMeter("HeaderComponent");
+
   private JLabel titleLabel;
   private JLabel userInfoLabel;
-  private JLabel timeLabel;
+  private ClockLabel timeLabel;
   private Timer timeTimer;
+  private AnimationPauseSupport pauseSupport;
+  private BufferedImage backgroundCache;
+  private Color backgroundCacheColor;
 
   /**
    * 构造函数
@@ -50,7 +65,7 @@ public class HeaderComponent extends JPanel {
   private void initComponents() {
     titleLabel = new JLabel("健康管理系统", SwingConstants.LEFT);
     userInfoLabel = new JLabel("", SwingConstants.CENTER);
-    timeLabel = new JLabel("", SwingConstants.RIGHT);
+    timeLabel = new ClockLabel();
 
     // 设置字体
     titleLabel.setFont(new Font(Font.SANS_SERIF, Font.BOLD, 18));
@@ -93,8 +108,8 @@ public class HeaderComponent extends JPanel {
   private void setupStyles() {
     setPreferredSize(new Dimension(0, 60));
 
-    // 创建渐变背景
-    setOpaque(false);
+    // 渐变背景铺满整个区域，声明为不透明，时钟重绘时不必再绘制下层容器
+    setOpaque(true);
 
     setBorder(BorderFactory.createCompoundBorder(
         BorderFactory.createMatteBorder(0, 0, 1, 0, new Color(200, 200, 200)),
@@ -103,22 +118,47 @@ public class HeaderComponent extends JPanel {
 
   @Override
   protected void paintComponent(Graphics g) {
-    super.paintComponent(g);
-
-    // 绘制渐变背景
-    Graphics2D g2d = (Graphics2D) g.create();
-    g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+    if (getWidth() <= 0 || getHeight() <= 0) {
+      return;
+    }
+    long start = frameCost.begin();
+    g.drawImage(getBackgroundImage(), 0, 0, null);
+    frameCost.end(start);
+  }
 
+  /**
+   * 获取渐变背景图像，尺寸或主题颜色变化后重建
+   */
+  private BufferedImage getBackgroundImage() {
+    int width = getWidth();
+    int height = getHeight();
     Color startColor = UIManager.getColor("Panel.background");
-    Color endColor = startColor.brighter();
+    if (startColor == null) {
+      startColor = getBackground();
+    }
 
-    GradientPaint gradient = new GradientPaint(
-        0, 0, startColor,
-        0, getHeight(), endColor);
+    if (backgroundCache == null || backgroundCache.getWidth() != width
+        || backgroundCache.getHeight() != height || !startColor.equals(backgroundCacheColor)) {
+      GraphicsConfiguration gc = getGraphicsConfiguration();
+      backgroundCache = gc != null
+          ? gc.createCompatibleImage(width, height)
+          : new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+      backgroundCacheColor = startColor;
 
-    g2d.setPaint(gradient);
-    g2d.fillRect(0, 0, getWidth(), getHeight());
-    g2d.dispose();
+      // 绘制渐变背景
+      Graphics2D g2d = backgroundCache.createGraphics();
+      g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+      Color endColor = startColor.brighter();
+
+      GradientPaint gradient = new GradientPaint(
+          0, 0, startColor,
+          0, height, endColor);
+
+      g2d.setPaint(gradient);
+      g2d.fillRect(0, 0, width, height);
+      g2d.dispose();
+    }
+    return backgroundCache;
   }
 
   /**
@@ -160,7 +200,17 @@ public class HeaderComponent extends JPanel {
    */
   private void startTimeUpdate() {
     timeTimer = new Timer(1000, e -> updateTime());
-    timeTimer.start();
+    pauseSupport = new AnimationPauseSupport(this, active -> {
+      if (active) {
+        updateTime(); // 恢复时立即更新一次
+        timeTimer.start();
+      } else {
+        timeTimer.stop();
+      }
+    });
+    if (pauseSupport.isActive()) {
+      timeTimer.start();
+    }
     updateTime(); // 立即更新一次
   }
 
@@ -168,8 +218,7 @@ public class HeaderComponent extends JPanel {
    * 更新时间显示
    */
   private void updateTime() {
-    timeLabel.setText(java.time.LocalDateTime.now()
-        .format(java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+    timeLabel.setText(LocalDateTime.now().format(TIME_FORMATTER));
   }
 
   /**
@@ -179,5 +228,60 @@ public class HeaderComponent extends JPanel {
     if (timeTimer != null && timeTimer.isRunning()) {
       timeTimer.stop();
     }
+    backgroundCache = null;
+  }
+
+  /**
+   * 获取顶部栏的帧耗时统计
+   */
+  public static FrameCostMeter getFrameCostMeter() {
+    return frameCost;
+  }
+
+  /**
+   * 时钟标签。
+   * 按最宽数字固定首选尺寸，文本变化时只重绘自身区域，不像 JLabel 那样每次都重新布局。
+   */
+  private static class ClockLabel extends JComponent {
+
+    private static final String SAMPLE = "0000-00-00 00:00:00";
+
+    private String text = "";
+
+    ClockLabel() {
+      setOpaque(false);
+    }
+
+    void setText(String text) {
+      if (!this.text.equals(text)) {
+        this.text = text;
+        repaint();
+      }
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+      if (isPreferredSizeSet()) {
+        return super.getPreferredSize();
+      }
+      FontMetrics fm = getFontMetrics(getFont());
+      int digitWidth = 0;
+      for (char c = '0'; c <= '9'; c++) {
+        digitWidth = Math.max(digitWidth, fm.charWidth(c));
+      }
+      int width = fm.stringWidth(SAMPLE.replace("0", "")) + digitWidth * 14;
+      return new Dimension(width, fm.getHeight());
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+      Graphics2D g2d = (Graphics2D) g.create();
+      g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+      g2d.setFont(getFont());
+      g2d.setColor(getForeground());
+      FontMetrics fm = g2d.getFontMetrics();
+      g2d.drawString(text, getWidth() - fm.stringWidth(text), fm.getAscent());
+      g2d.dispose();
+    }
   }
 }
\ No newline at end of file
@@ -0,0 +1,172 @@
+package com.healthsys.view.common;
+
+import javax.swing.event.TableModelEvent;
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 按主键比对的表格模型基类。
+ * 替换数据时按主键比较新旧列表，只对删除、插入和内容变化的连续行区间发出事件，
+ * 使表格保留选中行和滚动位置，并只重绘变化的行。
+ *
+ * @param <T> 行类型
+ * @param <K> 主键类型
+ * @author 梦辰
+ */
+public abstract class KeyedTableModel<T, K> extends AbstractTableModel {
+
+  private final Function<T, K> keyFunction;
+
+  /**
+   * 当前行数据
+   */
+  protected final List<T> rows = new ArrayList<>();
+
+  protected KeyedTableModel(Function<T, K> keyFunction) {
+    this.keyFunction = keyFunction;
+  }
+
+  /**
+   * 用新列表替换当前数据，只通知变化的行
+   *
+   * @param newRows 新数据（不会被模型持有）
+   */
+  public void setRows(List<T> newRows) {
+    List<T> target = newRows != null ? newRows : new ArrayList<>();
+
+    Map<K, Integer> targetIndex = new HashMap<>();
+    for (int i = 0; i < target.size(); i++) {
+      if (targetIndex.put(keyFunction.apply(target.get(i)), i) != null) {
+        // 主键重复时无法比对，整体替换
+        replaceAll(target);
+        return;
+      }
+    }
+
+    // 保留的行在新旧列表中的相对顺序必须一致，否则整体替换
+    int lastIndex = -1;
+    for (T row : rows) {
+      Integer index = targetIndex.get(keyFunction.apply(row));
+      if (index != null) {
+        if (index < lastIndex) {
+          replaceAll(target);
+          return;
+        }
+        lastIndex = index;
+      }
+    }
+
+    // 1. 从后往前删除新列表中不存在的行，连续的行合并为一个事件
+    int runEnd = -1;
+    for (int i = rows.size() - 1; i >= -1; i--) {
+      boolean removed = i >= 0 && !targetIndex.containsKey(keyFunction.apply(rows.get(i)));
+      if (removed && runEnd < 0) {
+        runEnd = i;
+      } else if (!removed && runEnd >= 0) {
+        rows.subList(i + 1, runEnd + 1).clear();
+        fireTableRowsDeleted(i + 1, runEnd);
+        runEnd = -1;
+      }
+    }
+
+    // 2. 此时剩余行是新列表的有序子序列，顺序扫描插入新行并更新变化的行
+    int insertStart = -1;
+    int updateStart = -1;
+    for (int i = 0; i < target.size(); i++) {
+      T newRow = target.get(i);
+      boolean matches = i < rows.size()
+          && Objects.equals(keyFunction.apply(rows.get(i)), keyFunction.apply(newRow));
+
+      if (matches) {
+        if (insertStart >= 0) {
+          fireTableRowsInserted(insertStart, i - 1);
+          insertStart = -1;
+        }
+        boolean changed = !Objects.equals(rows.get(i), newRow);
+        rows.set(i, newRow);
+        if (changed && updateStart < 0) {
+          updateStart = i;
+        } else if (!changed && updateStart >= 0) {
+          fireTableRowsUpdated(updateStart, i - 1);
+          updateStart = -1;
+        }
+      } else {
+        if (updateStart >= 0) {
+          fireTableRowsUpdated(updateStart, i - 1);
+          updateStart = -1;
+        }
+        rows.add(i, newRow);
+        if (insertStart < 0) {
+          insertStart = i;
+        }
+      }
+    }
+    if (insertStart >= 0) {
+      fireTableRowsInserted(insertStart, target.size() - 1);
+    }
+    if (updateStart >= 0) {
+      fireTableRowsUpdated(updateStart, target.size() - 1);
+    }
+  }
+
+  /**
+   * 通知某一列在满足条件的行上发生了变化，连续的行合并为一个事件
+   *
+   * @param column  列号
+   * @param changed 行是否变化
+   */
+  public void fireColumnUpdated(int column, Predicate<T> changed) {
+    int start = -1;
+    for (int i = 0; i <= rows.size(); i++) {
+      boolean hit = i < rows.size() && changed.test(rows.get(i));
+      if (hit && start < 0) {
+        start = i;
+      } else if (!hit && start >= 0) {
+        fireTableChanged(new TableModelEvent(this, start, i - 1, column));
+        start = -1;
+      }
+    }
+  }
+
+  /**
+   * 获取指定行
+   *
+   * @param rowIndex 行号
+   * @return 行对象，越界时返回null
+   */
+  public T getRowAt(int rowIndex) {
+    return rowIndex >= 0 && rowIndex < rows.size() ? rows.get(rowIndex) : null;
+  }
+
+  /**
+   * 按主键查找行号
+   *
+   * @param key 主键
+   * @return 行号，不存在时返回-1
+   */
+  public int indexOfKey(K key) {
+    for (int i = 0; i < rows.size(); i++) {
+      if (Objects.equals(keyFunction.apply(rows.get(i)), key)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public int getRowCount() {
+    return rows.size();
+  }
+
+  private void replaceAll(List<T> target) {
+    rows.clear();
+    rows.addAll(target);
+    fireTableDataChanged();
+  }
+}
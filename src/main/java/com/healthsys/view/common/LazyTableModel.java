@@ -0,0 +1,233 @@
+package com.healthsys.view.common;
+
+import com.healthsys.config.AppExecutor;
+import com.healthsys.config.CancellationToken;
+import com.healthsys.viewmodel.base.RowSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 懒加载表格模型。
+ * 只按视口需要分块读取行数据，已加载的数据块以LRU方式保留有限数量，
+ * 未加载的行先显示占位内容，数据块到达后再刷新对应行。
+ * 行的格式化（包括名称解析）在后台线程中随数据块一起完成，EDT只读取已格式化的单元格。
+ * 除 {@link Formatter} 外的所有方法都应在EDT上调用。
+ *
+ * @param <T> 行类型
+ * @author 梦辰
+ */
+public class LazyTableModel<T> extends AbstractTableModel {
+
+  private static final Logger logger = LoggerFactory.getLogger(LazyTableModel.class);
+
+  /**
+   * 占位行显示的文本
+   */
+  public static final String LOADING_TEXT = "加载中...";
+
+  public static final int DEFAULT_BLOCK_SIZE = 100;
+  public static final int DEFAULT_MAX_BLOCKS = 20;
+
+  /**
+   * 行格式化器，在后台线程调用
+   */
+  public interface Formatter<T> {
+    Object[] format(T row);
+  }
+
+  private final String[] columnNames;
+  private final Formatter<T> formatter;
+  private final int blockSize;
+
+  private final Map<Integer, Block<T>> blocks;
+  private final Set<Integer> pendingBlocks = new HashSet<>();
+
+  private RowSource<T> source = RowSource.empty();
+  private int rowCount;
+
+  /**
+   * 数据源代次，切换数据源后丢弃旧代次的加载结果
+   */
+  private int generation;
+
+  /**
+   * 当前代次的加载令牌，切换数据源时取消尚未完成的读取
+   */
+  private CancellationToken loadToken = new CancellationToken();
+
+  public LazyTableModel(String[] columnNames, Formatter<T> formatter) {
+    this(columnNames, formatter, DEFAULT_BLOCK_SIZE, DEFAULT_MAX_BLOCKS);
+  }
+
+  public LazyTableModel(String[] columnNames, Formatter<T> formatter, int blockSize, int maxBlocks) {
+    this.columnNames = columnNames;
+    this.formatter = formatter;
+    this.blockSize = blockSize;
+    this.blocks = new LinkedHashMap<Integer, Block<T>>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Integer, Block<T>> eldest) {
+        return size() > maxBlocks;
+      }
+    };
+  }
+
+  /**
+   * 切换数据源，清空已加载的数据块并在后台读取行数
+   *
+   * @param newSource 数据源，为null时显示空表
+   */
+  public void setSource(RowSource<T> newSource) {
+    int currentGeneration = ++generation;
+    loadToken.cancel();
+    loadToken = new CancellationToken();
+    this.source = newSource != null ? newSource : RowSource.empty();
+    blocks.clear();
+    pendingBlocks.clear();
+
+    RowSource<T> countingSource = this.source;
+    AppExecutor.supplyDbAsync("LazyTableModel.count", loadToken, countingSource::count).whenComplete((count, throwable) -> {
+      SwingUtilities.invokeLater(() -> {
+        if (currentGeneration != generation) {
+          return;
+        }
+        if (throwable != null) {
+          logger.error("读取表格行数失败", throwable);
+        }
+        rowCount = count != null ? count : 0;
+        fireTableDataChanged();
+      });
+    });
+  }
+
+  /**
+   * 重新加载当前数据源
+   */
+  public void refresh() {
+    setSource(source);
+  }
+
+  /**
+   * 获取已加载的行对象
+   *
+   * @param rowIndex 行号
+   * @return 行对象，尚未加载时返回null
+   */
+  public T getRow(int rowIndex) {
+    Block<T> block = blocks.get(rowIndex / blockSize);
+    if (block == null) {
+      return null;
+    }
+    int index = rowIndex - block.offset;
+    return index < block.rows.size() ? block.rows.get(index) : null;
+  }
+
+  /**
+   * 判断行是否已加载
+   */
+  public boolean isRowLoaded(int rowIndex) {
+    return getRow(rowIndex) != null;
+  }
+
+  @Override
+  public int getRowCount() {
+    return rowCount;
+  }
+
+  @Override
+  public int getColumnCount() {
+    return columnNames.length;
+  }
+
+  @Override
+  public String getColumnName(int column) {
+    return columnNames[column];
+  }
+
+  @Override
+  public boolean isCellEditable(int rowIndex, int columnIndex) {
+    return false;
+  }
+
+  @Override
+  public Object getValueAt(int rowIndex, int columnIndex) {
+    int blockIndex = rowIndex / blockSize;
+    Block<T> block = blocks.get(blockIndex);
+    if (block == null) {
+      requestBlock(blockIndex);
+      return columnIndex == 0 ? LOADING_TEXT : "";
+    }
+    int index = rowIndex - block.offset;
+    return index < block.cells.length ? block.cells[index][columnIndex] : "";
+  }
+
+  private void requestBlock(int blockIndex) {
+    if (!pendingBlocks.add(blockIndex)) {
+      return;
+    }
+
+    int currentGeneration = generation;
+    RowSource<T> currentSource = source;
+    int offset = blockIndex * blockSize;
+    int limit = Math.min(blockSize, rowCount - offset);
+    // 相邻的上一块已加载时按其最后一行做键集分页，避免深偏移扫描
+    Block<T> previous = blocks.get(blockIndex - 1);
+    T after = previous != null && !previous.rows.isEmpty() ? previous.rows.get(previous.rows.size() - 1) : null;
+
+    AppExecutor.supplyDbAsync("LazyTableModel.loadBlock", loadToken, () -> loadBlock(currentSource, after, offset, limit))
+        .whenComplete((block, throwable) -> SwingUtilities.invokeLater(() -> {
+          if (currentGeneration != generation) {
+            return;
+          }
+          pendingBlocks.remove(blockIndex);
+          if (throwable != null) {
+            logger.error("加载表格数据块失败: 起始行={}", offset, throwable);
+            return;
+          }
+          blocks.put(blockIndex, block);
+
+          int end = offset + block.rows.size();
+          if (block.rows.size() < limit && end < rowCount) {
+            // 行数是估计值或数据已减少，收缩到实际行数
+            int oldRowCount = rowCount;
+            rowCount = end;
+            fireTableRowsDeleted(end, oldRowCount - 1);
+          }
+          if (end > offset) {
+            fireTableRowsUpdated(offset, end - 1);
+          }
+        }));
+  }
+
+  Block<T> loadBlock(RowSource<T> source, T after, int offset, int limit) {
+    List<T> rows = limit > 0 ? source.fetch(after, offset, limit) : null;
+    if (rows == null) {
+      rows = Collections.emptyList();
+    }
+    Object[][] cells = new Object[rows.size()][];
+    for (int i = 0; i < rows.size(); i++) {
+      cells[i] = formatter.format(rows.get(i));
+    }
+    return new Block<>(offset, rows, cells);
+  }
+
+  static final class Block<T> {
+    final int offset;
+    final List<T> rows;
+    final Object[][] cells;
+
+    Block(int offset, List<T> rows, Object[][] cells) {
+      this.offset = offset;
+      this.rows = rows;
+      this.cells = cells;
+    }
+  }
+}
@@ -4,20 +4,34 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.image.BufferedImage;
+import java.util.Objects;
 
 /**
  * 加载动画组件。
  * 显示加载中状态。
+ * 遮罩、文本和圆环底色等静态内容缓存在兼容图像中，动画每帧只重绘旋转器所在的区域；
+ * 组件不可见或窗口失去焦点时动画暂停。
  * 
  * @author 梦辰
  * @since 1.0
  */
 public class LoadingComponent extends JPanel {
 
+  private static final int SPINNER_RADIUS = 15;
+  private static final int SPINNER_STROKE = 3;
+  private static final Color OVERLAY_COLOR = new Color(0, 0, 0, 149);
+  private static final Color SPINNER_COLOR = new Color(70, 130, 180);
+  private static final Font TEXT_FONT = new Font(Font.SANS_SERIF, Font.PLAIN, 14);
+
+  private static final FrameCostMeter frameCost = new FrameCostMeter("LoadingComponent");
+
   private Timer animationTimer;
   private int animationAngle = 0;
   private String loadingText = "加载中...";
   private boolean isVisible = false;
+  private BufferedImage staticLayer;
+  private AnimationPauseSupport pauseSupport;
 
   /**
    * 构造函数
@@ -40,8 +54,8 @@ public class LoadingComponent extends JPanel {
    * 初始化组件
    */
   private void initComponent() {
-    setOpaque(true);
-    setBackground(new Color(0, 0, 0, 100)); // 半透明背景
+    // 半透明遮罩不能声明为不透明，否则局部重绘时会叠加上一帧的内容
+    setOpaque(false);
     setVisible(false);
   }
 
@@ -56,9 +70,24 @@ public class LoadingComponent extends JPanel {
         if (animationAngle >= 360) {
           animationAngle = 0;
         }
-        repaint();
+        repaint(getSpinnerBounds());
       }
     });
+    pauseSupport = new AnimationPauseSupport(this, active -> updateAnimation());
+  }
+
+  /**
+   * 根据加载状态和窗口状态启停动画
+   */
+  private void updateAnimation() {
+    if (isVisible && pauseSupport.isActive()) {
+      if (!animationTimer.isRunning()) {
+        animationTimer.start();
+        repaint(getSpinnerBounds());
+      }
+    } else {
+      animationTimer.stop();
+    }
   }
 
   /**
@@ -72,10 +101,10 @@ public class LoadingComponent extends JPanel {
    * 显示加载状态（带自定义文本）
    */
   public void showLoading(String text) {
-    this.loadingText = text;
+    setLoadingText(text);
     isVisible = true;
     setVisible(true);
-    animationTimer.start();
+    updateAnimation();
 
     // 确保组件在最顶层
     if (getParent() != null) {
@@ -88,7 +117,7 @@ public class LoadingComponent extends JPanel {
    */
   public void hideLoading() {
     isVisible = false;
-    animationTimer.stop();
+    updateAnimation();
     setVisible(false);
   }
 
@@ -103,53 +132,87 @@ public class LoadingComponent extends JPanel {
    * 设置加载文本
    */
   public void setLoadingText(String text) {
-    this.loadingText = text;
+    if (!Objects.equals(this.loadingText, text)) {
+      this.loadingText = text;
+      staticLayer = null;
+    }
     repaint();
   }
 
   @Override
   protected void paintComponent(Graphics g) {
-    super.paintComponent(g);
-
-    if (!isVisible) {
+    if (!isVisible || getWidth() <= 0 || getHeight() <= 0) {
       return;
     }
+    long start = frameCost.begin();
+
+    // 遮罩和文本来自缓存，只按当前裁剪区域拷贝
+    g.drawImage(getStaticLayer(), 0, 0, null);
 
     Graphics2D g2d = (Graphics2D) g.create();
     g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+    drawLoadingSpinner(g2d, getWidth() / 2, getHeight() / 2 - 20);
+    g2d.dispose();
 
-    // 绘制半透明背景
-    g2d.setColor(new Color(0, 0, 0, 80));
-    g2d.fillRect(0, 0, getWidth(), getHeight());
-
-    // 计算中心位置
-    int centerX = getWidth() / 2;
-    int centerY = getHeight() / 2;
+    frameCost.end(start);
+  }
 
-    // 绘制加载圆环
-    drawLoadingSpinner(g2d, centerX, centerY - 20);
+  @Override
+  public void setBounds(int x, int y, int width, int height) {
+    if (width != getWidth() || height != getHeight()) {
+      staticLayer = null;
+    }
+    super.setBounds(x, y, width, height);
+  }
 
-    // 绘制加载文本
-    drawLoadingText(g2d, centerX, centerY + 30);
+  /**
+   * 获取静态图层，尺寸或文本变化后重建
+   */
+  private BufferedImage getStaticLayer() {
+    if (staticLayer == null) {
+      int width = getWidth();
+      int height = getHeight();
+      GraphicsConfiguration gc = getGraphicsConfiguration();
+      staticLayer = gc != null
+          ? gc.createCompatibleImage(width, height, Transparency.TRANSLUCENT)
+          : new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+
+      Graphics2D g2d = staticLayer.createGraphics();
+      g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+      g2d.setColor(OVERLAY_COLOR);
+      g2d.fillRect(0, 0, width, height);
+
+      int centerX = width / 2;
+      int centerY = height / 2;
+      int radius = SPINNER_RADIUS;
+      g2d.setStroke(new BasicStroke(SPINNER_STROKE, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+      g2d.setColor(new Color(200, 200, 200, 100));
+      g2d.drawOval(centerX - radius, centerY - 20 - radius, radius * 2, radius * 2);
+
+      drawLoadingText(g2d, centerX, centerY + 30);
+      g2d.dispose();
+    }
+    return staticLayer;
+  }
 
-    g2d.dispose();
+  /**
+   * 旋转器所在区域（含描边），每帧只重绘该区域
+   */
+  private Rectangle getSpinnerBounds() {
+    int extent = SPINNER_RADIUS + SPINNER_STROKE;
+    return new Rectangle(getWidth() / 2 - extent, getHeight() / 2 - 20 - extent, extent * 2 + 1, extent * 2 + 1);
   }
 
   /**
-   * 绘制加载旋转器
+   * 绘制加载旋转器的动态部分
    */
   private void drawLoadingSpinner(Graphics2D g2d, int centerX, int centerY) {
-    int radius = 15;
-    int strokeWidth = 3;
+    int radius = SPINNER_RADIUS;
 
-    g2d.setStroke(new BasicStroke(strokeWidth, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
-
-    // 绘制外圆（背景）
-    g2d.setColor(new Color(200, 200, 200, 100));
-    g2d.drawOval(centerX - radius, centerY - radius, radius * 2, radius * 2);
+    g2d.setStroke(new BasicStroke(SPINNER_STROKE, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
 
     // 绘制旋转的弧（前景）
-    g2d.setColor(new Color(70, 130, 180)); // 蓝色
+    g2d.setColor(SPINNER_COLOR);
     g2d.drawArc(centerX - radius, centerY - radius, radius * 2, radius * 2,
         animationAngle, 90);
 
@@ -158,7 +221,6 @@ public class LoadingComponent extends JPanel {
     int dotX = centerX + (int) (radius * Math.cos(angle));
     int dotY = centerY + (int) (radius * Math.sin(angle));
 
-    g2d.setColor(new Color(70, 130, 180));
     g2d.fillOval(dotX - 2, dotY - 2, 4, 4);
   }
 
@@ -166,8 +228,7 @@ public class LoadingComponent extends JPanel {
    * 绘制加载文本
    */
   private void drawLoadingText(Graphics2D g2d, int centerX, int centerY) {
-    g2d.setColor(Color.WHITE);
-    g2d.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 14));
+    g2d.setFont(TEXT_FONT);
 
     FontMetrics fm = g2d.getFontMetrics();
     int textWidth = fm.stringWidth(loadingText);
@@ -239,5 +300,13 @@ public class LoadingComponent extends JPanel {
     if (animationTimer != null && animationTimer.isRunning()) {
       animationTimer.stop();
     }
+    staticLayer = null;
+  }
+
+  /**
+   * 获取加载动画的帧耗时统计
+   */
+  public static FrameCostMeter getFrameCostMeter() {
+    return frameCost;
   }
 }
\ No newline at end of file
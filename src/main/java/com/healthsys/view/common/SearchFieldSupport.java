@@ -0,0 +1,66 @@
+package com.healthsys.view.common;
+
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.JTextComponent;
+import java.util.function.Consumer;
+
+/**
+ * 搜索框输入支持。
+ * 把用户在搜索框中的输入转交给视图模型做延迟搜索；
+ * 由程序回填文本（如清空条件、同步视图模型的关键词）时不触发搜索。
+ *
+ * @author 梦辰
+ */
+public final class SearchFieldSupport {
+
+  private static final String SETTING_TEXT = SearchFieldSupport.class.getName() + ".settingText";
+
+  private SearchFieldSupport() {
+  }
+
+  /**
+   * 监听用户输入
+   *
+   * @param field   搜索框
+   * @param handler 输入处理器，参数为当前完整文本
+   */
+  public static void onTextTyped(JTextComponent field, Consumer<String> handler) {
+    field.getDocument().addDocumentListener(new DocumentListener() {
+      @Override
+      public void insertUpdate(DocumentEvent e) {
+        textChanged();
+      }
+
+      @Override
+      public void removeUpdate(DocumentEvent e) {
+        textChanged();
+      }
+
+      @Override
+      public void changedUpdate(DocumentEvent e) {
+      }
+
+      private void textChanged() {
+        if (field.getClientProperty(SETTING_TEXT) == null) {
+          handler.accept(field.getText());
+        }
+      }
+    });
+  }
+
+  /**
+   * 由程序设置文本，不触发输入处理器
+   *
+   * @param field 搜索框
+   * @param text  文本
+   */
+  public static void setTextQuietly(JTextComponent field, String text) {
+    field.putClientProperty(SETTING_TEXT, Boolean.TRUE);
+    try {
+      field.setText(text);
+    } finally {
+      field.putClientProperty(SETTING_TEXT, null);
+    }
+  }
+}
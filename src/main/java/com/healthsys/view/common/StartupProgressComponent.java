@@ -0,0 +1,56 @@
+package com.healthsys.view.common;
+
+import com.healthsys.config.StartupOrchestrator;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * 启动进度条组件。
+ * 显示在主窗口底部，后台初始化进行时显示当前进度，完成后自动隐藏；
+ * 数据访问层初始化失败时保留并显示错误。
+ *
+ * @author 梦辰
+ */
+public class StartupProgressComponent extends JPanel implements StartupOrchestrator.ProgressListener {
+
+  private final JLabel statusLabel;
+  private final JProgressBar progressBar;
+
+  /**
+   * 构造函数
+   */
+  public StartupProgressComponent() {
+    super(new BorderLayout(8, 0));
+    setBorder(BorderFactory.createEmptyBorder(4, 10, 4, 10));
+
+    statusLabel = new JLabel("正在连接数据库...");
+    statusLabel.setFont(statusLabel.getFont().deriveFont(12f));
+
+    progressBar = new JProgressBar();
+    progressBar.setIndeterminate(true);
+    progressBar.setPreferredSize(new Dimension(200, 14));
+
+    add(statusLabel, BorderLayout.CENTER);
+    add(progressBar, BorderLayout.EAST);
+  }
+
+  @Override
+  public void onStepCompleted(String step, int completed, int total) {
+    progressBar.setIndeterminate(false);
+    progressBar.setMaximum(total);
+    progressBar.setValue(completed);
+    statusLabel.setText("正在初始化系统... 已完成: " + step + " (" + completed + "/" + total + ")");
+  }
+
+  @Override
+  public void onFinished(Throwable failure) {
+    if (failure == null) {
+      setVisible(false);
+      return;
+    }
+    progressBar.setVisible(false);
+    statusLabel.setForeground(new Color(220, 53, 69));
+    statusLabel.setText("数据库初始化失败，登录等功能不可用: " + failure.getMessage());
+  }
+}
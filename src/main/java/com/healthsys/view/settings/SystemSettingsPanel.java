@@ -22,7 +22,9 @@ import javax.swing.SwingConstants;
 
 import com.healthsys.config.AppContext;
 import com.healthsys.model.entity.User;
+import com.healthsys.model.enums.UserRoleEnum;
 import com.healthsys.view.base.BasePanel;
+import com.healthsys.view.settings.component.PerformanceDiagnosticsComponent;
 
 /**
  * 系统设置面板。
@@ -69,6 +71,13 @@ public class SystemSettingsPanel extends BasePanel {
     // 添加选项卡
     tabbedPane.addTab("账户信息", accountPanel);
     tabbedPane.addTab("关于系统", aboutPanel);
+
+    // 性能诊断只对管理员开放
+    User currentUser = AppContext.getCurrentUser();
+    UserRoleEnum role = currentUser != null ? UserRoleEnum.fromCode(currentUser.getRole()) : null;
+    if (role != null && role.hasAdminPrivileges()) {
+      tabbedPane.addTab("性能诊断", new PerformanceDiagnosticsComponent());
+    }
   }
 
   /**
@@ -327,4 +336,4 @@ public class SystemSettingsPanel extends BasePanel {
 
     JOptionPane.showMessageDialog(this, scrollPane, "开源组件信息", JOptionPane.INFORMATION_MESSAGE);
   }
-}
\ No newline at end of file
+}
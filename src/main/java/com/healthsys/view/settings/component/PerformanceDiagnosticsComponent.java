@@ -0,0 +1,457 @@
+package com.healthsys.view.settings.component;
+
+import com.healthsys.config.AppExecutor;
+import com.healthsys.config.DatabaseConfig;
+import com.healthsys.config.EdtWatchdog;
+import com.healthsys.service.impl.SingleFlight;
+import com.healthsys.service.metrics.ConnectionPoolMetrics;
+import com.healthsys.service.metrics.LatencyHistogram;
+import com.healthsys.service.metrics.MethodMetrics;
+import com.healthsys.service.metrics.QueryMetrics;
+import com.healthsys.service.metrics.ServiceMetrics;
+import com.healthsys.service.metrics.jfr.FlightRecording;
+import com.healthsys.viewmodel.base.SearchPipeline;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.awt.*;
+import java.awt.event.HierarchyEvent;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 性能诊断组件。
+ * 定时显示连接池、后台执行器、内存、EDT事件耗时、缓存命中和各Mapper语句耗时，
+ * 便于现场排查卡顿而无需连接分析工具；需要与GC、线程数据对照时可在此开始并导出飞行记录。
+ * 只在组件可见时刷新；刷新时直接读取各统计的计数器，数值未变化的标签不更新，表格只通知有新调用的行。
+ *
+ * @author 梦辰
+ */
+public class PerformanceDiagnosticsComponent extends JPanel {
+
+  private static final int REFRESH_INTERVAL_MILLIS = 1000;
+  private static final long MB = 1024 * 1024;
+
+  private final Timer refreshTimer;
+  private JButton recordingButton;
+  private JButton dumpRecordingButton;
+  private final StringBuilder text = new StringBuilder(32);
+
+  // 连接池
+  private MetricRow poolActive;
+  private MetricRow poolIdle;
+  private MetricRow poolPending;
+  private MetricRow poolTotal;
+  private MetricRow poolWaitP50;
+  private MetricRow poolWaitP99;
+  private MetricRow poolTimeouts;
+
+  // 后台执行器
+  private MetricRow executorActive;
+  private MetricRow executorQueued;
+  private MetricRow executorWaitingDb;
+  private MetricRow executorDbPermits;
+
+  // 内存
+  private MetricRow heapUsed;
+  private MetricRow heapCommitted;
+  private MetricRow heapMax;
+
+  // EDT
+  private MetricRow edtEvents;
+  private MetricRow edtP50;
+  private MetricRow edtP99;
+  private MetricRow edtMax;
+  private MetricRow edtStalls;
+
+  // 缓存
+  private MetricRow searchHitRatio;
+  private MetricRow searchDeduplicated;
+  private MetricRow serviceCollapseRatio;
+
+  private QueryLatencyTableModel queryTableModel;
+
+  /**
+   * 构造函数
+   */
+  public PerformanceDiagnosticsComponent() {
+    initializeComponents();
+    refreshTimer = new Timer(REFRESH_INTERVAL_MILLIS, e -> refresh());
+
+    // 只在可见时刷新
+    addHierarchyListener(e -> {
+      if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0) {
+        if (isShowing()) {
+          refresh();
+          refreshTimer.start();
+        } else {
+          refreshTimer.stop();
+        }
+      }
+    });
+  }
+
+  /**
+   * 初始化组件
+   */
+  private void initializeComponents() {
+    setLayout(new BorderLayout(0, 10));
+    setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+
+    JPanel summaryPanel = new JPanel(new GridLayout(1, 5, 10, 0));
+
+    JPanel poolPanel = createSection(summaryPanel, "数据库连接池");
+    poolActive = addRow(poolPanel, "活动连接");
+    poolIdle = addRow(poolPanel, "空闲连接");
+    poolPending = addRow(poolPanel, "等待连接的线程");
+    poolTotal = addRow(poolPanel, "总连接");
+    poolWaitP50 = addRow(poolPanel, "获取等待 P50 (ms)");
+    poolWaitP99 = addRow(poolPanel, "获取等待 P99 (ms)");
+    poolTimeouts = addRow(poolPanel, "获取超时次数");
+
+    JPanel executorPanel = createSection(summaryPanel, "后台执行器");
+    executorActive = addRow(executorPanel, "执行中任务");
+    executorQueued = addRow(executorPanel, "排队任务");
+    executorWaitingDb = addRow(executorPanel, "等待数据库许可");
+    executorDbPermits = addRow(executorPanel, "可用数据库许可");
+
+    JPanel memoryPanel = createSection(summaryPanel, "堆内存");
+    heapUsed = addRow(memoryPanel, "已使用 (MB)");
+    heapCommitted = addRow(memoryPanel, "已分配 (MB)");
+    heapMax = addRow(memoryPanel, "最大 (MB)");
+
+    JPanel edtPanel = createSection(summaryPanel, "界面事件 (EDT)");
+    edtEvents = addRow(edtPanel, "事件数");
+    edtP50 = addRow(edtPanel, "耗时 P50 (ms)");
+    edtP99 = addRow(edtPanel, "耗时 P99 (ms)");
+    edtMax = addRow(edtPanel, "最大耗时 (ms)");
+    edtStalls = addRow(edtPanel, "卡顿次数");
+
+    JPanel cachePanel = createSection(summaryPanel, "缓存与合并");
+    searchHitRatio = addRow(cachePanel, "搜索缓存命中率 (%)");
+    searchDeduplicated = addRow(cachePanel, "搜索合并次数");
+    serviceCollapseRatio = addRow(cachePanel, "服务查询合并率 (%)");
+
+    add(summaryPanel, BorderLayout.NORTH);
+
+    queryTableModel = new QueryLatencyTableModel();
+    JTable queryTable = new JTable(queryTableModel);
+    queryTable.setRowHeight(22);
+    queryTable.setAutoCreateRowSorter(true);
+    queryTable.getTableHeader().setReorderingAllowed(false);
+    JScrollPane scrollPane = new JScrollPane(queryTable);
+    scrollPane.setBorder(BorderFactory.createTitledBorder("Mapper 语句耗时"));
+    add(scrollPane, BorderLayout.CENTER);
+
+    JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+    JButton edtReportButton = new JButton("界面响应详细报告");
+    edtReportButton.addActionListener(e -> showResponsivenessReport());
+    JButton exportButton = new JButton("导出服务统计CSV");
+    exportButton.addActionListener(e -> exportServiceMetrics());
+    recordingButton = new JButton();
+    recordingButton.addActionListener(e -> toggleFlightRecording());
+    dumpRecordingButton = new JButton("导出飞行记录");
+    dumpRecordingButton.addActionListener(e -> dumpFlightRecording());
+    updateRecordingButtons();
+    buttonPanel.add(recordingButton);
+    buttonPanel.add(dumpRecordingButton);
+    buttonPanel.add(edtReportButton);
+    buttonPanel.add(exportButton);
+    add(buttonPanel, BorderLayout.SOUTH);
+  }
+
+  private JPanel createSection(JPanel parent, String title) {
+    JPanel section = new JPanel(new GridBagLayout());
+    section.setBorder(BorderFactory.createTitledBorder(title));
+    JPanel wrapper = new JPanel(new BorderLayout());
+    wrapper.add(section, BorderLayout.NORTH);
+    parent.add(wrapper);
+    return section;
+  }
+
+  private MetricRow addRow(JPanel section, String name) {
+    GridBagConstraints gbc = new GridBagConstraints();
+    gbc.gridy = section.getComponentCount() / 2;
+    gbc.insets = new Insets(2, 4, 2, 4);
+    gbc.anchor = GridBagConstraints.WEST;
+
+    gbc.gridx = 0;
+    gbc.weightx = 1;
+    section.add(new JLabel(name), gbc);
+
+    JLabel valueLabel = new JLabel("-");
+    valueLabel.setFont(new Font("Monospaced", Font.BOLD, 12));
+    gbc.gridx = 1;
+    gbc.weightx = 0;
+    gbc.anchor = GridBagConstraints.EAST;
+    section.add(valueLabel, gbc);
+
+    return new MetricRow(valueLabel);
+  }
+
+  /**
+   * 刷新所有统计
+   */
+  private void refresh() {
+    HikariPoolMXBean pool = DatabaseConfig.getPoolMXBean();
+    if (pool != null) {
+      setCount(poolActive, pool.getActiveConnections());
+      setCount(poolIdle, pool.getIdleConnections());
+      setCount(poolPending, pool.getThreadsAwaitingConnection());
+      setCount(poolTotal, pool.getTotalConnections());
+    }
+    LatencyHistogram acquire = ConnectionPoolMetrics.getAcquireLatency();
+    setMillis(poolWaitP50, acquire.getPercentileMicros(50));
+    setMillis(poolWaitP99, acquire.getPercentileMicros(99));
+    setCount(poolTimeouts, ConnectionPoolMetrics.getTimeoutCount());
+
+    setCount(executorActive, AppExecutor.getActiveCount());
+    setCount(executorQueued, AppExecutor.getQueuedCount());
+    setCount(executorWaitingDb, AppExecutor.getWaitingDbTaskCount());
+    setCount(executorDbPermits, AppExecutor.getAvailableDbPermits());
+
+    Runtime runtime = Runtime.getRuntime();
+    setCount(heapUsed, (runtime.totalMemory() - runtime.freeMemory()) / MB);
+    setCount(heapCommitted, runtime.totalMemory() / MB);
+    setCount(heapMax, runtime.maxMemory() / MB);
+
+    LatencyHistogram edt = EdtWatchdog.getOverallLatency();
+    if (edt != null) {
+      setCount(edtEvents, edt.getCount());
+      setMillis(edtP50, edt.getPercentileMicros(50));
+      setMillis(edtP99, edt.getPercentileMicros(99));
+      setMillis(edtMax, edt.getMaxMicros());
+      setCount(edtStalls, EdtWatchdog.getStallCount());
+    }
+
+    // 命中率按需要结果的查询计算，不含输入过程中被后续输入取代而未执行的提交
+    long searchHits = SearchPipeline.getTotalCacheHitCount();
+    setPercent(searchHitRatio, searchHits, searchHits + SearchPipeline.getTotalExecutedCount());
+    setCount(searchDeduplicated, SearchPipeline.getTotalDeduplicatedCount());
+    long collapsed = SingleFlight.getTotalCollapsedCount();
+    setPercent(serviceCollapseRatio, collapsed, collapsed + SingleFlight.getTotalExecutedCount());
+
+    queryTableModel.refresh();
+  }
+
+  private void setCount(MetricRow row, long value) {
+    if (row.update(value)) {
+      text.setLength(0);
+      text.append(value);
+      row.label.setText(text.toString());
+    }
+  }
+
+  /**
+   * 以毫秒显示微秒值，保留一位小数
+   */
+  private void setMillis(MetricRow row, long micros) {
+    long tenths = micros / 100;
+    if (row.update(tenths)) {
+      text.setLength(0);
+      text.append(tenths / 10).append('.').append(tenths % 10);
+      row.label.setText(text.toString());
+    }
+  }
+
+  private void setPercent(MetricRow row, long part, long total) {
+    long tenths = total == 0 ? 0 : part * 1000 / total;
+    if (row.update(tenths)) {
+      text.setLength(0);
+      text.append(tenths / 10).append('.').append(tenths % 10);
+      row.label.setText(text.toString());
+    }
+  }
+
+  /**
+   * 显示EDT事件耗时分布、EDT上的数据库访问和最近的卡顿
+   */
+  private void showResponsivenessReport() {
+    JTextArea textArea = new JTextArea(EdtWatchdog.formatReport());
+    textArea.setEditable(false);
+    textArea.setFont(new Font("Monospaced", Font.PLAIN, 11));
+    textArea.setCaretPosition(0);
+
+    JScrollPane scrollPane = new JScrollPane(textArea);
+    scrollPane.setPreferredSize(new Dimension(900, 500));
+
+    JOptionPane.showMessageDialog(this, scrollPane, "界面响应详细报告", JOptionPane.INFORMATION_MESSAGE);
+  }
+
+  /**
+   * 导出服务层调用统计
+   */
+  private void exportServiceMetrics() {
+    JFileChooser chooser = new JFileChooser();
+    chooser.setSelectedFile(new File("service-metrics.csv"));
+    if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+      return;
+    }
+    try {
+      ServiceMetrics.exportCsv(chooser.getSelectedFile().toPath());
+      JOptionPane.showMessageDialog(this, "已导出到 " + chooser.getSelectedFile().getAbsolutePath(),
+          "导出成功", JOptionPane.INFORMATION_MESSAGE);
+    } catch (IOException e) {
+      JOptionPane.showMessageDialog(this, "导出失败：" + e.getMessage(), "导出失败", JOptionPane.ERROR_MESSAGE);
+    }
+  }
+
+  /**
+   * 开始或停止飞行记录
+   */
+  private void toggleFlightRecording() {
+    try {
+      if (FlightRecording.isRecording()) {
+        FlightRecording.stop();
+      } else {
+        FlightRecording.start();
+      }
+    } catch (IOException | RuntimeException e) {
+      JOptionPane.showMessageDialog(this, "开始飞行记录失败：" + e.getMessage(), "飞行记录", JOptionPane.ERROR_MESSAGE);
+    }
+    updateRecordingButtons();
+  }
+
+  /**
+   * 导出飞行记录，可在 JDK Mission Control 中打开
+   */
+  private void dumpFlightRecording() {
+    JFileChooser chooser = new JFileChooser();
+    chooser.setSelectedFile(new File("healthsys.jfr"));
+    if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+      return;
+    }
+    try {
+      FlightRecording.dump(chooser.getSelectedFile().toPath());
+      JOptionPane.showMessageDialog(this, "已导出到 " + chooser.getSelectedFile().getAbsolutePath(),
+          "导出成功", JOptionPane.INFORMATION_MESSAGE);
+    } catch (IOException | RuntimeException e) {
+      JOptionPane.showMessageDialog(this, "导出失败：" + e.getMessage(), "导出失败", JOptionPane.ERROR_MESSAGE);
+    }
+    updateRecordingButtons();
+  }
+
+  private void updateRecordingButtons() {
+    boolean available = FlightRecording.isAvailable();
+    boolean recording = FlightRecording.isRecording();
+    recordingButton.setText(recording ? "停止飞行记录" : "开始飞行记录");
+    recordingButton.setEnabled(available);
+    dumpRecordingButton.setEnabled(recording);
+  }
+
+  /**
+   * 停止刷新
+   */
+  public void dispose() {
+    refreshTimer.stop();
+  }
+
+  /**
+   * 统计值标签，记录上次显示的值，未变化时不更新文本
+   */
+  private static final class MetricRow {
+    private final JLabel label;
+    private long lastValue = Long.MIN_VALUE;
+
+    MetricRow(JLabel label) {
+      this.label = label;
+    }
+
+    boolean update(long value) {
+      if (value == lastValue) {
+        return false;
+      }
+      lastValue = value;
+      return true;
+    }
+  }
+
+  /**
+   * Mapper 语句耗时表格模型。语句集合变化时才重建行列表，平时只通知调用次数变化的行
+   */
+  private static final class QueryLatencyTableModel extends AbstractTableModel {
+
+    private static final String[] COLUMNS = { "Mapper", "方法", "次数", "异常", "平均(ms)", "P50(ms)", "P90(ms)",
+        "P99(ms)", "最大(ms)" };
+
+    private List<MethodMetrics> rows = new ArrayList<>();
+    private long[] lastCalls = new long[0];
+
+    void refresh() {
+      if (QueryMetrics.size() != rows.size()) {
+        rows = QueryMetrics.getAll();
+        lastCalls = new long[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+          lastCalls[i] = rows.get(i).getCallCount();
+        }
+        fireTableDataChanged();
+        return;
+      }
+      for (int i = 0; i < rows.size(); i++) {
+        long calls = rows.get(i).getCallCount();
+        if (calls != lastCalls[i]) {
+          lastCalls[i] = calls;
+          fireTableRowsUpdated(i, i);
+        }
+      }
+    }
+
+    @Override
+    public int getRowCount() {
+      return rows.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+      return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+      return COLUMNS[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int columnIndex) {
+      if (columnIndex == 2 || columnIndex == 3) {
+        return Long.class;
+      }
+      return columnIndex >= 4 ? Double.class : String.class;
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+      MethodMetrics metrics = rows.get(rowIndex);
+      LatencyHistogram latency = metrics.getLatency();
+      switch (columnIndex) {
+        case 0:
+          return metrics.getServiceName();
+        case 1:
+          return metrics.getMethodName();
+        case 2:
+          return metrics.getCallCount();
+        case 3:
+          return metrics.getErrorCount();
+        case 4:
+          return round(latency.getMeanMicros());
+        case 5:
+          return round(latency.getPercentileMicros(50));
+        case 6:
+          return round(latency.getPercentileMicros(90));
+        case 7:
+          return round(latency.getPercentileMicros(99));
+        case 8:
+          return round(latency.getMaxMicros());
+        default:
+          return null;
+      }
+    }
+
+    private static double round(double micros) {
+      return Math.round(micros / 100.0) / 10.0;
+    }
+  }
+}
@@ -1,6 +1,7 @@
 package com.healthsys.view.user.appointment;
 
 import com.healthsys.view.base.BasePanel;
+import com.healthsys.view.base.NavigationAware;
 import com.healthsys.view.user.appointment.component.AppointmentFormComponent;
 import com.healthsys.view.user.appointment.component.AppointmentHistoryComponent;
 import com.healthsys.viewmodel.user.appointment.AppointmentViewModel;
@@ -14,7 +15,7 @@ import java.awt.*;
  * 
  * @author 梦辰
  */
-public class AppointmentPanel extends BasePanel {
+public class AppointmentPanel extends BasePanel implements NavigationAware {
 
   private AppointmentViewModel viewModel;
   private AppointmentFormComponent appointmentFormComponent;
@@ -25,6 +26,9 @@ public class AppointmentPanel extends BasePanel {
   private JPanel formPanel;
   private JPanel historyPanel;
 
+  // 离开页面时是否中断了加载
+  private boolean reloadOnReturn;
+
   public AppointmentPanel() {
     initializeViewModel();
     initializeComponents();
@@ -185,6 +189,20 @@ public class AppointmentPanel extends BasePanel {
     viewModel.initialize();
   }
 
+  @Override
+  public void onNavigatedAway() {
+    reloadOnReturn = viewModel.cancelLoads();
+  }
+
+  @Override
+  public void onNavigatedTo() {
+    // 离开时加载被中断，回来后重新加载
+    if (reloadOnReturn) {
+      reloadOnReturn = false;
+      viewModel.loadAppointmentHistoryCommand();
+    }
+  }
+
   /**
    * 获取ViewModel
    */
@@ -7,7 +7,8 @@ import java.awt.FlowLayout;
 import java.awt.Font;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.swing.BorderFactory;
 import javax.swing.Box;
@@ -19,13 +20,14 @@ import javax.swing.JScrollPane;
 import javax.swing.JTable;
 import javax.swing.ListSelectionModel;
 import javax.swing.SwingUtilities;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.TableColumnModel;
 
 import com.healthsys.model.entity.Appointment;
 import com.healthsys.model.entity.CheckGroup;
 import com.healthsys.service.ICheckGroupService;
 import com.healthsys.service.impl.CheckGroupServiceImpl;
+import com.healthsys.service.metrics.ServiceMetrics;
+import com.healthsys.view.common.LazyTableModel;
 import com.healthsys.viewmodel.user.appointment.AppointmentViewModel;
 
 /**
@@ -41,7 +43,7 @@ public class AppointmentHistoryComponent extends JPanel {
 
   // UI组件
   private JTable historyTable;
-  private DefaultTableModel tableModel;
+  private LazyTableModel<Appointment> tableModel;
   private JScrollPane scrollPane;
   private JButton refreshButton;
   private JButton cancelButton;
@@ -52,9 +54,12 @@ public class AppointmentHistoryComponent extends JPanel {
       "预约ID", "检查组", "预约日期", "预约时间", "体检方式", "状态", "创建时间"
   };
 
+  // 检查组名称缓存（后台线程格式化行时读取）
+  private final Map<Integer, String> checkGroupNameCache = new ConcurrentHashMap<>();
+
   public AppointmentHistoryComponent(AppointmentViewModel viewModel) {
     this.viewModel = viewModel;
-    this.checkGroupService = new CheckGroupServiceImpl();
+    this.checkGroupService = ServiceMetrics.instrument(ICheckGroupService.class, new CheckGroupServiceImpl());
     initializeComponents();
     setupLayout();
     bindEvents();
@@ -65,13 +70,8 @@ public class AppointmentHistoryComponent extends JPanel {
    * 初始化组件
    */
   private void initializeComponents() {
-    // 创建表格模型
-    tableModel = new DefaultTableModel(columnNames, 0) {
-      @Override
-      public boolean isCellEditable(int row, int column) {
-        return false; // 表格不可编辑
-      }
-    };
+    // 创建表格模型（按滚动位置分块加载，表格不可编辑）
+    tableModel = new LazyTableModel<>(columnNames, this::formatRow);
 
     // 创建表格
     historyTable = new JTable(tableModel);
@@ -177,6 +177,9 @@ public class AppointmentHistoryComponent extends JPanel {
       }
     });
 
+    // 选中行的数据块加载完成后刷新按钮状态
+    tableModel.addTableModelListener(e -> updateButtonStates());
+
     // 监听ViewModel数据变化
     viewModel.addPropertyChangeListener("appointmentHistory", evt -> {
       SwingUtilities.invokeLater(() -> {
@@ -208,13 +211,18 @@ public class AppointmentHistoryComponent extends JPanel {
       return "未知检查组";
     }
 
+    String cached = checkGroupNameCache.get(groupId);
+    if (cached != null) {
+      return cached;
+    }
+
     try {
       CheckGroup checkGroup = checkGroupService.getCheckGroupById(groupId);
-      if (checkGroup != null) {
-        return checkGroup.getGroupName() + " (" + checkGroup.getGroupCode() + ")";
-      } else {
-        return "检查组_" + groupId + " (已删除)";
-      }
+      String name = checkGroup != null
+          ? checkGroup.getGroupName() + " (" + checkGroup.getGroupCode() + ")"
+          : "检查组_" + groupId + " (已删除)";
+      checkGroupNameCache.put(groupId, name);
+      return name;
     } catch (Exception e) {
       return "检查组_" + groupId + " (加载失败)";
     }
@@ -224,39 +232,36 @@ public class AppointmentHistoryComponent extends JPanel {
    * 更新表格数据
    */
   private void updateTableData() {
-    // 清空现有数据
-    tableModel.setRowCount(0);
-
-    // 添加新数据
-    List<Appointment> appointments = viewModel.getAppointmentHistory();
-    if (appointments != null) {
-      for (Appointment appointment : appointments) {
-        Object[] rowData = {
-            appointment.getAppointmentId(),
-            getCheckGroupName(appointment.getGroupId()), // 显示实际检查组名称
-            appointment.getAppointmentDate(),
-            appointment.getAppointmentTime(),
-            appointment.getExaminationMethod(),
-            appointment.getStatus(),
-            appointment.getCreatedAt()
-        };
-        tableModel.addRow(rowData);
-      }
-    }
-
+    checkGroupNameCache.clear();
+    tableModel.setSource(viewModel.getAppointmentHistory());
     updateButtonStates();
   }
 
+  /**
+   * 格式化一行（在后台线程中随数据块调用）
+   */
+  private Object[] formatRow(Appointment appointment) {
+    return new Object[] {
+        appointment.getAppointmentId(),
+        getCheckGroupName(appointment.getGroupId()), // 显示实际检查组名称
+        appointment.getAppointmentDate(),
+        appointment.getAppointmentTime(),
+        appointment.getExaminationMethod(),
+        appointment.getStatus(),
+        appointment.getCreatedAt()
+    };
+  }
+
   /**
    * 更新按钮状态
    */
   private void updateButtonStates() {
     int selectedRow = historyTable.getSelectedRow();
-    boolean hasSelection = selectedRow >= 0;
+    Appointment selected = selectedRow >= 0 ? tableModel.getRow(selectedRow) : null;
 
-    if (hasSelection) {
+    if (selected != null) {
       // 检查状态是否可以取消
-      String status = (String) tableModel.getValueAt(selectedRow, 5);
+      String status = selected.getStatus();
       boolean canCancel = "待确认".equals(status) || "已确认".equals(status);
       cancelButton.setEnabled(canCancel);
     } else {
@@ -268,13 +273,12 @@ public class AppointmentHistoryComponent extends JPanel {
    * 取消选中的预约
    */
   private void cancelSelectedAppointment() {
-    int selectedRow = historyTable.getSelectedRow();
-    if (selectedRow < 0) {
+    Appointment selected = getSelectedAppointment();
+    if (selected == null) {
       return;
     }
 
-    Integer appointmentId = (Integer) tableModel.getValueAt(selectedRow, 0);
-    String status = (String) tableModel.getValueAt(selectedRow, 5);
+    Integer appointmentId = selected.getAppointmentId();
 
     // 确认取消
     int result = JOptionPane.showConfirmDialog(
@@ -298,11 +302,7 @@ public class AppointmentHistoryComponent extends JPanel {
       return null;
     }
 
-    List<Appointment> appointments = viewModel.getAppointmentHistory();
-    if (appointments != null && selectedRow < appointments.size()) {
-      return appointments.get(selectedRow);
-    }
-
-    return null;
+    // 尚未加载的占位行返回null
+    return tableModel.getRow(selectedRow);
   }
 }
\ No newline at end of file
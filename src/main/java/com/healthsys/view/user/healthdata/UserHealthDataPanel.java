@@ -2,6 +2,7 @@ package com.healthsys.view.user.healthdata;
 
 import com.healthsys.model.entity.ExaminationResult;
 import com.healthsys.view.base.BasePanel;
+import com.healthsys.view.base.NavigationAware;
 import com.healthsys.view.user.healthdata.component.SingleExaminationDataEntryDialog;
 import com.healthsys.view.user.healthdata.component.UserHealthDataTableComponent;
 import com.healthsys.view.user.healthdata.component.UserHealthDataSearchComponent;
@@ -20,7 +21,7 @@ import java.util.List;
  * 
  * @author 梦辰
  */
-public class UserHealthDataPanel extends BasePanel {
+public class UserHealthDataPanel extends BasePanel implements NavigationAware {
 
   private static final Logger logger = LoggerFactory.getLogger(UserHealthDataPanel.class);
 
@@ -35,6 +36,9 @@ public class UserHealthDataPanel extends BasePanel {
   private boolean isAdminEntryMode = false;
   private com.healthsys.model.entity.Appointment currentAppointment;
 
+  // 离开页面时是否中断了加载
+  private boolean reloadOnReturn;
+
   public UserHealthDataPanel() {
     initializeViewModel();
     initializeComponents();
@@ -264,6 +268,20 @@ public class UserHealthDataPanel extends BasePanel {
         JOptionPane.INFORMATION_MESSAGE);
   }
 
+  @Override
+  public void onNavigatedAway() {
+    reloadOnReturn = viewModel.cancelLoads();
+  }
+
+  @Override
+  public void onNavigatedTo() {
+    // 离开时加载被中断，回来后重新加载
+    if (reloadOnReturn) {
+      reloadOnReturn = false;
+      viewModel.refreshData();
+    }
+  }
+
   /**
    * 获取ViewModel
    */
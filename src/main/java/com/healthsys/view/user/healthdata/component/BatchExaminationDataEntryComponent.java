@@ -1,21 +1,22 @@
 package com.healthsys.view.user.healthdata.component;
 
+import com.healthsys.analysis.ReferenceRange;
 import com.healthsys.model.entity.Appointment;
 import com.healthsys.model.entity.CheckItem;
 import com.healthsys.model.entity.ExaminationResult;
 import com.healthsys.viewmodel.user.healthdata.BatchExaminationDataEntryViewModel;
 
 import javax.swing.*;
+import javax.swing.table.DefaultTableCellRenderer;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 /**
  * 批量检查项数据录入组件
- * 显示检查组包含的所有检查项，允许批量录入体检数据
+ * 显示检查组包含的所有检查项，允许批量录入体检数据。
+ * 使用可编辑表格录入，只为可见行绘制单元格，检查项很多的套餐也能快速打开。
  * 
  * @author 梦辰
  */
@@ -26,7 +27,9 @@ public class BatchExaminationDataEntryComponent extends JPanel {
 
   // UI组件
   private JPanel headerPanel;
-  private JPanel contentPanel;
+  private JTable entryTable;
+  private BatchExaminationEntryTableModel tableModel;
+  private JLabel summaryLabel;
   private JScrollPane scrollPane;
   private JPanel buttonPanel;
 
@@ -35,9 +38,6 @@ public class BatchExaminationDataEntryComponent extends JPanel {
   private JButton cancelButton;
   private JButton backButton;
 
-  // 检查项录入行组件列表
-  private List<ExaminationItemInputRowComponent> inputRowComponents;
-
   // 回调接口
   private Runnable onSaveCallback;
   private Runnable onCancelCallback;
@@ -45,7 +45,6 @@ public class BatchExaminationDataEntryComponent extends JPanel {
   public BatchExaminationDataEntryComponent(Appointment appointment) {
     this.appointment = appointment;
     this.viewModel = new BatchExaminationDataEntryViewModel(appointment);
-    this.inputRowComponents = new ArrayList<>();
 
     initializeComponents();
     setupLayout();
@@ -95,15 +94,42 @@ public class BatchExaminationDataEntryComponent extends JPanel {
    * 创建内容面板
    */
   private void createContentPanel() {
-    contentPanel = new JPanel();
-    contentPanel.setLayout(new BoxLayout(contentPanel, BoxLayout.Y_AXIS));
-    contentPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+    tableModel = new BatchExaminationEntryTableModel();
+    entryTable = new JTable(tableModel);
+    entryTable.setRowHeight(30);
+    entryTable.setFont(new Font("微软雅黑", Font.PLAIN, 12));
+    entryTable.getTableHeader().setFont(new Font("微软雅黑", Font.BOLD, 12));
+    entryTable.getTableHeader().setReorderingAllowed(false);
+    entryTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+    entryTable.setSurrendersFocusOnKeystroke(true);
+    // 点击保存等按钮时提交正在编辑的单元格
+    entryTable.putClientProperty("terminateEditOnFocusLost", Boolean.TRUE);
+
+    EntryCellRenderer renderer = new EntryCellRenderer();
+    for (int i = 0; i < tableModel.getColumnCount(); i++) {
+      entryTable.getColumnModel().getColumn(i).setCellRenderer(renderer);
+    }
+    entryTable.getColumnModel().getColumn(BatchExaminationEntryTableModel.COLUMN_NAME).setPreferredWidth(150);
+    entryTable.getColumnModel().getColumn(BatchExaminationEntryTableModel.COLUMN_VALUE).setPreferredWidth(120);
+    entryTable.getColumnModel().getColumn(BatchExaminationEntryTableModel.COLUMN_REFERENCE).setPreferredWidth(120);
+    entryTable.getColumnModel().getColumn(BatchExaminationEntryTableModel.COLUMN_UNIT).setPreferredWidth(80);
+    entryTable.getColumnModel().getColumn(BatchExaminationEntryTableModel.COLUMN_NOTES).setPreferredWidth(150);
+
+    JTextField editorField = new JTextField();
+    editorField.setBorder(BorderFactory.createLineBorder(new Color(70, 130, 180)));
+    DefaultCellEditor editor = new DefaultCellEditor(editorField);
+    editor.setClickCountToStart(1);
+    entryTable.setDefaultEditor(Object.class, editor);
 
     // 创建滚动面板
-    scrollPane = new JScrollPane(contentPanel);
+    scrollPane = new JScrollPane(entryTable);
     scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
     scrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
     scrollPane.getVerticalScrollBar().setUnitIncrement(16);
+
+    summaryLabel = new JLabel(" ");
+    summaryLabel.setFont(new Font("微软雅黑", Font.PLAIN, 12));
+    tableModel.addTableModelListener(e -> updateSummary());
   }
 
   /**
@@ -112,6 +138,7 @@ public class BatchExaminationDataEntryComponent extends JPanel {
   private void createButtonPanel() {
     buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
     buttonPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+    buttonPanel.add(summaryLabel);
 
     backButton = new JButton("返回");
     backButton.setPreferredSize(new Dimension(80, 35));
@@ -192,72 +219,42 @@ public class BatchExaminationDataEntryComponent extends JPanel {
    * 更新检查项显示
    */
   private void updateCheckItemsDisplay() {
-    // 清空现有组件
-    contentPanel.removeAll();
-    inputRowComponents.clear();
-
+    if (entryTable.isEditing()) {
+      entryTable.getCellEditor().cancelCellEditing();
+    }
     List<CheckItem> checkItems = viewModel.getCheckItems();
+    tableModel.setCheckItems(checkItems);
     if (checkItems == null || checkItems.isEmpty()) {
-      JLabel noDataLabel = new JLabel("暂无检查项数据", JLabel.CENTER);
-      noDataLabel.setFont(new Font("微软雅黑", Font.PLAIN, 14));
-      noDataLabel.setForeground(Color.GRAY);
-      contentPanel.add(noDataLabel);
-    } else {
-      // 添加表头
-      JPanel headerRow = createTableHeader();
-      contentPanel.add(headerRow);
-      contentPanel.add(Box.createVerticalStrut(10));
-
-      // 为每个检查项创建录入行
-      for (CheckItem checkItem : checkItems) {
-        ExaminationItemInputRowComponent rowComponent = new ExaminationItemInputRowComponent(checkItem);
-        inputRowComponents.add(rowComponent);
-        contentPanel.add(rowComponent);
-        contentPanel.add(Box.createVerticalStrut(5));
-      }
+      summaryLabel.setText("暂无检查项数据");
     }
-
-    // 重新验证和绘制
-    contentPanel.revalidate();
-    contentPanel.repaint();
   }
 
   /**
-   * 创建表头
+   * 更新录入统计
    */
-  private JPanel createTableHeader() {
-    JPanel header = new JPanel(new GridLayout(1, 5, 10, 0));
-    header.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
-    header.setBackground(new Color(248, 249, 250));
-
-    JLabel nameLabel = new JLabel("检查项名称");
-    nameLabel.setFont(new Font("微软雅黑", Font.BOLD, 12));
-
-    JLabel valueLabel = new JLabel("测量值");
-    valueLabel.setFont(new Font("微软雅黑", Font.BOLD, 12));
-
-    JLabel referenceLabel = new JLabel("参考值");
-    referenceLabel.setFont(new Font("微软雅黑", Font.BOLD, 12));
-
-    JLabel unitLabel = new JLabel("单位");
-    unitLabel.setFont(new Font("微软雅黑", Font.BOLD, 12));
-
-    JLabel notesLabel = new JLabel("备注");
-    notesLabel.setFont(new Font("微软雅黑", Font.BOLD, 12));
-
-    header.add(nameLabel);
-    header.add(valueLabel);
-    header.add(referenceLabel);
-    header.add(unitLabel);
-    header.add(notesLabel);
-
-    return header;
+  private void updateSummary() {
+    if (tableModel.getRowCount() == 0) {
+      summaryLabel.setText(" ");
+      return;
+    }
+    String text = "共 " + tableModel.getRowCount() + " 项，已录入 " + tableModel.getFilledCount() + " 项";
+    if (tableModel.getInvalidCount() > 0) {
+      summaryLabel.setForeground(Color.RED);
+      summaryLabel.setText(text + "，" + tableModel.getInvalidCount() + " 项有误");
+    } else {
+      summaryLabel.setForeground(UIManager.getColor("Label.foreground"));
+      summaryLabel.setText(text);
+    }
   }
 
   /**
    * 保存体检数据
    */
   private void saveExaminationData() {
+    if (entryTable.isEditing() && !entryTable.getCellEditor().stopCellEditing()) {
+      return;
+    }
+
     // 验证输入数据
     if (!validateInputData()) {
       return;
@@ -310,28 +307,31 @@ public class BatchExaminationDataEntryComponent extends JPanel {
    * 验证输入数据
    */
   private boolean validateInputData() {
-    for (ExaminationItemInputRowComponent rowComponent : inputRowComponents) {
-      if (!rowComponent.validateInput()) {
-        return false;
-      }
+    int invalidRow = tableModel.getFirstInvalidRow();
+    if (invalidRow < 0) {
+      return true;
     }
-    return true;
+    entryTable.setRowSelectionInterval(invalidRow, invalidRow);
+    entryTable.scrollRectToVisible(entryTable.getCellRect(invalidRow, 0, true));
+    JOptionPane.showMessageDialog(this,
+        tableModel.getValueAt(invalidRow, BatchExaminationEntryTableModel.COLUMN_NAME) + "："
+            + tableModel.getError(invalidRow),
+        "输入有误",
+        JOptionPane.WARNING_MESSAGE);
+    return false;
   }
 
   /**
    * 收集体检结果数据
    */
   private List<ExaminationResult> collectExaminationResults() {
-    List<ExaminationResult> results = new ArrayList<>();
-
-    for (ExaminationItemInputRowComponent rowComponent : inputRowComponents) {
-      ExaminationResult result = rowComponent.getExaminationResult();
-      if (result != null && result.getMeasuredValue() != null && !result.getMeasuredValue().trim().isEmpty()) {
-        // 设置预约和用户信息
-        result.setAppointmentId(appointment.getAppointmentId());
-        result.setUserId(appointment.getUserId());
-        results.add(result);
-      }
+    List<ExaminationResult> results = tableModel.collectResults();
+
+    for (ExaminationResult result : results) {
+      // 设置预约、用户和检查组信息
+      result.setAppointmentId(appointment.getAppointmentId());
+      result.setUserId(appointment.getUserId());
+      result.setGroupId(appointment.getGroupId());
     }
 
     return results;
@@ -357,4 +357,63 @@ public class BatchExaminationDataEntryComponent extends JPanel {
   public BatchExaminationDataEntryViewModel getViewModel() {
     return viewModel;
   }
+
+  /**
+   * 录入表格渲染器：标记无效的输入和超出参考范围的测量值
+   */
+  private class EntryCellRenderer extends DefaultTableCellRenderer {
+
+    private final Color invalidBackground = new Color(255, 235, 235);
+    private final Color abnormalForeground = new Color(220, 120, 0);
+
+    @Override
+    public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected,
+        boolean hasFocus, int row, int column) {
+      super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
+      int modelRow = table.convertRowIndexToModel(row);
+      String error = tableModel.getError(modelRow);
+      setToolTipText(null);
+
+      if (!isSelected) {
+        setBackground(error != null ? invalidBackground : table.getBackground());
+        setForeground(table.getForeground());
+      }
+
+      switch (column) {
+        case BatchExaminationEntryTableModel.COLUMN_VALUE:
+          if (error != null) {
+            setToolTipText(error);
+          } else if (tableModel.isAbnormal(modelRow)) {
+            ReferenceRange range = tableModel.getReferenceRange(modelRow);
+            setForeground(abnormalForeground);
+            setToolTipText("超出参考范围（" + describe(range) + "）");
+          } else {
+            setToolTipText("请输入测量值");
+          }
+          break;
+        case BatchExaminationEntryTableModel.COLUMN_REFERENCE:
+        case BatchExaminationEntryTableModel.COLUMN_UNIT:
+          if (!isSelected) {
+            setForeground(Color.GRAY);
+          }
+          break;
+        case BatchExaminationEntryTableModel.COLUMN_NOTES:
+          setToolTipText(error != null ? error : "可选：添加备注信息");
+          break;
+        default:
+          break;
+      }
+      return this;
+    }
+
+    private String describe(ReferenceRange range) {
+      if (range.getLow() == Double.NEGATIVE_INFINITY) {
+        return "≤" + range.getHigh();
+      }
+      if (range.getHigh() == Double.POSITIVE_INFINITY) {
+        return "≥" + range.getLow();
+      }
+      return range.getLow() + "-" + range.getHigh();
+    }
+  }
 }
\ No newline at end of file
@@ -0,0 +1,252 @@
+package com.healthsys.view.user.healthdata.component;
+
+import com.healthsys.analysis.ReferenceRange;
+import com.healthsys.model.entity.CheckItem;
+import com.healthsys.model.entity.ExaminationResult;
+
+import javax.swing.table.AbstractTableModel;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * 批量体检数据录入表格模型。
+ * 每个检查项一行，录入状态保存在按行下标访问的数组中；
+ * 编辑单元格时只重新校验该行，并增量维护无效行数和已录入行数，保存前无需遍历所有行。
+ * 参考范围按参考值文本解析后缓存，用于提示超出范围的测量值。
+ *
+ * @author 梦辰
+ */
+public class BatchExaminationEntryTableModel extends AbstractTableModel {
+
+  public static final int COLUMN_NAME = 0;
+  public static final int COLUMN_VALUE = 1;
+  public static final int COLUMN_REFERENCE = 2;
+  public static final int COLUMN_UNIT = 3;
+  public static final int COLUMN_NOTES = 4;
+
+  private static final String[] COLUMN_NAMES = { "检查项名称", "测量值", "参考值", "单位", "备注" };
+
+  private static final int MAX_VALUE_LENGTH = 255;
+  private static final int MAX_NOTES_LENGTH = 1000;
+  private static final Pattern NUMERIC_PATTERN = Pattern.compile("^\\d*\\.?\\d*$");
+
+  /**
+   * 参考值文本到参考范围的缓存，所有录入表格共用
+   */
+  private static final Map<String, ReferenceRange> RANGE_CACHE = new ConcurrentHashMap<>();
+
+  private CheckItem[] items = new CheckItem[0];
+  private ReferenceRange[] ranges = new ReferenceRange[0];
+  private String[] values = new String[0];
+  private String[] notes = new String[0];
+  private String[] errors = new String[0];
+  private boolean[] abnormal = new boolean[0];
+
+  private int invalidCount;
+  private int filledCount;
+
+  /**
+   * 设置检查项，清空已录入的数据
+   *
+   * @param checkItems 检查项列表
+   */
+  public void setCheckItems(List<CheckItem> checkItems) {
+    int size = checkItems != null ? checkItems.size() : 0;
+    items = new CheckItem[size];
+    ranges = new ReferenceRange[size];
+    values = new String[size];
+    notes = new String[size];
+    errors = new String[size];
+    abnormal = new boolean[size];
+    invalidCount = 0;
+    filledCount = 0;
+
+    for (int i = 0; i < size; i++) {
+      CheckItem item = checkItems.get(i);
+      items[i] = item;
+      ranges[i] = rangeOf(item.getReferenceVal());
+      values[i] = "";
+      notes[i] = "";
+    }
+    fireTableDataChanged();
+  }
+
+  @Override
+  public int getRowCount() {
+    return items.length;
+  }
+
+  @Override
+  public int getColumnCount() {
+    return COLUMN_NAMES.length;
+  }
+
+  @Override
+  public String getColumnName(int column) {
+    return COLUMN_NAMES[column];
+  }
+
+  @Override
+  public boolean isCellEditable(int rowIndex, int columnIndex) {
+    return columnIndex == COLUMN_VALUE || columnIndex == COLUMN_NOTES;
+  }
+
+  @Override
+  public Object getValueAt(int rowIndex, int columnIndex) {
+    CheckItem item = items[rowIndex];
+    switch (columnIndex) {
+      case COLUMN_NAME:
+        return item.getItemName();
+      case COLUMN_VALUE:
+        return values[rowIndex];
+      case COLUMN_REFERENCE:
+        return item.getReferenceVal() != null ? item.getReferenceVal() : "-";
+      case COLUMN_UNIT:
+        return item.getUnit() != null ? item.getUnit() : "-";
+      case COLUMN_NOTES:
+        return notes[rowIndex];
+      default:
+        return null;
+    }
+  }
+
+  @Override
+  public void setValueAt(Object aValue, int rowIndex, int columnIndex) {
+    String text = aValue != null ? aValue.toString() : "";
+    if (columnIndex == COLUMN_VALUE) {
+      if (text.equals(values[rowIndex])) {
+        return;
+      }
+      boolean wasFilled = !values[rowIndex].trim().isEmpty();
+      values[rowIndex] = text;
+      boolean filled = !text.trim().isEmpty();
+      filledCount += (filled ? 1 : 0) - (wasFilled ? 1 : 0);
+    } else if (columnIndex == COLUMN_NOTES) {
+      if (text.equals(notes[rowIndex])) {
+        return;
+      }
+      notes[rowIndex] = text;
+    } else {
+      return;
+    }
+    validateRow(rowIndex);
+    fireTableRowsUpdated(rowIndex, rowIndex);
+  }
+
+  /**
+   * 校验单行并更新无效行计数
+   */
+  private void validateRow(int row) {
+    boolean wasInvalid = errors[row] != null;
+    String value = values[row].trim();
+    String error = null;
+    boolean outOfRange = false;
+
+    if (!value.isEmpty()) {
+      if (NUMERIC_PATTERN.matcher(value).matches() && !value.equals(".")) {
+        try {
+          outOfRange = ranges[row].isAbnormal(Double.parseDouble(value));
+        } catch (NumberFormatException e) {
+          error = "请输入有效的数值";
+        }
+      } else if (value.length() > MAX_VALUE_LENGTH) {
+        error = "测量值不能超过" + MAX_VALUE_LENGTH + "个字符";
+      }
+    }
+    if (error == null && notes[row].trim().length() > MAX_NOTES_LENGTH) {
+      error = "备注不能超过" + MAX_NOTES_LENGTH + "个字符";
+    }
+
+    errors[row] = error;
+    abnormal[row] = outOfRange;
+    invalidCount += (error != null ? 1 : 0) - (wasInvalid ? 1 : 0);
+  }
+
+  /**
+   * 获取行的校验错误
+   *
+   * @return 错误信息，有效时返回null
+   */
+  public String getError(int row) {
+    return errors[row];
+  }
+
+  /**
+   * 测量值是否超出参考范围
+   */
+  public boolean isAbnormal(int row) {
+    return abnormal[row];
+  }
+
+  /**
+   * 获取行的参考范围
+   */
+  public ReferenceRange getReferenceRange(int row) {
+    return ranges[row];
+  }
+
+  /**
+   * 无效行数
+   */
+  public int getInvalidCount() {
+    return invalidCount;
+  }
+
+  /**
+   * 已录入测量值的行数
+   */
+  public int getFilledCount() {
+    return filledCount;
+  }
+
+  /**
+   * 第一个无效行
+   *
+   * @return 行下标，全部有效时返回-1
+   */
+  public int getFirstInvalidRow() {
+    if (invalidCount == 0) {
+      return -1;
+    }
+    for (int i = 0; i < errors.length; i++) {
+      if (errors[i] != null) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * 收集已录入测量值的体检结果
+   *
+   * @return 体检结果，未设置预约和用户信息
+   */
+  public List<ExaminationResult> collectResults() {
+    List<ExaminationResult> results = new ArrayList<>(filledCount);
+    LocalDateTime now = LocalDateTime.now();
+    for (int i = 0; i < items.length; i++) {
+      String value = values[i].trim();
+      if (value.isEmpty()) {
+        continue;
+      }
+      ExaminationResult result = new ExaminationResult();
+      result.setItemId(items[i].getItemId());
+      result.setMeasuredValue(value);
+      result.setResultNotes(notes[i].trim());
+      result.setRecordedAt(now);
+      results.add(result);
+    }
+    return results;
+  }
+
+  private static ReferenceRange rangeOf(String referenceVal) {
+    if (referenceVal == null) {
+      return ReferenceRange.UNBOUNDED;
+    }
+    return RANGE_CACHE.computeIfAbsent(referenceVal, ReferenceRange::parse);
+  }
+}
@@ -7,6 +7,7 @@ import com.healthsys.service.ICheckGroupService;
 import com.healthsys.service.IExaminationResultService;
 import com.healthsys.service.impl.CheckGroupServiceImpl;
 import com.healthsys.service.impl.ExaminationResultServiceImpl;
+import com.healthsys.service.metrics.ServiceMetrics;
 
 import javax.swing.*;
 import java.awt.*;
@@ -46,8 +47,9 @@ public class SingleExaminationDataEntryDialog extends JDialog {
   public SingleExaminationDataEntryDialog(Frame parent, Appointment appointment) {
     super(parent, "录入体检数据", true);
     this.appointment = appointment;
-    this.checkGroupService = new CheckGroupServiceImpl();
-    this.examinationResultService = new ExaminationResultServiceImpl();
+    this.checkGroupService = ServiceMetrics.instrument(ICheckGroupService.class, new CheckGroupServiceImpl());
+    this.examinationResultService = ServiceMetrics.instrument(IExaminationResultService.class,
+        new ExaminationResultServiceImpl());
 
     initializeComponents();
     setupLayout();
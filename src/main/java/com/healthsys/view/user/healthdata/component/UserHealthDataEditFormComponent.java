@@ -1,9 +1,11 @@
 package com.healthsys.view.user.healthdata.component;
 
+import com.healthsys.config.AppExecutor;
 import com.healthsys.model.entity.CheckItem;
 import com.healthsys.model.entity.ExaminationResult;
 import com.healthsys.service.ICheckItemService;
 import com.healthsys.service.impl.CheckItemServiceImpl;
+import com.healthsys.service.metrics.ServiceMetrics;
 
 import javax.swing.*;
 import java.awt.*;
@@ -12,7 +14,6 @@ import java.awt.event.ActionListener;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
 
 /**
  * 健康数据编辑表单组件
@@ -50,7 +51,7 @@ public class UserHealthDataEditFormComponent extends JDialog {
   public UserHealthDataEditFormComponent(Frame parent) {
     super(parent, "添加健康数据", true);
     this.isEditMode = false;
-    this.checkItemService = new CheckItemServiceImpl();
+    this.checkItemService = ServiceMetrics.instrument(ICheckItemService.class, new CheckItemServiceImpl());
     initializeComponents();
     setupLayout();
     bindEvents();
@@ -64,7 +65,7 @@ public class UserHealthDataEditFormComponent extends JDialog {
     super(parent, "编辑健康数据", true);
     this.isEditMode = true;
     this.editingResult = result;
-    this.checkItemService = new CheckItemServiceImpl();
+    this.checkItemService = ServiceMetrics.instrument(ICheckItemService.class, new CheckItemServiceImpl());
     initializeComponents();
     setupLayout();
     bindEvents();
@@ -254,7 +255,7 @@ public class UserHealthDataEditFormComponent extends JDialog {
    * 加载检查项数据
    */
   private void loadCheckItems() {
-    CompletableFuture.supplyAsync(() -> {
+    AppExecutor.supplyDbAsync("UserHealthDataEditFormComponent.loadCheckItems", () -> {
       try {
         return checkItemService.getAllActiveCheckItems();
       } catch (Exception e) {
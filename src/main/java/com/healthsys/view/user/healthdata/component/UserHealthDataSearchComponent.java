@@ -4,6 +4,8 @@ import com.healthsys.config.AppContext;
 import com.healthsys.model.entity.Appointment;
 import com.healthsys.service.IAppointmentService;
 import com.healthsys.service.impl.AppointmentServiceImpl;
+import com.healthsys.service.metrics.ServiceMetrics;
+import com.healthsys.view.common.SearchFieldSupport;
 import com.healthsys.viewmodel.user.healthdata.UserHealthDataViewModel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,7 +51,7 @@ public class UserHealthDataSearchComponent extends JPanel {
 
   public UserHealthDataSearchComponent(UserHealthDataViewModel viewModel) {
     this.viewModel = viewModel;
-    this.appointmentService = new AppointmentServiceImpl();
+    this.appointmentService = ServiceMetrics.instrument(IAppointmentService.class, new AppointmentServiceImpl());
     initializeComponents();
     setupLayout();
     bindEvents();
@@ -190,6 +192,9 @@ public class UserHealthDataSearchComponent extends JPanel {
       }
     });
 
+    // 输入时自动搜索
+    SearchFieldSupport.onTextTyped(searchField, viewModel::onSearchTextChanged);
+
     // 日期范围选择变化事件
     dateRangeCombo.addActionListener(new ActionListener() {
       @Override
@@ -224,7 +229,7 @@ public class UserHealthDataSearchComponent extends JPanel {
       SwingUtilities.invokeLater(() -> {
         String newKeyword = (String) evt.getNewValue();
         if (!searchField.getText().equals(newKeyword)) {
-          searchField.setText(newKeyword);
+          SearchFieldSupport.setTextQuietly(searchField, newKeyword);
         }
       });
     });
@@ -304,7 +309,7 @@ public class UserHealthDataSearchComponent extends JPanel {
     logger.debug("清空搜索条件");
 
     // 清空输入框
-    searchField.setText("");
+    SearchFieldSupport.setTextQuietly(searchField, "");
     dateRangeCombo.setSelectedIndex(0);
     appointmentCombo.setSelectedIndex(0);
 
@@ -321,7 +326,7 @@ public class UserHealthDataSearchComponent extends JPanel {
    * 设置搜索控件启用状态
    */
   private void setSearchEnabled(boolean enabled) {
-    searchField.setEnabled(enabled);
+    // 搜索框保持可用，加载期间可以继续输入
     searchButton.setEnabled(enabled);
     clearButton.setEnabled(enabled);
     dateRangeCombo.setEnabled(enabled);
@@ -334,7 +339,7 @@ public class UserHealthDataSearchComponent extends JPanel {
   }
 
   public void setSearchKeyword(String keyword) {
-    searchField.setText(keyword != null ? keyword : "");
+    SearchFieldSupport.setTextQuietly(searchField, keyword != null ? keyword : "");
   }
 
   public String getSelectedDateRange() {
@@ -1,17 +1,16 @@
 package com.healthsys.view.user.healthdata.component;
 
 import com.healthsys.model.entity.ExaminationResult;
+import com.healthsys.view.common.LazyTableModel;
 import com.healthsys.viewmodel.user.healthdata.UserHealthDataViewModel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.TableColumnModel;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.util.List;
 
 /**
  * 用户健康数据表格组件
@@ -27,7 +26,7 @@ public class UserHealthDataTableComponent extends JPanel {
 
   // 表格组件
   private JTable dataTable;
-  private DefaultTableModel tableModel;
+  private LazyTableModel<ExaminationResult> tableModel;
   private JScrollPane scrollPane;
 
   // 表格列名
@@ -56,13 +55,8 @@ public class UserHealthDataTableComponent extends JPanel {
    * 初始化组件
    */
   private void initializeComponents() {
-    // 创建表格模型
-    tableModel = new DefaultTableModel(columnNames, 0) {
-      @Override
-      public boolean isCellEditable(int row, int column) {
-        return false; // 所有单元格不可编辑
-      }
-    };
+    // 创建表格模型（按滚动位置分块加载，所有单元格不可编辑）
+    tableModel = new LazyTableModel<>(columnNames, this::formatRow);
 
     // 创建表格
     dataTable = new JTable(tableModel);
@@ -107,13 +101,7 @@ public class UserHealthDataTableComponent extends JPanel {
     // 表格选择事件
     dataTable.getSelectionModel().addListSelectionListener(e -> {
       if (!e.getValueIsAdjusting()) {
-        int selectedRow = dataTable.getSelectedRow();
-        ExaminationResult selectedResult = null;
-
-        if (selectedRow >= 0) {
-          Integer resultId = (Integer) tableModel.getValueAt(selectedRow, 0);
-          selectedResult = findResultById(resultId);
-        }
+        ExaminationResult selectedResult = getSelectedResult();
 
         if (selectionCallback != null) {
           selectionCallback.onSelectionChanged(selectedResult);
@@ -126,14 +114,9 @@ public class UserHealthDataTableComponent extends JPanel {
       @Override
       public void mouseClicked(MouseEvent e) {
         if (e.getClickCount() == 2) {
-          int selectedRow = dataTable.getSelectedRow();
-          if (selectedRow >= 0) {
-            Integer resultId = (Integer) tableModel.getValueAt(selectedRow, 0);
-            ExaminationResult selectedResult = findResultById(resultId);
-
-            if (selectionCallback != null && selectedResult != null) {
-              selectionCallback.onDoubleClick(selectedResult);
-            }
+          ExaminationResult selectedResult = getSelectedResult();
+          if (selectionCallback != null && selectedResult != null) {
+            selectionCallback.onDoubleClick(selectedResult);
           }
         }
       }
@@ -144,7 +127,7 @@ public class UserHealthDataTableComponent extends JPanel {
    * 绑定ViewModel事件
    */
   private void bindViewModelEvents() {
-    viewModel.addPropertyChangeListener("healthDataList", evt -> {
+    viewModel.addPropertyChangeListener("healthDataSource", evt -> {
       SwingUtilities.invokeLater(this::updateTableData);
     });
   }
@@ -153,43 +136,24 @@ public class UserHealthDataTableComponent extends JPanel {
    * 更新表格数据
    */
   private void updateTableData() {
-    // 清空现有数据
-    tableModel.setRowCount(0);
-
-    // 添加新数据
-    List<ExaminationResult> dataList = viewModel.getHealthDataList();
-    if (dataList != null) {
-      for (ExaminationResult result : dataList) {
-        Object[] rowData = {
-            result.getResultId(), // 记录ID
-            result.getRecordedAt() != null ? result.getRecordedAt().toLocalDate().toString() : "-", // 记录日期
-            viewModel.getCheckGroupName(result.getGroupId()), // 检查组名称
-            viewModel.getCheckItemName(result.getItemId()), // 检查项名称
-            result.getMeasuredValue(), // 测量值
-            viewModel.getCheckItemReferenceValue(result.getItemId()), // 参考值
-            result.getResultNotes() != null ? result.getResultNotes() : "-", // 备注
-            result.getRecordedAt() != null ? result.getRecordedAt().toString() : "-" // 记录时间
-        };
-        tableModel.addRow(rowData);
-      }
-    }
-
-    logger.debug("表格数据已更新，共 {} 条记录", dataList != null ? dataList.size() : 0);
+    tableModel.setSource(viewModel.getHealthDataSource());
+    logger.debug("表格数据源已更新");
   }
 
   /**
-   * 根据ID查找结果对象
+   * 格式化一行（在后台线程中随数据块调用）
    */
-  private ExaminationResult findResultById(Integer resultId) {
-    List<ExaminationResult> dataList = viewModel.getHealthDataList();
-    if (dataList != null) {
-      for (ExaminationResult result : dataList) {
-        if (result.getResultId().equals(resultId)) {
-          return result;
-        }
-      }
-    }
-    return null;
+  private Object[] formatRow(ExaminationResult result) {
+    return new Object[] {
+        result.getResultId(), // 记录ID
+        result.getRecordedAt() != null ? result.getRecordedAt().toLocalDate().toString() : "-", // 记录日期
+        viewModel.getCheckGroupName(result.getGroupId()), // 检查组名称
+        viewModel.getCheckItemName(result.getItemId()), // 检查项名称
+        result.getMeasuredValue(), // 测量值
+        viewModel.getCheckItemReferenceValue(result.getItemId()), // 参考值
+        result.getResultNotes() != null ? result.getResultNotes() : "-", // 备注
+        result.getRecordedAt() != null ? result.getRecordedAt().toString() : "-" // 记录时间
+    };
   }
 
   /**
@@ -197,11 +161,8 @@ public class UserHealthDataTableComponent extends JPanel {
    */
   public ExaminationResult getSelectedResult() {
     int selectedRow = dataTable.getSelectedRow();
-    if (selectedRow >= 0) {
-      Integer resultId = (Integer) tableModel.getValueAt(selectedRow, 0);
-      return findResultById(resultId);
-    }
-    return null;
+    // 尚未加载的占位行返回null
+    return selectedRow >= 0 ? tableModel.getRow(selectedRow) : null;
   }
 
   /**
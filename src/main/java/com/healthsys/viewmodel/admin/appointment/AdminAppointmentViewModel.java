@@ -11,16 +11,19 @@ import com.healthsys.service.impl.AppointmentServiceImpl;
 import com.healthsys.service.impl.CheckGroupServiceImpl;
 import com.healthsys.config.DataAccessManager;
 import com.healthsys.config.AppContext;
+import com.healthsys.config.AppExecutor;
+import com.healthsys.service.metrics.ServiceMetrics;
 import com.healthsys.viewmodel.base.BaseViewModel;
+import com.healthsys.viewmodel.base.RowSource;
+import com.healthsys.viewmodel.base.SearchPipeline;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.swing.*;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 管理员预约管理视图模型。
@@ -32,15 +35,30 @@ public class AdminAppointmentViewModel extends BaseViewModel {
 
   private static final Logger logger = LoggerFactory.getLogger(AdminAppointmentViewModel.class);
 
+  /**
+   * 加载与搜索共用的通道，后发起的请求取消先前的请求
+   */
+  private static final String LOAD_CHANNEL = "appointments";
+
+  /**
+   * 输入过程中触发自动搜索的最小关键词长度
+   */
+  private static final int MIN_SEARCH_LENGTH = 1;
+
+  /**
+   * 搜索时随行数一起读取的首块行数，与表格的数据块大小一致
+   */
+  private static final int FIRST_BLOCK_SIZE = 100;
+
   private final IAppointmentService appointmentService;
   private final ICheckGroupService checkGroupService;
   private final UserMapper userMapper;
 
-  // 预约数据
-  private List<Appointment> appointmentList;
+  // 预约数据源（表格按需分块读取）
+  private RowSource<Appointment> appointmentSource;
   private Appointment selectedAppointment;
 
-  // 缓存数据
+  // 缓存数据（表格在后台线程格式化行时读取）
   private Map<Integer, CheckGroup> checkGroupCache;
   private Map<Integer, User> userCache;
 
@@ -57,6 +75,8 @@ public class AdminAppointmentViewModel extends BaseViewModel {
   // 页面跳转回调
   private NavigationCallback navigationCallback;
 
+  private final SearchPipeline<String, RowSource<Appointment>> searchPipeline;
+
   // 预约状态选项
   private final String[] appointmentStatuses = { "全部", "待确认", "已确认", "已完成", "已取消" };
 
@@ -66,12 +86,17 @@ public class AdminAppointmentViewModel extends BaseViewModel {
   }
 
   public AdminAppointmentViewModel() {
-    this.appointmentService = new AppointmentServiceImpl();
-    this.checkGroupService = new CheckGroupServiceImpl();
+    // 数据在后台线程加载，属性变更合并后在EDT上投递
+    setDispatchMode(DispatchMode.EDT_COALESCED);
+    this.appointmentService = ServiceMetrics.instrument(IAppointmentService.class, new AppointmentServiceImpl());
+    this.checkGroupService = ServiceMetrics.instrument(ICheckGroupService.class, new CheckGroupServiceImpl());
     this.userMapper = DataAccessManager.getUserMapperStatic();
-    this.appointmentList = new ArrayList<>();
-    this.checkGroupCache = new HashMap<>();
-    this.userCache = new HashMap<>();
+    this.appointmentSource = RowSource.empty();
+    this.searchPipeline = new SearchPipeline<String, RowSource<Appointment>>(this::runSearch,
+        this::publishSearchResults).accept(SearchPipeline.minLength(MIN_SEARCH_LENGTH))
+        .onCacheHit(() -> cancelLoad(LOAD_CHANNEL));
+    this.checkGroupCache = new ConcurrentHashMap<>();
+    this.userCache = new ConcurrentHashMap<>();
     this.searchKeyword = "";
     this.selectedStatus = "全部";
     this.selectedDateRange = "全部";
@@ -98,34 +123,45 @@ public class AdminAppointmentViewModel extends BaseViewModel {
    * 加载预约列表命令
    */
   public CompletableFuture<Void> loadAppointmentsCommand() {
-    return CompletableFuture.runAsync(() -> {
+    return runLatest(LOAD_CHANNEL, "AdminAppointmentViewModel.loadAppointmentsCommand", token -> {
       try {
         setLoading(true);
         setStatusMessage("正在加载预约记录...");
 
-        List<Appointment> appointments;
-
-        if (!"全部".equals(selectedStatus)) {
-          // 按状态筛选
-          appointments = appointmentService.getAppointmentsByStatus(selectedStatus);
-        } else {
-          // 加载所有预约
-          appointments = appointmentService.getAllAppointments(1, 1000);
+        // 只统计行数，行数据由表格按滚动位置分块读取
+        String status = "全部".equals(selectedStatus) ? null : selectedStatus;
+        int total = appointmentService.countAppointments(null, status);
+        if (token.isCancelled()) {
+          return;
         }
+        setAppointmentSource(new RowSource<Appointment>() {
+          @Override
+          public int count() {
+            return total;
+          }
 
-        if (appointments != null) {
-          setAppointmentList(appointments);
-          setStatusMessage("预约记录加载完成，共 " + appointments.size() + " 条记录");
+          @Override
+          public List<Appointment> fetch(Appointment after, int offset, int limit) {
+            return appointmentService.getAppointmentBlock(null, status, after, offset, limit);
+          }
+        });
+
+        if (total > 0) {
+          setStatusMessage("预约记录加载完成，共 " + total + " 条记录");
         } else {
-          setAppointmentList(new ArrayList<>());
           setStatusMessage("暂无预约记录");
         }
 
       } catch (Exception e) {
+        if (token.isCancelled()) {
+          return;
+        }
         logger.error("加载预约记录时发生错误", e);
         setStatusMessage("加载预约记录失败：" + e.getMessage());
       } finally {
-        setLoading(false);
+        if (!isSuperseded(LOAD_CHANNEL, token)) {
+          setLoading(false);
+        }
       }
     });
   }
@@ -134,7 +170,7 @@ public class AdminAppointmentViewModel extends BaseViewModel {
    * 更新预约状态命令
    */
   public CompletableFuture<Boolean> updateAppointmentStatusCommand(Integer appointmentId, String newStatus) {
-    return CompletableFuture.supplyAsync(() -> {
+    return AppExecutor.supplyDbAsync("AdminAppointmentViewModel.updateAppointmentStatusCommand", () -> {
       try {
         setLoading(true);
         setStatusMessage("正在更新预约状态...");
@@ -143,6 +179,7 @@ public class AdminAppointmentViewModel extends BaseViewModel {
 
         if (success) {
           setStatusMessage("预约状态更新成功");
+          invalidateSearchCache();
           // 重新加载数据
           loadAppointmentsCommand();
         } else {
@@ -162,50 +199,86 @@ public class AdminAppointmentViewModel extends BaseViewModel {
   }
 
   /**
-   * 搜索预约命令
+   * 搜索预约命令（立即执行，用于回车和搜索按钮）
    */
-  public CompletableFuture<Void> searchAppointmentsCommand(String keyword) {
-    return CompletableFuture.runAsync(() -> {
+  public void searchAppointmentsCommand(String keyword) {
+    setSearchKeyword(keyword);
+    searchPipeline.submitNow(keyword.trim());
+  }
+
+  /**
+   * 搜索框内容变化时调用，静默期后自动搜索
+   */
+  public void onSearchTextChanged(String text) {
+    setSearchKeyword(text);
+    if (text.trim().isEmpty()) {
+      // 关键词清空后回到按需分块读取的完整列表
+      searchPipeline.cancelPending();
+      loadAppointmentsCommand();
+    } else {
+      searchPipeline.submit(text.trim());
+    }
+  }
+
+  /**
+   * 在数据库中按关键词过滤并统计行数，结果由 {@link #publishSearchResults} 发布，
+   * 匹配的预约与完整列表一样由表格按滚动位置分块读取
+   */
+  private CompletableFuture<RowSource<Appointment>> runSearch(String keyword) {
+    return supplyLatest(LOAD_CHANNEL, "AdminAppointmentViewModel.searchAppointmentsCommand", token -> {
       try {
         setLoading(true);
-        setSearchKeyword(keyword);
         setStatusMessage("正在搜索...");
 
-        // 这里可以实现搜索逻辑
-        List<Appointment> allAppointments = appointmentService.getAllAppointments(1, 1000);
-        List<Appointment> filteredAppointments = new ArrayList<>();
-
-        if (allAppointments != null) {
-          for (Appointment appointment : allAppointments) {
-            if (keyword.isEmpty() ||
-                appointment.getAppointmentId().toString().contains(keyword) ||
-                (getUserName(appointment.getUserId()) != null &&
-                    getUserName(appointment.getUserId()).contains(keyword))
-                ||
-                (getCheckGroupName(appointment.getGroupId()) != null &&
-                    getCheckGroupName(appointment.getGroupId()).contains(keyword))) {
-              filteredAppointments.add(appointment);
-            }
+        int total = appointmentService.countAppointments(null, null, keyword);
+        token.throwIfCancelled();
+        // 首块随行数一起读取，缓存命中时直接显示，不再访问数据库
+        RowSource<Appointment> source = new RowSource<Appointment>() {
+          @Override
+          public int count() {
+            return total;
           }
-        }
 
-        setAppointmentList(filteredAppointments);
-        setStatusMessage("搜索完成，找到 " + filteredAppointments.size() + " 条记录");
-
-      } catch (Exception e) {
-        logger.error("搜索预约时发生错误", e);
-        setStatusMessage("搜索失败：" + e.getMessage());
+          @Override
+          public List<Appointment> fetch(Appointment after, int offset, int limit) {
+            return appointmentService.getAppointmentBlock(null, null, keyword, after, offset, limit);
+          }
+        };
+        RowSource<Appointment> results = RowSource.prefetched(source, FIRST_BLOCK_SIZE);
+        token.throwIfCancelled();
+        return results;
+
+      } catch (RuntimeException e) {
+        if (!token.isCancelled()) {
+          logger.error("搜索预约时发生错误", e);
+          setStatusMessage("搜索失败：" + e.getMessage());
+        }
+        throw e;
       } finally {
-        setLoading(false);
+        if (!isSuperseded(LOAD_CHANNEL, token)) {
+          setLoading(false);
+        }
       }
     });
   }
 
+  private void publishSearchResults(RowSource<Appointment> results) {
+    setAppointmentSource(results);
+    setStatusMessage("搜索完成，找到 " + results.count() + " 条记录");
+  }
+
+  /**
+   * 数据变化后丢弃缓存的搜索结果
+   */
+  private void invalidateSearchCache() {
+    SwingUtilities.invokeLater(searchPipeline::invalidate);
+  }
+
   /**
    * 加载缓存数据
    */
   private void loadCacheData() {
-    CompletableFuture.runAsync(() -> {
+    AppExecutor.runDbAsync("AdminAppointmentViewModel.loadCacheData", () -> {
       try {
         // 加载检查组缓存
         List<CheckGroup> checkGroups = checkGroupService.getAllActiveCheckGroups();
@@ -270,6 +343,7 @@ public class AdminAppointmentViewModel extends BaseViewModel {
    * 刷新数据
    */
   public void refreshData() {
+    invalidateSearchCache();
     loadAppointmentsCommand();
     loadCacheData();
   }
@@ -278,6 +352,7 @@ public class AdminAppointmentViewModel extends BaseViewModel {
    * 清空搜索条件
    */
   public void clearSearchConditions() {
+    searchPipeline.cancelPending();
     setSearchKeyword("");
     setSelectedStatus("全部");
     setSelectedUserId(null);
@@ -286,14 +361,14 @@ public class AdminAppointmentViewModel extends BaseViewModel {
   }
 
   // Getters and Setters
-  public List<Appointment> getAppointmentList() {
-    return appointmentList;
+  public RowSource<Appointment> getAppointmentSource() {
+    return appointmentSource;
   }
 
-  public void setAppointmentList(List<Appointment> appointmentList) {
-    List<Appointment> oldValue = this.appointmentList;
-    this.appointmentList = appointmentList;
-    firePropertyChange("appointmentList", oldValue, appointmentList);
+  public void setAppointmentSource(RowSource<Appointment> appointmentSource) {
+    RowSource<Appointment> oldValue = this.appointmentSource;
+    this.appointmentSource = appointmentSource;
+    firePropertyChange("appointmentSource", oldValue, appointmentSource);
   }
 
   public Appointment getSelectedAppointment() {
@@ -5,16 +5,17 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.CompletableFuture;
 
 import javax.swing.SwingUtilities;
 
+import com.healthsys.config.AppExecutor;
 import com.healthsys.model.entity.CheckGroup;
 import com.healthsys.model.entity.CheckItem;
 import com.healthsys.service.ICheckGroupService;
 import com.healthsys.service.ICheckItemService;
 import com.healthsys.service.impl.CheckGroupServiceImpl;
 import com.healthsys.service.impl.CheckItemServiceImpl;
+import com.healthsys.service.metrics.ServiceMetrics;
 import com.healthsys.viewmodel.base.BaseViewModel;
 
 import cn.hutool.core.util.StrUtil;
@@ -66,8 +67,8 @@ public class CheckGroupEditViewModel extends BaseViewModel {
    */
   public CheckGroupEditViewModel(CheckGroup checkGroup) {
     super();
-    this.checkGroupService = new CheckGroupServiceImpl();
-    this.checkItemService = new CheckItemServiceImpl();
+    this.checkGroupService = ServiceMetrics.instrument(ICheckGroupService.class, new CheckGroupServiceImpl());
+    this.checkItemService = ServiceMetrics.instrument(ICheckItemService.class, new CheckItemServiceImpl());
 
     // 加载所有检查项
     loadAllCheckItems();
@@ -91,7 +92,7 @@ public class CheckGroupEditViewModel extends BaseViewModel {
   private void loadAllCheckItems() {
     setLoadingCheckItems(true);
 
-    CompletableFuture.supplyAsync(() -> {
+    AppExecutor.supplyDbAsync("CheckGroupEditViewModel.loadAllCheckItems", () -> {
       try {
         return checkItemService.getAllActiveCheckItems();
       } catch (Exception e) {
@@ -134,7 +135,7 @@ public class CheckGroupEditViewModel extends BaseViewModel {
       return;
     }
 
-    CompletableFuture.supplyAsync(() -> {
+    AppExecutor.supplyDbAsync("CheckGroupEditViewModel.loadSelectedCheckItems", () -> {
       try {
         return checkGroupService.getCheckItemIdsByGroupId(checkGroup.getGroupId());
       } catch (Exception e) {
@@ -248,7 +249,7 @@ public class CheckGroupEditViewModel extends BaseViewModel {
 
     Integer excludeId = editMode && checkGroup != null ? checkGroup.getGroupId() : null;
 
-    CompletableFuture.supplyAsync(() -> {
+    AppExecutor.supplyDbAsync("CheckGroupEditViewModel.validateGroupCodeAsync", () -> {
       try {
         return checkGroupService.isGroupCodeExists(code, excludeId);
       } catch (Exception e) {
@@ -279,7 +280,7 @@ public class CheckGroupEditViewModel extends BaseViewModel {
 
     Integer excludeId = editMode && checkGroup != null ? checkGroup.getGroupId() : null;
 
-    CompletableFuture.supplyAsync(() -> {
+    AppExecutor.supplyDbAsync("CheckGroupEditViewModel.validateGroupNameAsync", () -> {
       try {
         return checkGroupService.isGroupNameExists(name, excludeId);
       } catch (Exception e) {
@@ -321,7 +322,7 @@ public class CheckGroupEditViewModel extends BaseViewModel {
 
     setSubmitting(true);
 
-    CompletableFuture.supplyAsync(() -> {
+    AppExecutor.supplyDbAsync("CheckGroupEditViewModel.submit", () -> {
       try {
         CheckGroup groupToSave = prepareCheckGroupData();
         List<Integer> itemIds = new ArrayList<>(selectedCheckItemIds);
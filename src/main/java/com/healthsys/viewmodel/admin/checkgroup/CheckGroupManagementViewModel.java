@@ -1,9 +1,11 @@
 package com.healthsys.viewmodel.admin.checkgroup;
 
 import com.healthsys.config.AppContext;
+import com.healthsys.config.AppExecutor;
 import com.healthsys.model.entity.CheckGroup;
 import com.healthsys.service.ICheckGroupService;
 import com.healthsys.service.impl.CheckGroupServiceImpl;
+import com.healthsys.service.metrics.ServiceMetrics;
 import com.healthsys.viewmodel.base.BaseViewModel;
 import com.healthsys.viewmodel.common.NotificationViewModel;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
@@ -51,7 +53,7 @@ public class CheckGroupManagementViewModel extends BaseViewModel {
    */
   public CheckGroupManagementViewModel() {
     super();
-    this.checkGroupService = new CheckGroupServiceImpl();
+    this.checkGroupService = ServiceMetrics.instrument(ICheckGroupService.class, new CheckGroupServiceImpl());
     this.notificationViewModel = new NotificationViewModel();
 
     // 初始化加载数据
@@ -70,7 +72,7 @@ public class CheckGroupManagementViewModel extends BaseViewModel {
     setSearchButtonEnabled(false);
 
     // 使用CompletableFuture在后台线程执行
-    CompletableFuture.supplyAsync(() -> {
+    AppExecutor.supplyDbAsync("CheckGroupManagementViewModel.loadCheckGroups", () -> {
       try {
         Page<CheckGroup> page = checkGroupService.queryCheckGroups(
             searchName.trim().isEmpty() ? null : searchName.trim(),
@@ -182,7 +184,7 @@ public class CheckGroupManagementViewModel extends BaseViewModel {
     setLoading(true);
 
     // 在后台线程执行删除操作
-    CompletableFuture.supplyAsync(() -> {
+    AppExecutor.supplyDbAsync("CheckGroupManagementViewModel.deleteCheckGroup", () -> {
       try {
         return checkGroupService.deleteCheckGroup(selectedCheckGroup.getGroupId());
       } catch (Exception e) {
@@ -219,7 +221,7 @@ public class CheckGroupManagementViewModel extends BaseViewModel {
     setLoading(true);
 
     // 在后台线程执行删除操作
-    CompletableFuture.supplyAsync(() -> {
+    AppExecutor.supplyDbAsync("CheckGroupManagementViewModel.deleteCheckGroup", () -> {
       try {
         return checkGroupService.deleteCheckGroup(groupId);
       } catch (Exception e) {
@@ -276,7 +278,7 @@ public class CheckGroupManagementViewModel extends BaseViewModel {
       groupIds.add(group.getGroupId());
     }
 
-    CompletableFuture.supplyAsync(() -> {
+    AppExecutor.supplyDbAsync("CheckGroupManagementViewModel.deleteSelectedCheckGroups", () -> {
       try {
         return checkGroupService.deleteCheckGroups(groupIds);
       } catch (Exception e) {
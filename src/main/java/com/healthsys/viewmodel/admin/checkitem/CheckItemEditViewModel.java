@@ -1,15 +1,20 @@
 package com.healthsys.viewmodel.admin.checkitem;
 
+import com.healthsys.analysis.ReflagSummary;
+import com.healthsys.config.AppExecutor;
 import com.healthsys.model.entity.CheckItem;
 import com.healthsys.service.ICheckItemService;
+import com.healthsys.service.ICohortAnalyticsService;
 import com.healthsys.service.impl.CheckItemServiceImpl;
+import com.healthsys.service.impl.CohortAnalyticsServiceImpl;
+import com.healthsys.service.metrics.ServiceMetrics;
 import com.healthsys.viewmodel.base.BaseViewModel;
 import com.healthsys.viewmodel.common.NotificationViewModel;
 import cn.hutool.core.util.StrUtil;
 
 import javax.swing.*;
 import java.time.LocalDateTime;
-import java.util.concurrent.CompletableFuture;
+import java.util.Objects;
 
 /**
  * 检查项编辑视图模型。
@@ -21,6 +26,7 @@ public class CheckItemEditViewModel extends BaseViewModel {
 
   // 服务层
   private ICheckItemService checkItemService;
+  private ICohortAnalyticsService cohortAnalyticsService;
 
   // 通知ViewModel
   private NotificationViewModel notificationViewModel;
@@ -60,7 +66,9 @@ public class CheckItemEditViewModel extends BaseViewModel {
    */
   public CheckItemEditViewModel(CheckItem checkItem) {
     super();
-    this.checkItemService = new CheckItemServiceImpl();
+    this.checkItemService = ServiceMetrics.instrument(ICheckItemService.class, new CheckItemServiceImpl());
+    this.cohortAnalyticsService = ServiceMetrics.instrument(ICohortAnalyticsService.class,
+        new CohortAnalyticsServiceImpl());
     this.notificationViewModel = new NotificationViewModel();
 
     if (checkItem != null) {
@@ -198,11 +206,12 @@ public class CheckItemEditViewModel extends BaseViewModel {
     setSubmitButtonEnabled(false);
     setCancelButtonEnabled(false);
 
-    // 准备数据
+    // 准备数据（编辑模式会直接修改原对象，先记下原参考值）
+    String previousReferenceVal = editMode ? checkItem.getReferenceVal() : null;
     CheckItem submitItem = prepareCheckItemData();
 
     // 在后台线程执行保存操作
-    CompletableFuture.supplyAsync(() -> {
+    AppExecutor.supplyDbAsync("CheckItemEditViewModel.submit", () -> {
       try {
         if (editMode) {
           return checkItemService.updateCheckItem(submitItem);
@@ -222,6 +231,10 @@ public class CheckItemEditViewModel extends BaseViewModel {
           String message = editMode ? "更新检查项成功" : "添加检查项成功";
           notificationViewModel.showSuccess(message);
 
+          if (editMode && !Objects.equals(previousReferenceVal, submitItem.getReferenceVal())) {
+            reflagAfterReferenceChange(submitItem.getItemId(), previousReferenceVal, submitItem.getReferenceVal());
+          }
+
           // 通知视图层操作成功
           firePropertyChange("submitSuccess", false, true);
         } else {
@@ -242,6 +255,25 @@ public class CheckItemEditViewModel extends BaseViewModel {
     });
   }
 
+  /**
+   * 参考范围变更后在后台重新判定该检查项的历史结果，并提示受影响的结果数
+   */
+  private void reflagAfterReferenceChange(Integer itemId, String oldReferenceVal, String newReferenceVal) {
+    AppExecutor.supplyDbAsync("CheckItemEditViewModel.reflagAfterReferenceChange", () -> cohortAnalyticsService.reflagItem(itemId, oldReferenceVal, newReferenceVal))
+        .thenAccept(summary -> {
+          if (summary == null || !summary.hasChanges()) {
+            return;
+          }
+          SwingUtilities.invokeLater(() -> notificationViewModel.showInfo(formatReflagSummary(summary)));
+        });
+  }
+
+  private String formatReflagSummary(ReflagSummary summary) {
+    return String.format("参考范围已变更：异常结果 %d → %d（新增异常 %d，恢复正常 %d）",
+        summary.getAbnormalBefore(), summary.getAbnormalAfter(),
+        summary.getNewlyAbnormal(), summary.getNewlyNormal());
+  }
+
   /**
    * 准备检查项数据
    */
@@ -287,7 +319,7 @@ public class CheckItemEditViewModel extends BaseViewModel {
     }
 
     // 在后台线程检查代码是否重复
-    CompletableFuture.supplyAsync(() -> {
+    AppExecutor.supplyDbAsync("CheckItemEditViewModel.validateItemCodeAsync", () -> {
       try {
         Integer excludeId = editMode && checkItem != null ? checkItem.getItemId() : null;
         return checkItemService.isItemCodeExists(code, excludeId);
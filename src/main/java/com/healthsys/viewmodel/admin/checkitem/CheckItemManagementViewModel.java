@@ -1,10 +1,15 @@
 package com.healthsys.viewmodel.admin.checkitem;
 
 import com.healthsys.config.AppContext;
+import com.healthsys.config.AppExecutor;
 import com.healthsys.model.entity.CheckItem;
 import com.healthsys.service.ICheckItemService;
+import com.healthsys.service.IPopulationStatisticsService;
 import com.healthsys.service.impl.CheckItemServiceImpl;
+import com.healthsys.service.impl.PopulationStatisticsServiceImpl;
+import com.healthsys.service.metrics.ServiceMetrics;
 import com.healthsys.viewmodel.base.BaseViewModel;
+import com.healthsys.viewmodel.base.SearchPipeline;
 import com.healthsys.viewmodel.common.NotificationViewModel;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 
@@ -21,8 +26,11 @@ import java.util.concurrent.CompletableFuture;
  */
 public class CheckItemManagementViewModel extends BaseViewModel {
 
+  private static final String LOAD_CHANNEL = "checkItems";
+
   // 服务层
   private ICheckItemService checkItemService;
+  private IPopulationStatisticsService populationStatisticsService;
 
   // 通知ViewModel
   private NotificationViewModel notificationViewModel;
@@ -46,57 +54,31 @@ public class CheckItemManagementViewModel extends BaseViewModel {
   private boolean deleteButtonEnabled = false;
   private boolean searchButtonEnabled = true;
 
+  // 搜索请求管道，查询条件为名称、代码、页码、每页条数
+  private final SearchPipeline<List<Object>, Page<CheckItem>> searchPipeline;
+
   /**
    * 构造函数
    */
   public CheckItemManagementViewModel() {
     super();
-    this.checkItemService = new CheckItemServiceImpl();
+    this.checkItemService = ServiceMetrics.instrument(ICheckItemService.class, new CheckItemServiceImpl());
+    this.populationStatisticsService = ServiceMetrics.instrument(IPopulationStatisticsService.class,
+        new PopulationStatisticsServiceImpl());
     this.notificationViewModel = new NotificationViewModel();
+    this.searchPipeline = new SearchPipeline<>(this::runQuery, this::updatePageData)
+        .onCacheHit(() -> cancelLoad(LOAD_CHANNEL));
 
     // 初始化加载数据
     loadCheckItems();
   }
 
   /**
-   * 加载检查项列表
+   * 加载检查项列表（跳过搜索缓存）
    */
   public void loadCheckItems() {
-    if (loading) {
-      return; // 防止重复加载
-    }
-
-    setLoading(true);
-    setSearchButtonEnabled(false);
-
-    // 使用CompletableFuture在后台线程执行
-    CompletableFuture.supplyAsync(() -> {
-      try {
-        Page<CheckItem> page = checkItemService.queryCheckItems(
-            searchName.trim().isEmpty() ? null : searchName.trim(),
-            searchCode.trim().isEmpty() ? null : searchCode.trim(),
-            currentPage,
-            pageSize);
-        return page;
-      } catch (Exception e) {
-        throw new RuntimeException("加载检查项列表失败: " + e.getMessage(), e);
-      }
-    }).thenAccept(page -> {
-      // 在EDT线程中更新UI
-      SwingUtilities.invokeLater(() -> {
-        updatePageData(page);
-        setLoading(false);
-        setSearchButtonEnabled(true);
-      });
-    }).exceptionally(throwable -> {
-      // 在EDT线程中处理异常
-      SwingUtilities.invokeLater(() -> {
-        setLoading(false);
-        setSearchButtonEnabled(true);
-        notificationViewModel.showError("加载检查项列表失败: " + throwable.getMessage());
-      });
-      return null;
-    });
+    searchPipeline.invalidate();
+    searchPipeline.submitNow(currentQuery());
   }
 
   /**
@@ -104,13 +86,71 @@ public class CheckItemManagementViewModel extends BaseViewModel {
    */
   public void searchCheckItems() {
     setCurrentPage(1); // 重置到第一页
-    loadCheckItems();
+    searchPipeline.submitNow(currentQuery());
+  }
+
+  /**
+   * 搜索条件输入变化时调用，静默期后自动搜索
+   *
+   * @param name 检查项名称
+   * @param code 检查项代码
+   */
+  public void onSearchTextChanged(String name, String code) {
+    setSearchName(name);
+    setSearchCode(code);
+    setCurrentPage(1);
+    searchPipeline.submit(currentQuery());
+  }
+
+  /**
+   * 当前查询条件：名称、代码、页码、每页条数
+   */
+  private List<Object> currentQuery() {
+    return List.of(searchName.trim(), searchCode.trim(), currentPage, pageSize);
+  }
+
+  /**
+   * 在后台查询检查项，结果由 {@link #updatePageData} 发布
+   */
+  private CompletableFuture<Page<CheckItem>> runQuery(List<Object> query) {
+    String name = (String) query.get(0);
+    String code = (String) query.get(1);
+    int page = (Integer) query.get(2);
+    int size = (Integer) query.get(3);
+
+    setLoading(true);
+    setSearchButtonEnabled(false);
+
+    return supplyLatest(LOAD_CHANNEL, "CheckItemManagementViewModel.loadCheckItems", token -> {
+      try {
+        Page<CheckItem> result = checkItemService.queryCheckItems(
+            name.isEmpty() ? null : name,
+            code.isEmpty() ? null : code,
+            page,
+            size);
+        token.throwIfCancelled();
+        return result;
+      } catch (RuntimeException e) {
+        if (!token.isCancelled()) {
+          SwingUtilities.invokeLater(() -> notificationViewModel.showError("加载检查项列表失败: " + e.getMessage()));
+        }
+        throw e;
+      } finally {
+        if (!isSuperseded(LOAD_CHANNEL, token)) {
+          SwingUtilities.invokeLater(() -> {
+            setLoading(false);
+            setSearchButtonEnabled(true);
+          });
+        }
+      }
+    });
   }
 
   /**
    * 清空搜索条件
    */
   public void clearSearch() {
+    searchPipeline.cancelPending();
     setSearchName("");
     setSearchCode("");
     setCurrentPage(1);
@@ -181,7 +221,7 @@ public class CheckItemManagementViewModel extends BaseViewModel {
     setLoading(true);
 
     // 在后台线程执行删除操作
-    CompletableFuture.supplyAsync(() -> {
+    AppExecutor.supplyDbAsync("CheckItemManagementViewModel.deleteCheckItem", () -> {
       try {
         return checkItemService.deleteCheckItem(selectedCheckItem.getItemId());
       } catch (Exception e) {
@@ -237,7 +277,7 @@ public class CheckItemManagementViewModel extends BaseViewModel {
       itemIds.add(item.getItemId());
     }
 
-    CompletableFuture.supplyAsync(() -> {
+    AppExecutor.supplyDbAsync("CheckItemManagementViewModel.deleteSelectedCheckItems", () -> {
       try {
         return checkItemService.deleteCheckItems(itemIds);
       } catch (Exception e) {
@@ -288,7 +328,7 @@ public class CheckItemManagementViewModel extends BaseViewModel {
     setLoading(true);
 
     // 在后台线程执行删除操作
-    CompletableFuture.supplyAsync(() -> {
+    AppExecutor.supplyDbAsync("CheckItemManagementViewModel.deleteCheckItem", () -> {
       try {
         return checkItemService.deleteCheckItem(itemId);
       } catch (Exception e) {
@@ -314,6 +354,35 @@ public class CheckItemManagementViewModel extends BaseViewModel {
     });
   }
 
+  /**
+   * 重建检查项人群统计
+   */
+  public void rebuildStatistics() {
+    // 权限检查
+    if (!AppContext.isAdmin()) {
+      notificationViewModel.showError("您没有权限执行此操作");
+      return;
+    }
+
+    setLoading(true);
+
+    // 重建过程只负责分派和等待各分片的数据库任务，不占用数据库许可，避免与分片互相等待
+    AppExecutor.supplyAsync("CheckItemManagementViewModel.rebuildStatistics",
+        () -> populationStatisticsService.rebuildStatistics())
+        .thenAccept(success -> {
+          SwingUtilities.invokeLater(() -> {
+            setLoading(false);
+            notificationViewModel.showOperationResult(success, "人群统计重建完成", "人群统计重建失败");
+          });
+        }).exceptionally(throwable -> {
+          SwingUtilities.invokeLater(() -> {
+            setLoading(false);
+            notificationViewModel.showError("人群统计重建失败: " + throwable.getMessage());
+          });
+          return null;
+        });
+  }
+
   /**
    * 页码改变
    */
@@ -321,7 +390,7 @@ public class CheckItemManagementViewModel extends BaseViewModel {
     if (newPage != currentPage || newPageSize != pageSize) {
       setCurrentPage(newPage);
       setPageSize(newPageSize);
-      loadCheckItems();
+      searchPipeline.submitNow(currentQuery());
     }
   }
 
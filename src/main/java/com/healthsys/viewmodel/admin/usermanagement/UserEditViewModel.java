@@ -1,5 +1,6 @@
 package com.healthsys.viewmodel.admin.usermanagement;
 
+import com.healthsys.config.AppExecutor;
 import com.healthsys.model.entity.User;
 import com.healthsys.model.enums.UserRoleEnum;
 import com.healthsys.service.IUserService;
@@ -311,7 +312,7 @@ public class UserEditViewModel extends BaseViewModel {
       }
     };
 
-    worker.execute();
+    AppExecutor.executeDb("UserEditViewModel.submitForm", worker);
   }
 
   /**
@@ -2,8 +2,7 @@ package com.healthsys.viewmodel.admin.usermanagement;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 import javax.swing.SwingWorker;
@@ -12,10 +11,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.healthsys.config.AppContext;
+import com.healthsys.config.AppExecutor;
 import com.healthsys.model.entity.User;
 import com.healthsys.model.enums.UserRoleEnum;
 import com.healthsys.service.IUserService;
 import com.healthsys.viewmodel.base.BaseViewModel;
+import com.healthsys.viewmodel.base.SearchPipeline;
 
 /**
  * 用户管理ViewModel
@@ -25,8 +26,14 @@ public class UserManagementViewModel extends BaseViewModel {
 
   private static final Logger logger = LoggerFactory.getLogger(UserManagementViewModel.class);
 
+  private static final String LOAD_CHANNEL = "users";
+
+  /**
+   * 输入过程中触发自动搜索的最小关键词长度
+   */
+  private static final int MIN_SEARCH_LENGTH = 2;
+
   private final IUserService userService;
-  private final ExecutorService executorService;
 
   // 用户列表数据
   private List<User> userList;
@@ -45,6 +52,8 @@ public class UserManagementViewModel extends BaseViewModel {
   private Consumer<String> onSuccess;
   private Consumer<Boolean> onLoading;
 
+  private final SearchPipeline<String, List<User>> searchPipeline;
+
   /**
    * 构造函数
    *
@@ -54,49 +63,16 @@ public class UserManagementViewModel extends BaseViewModel {
     this.userService = userService;
     this.userList = new ArrayList<>();
     this.filteredUserList = new ArrayList<>();
-    this.executorService = Executors.newCachedThreadPool();
+    this.searchPipeline = new SearchPipeline<String, List<User>>(this::runQuery, this::publishUserList)
+        .accept(SearchPipeline.minLength(MIN_SEARCH_LENGTH)).onCacheHit(() -> cancelLoad(LOAD_CHANNEL));
   }
 
   /**
-   * 加载用户列表
+   * 加载用户列表（跳过搜索缓存）
    */
   public void loadUserList() {
-    if (onLoading != null) {
-      onLoading.accept(true);
-    }
-
-    SwingWorker<Void, Void> worker = new SwingWorker<Void, Void>() {
-      @Override
-      protected Void doInBackground() throws Exception {
-        try {
-          List<User> users = userService.queryUsers(searchKeyword, currentPage, pageSize);
-          if (users != null) {
-            userList = users;
-            filteredUserList = new ArrayList<>(users);
-          } else {
-            userList = new ArrayList<>();
-            filteredUserList = new ArrayList<>();
-          }
-        } catch (Exception e) {
-          logger.error("加载用户列表失败", e);
-          userList = new ArrayList<>();
-          filteredUserList = new ArrayList<>();
-        }
-        return null;
-      }
-
-      @Override
-      protected void done() {
-        if (onLoading != null) {
-          onLoading.accept(false);
-        }
-        if (onUserListChanged != null) {
-          onUserListChanged.accept(filteredUserList);
-        }
-      }
-    };
-
-    worker.execute();
+    searchPipeline.invalidate();
+    searchPipeline.submitNow(searchKeyword);
   }
 
   /**
@@ -107,7 +83,23 @@ public class UserManagementViewModel extends BaseViewModel {
   public void searchUsers(String keyword) {
     this.searchKeyword = keyword != null ? keyword.trim() : "";
     this.currentPage = 1; // 搜索时重置页码
-    loadUserList();
+    searchPipeline.submitNow(searchKeyword);
+  }
+
+  /**
+   * 搜索框内容变化时调用，静默期后自动搜索
+   *
+   * @param text 搜索框文本
+   */
+  public void onSearchTextChanged(String text) {
+    this.searchKeyword = text != null ? text.trim() : "";
+    this.currentPage = 1;
+    if (searchKeyword.isEmpty()) {
+      // 关键词清空后立即恢复完整列表
+      searchPipeline.submitNow(searchKeyword);
+    } else {
+      searchPipeline.submit(searchKeyword);
+    }
   }
 
   /**
@@ -117,6 +109,44 @@ public class UserManagementViewModel extends BaseViewModel {
     loadUserList();
   }
 
+  /**
+   * 在后台查询用户，结果由 {@link #publishUserList} 发布
+   */
+  private CompletableFuture<List<User>> runQuery(String keyword) {
+    if (onLoading != null) {
+      onLoading.accept(true);
+    }
+    int page = currentPage;
+    int size = pageSize;
+    return supplyLatest(LOAD_CHANNEL, "UserManagementViewModel.loadUserList", token -> {
+      try {
+        List<User> users = userService.queryUsers(keyword, page, size);
+        token.throwIfCancelled();
+        return users != null ? users : new ArrayList<>();
+      } catch (RuntimeException e) {
+        if (!token.isCancelled()) {
+          logger.error("加载用户列表失败", e);
+          if (onError != null) {
+            onError.accept("加载用户列表失败：" + e.getMessage());
+          }
+        }
+        throw e;
+      } finally {
+        if (onLoading != null && !isSuperseded(LOAD_CHANNEL, token)) {
+          onLoading.accept(false);
+        }
+      }
+    });
+  }
+
+  private void publishUserList(List<User> users) {
+    userList = users;
+    filteredUserList = new ArrayList<>(users);
+    if (onUserListChanged != null) {
+      onUserListChanged.accept(filteredUserList);
+    }
+  }
+
   /**
    * 删除用户
    *
@@ -184,7 +214,7 @@ public class UserManagementViewModel extends BaseViewModel {
       }
     };
 
-    worker.execute();
+    AppExecutor.executeDb("UserManagementViewModel.deleteUser", worker);
   }
 
   /**
@@ -289,6 +319,7 @@ public class UserManagementViewModel extends BaseViewModel {
 
   public void setCurrentPage(int currentPage) {
     this.currentPage = currentPage;
+    searchPipeline.invalidate();
   }
 
   public int getPageSize() {
@@ -297,6 +328,7 @@ public class UserManagementViewModel extends BaseViewModel {
 
   public void setPageSize(int pageSize) {
     this.pageSize = pageSize;
+    searchPipeline.invalidate();
   }
 
   // Event Listeners
@@ -321,8 +353,11 @@ public class UserManagementViewModel extends BaseViewModel {
    * 释放资源
    */
   public void dispose() {
-    if (executorService != null && !executorService.isShutdown()) {
-      executorService.shutdown();
-    }
+    searchPipeline.cancelPending();
+    cancelLoads();
+    onUserListChanged = null;
+    onError = null;
+    onSuccess = null;
+    onLoading = null;
   }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.healthsys.viewmodel.auth;
 
+import com.healthsys.config.AppExecutor;
 import com.healthsys.model.entity.User;
 import com.healthsys.service.IUserService;
 import com.healthsys.viewmodel.base.BaseViewModel;
@@ -7,7 +8,6 @@ import cn.hutool.core.util.StrUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 /**
@@ -123,7 +123,7 @@ public class LoginViewModel extends BaseViewModel {
     setErrorMessage("");
 
     // 在后台线程执行登录
-    CompletableFuture.supplyAsync(() -> {
+    AppExecutor.supplyDbAsync("LoginViewModel.loginCommand", () -> {
       try {
         logger.info("开始执行登录，用户名: {}", username);
         return userService.login(username, password);
@@ -1,5 +1,6 @@
 package com.healthsys.viewmodel.auth;
 
+import com.healthsys.config.AppExecutor;
 import com.healthsys.service.IEmailService;
 import com.healthsys.service.IUserService;
 import com.healthsys.viewmodel.base.BaseViewModel;
@@ -8,7 +9,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.swing.Timer;
-import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 /**
@@ -212,7 +212,7 @@ public class RegistrationViewModel extends BaseViewModel {
     setSendingCode(true);
     setErrorMessage("");
 
-    CompletableFuture.supplyAsync(() -> {
+    AppExecutor.supplyDbAsync("RegistrationViewModel.sendCodeCommand", () -> {
       try {
         // 生成验证码
         String code = emailService.generateVerificationCode();
@@ -268,7 +268,7 @@ public class RegistrationViewModel extends BaseViewModel {
     setLoading(true);
     setErrorMessage("");
 
-    CompletableFuture.supplyAsync(() -> {
+    AppExecutor.supplyDbAsync("RegistrationViewModel.registerCommand", () -> {
       try {
         logger.info("开始执行注册，用户名: {}, 邮箱: {}", username, email);
         boolean success = userService.register(username, password, email, verificationCode);
@@ -1,7 +1,23 @@
 package com.healthsys.viewmodel.base;
 
+import com.healthsys.config.AppExecutor;
+import com.healthsys.config.CancellationToken;
+import com.healthsys.service.metrics.QueryCounter;
+import com.healthsys.service.metrics.jfr.ViewModelLoadEvent;
+
+import javax.swing.*;
+import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * 视图模型基类。
@@ -11,11 +27,47 @@ import java.beans.PropertyChangeSupport;
  */
 public abstract class BaseViewModel {
 
+  /**
+   * 属性变更事件分发模式
+   */
+  public enum DispatchMode {
+    /**
+     * 在触发线程上立即通知监听器
+     */
+    DIRECT,
+
+    /**
+     * 在EDT上通知监听器；非EDT线程触发的事件按属性合并，一帧内只投递最后的值
+     */
+    EDT_COALESCED
+  }
+
+  /**
+   * 合并窗口（约一帧）
+   */
+  private static final int COALESCE_WINDOW_MILLIS = 16;
+
+  private static final AtomicLong firedEventCount = new AtomicLong();
+  private static final AtomicLong deliveredEventCount = new AtomicLong();
+
   /**
    * 属性变更支持器
    */
   protected final PropertyChangeSupport propertyChangeSupport = new PropertyChangeSupport(this);
 
+  private volatile DispatchMode dispatchMode = DispatchMode.DIRECT;
+
+  /**
+   * 等待投递的事件（属性名 -> 合并后的事件），按首次触发顺序投递
+   */
+  private final Map<String, PropertyChangeEvent> pendingEvents = new LinkedHashMap<>();
+  private Timer flushTimer;
+
+  /**
+   * 各加载通道上最近一次启动的加载
+   */
+  private final Map<String, CancellationToken> activeLoads = new ConcurrentHashMap<>();
+
   /**
    * 添加属性变更监听器
    * 
@@ -62,7 +114,7 @@ public abstract class BaseViewModel {
    * @param newValue     新值
    */
   protected void firePropertyChange(String propertyName, Object oldValue, Object newValue) {
-    propertyChangeSupport.firePropertyChange(propertyName, oldValue, newValue);
+    dispatch(new PropertyChangeEvent(this, propertyName, oldValue, newValue));
   }
 
   /**
@@ -73,7 +125,9 @@ public abstract class BaseViewModel {
    * @param newValue     新值
    */
   protected void firePropertyChange(String propertyName, boolean oldValue, boolean newValue) {
-    propertyChangeSupport.firePropertyChange(propertyName, oldValue, newValue);
+    if (oldValue != newValue) {
+      firePropertyChange(propertyName, Boolean.valueOf(oldValue), Boolean.valueOf(newValue));
+    }
   }
 
   /**
@@ -84,7 +138,222 @@ public abstract class BaseViewModel {
    * @param newValue     新值
    */
   protected void firePropertyChange(String propertyName, int oldValue, int newValue) {
-    propertyChangeSupport.firePropertyChange(propertyName, oldValue, newValue);
+    if (oldValue != newValue) {
+      firePropertyChange(propertyName, Integer.valueOf(oldValue), Integer.valueOf(newValue));
+    }
+  }
+
+  /**
+   * 设置事件分发模式
+   * 
+   * @param dispatchMode 分发模式
+   */
+  protected void setDispatchMode(DispatchMode dispatchMode) {
+    this.dispatchMode = dispatchMode;
+  }
+
+  public DispatchMode getDispatchMode() {
+    return dispatchMode;
+  }
+
+  /**
+   * 所有视图模型累计触发的属性变更事件数
+   */
+  public static long getFiredEventCount() {
+    return firedEventCount.get();
+  }
+
+  /**
+   * 所有视图模型累计实际投递给监听器的事件数（合并后）
+   */
+  public static long getDeliveredEventCount() {
+    return deliveredEventCount.get();
+  }
+
+  /**
+   * 在指定通道上启动一次可取消的数据库加载。
+   * 同一通道上仍在进行的上一次加载会被取消（最新的请求生效），其正在执行的查询也会被中止。
+   * 任务在发布结果前应检查令牌，已取消时直接返回，避免旧结果覆盖新结果。
+   * 
+   * @param channel  加载通道
+   * @param taskName 任务名称
+   * @param task     任务
+   * @return 任务结果，被取消时以 CancellationException 结束
+   */
+  protected CompletableFuture<Void> runLatest(String channel, String taskName, Consumer<CancellationToken> task) {
+    return supplyLatest(channel, taskName, token -> {
+      task.accept(token);
+      return null;
+    });
+  }
+
+  /**
+   * 与 {@link #runLatest} 相同，但任务返回结果
+   * 
+   * @param channel  加载通道
+   * @param taskName 任务名称
+   * @param task     任务
+   * @return 任务结果，被取消时以 CancellationException 结束
+   */
+  protected <T> CompletableFuture<T> supplyLatest(String channel, String taskName,
+      Function<CancellationToken, T> task) {
+    CancellationToken token = new CancellationToken();
+    CancellationToken previous = activeLoads.put(channel, token);
+    if (previous != null) {
+      previous.cancel();
+    }
+
+    long submitted = System.nanoTime();
+    CompletableFuture<T> future = AppExecutor.supplyDbAsync(taskName, token,
+        () -> applyRecorded(channel, taskName, token, submitted, task));
+    future.whenComplete((result, throwable) -> activeLoads.remove(channel, token));
+    return future;
+  }
+
+  /**
+   * 执行加载任务，开启飞行记录时提交 {@link ViewModelLoadEvent}；
+   * 开发模式下整个加载作为一次操作交给 {@link QueryCounter} 检查重复执行的语句
+   */
+  private static <T> T applyRecorded(String channel, String taskName, CancellationToken token, long submitted,
+      Function<CancellationToken, T> task) {
+    ViewModelLoadEvent event = new ViewModelLoadEvent();
+    event.begin();
+    long queuedNanos = System.nanoTime() - submitted;
+    QueryCounter.Scope queries = QueryCounter.openOperation(taskName);
+    boolean failed = true;
+    try {
+      T result = task.apply(token);
+      failed = false;
+      return result;
+    } finally {
+      if (queries != null) {
+        queries.close();
+      }
+      event.end();
+      if (event.shouldCommit()) {
+        event.taskName = taskName;
+        event.channel = channel;
+        event.queuedNanos = queuedNanos;
+        event.cancelled = token.isCancelled();
+        event.failed = failed;
+        event.commit();
+      }
+    }
+  }
+
+  /**
+   * 判断加载是否已被同一通道上更新的加载取代。
+   * 被取代的加载不应再修改加载状态；因离开页面而取消的加载不算被取代。
+   * 
+   * @param channel 加载通道
+   * @param token   该次加载的令牌
+   */
+  protected boolean isSuperseded(String channel, CancellationToken token) {
+    CancellationToken latest = activeLoads.get(channel);
+    return latest != null && latest != token;
+  }
+
+  /**
+   * 取消指定通道上进行中的加载，如不经加载直接交付了缓存的结果时，避免较慢的加载随后覆盖该结果
+   * 
+   * @param channel 加载通道
+   */
+  protected void cancelLoad(String channel) {
+    CancellationToken active = activeLoads.remove(channel);
+    if (active != null) {
+      active.cancel();
+    }
+  }
+
+  /**
+   * 取消本视图模型所有进行中的加载，如离开页面时
+   * 
+   * @return 是否有加载被取消
+   */
+  public boolean cancelLoads() {
+    boolean cancelled = false;
+    for (CancellationToken token : activeLoads.values()) {
+      cancelled |= !token.isCancelled();
+      token.cancel();
+    }
+    return cancelled;
+  }
+
+  private void dispatch(PropertyChangeEvent event) {
+    firedEventCount.incrementAndGet();
+
+    if (dispatchMode == DispatchMode.DIRECT) {
+      deliver(event);
+      return;
+    }
+
+    if (SwingUtilities.isEventDispatchThread()) {
+      // 已在EDT上：先合并同一属性尚未投递的事件，再立即投递，保证同一属性的顺序
+      PropertyChangeEvent pending;
+      synchronized (pendingEvents) {
+        pending = pendingEvents.remove(event.getPropertyName());
+      }
+      deliver(pending != null ? merge(pending, event) : event);
+      return;
+    }
+
+    synchronized (pendingEvents) {
+      PropertyChangeEvent pending = pendingEvents.get(event.getPropertyName());
+      pendingEvents.put(event.getPropertyName(), pending != null ? merge(pending, event) : event);
+      if (pendingEvents.size() == 1 && pending == null) {
+        scheduleFlush();
+      }
+    }
+  }
+
+  /**
+   * 合并同一属性的两个事件：保留最早的旧值和最新的新值。
+   * 期间有过变化但最新值又回到最早的旧值时（如 loading 由 false 变为 true 再变回 false），
+   * 旧值记为 null（未知），最终的事件仍会投递，不会被当作未变化丢弃
+   */
+  private PropertyChangeEvent merge(PropertyChangeEvent first, PropertyChangeEvent last) {
+    Object oldValue = first.getOldValue();
+    Object newValue = last.getNewValue();
+    if (!isChange(oldValue, newValue) && (isChange(first.getOldValue(), first.getNewValue())
+        || isChange(last.getOldValue(), last.getNewValue()))) {
+      oldValue = null;
+    }
+    return new PropertyChangeEvent(this, last.getPropertyName(), oldValue, newValue);
+  }
+
+  /**
+   * 与 PropertyChangeSupport 一致：新旧值都非空且相等时视为未变化
+   */
+  private static boolean isChange(Object oldValue, Object newValue) {
+    return oldValue == null || newValue == null || !oldValue.equals(newValue);
+  }
+
+  private void scheduleFlush() {
+    if (flushTimer == null) {
+      flushTimer = new Timer(COALESCE_WINDOW_MILLIS, e -> flushPendingEvents());
+      flushTimer.setRepeats(false);
+    }
+    flushTimer.start();
+  }
+
+  private void flushPendingEvents() {
+    List<PropertyChangeEvent> events;
+    synchronized (pendingEvents) {
+      events = new ArrayList<>(pendingEvents.values());
+      pendingEvents.clear();
+    }
+    for (PropertyChangeEvent event : events) {
+      deliver(event);
+    }
+  }
+
+  private void deliver(PropertyChangeEvent event) {
+    if (!isChange(event.getOldValue(), event.getNewValue())) {
+      // 值未变化时不通知
+      return;
+    }
+    deliveredEventCount.incrementAndGet();
+    propertyChangeSupport.firePropertyChange(event);
   }
 
   /**
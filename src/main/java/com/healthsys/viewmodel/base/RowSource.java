@@ -0,0 +1,91 @@
+package com.healthsys.viewmodel.base;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 分块行数据源。
+ * 供懒加载表格按需读取数据块，实现方在后台线程中被调用。
+ * 
+ * @param <T> 行类型
+ * @author 梦辰
+ */
+public interface RowSource<T> {
+
+  /**
+   * 总行数（可以是估计值，读取到的数据不足时表格会自动收缩）
+   * 
+   * @return 行数
+   */
+  int count();
+
+  /**
+   * 读取一个数据块
+   * 
+   * @param after  上一数据块的最后一行，已知时应据此做键集分页；为null时按偏移量读取
+   * @param offset 数据块起始行号
+   * @param limit  最大行数
+   * @return 行列表
+   */
+  List<T> fetch(T after, int offset, int limit);
+
+  /**
+   * 包装内存列表
+   * 
+   * @param rows 行列表
+   * @return 数据源
+   */
+  static <T> RowSource<T> ofList(List<T> rows) {
+    List<T> snapshot = rows != null ? rows : Collections.emptyList();
+    return new RowSource<T>() {
+      @Override
+      public int count() {
+        return snapshot.size();
+      }
+
+      @Override
+      public List<T> fetch(T after, int offset, int limit) {
+        int from = Math.min(offset, snapshot.size());
+        return snapshot.subList(from, Math.min(snapshot.size(), from + limit));
+      }
+    };
+  }
+
+  /**
+   * 立即读取行数和首个数据块，返回的数据源由内存提供行数和首块，其余数据块仍按需读取。
+   * 应在后台线程调用；结果可以缓存后重复显示，首屏不再访问数据库
+   *
+   * @param source         数据源
+   * @param firstBlockSize 首块行数，应与表格的数据块大小一致
+   * @return 数据源
+   */
+  static <T> RowSource<T> prefetched(RowSource<T> source, int firstBlockSize) {
+    int total = source.count();
+    int firstLimit = Math.min(firstBlockSize, total);
+    List<T> firstBlock = firstLimit > 0 ? source.fetch(null, 0, firstLimit) : Collections.emptyList();
+    // 首块不足请求的行数时已包含全部数据
+    boolean complete = firstBlock.size() < firstBlockSize;
+    return new RowSource<T>() {
+      @Override
+      public int count() {
+        return total;
+      }
+
+      @Override
+      public List<T> fetch(T after, int offset, int limit) {
+        if (offset + limit <= firstBlock.size() || complete) {
+          int from = Math.min(offset, firstBlock.size());
+          return firstBlock.subList(from, Math.min(firstBlock.size(), from + limit));
+        }
+        return source.fetch(after, offset, limit);
+      }
+    };
+  }
+
+  /**
+   * 空数据源
+   */
+  static <T> RowSource<T> empty() {
+    return ofList(Collections.emptyList());
+  }
+}
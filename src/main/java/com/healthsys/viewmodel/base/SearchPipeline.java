@@ -0,0 +1,254 @@
+package com.healthsys.viewmodel.base;
+
+import javax.swing.*;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 搜索请求管道。
+ * 输入变化时等待静默期后才发起查询，输入过程中不满足条件（如过短）的查询被忽略；
+ * 与正在执行的查询条件相同的请求共用同一次执行，结果按查询条件短时缓存；
+ * 只有最后一次提交的查询结果会交给结果处理器。
+ * 缓存按代次管理，{@link #invalidate()} 之前发起的查询完成后不再写入缓存，也不再与之后的相同查询合并。
+ * 命中缓存时结果不经查询执行器直接交付，可用 {@link #onCacheHit(Runnable)} 先取消同一通道上仍在进行的其他加载；
+ * 结果应是已读取的数据（分块数据源至少预先读取行数和首块，见 {@link RowSource#prefetched}），
+ * 这样命中缓存才真正省去数据库访问，命中数和执行数反映实际避免和发出的查询。
+ * 除查询执行器返回的异步任务外，所有方法和回调都在EDT上执行。
+ *
+ * @param <Q> 查询条件类型，需正确实现 equals 和 hashCode
+ * @param <R> 结果类型
+ * @author 梦辰
+ */
+public class SearchPipeline<Q, R> {
+
+  public static final int DEFAULT_QUIET_PERIOD_MILLIS = 300;
+  public static final long DEFAULT_CACHE_TTL_MILLIS = 15_000;
+
+  /**
+   * 最多缓存的查询条件数
+   */
+  private static final int MAX_CACHE_ENTRIES = 32;
+
+  private final Function<Q, CompletableFuture<R>> executor;
+  private final Consumer<R> resultHandler;
+  private final Timer debounceTimer;
+
+  private Predicate<Q> acceptance = query -> true;
+  private Runnable cacheHitAction = () -> {
+  };
+  private long cacheTtlMillis = DEFAULT_CACHE_TTL_MILLIS;
+
+  private final Map<Q, CacheEntry<R>> cache = new LinkedHashMap<Q, CacheEntry<R>>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<Q, CacheEntry<R>> eldest) {
+      return size() > MAX_CACHE_ENTRIES;
+    }
+  };
+  private final Map<Q, CompletableFuture<R>> inFlight = new HashMap<>();
+
+  private Q pendingQuery;
+  private Q latestQuery;
+  private long generation;
+
+  private long submittedCount;
+  private long executedCount;
+  private long cacheHitCount;
+  private long deduplicatedCount;
+
+  /**
+   * 所有管道的累计统计，只在EDT上更新
+   */
+  private static long totalSubmittedCount;
+  private static long totalExecutedCount;
+  private static long totalCacheHitCount;
+  private static long totalDeduplicatedCount;
+
+  /**
+   * @param executor      查询执行器，返回异步结果；失败时自行报告错误
+   * @param resultHandler 结果处理器
+   */
+  public SearchPipeline(Function<Q, CompletableFuture<R>> executor, Consumer<R> resultHandler) {
+    this.executor = executor;
+    this.resultHandler = resultHandler;
+    this.debounceTimer = new Timer(DEFAULT_QUIET_PERIOD_MILLIS, e -> {
+      if (acceptance.test(pendingQuery)) {
+        execute(pendingQuery);
+      }
+    });
+    this.debounceTimer.setRepeats(false);
+  }
+
+  /**
+   * 设置静默期
+   */
+  public SearchPipeline<Q, R> quietPeriod(int millis) {
+    debounceTimer.setInitialDelay(millis);
+    return this;
+  }
+
+  /**
+   * 设置结果缓存有效期，0 表示不缓存
+   */
+  public SearchPipeline<Q, R> cacheTtl(long millis) {
+    this.cacheTtlMillis = millis;
+    return this;
+  }
+
+  /**
+   * 设置输入过程中查询条件的接受规则，不接受的查询直接忽略；立即执行的查询不受限制
+   */
+  public SearchPipeline<Q, R> accept(Predicate<Q> acceptance) {
+    this.acceptance = acceptance;
+    return this;
+  }
+
+  /**
+   * 设置命中缓存、直接交付结果前执行的操作，如取消同一通道上进行中的加载
+   */
+  public SearchPipeline<Q, R> onCacheHit(Runnable action) {
+    this.cacheHitAction = action;
+    return this;
+  }
+
+  /**
+   * 文本查询的最小长度规则：空白查询（表示不过滤）或去除首尾空白后不短于指定长度
+   */
+  public static Predicate<String> minLength(int length) {
+    return query -> query == null || query.trim().isEmpty() || query.trim().length() >= length;
+  }
+
+  /**
+   * 输入变化时提交查询，静默期结束后执行
+   */
+  public void submit(Q query) {
+    submittedCount++;
+    totalSubmittedCount++;
+    pendingQuery = query;
+    debounceTimer.restart();
+  }
+
+  /**
+   * 立即执行查询（如按下回车或搜索按钮），并放弃尚未执行的输入
+   */
+  public void submitNow(Q query) {
+    submittedCount++;
+    totalSubmittedCount++;
+    debounceTimer.stop();
+    execute(query);
+  }
+
+  /**
+   * 放弃尚未执行的输入
+   */
+  public void cancelPending() {
+    debounceTimer.stop();
+  }
+
+  /**
+   * 清空缓存，数据被修改后调用。正在执行的查询完成后仍可交付结果，但不写入缓存
+   */
+  public void invalidate() {
+    generation++;
+    cache.clear();
+    inFlight.clear();
+  }
+
+  public long getSubmittedCount() {
+    return submittedCount;
+  }
+
+  public long getExecutedCount() {
+    return executedCount;
+  }
+
+  public long getCacheHitCount() {
+    return cacheHitCount;
+  }
+
+  public long getDeduplicatedCount() {
+    return deduplicatedCount;
+  }
+
+  /**
+   * 所有管道累计提交的查询数
+   */
+  public static long getTotalSubmittedCount() {
+    return totalSubmittedCount;
+  }
+
+  /**
+   * 所有管道累计实际执行的查询数
+   */
+  public static long getTotalExecutedCount() {
+    return totalExecutedCount;
+  }
+
+  /**
+   * 所有管道累计命中缓存、未访问数据库的查询数
+   */
+  public static long getTotalCacheHitCount() {
+    return totalCacheHitCount;
+  }
+
+  /**
+   * 所有管道累计与执行中查询合并的查询数
+   */
+  public static long getTotalDeduplicatedCount() {
+    return totalDeduplicatedCount;
+  }
+
+  private void execute(Q query) {
+    latestQuery = query;
+
+    CacheEntry<R> cached = cache.get(query);
+    if (cached != null && System.currentTimeMillis() - cached.createdAt <= cacheTtlMillis) {
+      cacheHitCount++;
+      totalCacheHitCount++;
+      cacheHitAction.run();
+      resultHandler.accept(cached.value);
+      return;
+    }
+
+    CompletableFuture<R> running = inFlight.get(query);
+    if (running != null && !running.isDone()) {
+      // 相同条件的查询仍在执行，完成时它就是最新查询，会交付结果
+      deduplicatedCount++;
+      totalDeduplicatedCount++;
+      return;
+    }
+
+    executedCount++;
+    totalExecutedCount++;
+    long startGeneration = generation;
+    CompletableFuture<R> future = executor.apply(query);
+    inFlight.put(query, future);
+    future.whenComplete((result, throwable) -> SwingUtilities.invokeLater(() -> {
+      inFlight.remove(query, future);
+      if (throwable != null) {
+        // 被新查询取代或执行失败，错误由执行器自行报告
+        return;
+      }
+      if (cacheTtlMillis > 0 && startGeneration == generation) {
+        cache.put(query, new CacheEntry<>(result));
+      }
+      if (Objects.equals(query, latestQuery)) {
+        resultHandler.accept(result);
+      }
+    }));
+  }
+
+  private static final class CacheEntry<R> {
+    final R value;
+    final long createdAt = System.currentTimeMillis();
+
+    CacheEntry(R value) {
+      this.value = value;
+    }
+  }
+}
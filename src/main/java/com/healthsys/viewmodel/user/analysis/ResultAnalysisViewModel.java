@@ -1,14 +1,16 @@
 package com.healthsys.viewmodel.user.analysis;
 
+import com.healthsys.config.AppExecutor;
+import com.healthsys.model.dto.ExaminationResultTrend;
 import com.healthsys.model.entity.ExaminationResult;
 import com.healthsys.model.entity.Appointment;
-import com.healthsys.model.entity.CheckItem;
 import com.healthsys.service.IExaminationResultService;
 import com.healthsys.service.IAppointmentService;
-import com.healthsys.service.ICheckItemService;
+import com.healthsys.service.IPopulationStatisticsService;
 import com.healthsys.service.impl.ExaminationResultServiceImpl;
 import com.healthsys.service.impl.AppointmentServiceImpl;
-import com.healthsys.service.impl.CheckItemServiceImpl;
+import com.healthsys.service.impl.PopulationStatisticsServiceImpl;
+import com.healthsys.service.metrics.ServiceMetrics;
 import com.healthsys.viewmodel.base.BaseViewModel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,6 +18,7 @@ import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.ToIntBiFunction;
 
 /**
  * 体检结果分析视图模型。
@@ -29,12 +32,13 @@ public class ResultAnalysisViewModel extends BaseViewModel {
 
   private final IExaminationResultService examinationResultService;
   private final IAppointmentService appointmentService;
-  private final ICheckItemService checkItemService;
+  private final IPopulationStatisticsService populationStatisticsService;
 
   // 当前选定的结果
   private ExaminationResult selectedResult;
   private Appointment selectedAppointment;
   private List<ExaminationResult> currentResults;
+  private List<ExaminationResultTrend> currentTrends;
 
   // 分析结果
   private String analysisText;
@@ -50,10 +54,15 @@ public class ResultAnalysisViewModel extends BaseViewModel {
   private String statusMessage;
 
   public ResultAnalysisViewModel() {
-    this.examinationResultService = new ExaminationResultServiceImpl();
-    this.appointmentService = new AppointmentServiceImpl();
-    this.checkItemService = new CheckItemServiceImpl();
+    // 数据在后台线程加载，属性变更合并后在EDT上投递
+    setDispatchMode(DispatchMode.EDT_COALESCED);
+    this.examinationResultService = ServiceMetrics.instrument(IExaminationResultService.class,
+        new ExaminationResultServiceImpl());
+    this.appointmentService = ServiceMetrics.instrument(IAppointmentService.class, new AppointmentServiceImpl());
+    this.populationStatisticsService = ServiceMetrics.instrument(IPopulationStatisticsService.class,
+        new PopulationStatisticsServiceImpl());
     this.currentResults = new ArrayList<>();
+    this.currentTrends = new ArrayList<>();
     this.userAppointments = new ArrayList<>();
     this.analysisText = "";
     this.suggestionText = "";
@@ -73,7 +82,7 @@ public class ResultAnalysisViewModel extends BaseViewModel {
    * 加载用户预约列表
    */
   public CompletableFuture<Void> loadUserAppointments() {
-    return CompletableFuture.runAsync(() -> {
+    return AppExecutor.runDbAsync("ResultAnalysisViewModel.loadUserAppointments", () -> {
       try {
         setLoading(true);
         setStatusMessage("正在加载预约记录...");
@@ -106,7 +115,7 @@ public class ResultAnalysisViewModel extends BaseViewModel {
    * 加载结果详情命令
    */
   public CompletableFuture<Void> loadResultDetailCommand(Integer appointmentId) {
-    return CompletableFuture.runAsync(() -> {
+    return AppExecutor.runDbAsync("ResultAnalysisViewModel.loadResultDetailCommand", () -> {
       try {
         setLoading(true);
         setStatusMessage("正在加载体检结果...");
@@ -119,9 +128,14 @@ public class ResultAnalysisViewModel extends BaseViewModel {
         List<ExaminationResult> results = examinationResultService.getExaminationResultsByAppointmentId(appointmentId);
         setCurrentResults(results);
 
-        if (results != null && !results.isEmpty()) {
+        // 一次查询取回各检查项本次值与上一次值
+        List<ExaminationResultTrend> trends = examinationResultService
+            .getExaminationResultTrendsByAppointmentId(appointmentId);
+        setCurrentTrends(trends != null ? trends : new ArrayList<>());
+
+        if (trends != null && !trends.isEmpty()) {
           // 生成分析和建议
-          generateAnalysisAndSuggestions(results);
+          generateAnalysisAndSuggestions(trends);
           setStatusMessage("体检结果加载完成");
         } else {
           setStatusMessage("该预约暂无体检结果");
@@ -140,107 +154,153 @@ public class ResultAnalysisViewModel extends BaseViewModel {
   /**
    * 生成分析和建议
    */
-  private void generateAnalysisAndSuggestions(List<ExaminationResult> results) {
+  private void generateAnalysisAndSuggestions(List<ExaminationResultTrend> results) {
     try {
-      StringBuilder analysisBuilder = new StringBuilder();
-      StringBuilder suggestionBuilder = new StringBuilder();
-
-      int totalItems = results.size();
-      int normalItems = 0;
-      int abnormalItems = 0;
-
-      analysisBuilder.append("=== 体检结果分析报告 ===\n\n");
-      analysisBuilder.append("本次体检共检查 ").append(totalItems).append(" 个项目：\n\n");
-
-      for (ExaminationResult result : results) {
-        // 获取检查项信息
-        CheckItem checkItem = checkItemService.getCheckItemById(result.getItemId());
-        String itemName = checkItem != null ? checkItem.getItemName() : "检查项_" + result.getItemId();
-        String referenceVal = checkItem != null ? checkItem.getReferenceVal() : "未知";
-
-        analysisBuilder.append("• ").append(itemName).append("：")
-            .append(result.getMeasuredValue())
-            .append(" (参考值：").append(referenceVal).append(")\n");
-
-        // 简单的异常判断逻辑
-        boolean isNormal = isValueNormal(result.getMeasuredValue(), referenceVal);
-        if (isNormal) {
-          normalItems++;
-          analysisBuilder.append("  ✓ 正常范围内\n");
-        } else {
-          abnormalItems++;
-          analysisBuilder.append("  ⚠ 需要关注\n");
-        }
-
-        analysisBuilder.append("\n");
-      }
+      AnalysisReport report = buildReport(results, populationStatisticsService::getPercentile);
+      setHealthScore(report.healthScore);
+      setRiskLevel(report.riskLevel);
+      setAnalysisText(report.analysisText);
+      setSuggestionText(report.suggestionText);
+    } catch (Exception e) {
+      logger.error("生成分析和建议时发生错误", e);
+      setAnalysisText("分析生成失败");
+      setSuggestionText("建议生成失败");
+    }
+  }
 
-      // 生成总体评价
-      double normalRate = (double) normalItems / totalItems * 100;
-      analysisBuilder.append("=== 总体评价 ===\n");
-      analysisBuilder.append("正常项目：").append(normalItems).append(" 个 (").append(String.format("%.1f", normalRate))
-          .append("%)\n");
-      analysisBuilder.append("异常项目：").append(abnormalItems).append(" 个 (")
-          .append(String.format("%.1f", 100 - normalRate)).append("%)\n\n");
-
-      // 健康评分
-      String score;
-      String risk;
-      if (normalRate >= 90) {
-        score = "优秀 (90-100分)";
-        risk = "低风险";
-      } else if (normalRate >= 80) {
-        score = "良好 (80-89分)";
-        risk = "低风险";
-      } else if (normalRate >= 70) {
-        score = "一般 (70-79分)";
-        risk = "中等风险";
+  /**
+   * 生成分析报告，不修改视图模型状态
+   *
+   * @param results          本次体检结果及上一次测量值
+   * @param percentileLookup 按检查项和测量值查询人群百分位，无统计时返回负数
+   * @return 分析报告
+   */
+  static AnalysisReport buildReport(List<ExaminationResultTrend> results,
+      ToIntBiFunction<Integer, String> percentileLookup) {
+    StringBuilder analysisBuilder = new StringBuilder();
+    StringBuilder suggestionBuilder = new StringBuilder();
+
+    int totalItems = results.size();
+    int normalItems = 0;
+    int abnormalItems = 0;
+
+    analysisBuilder.append("=== 体检结果分析报告 ===\n\n");
+    analysisBuilder.append("本次体检共检查 ").append(totalItems).append(" 个项目：\n\n");
+
+    for (ExaminationResultTrend result : results) {
+      String itemName = result.getItemName() != null ? result.getItemName() : "检查项_" + result.getItemId();
+      String referenceVal = result.getReferenceVal() != null ? result.getReferenceVal() : "未知";
+
+      analysisBuilder.append("• ").append(itemName).append("：")
+          .append(result.getMeasuredValue())
+          .append(" (参考值：").append(referenceVal).append(")\n");
+
+      // 简单的异常判断逻辑
+      boolean isNormal = isValueNormal(result.getMeasuredValue(), referenceVal);
+      if (isNormal) {
+        normalItems++;
+        analysisBuilder.append("  ✓ 正常范围内\n");
       } else {
-        score = "需改善 (60-69分)";
-        risk = "高风险";
+        abnormalItems++;
+        analysisBuilder.append("  ⚠ 需要关注\n");
       }
 
-      setHealthScore(score);
-      setRiskLevel(risk);
-
-      // 生成建议
-      suggestionBuilder.append("=== 健康建议 ===\n\n");
-
-      if (abnormalItems == 0) {
-        suggestionBuilder.append("🎉 恭喜！您的体检结果全部正常。\n\n")
-            .append("建议：\n")
-            .append("• 保持现有的健康生活方式\n")
-            .append("• 定期进行体检，建议每年至少一次\n")
-            .append("• 注意均衡饮食和适量运动\n");
-      } else if (abnormalItems <= 2) {
-        suggestionBuilder.append("📊 您的体检结果大部分正常，但有少数项目需要关注。\n\n")
-            .append("建议：\n")
-            .append("• 针对异常项目咨询医生，制定改善计划\n")
-            .append("• 调整生活习惯，重点关注异常指标\n")
-            .append("• 3-6个月后复查相关项目\n");
-      } else {
-        suggestionBuilder.append("⚠️ 您的体检结果显示多个项目异常，建议及时就医。\n\n")
-            .append("建议：\n")
-            .append("• 尽快咨询专科医生，进行进一步检查\n")
-            .append("• 严格按医嘱执行治疗方案\n")
-            .append("• 改善生活方式，戒烟限酒，规律作息\n")
-            .append("• 定期复查，密切监测健康状况\n");
-      }
+      appendTrendLine(analysisBuilder, result);
+      appendPopulationLine(analysisBuilder, result, percentileLookup);
 
-      setAnalysisText(analysisBuilder.toString());
-      setSuggestionText(suggestionBuilder.toString());
+      analysisBuilder.append("\n");
+    }
 
-    } catch (Exception e) {
-      logger.error("生成分析和建议时发生错误", e);
-      setAnalysisText("分析生成失败");
-      setSuggestionText("建议生成失败");
+    // 生成总体评价
+    double normalRate = (double) normalItems / totalItems * 100;
+    analysisBuilder.append("=== 总体评价 ===\n");
+    analysisBuilder.append("正常项目：").append(normalItems).append(" 个 (").append(String.format("%.1f", normalRate))
+        .append("%)\n");
+    analysisBuilder.append("异常项目：").append(abnormalItems).append(" 个 (")
+        .append(String.format("%.1f", 100 - normalRate)).append("%)\n\n");
+
+    // 健康评分
+    String score;
+    String risk;
+    if (normalRate >= 90) {
+      score = "优秀 (90-100分)";
+      risk = "低风险";
+    } else if (normalRate >= 80) {
+      score = "良好 (80-89分)";
+      risk = "低风险";
+    } else if (normalRate >= 70) {
+      score = "一般 (70-79分)";
+      risk = "中等风险";
+    } else {
+      score = "需改善 (60-69分)";
+      risk = "高风险";
+    }
+
+    // 生成建议
+    suggestionBuilder.append("=== 健康建议 ===\n\n");
+
+    if (abnormalItems == 0) {
+      suggestionBuilder.append("🎉 恭喜！您的体检结果全部正常。\n\n")
+          .append("建议：\n")
+          .append("• 保持现有的健康生活方式\n")
+          .append("• 定期进行体检，建议每年至少一次\n")
+          .append("• 注意均衡饮食和适量运动\n");
+    } else if (abnormalItems <= 2) {
+      suggestionBuilder.append("📊 您的体检结果大部分正常，但有少数项目需要关注。\n\n")
+          .append("建议：\n")
+          .append("• 针对异常项目咨询医生，制定改善计划\n")
+          .append("• 调整生活习惯，重点关注异常指标\n")
+          .append("• 3-6个月后复查相关项目\n");
+    } else {
+      suggestionBuilder.append("⚠️ 您的体检结果显示多个项目异常，建议及时就医。\n\n")
+          .append("建议：\n")
+          .append("• 尽快咨询专科医生，进行进一步检查\n")
+          .append("• 严格按医嘱执行治疗方案\n")
+          .append("• 改善生活方式，戒烟限酒，规律作息\n")
+          .append("• 定期复查，密切监测健康状况\n");
+    }
+
+    return new AnalysisReport(analysisBuilder.toString(), suggestionBuilder.toString(), score, risk);
+  }
+
+  /**
+   * 追加与上一次测量的对比信息
+   */
+  private static void appendTrendLine(StringBuilder analysisBuilder, ExaminationResultTrend result) {
+    if (!result.hasPrevious()) {
+      analysisBuilder.append("  首次检查，暂无历史对比\n");
+      return;
+    }
+
+    Double delta = result.getDelta();
+    analysisBuilder.append("  较上次（").append(result.getPreviousValue()).append("）：");
+    if (delta == null) {
+      analysisBuilder.append("无法比较\n");
+    } else {
+      analysisBuilder.append(result.getTrendArrow()).append(" ")
+          .append(String.format("%+.2f", delta));
+      if (result.getUnit() != null && !result.getUnit().isEmpty()) {
+        analysisBuilder.append(" ").append(result.getUnit());
+      }
+      analysisBuilder.append("\n");
+    }
+  }
+
+  /**
+   * 追加测量值在人群中的百分位
+   */
+  private static void appendPopulationLine(StringBuilder analysisBuilder, ExaminationResultTrend result,
+      ToIntBiFunction<Integer, String> percentileLookup) {
+    int percentile = percentileLookup.applyAsInt(result.getItemId(), result.getMeasuredValue());
+    if (percentile >= 0) {
+      analysisBuilder.append("  人群百分位：P").append(percentile).append("\n");
     }
   }
 
   /**
    * 简单的数值正常性判断
    */
-  private boolean isValueNormal(String measuredValue, String referenceValue) {
+  static boolean isValueNormal(String measuredValue, String referenceValue) {
     try {
       // 这里实现简单的数值比较逻辑
       // 实际项目中应该有更复杂的判断规则
@@ -272,6 +332,7 @@ public class ResultAnalysisViewModel extends BaseViewModel {
    * 清空分析结果
    */
   private void clearAnalysis() {
+    setCurrentTrends(new ArrayList<>());
     setAnalysisText("");
     setSuggestionText("");
     setHealthScore("");
@@ -317,6 +378,16 @@ public class ResultAnalysisViewModel extends BaseViewModel {
     firePropertyChange("currentResults", oldValue, currentResults);
   }
 
+  public List<ExaminationResultTrend> getCurrentTrends() {
+    return currentTrends;
+  }
+
+  public void setCurrentTrends(List<ExaminationResultTrend> currentTrends) {
+    List<ExaminationResultTrend> oldValue = this.currentTrends;
+    this.currentTrends = currentTrends;
+    firePropertyChange("currentTrends", oldValue, currentTrends);
+  }
+
   public String getAnalysisText() {
     return analysisText;
   }
@@ -386,4 +457,21 @@ public class ResultAnalysisViewModel extends BaseViewModel {
     this.statusMessage = statusMessage;
     firePropertyChange("statusMessage", oldValue, statusMessage);
   }
-}
\ No newline at end of file
+
+  /**
+   * 分析报告
+   */
+  static final class AnalysisReport {
+    final String analysisText;
+    final String suggestionText;
+    final String healthScore;
+    final String riskLevel;
+
+    AnalysisReport(String analysisText, String suggestionText, String healthScore, String riskLevel) {
+      this.analysisText = analysisText;
+      this.suggestionText = suggestionText;
+      this.healthScore = healthScore;
+      this.riskLevel = riskLevel;
+    }
+  }
+}
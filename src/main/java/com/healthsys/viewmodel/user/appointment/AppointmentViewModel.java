@@ -1,12 +1,15 @@
 package com.healthsys.viewmodel.user.appointment;
 
+import com.healthsys.config.AppExecutor;
 import com.healthsys.model.entity.Appointment;
 import com.healthsys.model.entity.CheckGroup;
 import com.healthsys.service.IAppointmentService;
 import com.healthsys.service.ICheckGroupService;
 import com.healthsys.service.impl.AppointmentServiceImpl;
 import com.healthsys.service.impl.CheckGroupServiceImpl;
+import com.healthsys.service.metrics.ServiceMetrics;
 import com.healthsys.viewmodel.base.BaseViewModel;
+import com.healthsys.viewmodel.base.RowSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -27,6 +30,11 @@ public class AppointmentViewModel extends BaseViewModel {
 
   private static final Logger logger = LoggerFactory.getLogger(AppointmentViewModel.class);
 
+  /**
+   * 预约历史加载通道，重复刷新时只保留最后一次
+   */
+  private static final String HISTORY_CHANNEL = "appointmentHistory";
+
   private final IAppointmentService appointmentService;
   private final ICheckGroupService checkGroupService;
 
@@ -39,7 +47,7 @@ public class AppointmentViewModel extends BaseViewModel {
 
   // 数据列表
   private List<CheckGroup> availableCheckGroups;
-  private List<Appointment> appointmentHistory;
+  private RowSource<Appointment> appointmentHistory;
 
   // UI状态
   private boolean isLoading;
@@ -49,10 +57,12 @@ public class AppointmentViewModel extends BaseViewModel {
   private final String[] examinationMethods = { "上门体检", "诊所体检", "医院体检" };
 
   public AppointmentViewModel() {
-    this.appointmentService = new AppointmentServiceImpl();
-    this.checkGroupService = new CheckGroupServiceImpl();
+    // 数据在后台线程加载，属性变更合并后在EDT上投递
+    setDispatchMode(DispatchMode.EDT_COALESCED);
+    this.appointmentService = ServiceMetrics.instrument(IAppointmentService.class, new AppointmentServiceImpl());
+    this.checkGroupService = ServiceMetrics.instrument(ICheckGroupService.class, new CheckGroupServiceImpl());
     this.availableCheckGroups = new ArrayList<>();
-    this.appointmentHistory = new ArrayList<>();
+    this.appointmentHistory = RowSource.empty();
     this.examinationMethod = examinationMethods[0]; // 默认选择第一个
 
     // 初始化时加载检查组数据
@@ -63,7 +73,7 @@ public class AppointmentViewModel extends BaseViewModel {
    * 提交预约命令
    */
   public CompletableFuture<Boolean> submitAppointmentCommand() {
-    return CompletableFuture.supplyAsync(() -> {
+    return AppExecutor.supplyDbAsync("AppointmentViewModel.submitAppointmentCommand", () -> {
       try {
         setLoading(true);
         setStatusMessage("正在提交预约...");
@@ -116,25 +126,40 @@ public class AppointmentViewModel extends BaseViewModel {
    * 加载预约历史命令
    */
   public CompletableFuture<Void> loadAppointmentHistoryCommand() {
-    return CompletableFuture.runAsync(() -> {
+    return runLatest(HISTORY_CHANNEL, "AppointmentViewModel.loadAppointmentHistoryCommand", token -> {
       try {
         setLoading(true);
         setStatusMessage("正在加载预约历史...");
 
-        List<Appointment> histories = appointmentService.getAppointmentsByUserId(getCurrentUserId());
-
-        if (histories != null) {
-          setAppointmentHistory(histories);
-          setStatusMessage("预约历史加载完成");
-        } else {
-          setStatusMessage("加载预约历史失败");
+        // 只统计行数，行数据由表格按滚动位置分块读取
+        Integer userId = getCurrentUserId();
+        int total = appointmentService.countAppointments(userId, null);
+        if (token.isCancelled()) {
+          return;
         }
+        setAppointmentHistory(new RowSource<Appointment>() {
+          @Override
+          public int count() {
+            return total;
+          }
+
+          @Override
+          public List<Appointment> fetch(Appointment after, int offset, int limit) {
+            return appointmentService.getAppointmentBlock(userId, null, after, offset, limit);
+          }
+        });
+        setStatusMessage("预约历史加载完成");
 
       } catch (Exception e) {
+        if (token.isCancelled()) {
+          return;
+        }
         logger.error("加载预约历史时发生错误", e);
         setStatusMessage("加载预约历史时发生错误：" + e.getMessage());
       } finally {
-        setLoading(false);
+        if (!isSuperseded(HISTORY_CHANNEL, token)) {
+          setLoading(false);
+        }
       }
     });
   }
@@ -143,7 +168,7 @@ public class AppointmentViewModel extends BaseViewModel {
    * 取消预约命令
    */
   public CompletableFuture<Boolean> cancelAppointmentCommand(Integer appointmentId) {
-    return CompletableFuture.supplyAsync(() -> {
+    return AppExecutor.supplyDbAsync("AppointmentViewModel.cancelAppointmentCommand", () -> {
       try {
         setLoading(true);
         setStatusMessage("正在取消预约...");
@@ -174,7 +199,7 @@ public class AppointmentViewModel extends BaseViewModel {
    * 加载可用检查组
    */
   private void loadAvailableCheckGroups() {
-    CompletableFuture.runAsync(() -> {
+    AppExecutor.runDbAsync("AppointmentViewModel.loadAvailableCheckGroups", () -> {
       try {
         List<CheckGroup> checkGroups = checkGroupService.getAllActiveCheckGroups();
         if (checkGroups != null) {
@@ -307,12 +332,12 @@ public class AppointmentViewModel extends BaseViewModel {
     firePropertyChange("availableCheckGroups", oldValue, availableCheckGroups);
   }
 
-  public List<Appointment> getAppointmentHistory() {
+  public RowSource<Appointment> getAppointmentHistory() {
     return appointmentHistory;
   }
 
-  public void setAppointmentHistory(List<Appointment> appointmentHistory) {
-    List<Appointment> oldValue = this.appointmentHistory;
+  public void setAppointmentHistory(RowSource<Appointment> appointmentHistory) {
+    RowSource<Appointment> oldValue = this.appointmentHistory;
     this.appointmentHistory = appointmentHistory;
     firePropertyChange("appointmentHistory", oldValue, appointmentHistory);
   }
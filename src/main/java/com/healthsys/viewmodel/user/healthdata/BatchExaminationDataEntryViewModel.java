@@ -1,5 +1,6 @@
 package com.healthsys.viewmodel.user.healthdata;
 
+import com.healthsys.config.AppExecutor;
 import com.healthsys.model.entity.Appointment;
 import com.healthsys.model.entity.CheckItem;
 import com.healthsys.model.entity.ExaminationResult;
@@ -7,6 +8,7 @@ import com.healthsys.service.ICheckGroupService;
 import com.healthsys.service.IExaminationResultService;
 import com.healthsys.service.impl.CheckGroupServiceImpl;
 import com.healthsys.service.impl.ExaminationResultServiceImpl;
+import com.healthsys.service.metrics.ServiceMetrics;
 import com.healthsys.viewmodel.base.BaseViewModel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,8 +42,9 @@ public class BatchExaminationDataEntryViewModel extends BaseViewModel {
 
   public BatchExaminationDataEntryViewModel(Appointment appointment) {
     this.appointment = appointment;
-    this.checkGroupService = new CheckGroupServiceImpl();
-    this.examinationResultService = new ExaminationResultServiceImpl();
+    this.checkGroupService = ServiceMetrics.instrument(ICheckGroupService.class, new CheckGroupServiceImpl());
+    this.examinationResultService = ServiceMetrics.instrument(IExaminationResultService.class,
+        new ExaminationResultServiceImpl());
     this.checkItems = new ArrayList<>();
 
     logger.info("初始化批量体检数据录入ViewModel，预约ID: {}", appointment.getAppointmentId());
@@ -51,7 +54,7 @@ public class BatchExaminationDataEntryViewModel extends BaseViewModel {
    * 加载检查项命令
    */
   public CompletableFuture<Void> loadCheckItemsCommand() {
-    return CompletableFuture.runAsync(() -> {
+    return AppExecutor.runDbAsync("BatchExaminationDataEntryViewModel.loadCheckItemsCommand", () -> {
       try {
         setLoading(true);
         setStatusMessage("正在加载检查项数据...");
@@ -84,7 +87,7 @@ public class BatchExaminationDataEntryViewModel extends BaseViewModel {
    * 保存体检结果命令
    */
   public CompletableFuture<Void> saveExaminationResultsCommand(List<ExaminationResult> results) {
-    return CompletableFuture.runAsync(() -> {
+    return AppExecutor.runDbAsync("BatchExaminationDataEntryViewModel.saveExaminationResultsCommand", () -> {
       try {
         setLoading(true);
         setStatusMessage("正在保存体检数据...");
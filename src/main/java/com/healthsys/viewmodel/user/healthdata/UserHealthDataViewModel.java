@@ -12,14 +12,19 @@ import com.healthsys.service.impl.ExaminationResultServiceImpl;
 import com.healthsys.service.impl.CheckItemServiceImpl;
 import com.healthsys.service.impl.CheckGroupServiceImpl;
 import com.healthsys.config.AppContext;
+import com.healthsys.config.AppExecutor;
+import com.healthsys.service.metrics.ServiceMetrics;
 import com.healthsys.viewmodel.base.BaseViewModel;
+import com.healthsys.viewmodel.base.RowSource;
+import com.healthsys.viewmodel.base.SearchPipeline;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.swing.*;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 用户健康数据视图模型。
@@ -31,15 +36,30 @@ public class UserHealthDataViewModel extends BaseViewModel {
 
   private static final Logger logger = LoggerFactory.getLogger(UserHealthDataViewModel.class);
 
+  /**
+   * 加载与搜索共用的通道，后发起的请求取消先前的请求
+   */
+  private static final String LOAD_CHANNEL = "healthData";
+
+  /**
+   * 输入过程中触发自动搜索的最小关键词长度
+   */
+  private static final int MIN_SEARCH_LENGTH = 1;
+
+  /**
+   * 搜索时随行数一起读取的首块行数，与表格的数据块大小一致
+   */
+  private static final int FIRST_BLOCK_SIZE = 100;
+
   private final IExaminationResultService examinationResultService;
   private final ICheckItemService checkItemService;
   private final ICheckGroupService checkGroupService;
 
-  // 健康数据列表
-  private List<ExaminationResult> healthDataList;
+  // 健康数据源（表格按需分块读取）
+  private RowSource<ExaminationResult> healthDataSource;
 
-  // 缓存映射，用于显示名称而不是ID
-  private java.util.Map<Integer, String> checkItemNameCache;
+  // 缓存映射，用于显示名称而不是ID（表格在后台线程格式化行时读取）
+  private java.util.Map<Integer, CheckItem> checkItemCache;
   private java.util.Map<Integer, String> checkGroupNameCache;
 
   // 查询相关属性
@@ -52,16 +72,24 @@ public class UserHealthDataViewModel extends BaseViewModel {
   private String statusMessage;
   private ExaminationResult selectedHealthData;
 
+  private final SearchPipeline<String, RowSource<ExaminationResult>> searchPipeline;
+
   public UserHealthDataViewModel() {
-    this.examinationResultService = new ExaminationResultServiceImpl();
-    this.checkItemService = new CheckItemServiceImpl();
-    this.checkGroupService = new CheckGroupServiceImpl();
-    this.healthDataList = new ArrayList<>();
-    this.checkItemNameCache = new HashMap<>();
-    this.checkGroupNameCache = new HashMap<>();
+    // 数据在后台线程加载，属性变更合并后在EDT上投递
+    setDispatchMode(DispatchMode.EDT_COALESCED);
+    this.examinationResultService = ServiceMetrics.instrument(IExaminationResultService.class,
+        new ExaminationResultServiceImpl());
+    this.checkItemService = ServiceMetrics.instrument(ICheckItemService.class, new CheckItemServiceImpl());
+    this.checkGroupService = ServiceMetrics.instrument(ICheckGroupService.class, new CheckGroupServiceImpl());
+    this.healthDataSource = RowSource.empty();
+    this.checkItemCache = new ConcurrentHashMap<>();
+    this.checkGroupNameCache = new ConcurrentHashMap<>();
     this.searchKeyword = "";
     this.selectedDateRange = "全部";
     this.selectedAppointmentId = null; // 初始化为null，表示查询所有预约
+    this.searchPipeline = new SearchPipeline<String, RowSource<ExaminationResult>>(this::runSearch,
+        this::publishSearchResults).accept(SearchPipeline.minLength(MIN_SEARCH_LENGTH))
+        .onCacheHit(() -> cancelLoad(LOAD_CHANNEL));
 
     logger.info("用户健康数据ViewModel初始化完成");
 
@@ -74,105 +102,212 @@ public class UserHealthDataViewModel extends BaseViewModel {
    */
   public void initialize() {
     loadHealthDataCommand();
+    preloadLookups();
+  }
+
+  /**
+   * 在后台预取表格显示所需的检查项和检查组名称，
+   * 避免表格渲染时在EDT上逐行查询
+   */
+  private void preloadLookups() {
+    AppExecutor.runDbAsync("UserHealthDataViewModel.preloadLookups", () -> {
+      List<CheckItem> checkItems = checkItemService.getAllActiveCheckItems();
+      if (checkItems != null) {
+        for (CheckItem checkItem : checkItems) {
+          checkItemCache.putIfAbsent(checkItem.getItemId(), checkItem);
+        }
+      }
+      List<CheckGroup> checkGroups = checkGroupService.getAllActiveCheckGroups();
+      if (checkGroups != null) {
+        for (CheckGroup checkGroup : checkGroups) {
+          checkGroupNameCache.putIfAbsent(checkGroup.getGroupId(), checkGroup.getGroupName());
+        }
+      }
+    }).exceptionally(throwable -> {
+      logger.warn("预取检查项和检查组失败", throwable);
+      return null;
+    });
   }
 
   /**
    * 加载健康数据命令
    */
   public CompletableFuture<Void> loadHealthDataCommand() {
-    return CompletableFuture.runAsync(() -> {
+    return runLatest(LOAD_CHANNEL, "UserHealthDataViewModel.loadHealthDataCommand", token -> {
       try {
         setLoading(true);
         setStatusMessage("正在加载健康数据...");
 
-        List<ExaminationResult> results;
+        int total;
 
         if (selectedAppointmentId != null) {
-          // 按预约ID查询
-          results = examinationResultService.getExaminationResultsByAppointmentId(selectedAppointmentId);
-          logger.info("按预约ID查询体检结果，预约ID: {}, 结果数量: {}",
-              selectedAppointmentId, results != null ? results.size() : 0);
+          // 按预约ID查询（单次预约的结果数量有限，直接整体加载）
+          List<ExaminationResult> results =
+              examinationResultService.getExaminationResultsByAppointmentId(selectedAppointmentId);
+          if (token.isCancelled()) {
+            return;
+          }
+          total = results != null ? results.size() : 0;
+          logger.info("按预约ID查询体检结果，预约ID: {}, 结果数量: {}", selectedAppointmentId, total);
+          setHealthDataSource(RowSource.ofList(results));
         } else {
-          // 按用户ID查询所有数据
-          results = examinationResultService.getExaminationResultsByUserId(getCurrentUserId());
-          logger.info("按用户ID查询体检结果，用户ID: {}, 结果数量: {}",
-              getCurrentUserId(), results != null ? results.size() : 0);
+          // 按用户ID查询所有数据，只统计行数，行数据由表格按滚动位置分块读取
+          Integer userId = getCurrentUserId();
+          total = examinationResultService.countExaminationResultsByUserId(userId);
+          if (token.isCancelled()) {
+            return;
+          }
+          logger.info("按用户ID查询体检结果，用户ID: {}, 结果数量: {}", userId, total);
+          setHealthDataSource(new RowSource<ExaminationResult>() {
+            @Override
+            public int count() {
+              return total;
+            }
+
+            @Override
+            public List<ExaminationResult> fetch(ExaminationResult after, int offset, int limit) {
+              return examinationResultService.getExaminationResultBlockByUserId(userId, after, offset, limit);
+            }
+          });
         }
 
-        if (results != null && !results.isEmpty()) {
-          setHealthDataList(results);
-          setStatusMessage("健康数据加载完成，共 " + results.size() + " 条记录");
+        if (total > 0) {
+          setStatusMessage("健康数据加载完成，共 " + total + " 条记录");
+        } else if (selectedAppointmentId != null) {
+          setStatusMessage("该预约暂无体检结果数据");
         } else {
-          setHealthDataList(new ArrayList<>());
-          if (selectedAppointmentId != null) {
-            setStatusMessage("该预约暂无体检结果数据");
-          } else {
-            setStatusMessage("暂无健康数据");
-          }
+          setStatusMessage("暂无健康数据");
         }
 
       } catch (Exception e) {
+        if (token.isCancelled()) {
+          return;
+        }
         logger.error("加载健康数据时发生错误", e);
         setStatusMessage("加载健康数据失败：" + e.getMessage());
-        setHealthDataList(new ArrayList<>());
+        setHealthDataSource(RowSource.empty());
       } finally {
-        setLoading(false);
+        if (!isSuperseded(LOAD_CHANNEL, token)) {
+          setLoading(false);
+        }
       }
     });
   }
 
   /**
-   * 搜索健康数据命令
+   * 搜索健康数据命令（立即执行，用于回车和搜索按钮）
+   */
+  public void searchHealthDataCommand(String keyword) {
+    setSearchKeyword(keyword);
+    searchPipeline.submitNow(keyword.trim());
+  }
+
+  /**
+   * 搜索框内容变化时调用，静默期后自动搜索
+   */
+  public void onSearchTextChanged(String text) {
+    setSearchKeyword(text);
+    if (text.trim().isEmpty()) {
+      // 关键词清空后回到按需分块读取的完整列表
+      searchPipeline.cancelPending();
+      loadHealthDataCommand();
+    } else {
+      searchPipeline.submit(text.trim());
+    }
+  }
+
+  /**
+   * 在后台查询并过滤，结果由 {@link #publishSearchResults} 发布。
+   * 用户的全部结果在数据库中按关键词过滤，由表格分块读取；单次预约的结果数量有限，整体加载后在内存中过滤
    */
-  public CompletableFuture<Void> searchHealthDataCommand(String keyword) {
-    return CompletableFuture.runAsync(() -> {
+  private CompletableFuture<RowSource<ExaminationResult>> runSearch(String keyword) {
+    return supplyLatest(LOAD_CHANNEL, "UserHealthDataViewModel.searchHealthDataCommand", token -> {
       try {
         setLoading(true);
-        setSearchKeyword(keyword);
         setStatusMessage("正在搜索...");
 
-        List<ExaminationResult> allResults;
-
         if (selectedAppointmentId != null) {
-          // 在指定预约的结果中搜索
-          allResults = examinationResultService.getExaminationResultsByAppointmentId(selectedAppointmentId);
-        } else {
-          // 在用户所有结果中搜索
-          allResults = examinationResultService.getExaminationResultsByUserId(getCurrentUserId());
+          List<ExaminationResult> appointmentResults =
+              examinationResultService.getExaminationResultsByAppointmentId(selectedAppointmentId);
+          token.throwIfCancelled();
+          return RowSource.ofList(filterByKeyword(appointmentResults, keyword));
         }
 
-        List<ExaminationResult> filteredResults = new ArrayList<>();
+        Integer userId = getCurrentUserId();
+        int total = examinationResultService.countExaminationResultsByUserId(userId, keyword);
+        token.throwIfCancelled();
+        // 首块随行数一起读取，缓存命中时直接显示，不再访问数据库
+        RowSource<ExaminationResult> source = new RowSource<ExaminationResult>() {
+          @Override
+          public int count() {
+            return total;
+          }
 
-        if (allResults != null) {
-          for (ExaminationResult result : allResults) {
-            if (keyword.isEmpty() ||
-                (result.getResultNotes() != null && result.getResultNotes().contains(keyword)) ||
-                (result.getMeasuredValue() != null && result.getMeasuredValue().contains(keyword)) ||
-                getCheckItemName(result.getItemId()).contains(keyword) ||
-                getCheckGroupName(result.getGroupId()).contains(keyword)) {
-              filteredResults.add(result);
-            }
+          @Override
+          public List<ExaminationResult> fetch(ExaminationResult after, int offset, int limit) {
+            return examinationResultService.getExaminationResultBlockByUserId(userId, keyword, after, offset, limit);
           }
+        };
+        RowSource<ExaminationResult> results = RowSource.prefetched(source, FIRST_BLOCK_SIZE);
+        token.throwIfCancelled();
+        return results;
+
+      } catch (RuntimeException e) {
+        if (!token.isCancelled()) {
+          logger.error("搜索健康数据时发生错误", e);
+          setStatusMessage("搜索失败：" + e.getMessage());
         }
-
-        setHealthDataList(filteredResults);
-        setStatusMessage("搜索完成，找到 " + filteredResults.size() + " 条记录");
-
-      } catch (Exception e) {
-        logger.error("搜索健康数据时发生错误", e);
-        setStatusMessage("搜索失败：" + e.getMessage());
+        throw e;
       } finally {
-        setLoading(false);
+        if (!isSuperseded(LOAD_CHANNEL, token)) {
+          setLoading(false);
+        }
       }
     });
   }
 
+  /**
+   * 在内存中按关键词过滤，匹配规则与数据库查询一致（不区分大小写）
+   */
+  private List<ExaminationResult> filterByKeyword(List<ExaminationResult> results, String keyword) {
+    List<ExaminationResult> filteredResults = new ArrayList<>();
+    if (results == null) {
+      return filteredResults;
+    }
+    String lowerKeyword = keyword.toLowerCase();
+    for (ExaminationResult result : results) {
+      if (keyword.isEmpty() || containsIgnoreCase(result.getResultNotes(), lowerKeyword)
+          || containsIgnoreCase(result.getMeasuredValue(), lowerKeyword)
+          || containsIgnoreCase(getCheckItemName(result.getItemId()), lowerKeyword)
+          || containsIgnoreCase(getCheckGroupName(result.getGroupId()), lowerKeyword)) {
+        filteredResults.add(result);
+      }
+    }
+    return filteredResults;
+  }
+
+  private static boolean containsIgnoreCase(String text, String lowerKeyword) {
+    return text != null && text.toLowerCase().contains(lowerKeyword);
+  }
+
+  private void publishSearchResults(RowSource<ExaminationResult> results) {
+    setHealthDataSource(results);
+    setStatusMessage("搜索完成，找到 " + results.count() + " 条记录");
+  }
+
+  /**
+   * 数据变化后丢弃缓存的搜索结果
+   */
+  private void invalidateSearchCache() {
+    SwingUtilities.invokeLater(searchPipeline::invalidate);
+  }
+
   /**
    * 删除健康数据命令
    * 只有管理员才能删除健康数据
    */
   public CompletableFuture<Void> deleteHealthDataCommand(Integer resultId) {
-    return CompletableFuture.runAsync(() -> {
+    return AppExecutor.runDbAsync("UserHealthDataViewModel.deleteHealthDataCommand", () -> {
       try {
         // 权限检查：只有管理员才能删除
         if (!isCurrentUserAdmin()) {
@@ -188,6 +323,7 @@ public class UserHealthDataViewModel extends BaseViewModel {
 
         if (success) {
           setStatusMessage("健康数据删除成功");
+          invalidateSearchCache();
           // 重新加载数据
           loadHealthDataCommand();
         } else {
@@ -207,6 +343,7 @@ public class UserHealthDataViewModel extends BaseViewModel {
    * 刷新数据
    */
   public void refreshData() {
+    invalidateSearchCache();
     loadHealthDataCommand();
   }
 
@@ -214,6 +351,7 @@ public class UserHealthDataViewModel extends BaseViewModel {
    * 清空搜索条件
    */
   public void clearSearchConditions() {
+    searchPipeline.cancelPending();
     setSearchKeyword("");
     setSelectedDateRange("全部");
     loadHealthDataCommand();
@@ -250,19 +388,28 @@ public class UserHealthDataViewModel extends BaseViewModel {
       return "未知检查项";
     }
 
-    // 先从缓存中查找
-    if (checkItemNameCache.containsKey(itemId)) {
-      return checkItemNameCache.get(itemId);
+    CheckItem checkItem = getCachedCheckItem(itemId);
+    return checkItem != null ? checkItem.getItemName() : "检查项_" + itemId;
+  }
+
+  /**
+   * 从缓存获取检查项，未命中时查询并缓存
+   */
+  private CheckItem getCachedCheckItem(Integer itemId) {
+    CheckItem cached = checkItemCache.get(itemId);
+    if (cached != null) {
+      return cached;
     }
 
     try {
       CheckItem checkItem = checkItemService.getCheckItemById(itemId);
-      String itemName = checkItem != null ? checkItem.getItemName() : "检查项_" + itemId;
-      checkItemNameCache.put(itemId, itemName);
-      return itemName;
+      if (checkItem != null) {
+        checkItemCache.put(itemId, checkItem);
+      }
+      return checkItem;
     } catch (Exception e) {
-      logger.warn("获取检查项名称失败，ID: {}", itemId, e);
-      return "检查项_" + itemId;
+      logger.warn("获取检查项失败，ID: {}", itemId, e);
+      return null;
     }
   }
 
@@ -300,16 +447,11 @@ public class UserHealthDataViewModel extends BaseViewModel {
       return "-";
     }
 
-    try {
-      CheckItem checkItem = checkItemService.getCheckItemById(itemId);
-      if (checkItem != null && checkItem.getReferenceVal() != null) {
-        return checkItem.getReferenceVal();
-      }
-      return "-";
-    } catch (Exception e) {
-      logger.warn("获取检查项参考值失败，ID: {}", itemId, e);
-      return "-";
+    CheckItem checkItem = getCachedCheckItem(itemId);
+    if (checkItem != null && checkItem.getReferenceVal() != null) {
+      return checkItem.getReferenceVal();
     }
+    return "-";
   }
 
   /**
@@ -320,6 +462,9 @@ public class UserHealthDataViewModel extends BaseViewModel {
       this.selectedAppointmentId = appointmentId;
       logger.info("切换预约筛选，预约ID: {}", appointmentId);
 
+      // 缓存的搜索结果属于之前的预约
+      invalidateSearchCache();
+
       // 清空搜索关键词
       setSearchKeyword("");
 
@@ -339,14 +484,14 @@ public class UserHealthDataViewModel extends BaseViewModel {
   }
 
   // Getters and Setters
-  public List<ExaminationResult> getHealthDataList() {
-    return healthDataList;
+  public RowSource<ExaminationResult> getHealthDataSource() {
+    return healthDataSource;
   }
 
-  public void setHealthDataList(List<ExaminationResult> healthDataList) {
-    List<ExaminationResult> oldValue = this.healthDataList;
-    this.healthDataList = healthDataList;
-    firePropertyChange("healthDataList", oldValue, healthDataList);
+  public void setHealthDataSource(RowSource<ExaminationResult> healthDataSource) {
+    RowSource<ExaminationResult> oldValue = this.healthDataSource;
+    this.healthDataSource = healthDataSource;
+    firePropertyChange("healthDataSource", oldValue, healthDataSource);
   }
 
   public String getSearchKeyword() {
@@ -1,11 +1,13 @@
 package com.healthsys.viewmodel.user.tracking;
 
+import com.healthsys.config.AppExecutor;
 import com.healthsys.model.entity.MedicalHistory;
 import com.healthsys.model.entity.ExaminationResult;
 import com.healthsys.service.IMedicalHistoryService;
 import com.healthsys.service.IExaminationResultService;
 import com.healthsys.service.impl.MedicalHistoryServiceImpl;
 import com.healthsys.service.impl.ExaminationResultServiceImpl;
+import com.healthsys.service.metrics.ServiceMetrics;
 import com.healthsys.viewmodel.base.BaseViewModel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -54,8 +56,12 @@ public class HealthTrackingViewModel extends BaseViewModel {
   private final String[] chartTypes = { "折线图", "柱状图", "饼图" };
 
   public HealthTrackingViewModel() {
-    this.medicalHistoryService = new MedicalHistoryServiceImpl();
-    this.examinationResultService = new ExaminationResultServiceImpl();
+    // 数据在后台线程加载，属性变更合并后在EDT上投递
+    setDispatchMode(DispatchMode.EDT_COALESCED);
+    this.medicalHistoryService = ServiceMetrics.instrument(IMedicalHistoryService.class,
+        new MedicalHistoryServiceImpl());
+    this.examinationResultService = ServiceMetrics.instrument(IExaminationResultService.class,
+        new ExaminationResultServiceImpl());
     this.medicalHistoryList = new ArrayList<>();
     this.examinationResults = new ArrayList<>();
     this.chartData = new HashMap<>();
@@ -70,7 +76,7 @@ public class HealthTrackingViewModel extends BaseViewModel {
    * 加载病史列表命令
    */
   public CompletableFuture<Void> loadMedicalHistoryCommand() {
-    return CompletableFuture.runAsync(() -> {
+    return AppExecutor.runDbAsync("HealthTrackingViewModel.loadMedicalHistoryCommand", () -> {
       try {
         setLoading(true);
         setStatusMessage("正在加载病史记录...");
@@ -110,7 +116,7 @@ public class HealthTrackingViewModel extends BaseViewModel {
    * 加载体检结果用于图表对比
    */
   public CompletableFuture<Void> loadComparisonDataCommand() {
-    return CompletableFuture.runAsync(() -> {
+    return AppExecutor.runDbAsync("HealthTrackingViewModel.loadComparisonDataCommand", () -> {
       try {
         setLoading(true);
         setStatusMessage("正在加载对比数据...");
@@ -143,7 +149,7 @@ public class HealthTrackingViewModel extends BaseViewModel {
    * 加载最近病史命令
    */
   public CompletableFuture<Void> loadRecentMedicalHistoryCommand(int limit) {
-    return CompletableFuture.runAsync(() -> {
+    return AppExecutor.runDbAsync("HealthTrackingViewModel.loadRecentMedicalHistoryCommand", () -> {
       try {
         setLoading(true);
         setStatusMessage("正在加载最近病史...");
@@ -188,6 +194,16 @@ public class HealthTrackingViewModel extends BaseViewModel {
    * 处理图表数据
    */
   private void processChartData(List<ExaminationResult> results) {
+    setChartData(buildChartData(results));
+  }
+
+  /**
+   * 按检查项分组并按记录时间排序，不修改视图模型状态
+   *
+   * @param results 体检结果
+   * @return 检查项名称 -> [(日期, 数值), ...]
+   */
+  static Map<String, List<Object[]>> buildChartData(List<ExaminationResult> results) {
     Map<String, List<Object[]>> processedData = new HashMap<>();
 
     // 按检查项分组处理数据
@@ -206,14 +222,14 @@ public class HealthTrackingViewModel extends BaseViewModel {
           .compareTo((java.time.LocalDateTime) o2[0]));
     });
 
-    setChartData(processedData);
+    return processedData;
   }
 
   /**
    * 获取检查项名称
    * TODO: 实现从CheckItem服务获取检查项名称的逻辑
    */
-  private String getCheckItemName(Integer itemId) {
+  private static String getCheckItemName(Integer itemId) {
     // 这里需要从CheckItemService获取检查项名称
     // 暂时返回一个默认值
     return "检查项_" + itemId;
@@ -111,6 +111,19 @@ CREATE TABLE IF NOT EXISTS medical_history (
     FOREIGN KEY (user_id) REFERENCES users(user_id) ON DELETE CASCADE
 );
 
+-- 8. 创建check_item_statistics表（检查项人群统计快照）
+CREATE TABLE IF NOT EXISTS check_item_statistics (
+    item_id INTEGER PRIMARY KEY,
+    sample_count BIGINT NOT NULL DEFAULT 0,
+    mean_value DOUBLE PRECISION NOT NULL DEFAULT 0,
+    m2_value DOUBLE PRECISION NOT NULL DEFAULT 0,
+    min_value DOUBLE PRECISION,
+    max_value DOUBLE PRECISION,
+    sketch BYTEA,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (item_id) REFERENCES check_items(item_id) ON DELETE CASCADE
+);
+
 -- 创建索引以提高查询性能
 CREATE INDEX IF NOT EXISTS idx_users_username ON users(username);
 CREATE INDEX IF NOT EXISTS idx_users_email ON users(email);
@@ -122,9 +135,13 @@ CREATE INDEX IF NOT EXISTS idx_check_groups_active ON check_groups(is_active);
 CREATE INDEX IF NOT EXISTS idx_appointments_user ON appointments(user_id);
 CREATE INDEX IF NOT EXISTS idx_appointments_date ON appointments(appointment_date);
 CREATE INDEX IF NOT EXISTS idx_appointments_status ON appointments(status);
+CREATE INDEX IF NOT EXISTS idx_appointments_created ON appointments(created_at DESC, appointment_id DESC);
+CREATE INDEX IF NOT EXISTS idx_appointments_user_created ON appointments(user_id, created_at DESC, appointment_id DESC);
 CREATE INDEX IF NOT EXISTS idx_examination_results_user ON examination_results(user_id);
+CREATE INDEX IF NOT EXISTS idx_examination_results_user_time ON examination_results(user_id, recorded_at DESC, result_id DESC);
 CREATE INDEX IF NOT EXISTS idx_examination_results_appointment ON examination_results(appointment_id);
 CREATE INDEX IF NOT EXISTS idx_examination_results_group ON examination_results(group_id);
+CREATE INDEX IF NOT EXISTS idx_examination_results_user_item_time ON examination_results(user_id, item_id, recorded_at DESC);
 CREATE INDEX IF NOT EXISTS idx_medical_history_user ON medical_history(user_id);
 CREATE INDEX IF NOT EXISTS idx_medical_history_date ON medical_history(diagnosis_date);
 
@@ -0,0 +1,53 @@
+package com.healthsys.perf;
+
+import com.healthsys.model.entity.Appointment;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * 管理员按状态筛选预约：统计总数、读取表格首块，并解析首块中每位用户和检查组的名称。
+ * 名称逐个查询，与界面缓存未命中时的行为一致，可据此观察每次操作的语句数。
+ *
+ * @author 梦辰
+ */
+final class AdminSearchScenario implements Scenario {
+
+  private static final String[] STATUSES = { null, "待确认", "已确认", "已完成", "已取消" };
+  private static final int FIRST_BLOCK_SIZE = 100;
+
+  private final ServiceSet services;
+
+  AdminSearchScenario(ServiceSet services) {
+    this.services = services;
+  }
+
+  @Override
+  public String getName() {
+    return "admin-search";
+  }
+
+  @Override
+  public void runOnce(Dataset dataset, SplittableRandom random) {
+    String status = STATUSES[random.nextInt(STATUSES.length)];
+    int total = services.appointmentService.countAppointments(null, status);
+    if (total == 0) {
+      return;
+    }
+
+    List<Appointment> block = services.appointmentService.getAppointmentBlock(null, status, null, 0,
+        FIRST_BLOCK_SIZE);
+    Set<Integer> userIds = new HashSet<>();
+    Set<Integer> groupIds = new HashSet<>();
+    for (Appointment appointment : block) {
+      if (userIds.add(appointment.getUserId())) {
+        services.userService.getUserById(appointment.getUserId());
+      }
+      if (groupIds.add(appointment.getGroupId())) {
+        services.checkGroupService.getCheckGroupNameById(appointment.getGroupId());
+      }
+    }
+  }
+}
@@ -0,0 +1,120 @@
+package com.healthsys.perf;
+
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+
+/**
+ * 以 COPY 文本格式向表中流式写入行。
+ * 行在内存中累积到约64KB后发送，空值写作 \N，字段中的制表符、换行和反斜杠会被转义。
+ *
+ * @author 梦辰
+ */
+final class CopyWriter implements AutoCloseable {
+
+  private static final int FLUSH_CHARS = 64 * 1024;
+
+  private final CopyIn copyIn;
+  private final StringBuilder buffer = new StringBuilder(FLUSH_CHARS + 1024);
+  private boolean firstField = true;
+  private long rows;
+
+  /**
+   * @param copyManager COPY 接口
+   * @param table       表名
+   * @param columns     逗号分隔的列名
+   */
+  CopyWriter(CopyManager copyManager, String table, String columns) throws SQLException {
+    this.copyIn = copyManager.copyIn("COPY " + table + " (" + columns + ") FROM STDIN");
+  }
+
+  CopyWriter field(String value) {
+    separator();
+    if (value == null) {
+      buffer.append("\\N");
+      return this;
+    }
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '\\':
+          buffer.append("\\\\");
+          break;
+        case '\t':
+          buffer.append("\\t");
+          break;
+        case '\n':
+          buffer.append("\\n");
+          break;
+        case '\r':
+          buffer.append("\\r");
+          break;
+        default:
+          buffer.append(c);
+      }
+    }
+    return this;
+  }
+
+  CopyWriter field(long value) {
+    separator();
+    buffer.append(value);
+    return this;
+  }
+
+  /**
+   * 开始一个不需要转义的字段，调用方直接向返回的缓冲区追加内容，如数值和日期
+   */
+  StringBuilder rawField() {
+    separator();
+    return buffer;
+  }
+
+  void endRow() throws SQLException {
+    buffer.append('\n');
+    firstField = true;
+    rows++;
+    if (buffer.length() >= FLUSH_CHARS) {
+      flush();
+    }
+  }
+
+  long getRowCount() {
+    return rows;
+  }
+
+  private void separator() {
+    if (!firstField) {
+      buffer.append('\t');
+    }
+    firstField = false;
+  }
+
+  private void flush() throws SQLException {
+    byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+    copyIn.writeToCopy(bytes, 0, bytes.length);
+    buffer.setLength(0);
+  }
+
+  /**
+   * 发送剩余的行并结束 COPY
+   */
+  @Override
+  public void close() throws SQLException {
+    if (!copyIn.isActive()) {
+      return;
+    }
+    try {
+      if (buffer.length() > 0) {
+        flush();
+      }
+      copyIn.endCopy();
+    } finally {
+      if (copyIn.isActive()) {
+        copyIn.cancelCopy();
+      }
+    }
+  }
+}
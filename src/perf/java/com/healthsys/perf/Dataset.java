@@ -0,0 +1,101 @@
+package com.healthsys.perf;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 压测可用的合成数据样本：合成用户ID和预约（ID、用户、检查组）。
+ * 只加载有限数量的样本，数据量很大时也能快速启动。
+ *
+ * @author 梦辰
+ */
+final class Dataset {
+
+  /**
+   * 预约样本
+   */
+  static final class AppointmentRef {
+    final int appointmentId;
+    final int userId;
+    final int groupId;
+
+    AppointmentRef(int appointmentId, int userId, int groupId) {
+      this.appointmentId = appointmentId;
+      this.userId = userId;
+      this.groupId = groupId;
+    }
+  }
+
+  private static final String USER_SQL =
+      "SELECT user_id FROM users WHERE username LIKE ? ORDER BY user_id LIMIT ?";
+  private static final String APPOINTMENT_SQL = "SELECT a.appointment_id, a.user_id, a.group_id FROM appointments a"
+      + " JOIN users u ON u.user_id = a.user_id WHERE u.username LIKE ? LIMIT ?";
+
+  private final int[] userIds;
+  private final List<AppointmentRef> appointments;
+
+  private Dataset(int[] userIds, List<AppointmentRef> appointments) {
+    this.userIds = userIds;
+    this.appointments = appointments;
+  }
+
+  /**
+   * 从数据库加载样本
+   *
+   * @param dataSource 数据源
+   * @param sampleSize 每类样本的最大数量
+   * @return 样本
+   * @throws SQLException 查询失败
+   */
+  static Dataset load(DataSource dataSource, int sampleSize) throws SQLException {
+    String userPattern = SyntheticDataGenerator.likePrefix(SyntheticDataGenerator.USER_PREFIX);
+    List<Integer> users = new ArrayList<>();
+    List<AppointmentRef> appointments = new ArrayList<>();
+    try (Connection connection = dataSource.getConnection()) {
+      try (PreparedStatement statement = connection.prepareStatement(USER_SQL)) {
+        statement.setString(1, userPattern);
+        statement.setInt(2, sampleSize);
+        try (ResultSet rs = statement.executeQuery()) {
+          while (rs.next()) {
+            users.add(rs.getInt(1));
+          }
+        }
+      }
+      try (PreparedStatement statement = connection.prepareStatement(APPOINTMENT_SQL)) {
+        statement.setString(1, userPattern);
+        statement.setInt(2, sampleSize);
+        try (ResultSet rs = statement.executeQuery()) {
+          while (rs.next()) {
+            appointments.add(new AppointmentRef(rs.getInt(1), rs.getInt(2), rs.getInt(3)));
+          }
+        }
+      }
+    }
+    if (users.isEmpty() || appointments.isEmpty()) {
+      throw new IllegalStateException("数据库中没有合成数据，请先生成");
+    }
+    return new Dataset(users.stream().mapToInt(Integer::intValue).toArray(), appointments);
+  }
+
+  Integer randomUserId(SplittableRandom random) {
+    return userIds[random.nextInt(userIds.length)];
+  }
+
+  AppointmentRef randomAppointment(SplittableRandom random) {
+    return appointments.get(random.nextInt(appointments.size()));
+  }
+
+  int getUserCount() {
+    return userIds.length;
+  }
+
+  int getAppointmentCount() {
+    return appointments.size();
+  }
+}
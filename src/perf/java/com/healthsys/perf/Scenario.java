@@ -0,0 +1,24 @@
+package com.healthsys.perf;
+
+import java.util.SplittableRandom;
+
+/**
+ * 压测场景。一次 {@link #runOnce} 即一次完整的用户操作，由多个线程并发重复调用。
+ *
+ * @author 梦辰
+ */
+public interface Scenario {
+
+  /**
+   * 场景名称，用于命令行选择和报告
+   */
+  String getName();
+
+  /**
+   * 执行一次操作，抛出异常计为失败
+   *
+   * @param dataset 可用的合成数据
+   * @param random  当前线程的随机数生成器
+   */
+  void runOnce(Dataset dataset, SplittableRandom random);
+}
@@ -0,0 +1,252 @@
+package com.healthsys.perf;
+
+import com.healthsys.config.DataAccessManager;
+import com.healthsys.config.DatabaseConfig;
+import com.healthsys.service.metrics.ConnectionPoolMetrics;
+import com.healthsys.service.metrics.LatencyHistogram;
+import com.healthsys.service.metrics.MethodMetrics;
+import com.healthsys.service.metrics.QueryCounter;
+import com.healthsys.service.metrics.QueryMetrics;
+import com.healthsys.service.metrics.ServiceMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 端到端压测工具。
+ * 不启动界面，直接初始化数据访问层，在合成数据上用多个线程并发执行各场景，
+ * 报告吞吐量、耗时百分位、每次操作的语句数和连接获取等待，用于发现微基准无法体现的 N+1 查询和连接池争用。
+ * 各场景依次单独运行。每次操作在 {@link QueryCounter} 统计范围内执行，语句数与测试中的语句数断言口径一致：
+ * 在创建 JDBC 语句时计数，分页的计数语句计入。各次调用使用独立会话，连接等待反映真实的连接池争用。
+ * <p>
+ * 数据库连接沿用 application.properties，可用 -Dspring.datasource.url 等系统属性指向专用的压测库。
+ * 参数（均为 --名称=值）：
+ * scenarios 逗号分隔的场景（默认全部），threads 并发线程数（默认8），duration 每个场景的测量秒数（默认30），
+ * warmup 预热秒数（默认10），seed 随机种子（默认42），sample 加载的样本数（默认10000），csv 服务统计导出路径。
+ * 库中没有合成数据时先用 {@link SyntheticDataGenerator} 按同样的参数（users、appointments、workers 等）生成一份小规模数据；
+ * 大规模数据应事先用 perfGenerate 任务生成。
+ *
+ * @author 梦辰
+ */
+public final class ScenarioHarness {
+
+  private static final Logger logger = LoggerFactory.getLogger(ScenarioHarness.class);
+
+  private static final int TOP_STATEMENTS = 10;
+
+  private final Map<String, String> options;
+  private final int threads;
+  private final long seed;
+
+  private ScenarioHarness(Map<String, String> options) {
+    this.options = options;
+    this.threads = intOption("threads", 8);
+    this.seed = Long.parseLong(options.getOrDefault("seed", "42"));
+  }
+
+  public static void main(String[] args) {
+    int exitCode = 0;
+    try {
+      new ScenarioHarness(parseOptions(args)).run();
+    } catch (Exception e) {
+      logger.error("压测失败", e);
+      exitCode = 1;
+    } finally {
+      DatabaseConfig.closeDataSource();
+    }
+    // 服务实现中的定时任务等非守护线程不应阻止退出
+    System.exit(exitCode);
+  }
+
+  private static Map<String, String> parseOptions(String[] args) {
+    Map<String, String> options = new HashMap<>();
+    for (String arg : args) {
+      if (!arg.startsWith("--") || !arg.contains("=")) {
+        throw new IllegalArgumentException("无法识别的参数: " + arg + "，格式应为 --名称=值");
+      }
+      int separator = arg.indexOf('=');
+      options.put(arg.substring(2, separator), arg.substring(separator + 1));
+    }
+    return options;
+  }
+
+  private int intOption(String name, int defaultValue) {
+    return Integer.parseInt(options.getOrDefault(name, String.valueOf(defaultValue)));
+  }
+
+  private void run() throws Exception {
+    DataAccessManager dataAccessManager = DataAccessManager.getInstance();
+    if (!dataAccessManager.testConnection()) {
+      throw new IllegalStateException("无法连接数据库");
+    }
+    DataSource dataSource = DatabaseConfig.getDataSource();
+
+    SyntheticDataGenerator generator = new SyntheticDataGenerator(dataSource,
+        SyntheticDataGenerator.Settings.fromOptions(options));
+    if (generator.countSyntheticUsers() == 0) {
+      logger.info("库中没有合成数据，开始生成");
+      generator.generate();
+    }
+    Dataset dataset = Dataset.load(dataSource, intOption("sample", 10000));
+    logger.info("已加载样本：用户 {}，预约 {}", dataset.getUserCount(), dataset.getAppointmentCount());
+
+    ServiceSet services = new ServiceSet();
+    Map<String, Scenario> available = new LinkedHashMap<>();
+    for (Scenario scenario : List.of(new StaffEntryScenario(services), new UserDashboardScenario(services),
+        new AdminSearchScenario(services))) {
+      available.put(scenario.getName(), scenario);
+    }
+    List<Scenario> selected = new ArrayList<>();
+    for (String name : options.getOrDefault("scenarios", String.join(",", available.keySet())).split(",")) {
+      Scenario scenario = available.get(name.trim());
+      if (scenario == null) {
+        throw new IllegalArgumentException("未知场景: " + name + "，可选: " + available.keySet());
+      }
+      selected.add(scenario);
+    }
+
+    List<Result> results = new ArrayList<>();
+    for (Scenario scenario : selected) {
+      logger.info("场景 {}：预热 {} 秒", scenario.getName(), intOption("warmup", 10));
+      execute(scenario, dataset, intOption("warmup", 10));
+
+      QueryMetrics.reset();
+      ServiceMetrics.reset();
+      ConnectionPoolMetrics.reset();
+      logger.info("场景 {}：{} 个线程测量 {} 秒", scenario.getName(), threads, intOption("duration", 30));
+      Result result = execute(scenario, dataset, intOption("duration", 30));
+      result.poolWaitP99Micros = ConnectionPoolMetrics.getAcquireLatency().getPercentileMicros(99);
+      results.add(result);
+      printStatements(result);
+    }
+
+    printReport(results);
+    String csv = options.get("csv");
+    if (csv != null) {
+      Path path = Paths.get(csv);
+      ServiceMetrics.exportCsv(path);
+      logger.info("最后一个场景的服务统计已导出到 {}", path.toAbsolutePath());
+    }
+  }
+
+  /**
+   * 用固定数量的线程重复执行场景，直到时间用完
+   */
+  private Result execute(Scenario scenario, Dataset dataset, int seconds) throws InterruptedException {
+    Result result = new Result(scenario.getName());
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+    SplittableRandom parent = new SplittableRandom(seed);
+    CountDownLatch done = new CountDownLatch(threads);
+
+    long start = System.nanoTime();
+    for (int i = 0; i < threads; i++) {
+      SplittableRandom random = parent.split();
+      Thread worker = new Thread(() -> {
+        try {
+          while (System.nanoTime() < deadline) {
+            long opStart = System.nanoTime();
+            QueryCounter.Scope queries = QueryCounter.open(scenario.getName());
+            try {
+              scenario.runOnce(dataset, random);
+            } catch (RuntimeException e) {
+              result.errors.increment();
+              logger.debug("场景 {} 执行失败: {}", scenario.getName(), e.getMessage());
+            } finally {
+              queries.close();
+            }
+            result.latency.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - opStart));
+            result.recordStatements(queries);
+          }
+        } finally {
+          done.countDown();
+        }
+      }, "perf-" + scenario.getName() + "-" + i);
+      worker.setDaemon(true);
+      worker.start();
+    }
+    done.await();
+    result.elapsedNanos = System.nanoTime() - start;
+    return result;
+  }
+
+  /**
+   * 输出场景中执行次数最多的语句，便于定位逐行查询。耗时取自 {@link QueryMetrics}，分页计数语句没有单独的耗时
+   */
+  private static void printStatements(Result result) {
+    Map<String, MethodMetrics> timings = new HashMap<>();
+    for (MethodMetrics metrics : QueryMetrics.getAll()) {
+      timings.put(metrics.getServiceName() + "." + metrics.getMethodName(), metrics);
+    }
+    List<Map.Entry<String, LongAdder>> statements = new ArrayList<>(result.statements.entrySet());
+    statements.sort(
+        Comparator.comparingLong((Map.Entry<String, LongAdder> entry) -> entry.getValue().sum()).reversed());
+
+    StringBuilder text = new StringBuilder(String.format("场景 %s 执行次数最多的语句:%n", result.name));
+    for (Map.Entry<String, LongAdder> entry : statements.subList(0, Math.min(TOP_STATEMENTS, statements.size()))) {
+      String statementId = entry.getKey();
+      String name = statementId.substring(statementId.lastIndexOf('.', statementId.lastIndexOf('.') - 1) + 1);
+      MethodMetrics metrics = timings.get(name);
+      LatencyHistogram latency = metrics == null ? new LatencyHistogram() : metrics.getLatency();
+      text.append(String.format("  %-60s %10d 次  P50 %8.2f ms  P99 %8.2f ms%n", name, entry.getValue().sum(),
+          latency.getPercentileMicros(50) / 1000.0, latency.getPercentileMicros(99) / 1000.0));
+    }
+    logger.info(text.toString());
+  }
+
+  private void printReport(List<Result> results) {
+    StringBuilder text = new StringBuilder(String.format("%n压测结果（%d 个线程）%n", threads));
+    text.append(String.format("%-16s %10s %10s %10s %10s %10s %10s %8s %12s %12s %14s%n", "场景", "操作数", "吞吐量/s",
+        "P50 ms", "P90 ms", "P99 ms", "最大 ms", "失败", "语句数/操作", "单次最多", "连接等待P99 ms"));
+    for (Result result : results) {
+      long operations = result.latency.getCount();
+      double seconds = result.elapsedNanos / 1e9;
+      text.append(String.format("%-16s %10d %10.1f %10.2f %10.2f %10.2f %10.2f %8d %12.1f %12d %14.2f%n", result.name,
+          operations, operations / seconds, result.latency.getPercentileMicros(50) / 1000.0,
+          result.latency.getPercentileMicros(90) / 1000.0, result.latency.getPercentileMicros(99) / 1000.0,
+          result.latency.getMaxMicros() / 1000.0, result.errors.sum(),
+          operations == 0 ? 0 : (double) result.queries.sum() / operations, result.maxQueries.get(),
+          result.poolWaitP99Micros / 1000.0));
+    }
+    logger.info(text.toString());
+  }
+
+  /**
+   * 单个场景的测量结果
+   */
+  private static final class Result {
+    final String name;
+    final LatencyHistogram latency = new LatencyHistogram();
+    final LongAdder errors = new LongAdder();
+    final LongAdder queries = new LongAdder();
+    final LongAccumulator maxQueries = new LongAccumulator(Math::max, 0);
+    final Map<String, LongAdder> statements = new ConcurrentHashMap<>();
+    long elapsedNanos;
+    long poolWaitP99Micros;
+
+    Result(String name) {
+      this.name = name;
+    }
+
+    void recordStatements(QueryCounter.Scope scope) {
+      queries.add(scope.getStatementCount());
+      maxQueries.accumulate(scope.getStatementCount());
+      scope.getStatementCounts().forEach(
+          (statementId, count) -> statements.computeIfAbsent(statementId, k -> new LongAdder()).add(count));
+    }
+  }
+}
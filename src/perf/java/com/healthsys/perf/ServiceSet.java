@@ -0,0 +1,42 @@
+package com.healthsys.perf;
+
+import com.healthsys.config.DataAccessManager;
+import com.healthsys.service.IAppointmentService;
+import com.healthsys.service.ICheckGroupService;
+import com.healthsys.service.IEmailService;
+import com.healthsys.service.IExaminationResultService;
+import com.healthsys.service.IMedicalHistoryService;
+import com.healthsys.service.IUserService;
+import com.healthsys.service.impl.AppointmentServiceImpl;
+import com.healthsys.service.impl.CheckGroupServiceImpl;
+import com.healthsys.service.impl.EmailServiceImpl;
+import com.healthsys.service.impl.ExaminationResultServiceImpl;
+import com.healthsys.service.impl.MedicalHistoryServiceImpl;
+import com.healthsys.service.impl.UserServiceImpl;
+import com.healthsys.service.metrics.ServiceMetrics;
+
+/**
+ * 压测使用的服务实例，与界面相同地经过计时代理创建，所有线程共享。
+ *
+ * @author 梦辰
+ */
+final class ServiceSet {
+
+  final IAppointmentService appointmentService;
+  final ICheckGroupService checkGroupService;
+  final IExaminationResultService examinationResultService;
+  final IMedicalHistoryService medicalHistoryService;
+  final IUserService userService;
+
+  ServiceSet() {
+    this.appointmentService = ServiceMetrics.instrument(IAppointmentService.class, new AppointmentServiceImpl());
+    this.checkGroupService = ServiceMetrics.instrument(ICheckGroupService.class, new CheckGroupServiceImpl());
+    this.examinationResultService = ServiceMetrics.instrument(IExaminationResultService.class,
+        new ExaminationResultServiceImpl());
+    this.medicalHistoryService = ServiceMetrics.instrument(IMedicalHistoryService.class,
+        new MedicalHistoryServiceImpl());
+    IEmailService emailService = ServiceMetrics.instrument(IEmailService.class, new EmailServiceImpl());
+    this.userService = ServiceMetrics.instrument(IUserService.class,
+        new UserServiceImpl(DataAccessManager.getInstance().getUserMapper(), emailService));
+  }
+}
@@ -0,0 +1,52 @@
+package com.healthsys.perf;
+
+import com.healthsys.model.entity.CheckItem;
+import com.healthsys.model.entity.ExaminationResult;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 工作人员录入体检结果：读取预约所属检查组的检查项，批量保存各项结果，再将预约标记为已完成。
+ * 与批量录入界面的调用顺序一致。
+ *
+ * @author 梦辰
+ */
+final class StaffEntryScenario implements Scenario {
+
+  private final ServiceSet services;
+
+  StaffEntryScenario(ServiceSet services) {
+    this.services = services;
+  }
+
+  @Override
+  public String getName() {
+    return "staff-entry";
+  }
+
+  @Override
+  public void runOnce(Dataset dataset, SplittableRandom random) {
+    Dataset.AppointmentRef appointment = dataset.randomAppointment(random);
+    List<CheckItem> items = services.checkGroupService.getCheckItemsByGroupId(appointment.groupId);
+
+    LocalDateTime now = LocalDateTime.now();
+    List<ExaminationResult> results = new ArrayList<>(items.size());
+    for (CheckItem item : items) {
+      results.add(ExaminationResult.builder()
+          .appointmentId(appointment.appointmentId)
+          .userId(appointment.userId)
+          .groupId(appointment.groupId)
+          .itemId(item.getItemId())
+          .measuredValue(SyntheticValues.measuredValue(item.getReferenceVal(), random))
+          .recordedAt(now)
+          .build());
+    }
+    if (!results.isEmpty() && !services.examinationResultService.batchSaveExaminationResults(results)) {
+      throw new IllegalStateException("保存体检结果失败: 预约ID=" + appointment.appointmentId);
+    }
+    services.appointmentService.updateAppointmentStatus(appointment.appointmentId, "已完成");
+  }
+}
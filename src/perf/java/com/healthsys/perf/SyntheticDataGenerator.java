@@ -0,0 +1,552 @@
+package com.healthsys.perf;
+
+import com.healthsys.config.DatabaseConfig;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 合成数据生成器。
+ * 在已按 init_database.sql 建好表的数据库中生成检查项、检查组、用户、预约、体检结果和病史，
+ * 用 COPY 流式写入，多个工作线程并行，每个线程使用独立连接。用户名以 {@link #USER_PREFIX} 开头，便于识别和清理。
+ * <p>
+ * 数据分布：
+ * 每位用户的预约数服从截断的帕累托分布（少数人频繁体检）；
+ * 预约日期在春、秋两季较多，春节前后和周末较少；
+ * 过去的预约大多已完成，将来的预约为待确认或已确认；
+ * 已完成的预约按所属检查组的每个检查项生成一条结果，测量值围绕参考值分布并带有个人偏移，见 {@link SyntheticValues}。
+ * <p>
+ * 用户按固定大小分块，每块使用由种子和块号决定的随机数序列，预约ID按块预先分配，
+ * 因此相同的种子和参数在任意工作线程数下生成相同的数据。
+ * 可单独运行：gradle perfGenerate -PperfArgs="--users=100000 --appointments=1000000 --workers=8"，
+ * 参数另有 seed、years、items、groupMin、groupMax，以及 analyze=false 跳过生成后的 ANALYZE。
+ *
+ * @author 梦辰
+ */
+public final class SyntheticDataGenerator {
+
+  private static final Logger logger = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+  static final String USER_PREFIX = "syn_";
+  static final String ITEM_PREFIX = "SYN_I";
+  static final String GROUP_PREFIX = "SYN_G";
+
+  /**
+   * 合成用户的密码均为 Test123
+   */
+  private static final String PASSWORD_HASH = "$2a$10$/yONHiDLT.R9eHCOIw89kej40HheY8JnauaxqLsJ7C7oDnSxkbrBi";
+  private static final String[] DIAGNOSES = { "高血压", "2型糖尿病", "高脂血症", "脂肪肝", "慢性胃炎", "过敏性鼻炎",
+      "甲状腺结节", "颈椎病", "骨质疏松", "贫血" };
+  private static final String[] METHODS = { "现场体检", "上门体检" };
+
+  /**
+   * 检查项模板：名称、参考值、单位
+   */
+  private static final String[][] ITEM_TEMPLATES = {
+      { "血红蛋白", "120-160 g/L", "g/L" }, { "白细胞计数", "4.0-10.0 ×10^9/L", "×10^9/L" },
+      { "红细胞计数", "4.0-5.5 ×10^12/L", "×10^12/L" }, { "血小板计数", "100-300 ×10^9/L", "×10^9/L" },
+      { "空腹血糖", "3.9-6.1 mmol/L", "mmol/L" }, { "总胆固醇", "<5.2 mmol/L", "mmol/L" },
+      { "甘油三酯", "<1.7 mmol/L", "mmol/L" }, { "ALT谷丙转氨酶", "0-40 U/L", "U/L" },
+      { "AST谷草转氨酶", "0-40 U/L", "U/L" }, { "尿素氮", "2.9-8.2 mmol/L", "mmol/L" },
+      { "肌酐", "44-133 μmol/L", "μmol/L" }, { "尿酸", "150-420 μmol/L", "μmol/L" },
+      { "收缩压", "90-140 mmHg", "mmHg" }, { "舒张压", "60-90 mmHg", "mmHg" },
+      { "心率", "60-100 次/分", "次/分" }, { "体重指数", "18.5-24.0 kg/m²", "kg/m²" },
+      { "低密度脂蛋白", "<3.4 mmol/L", "mmol/L" }, { "高密度脂蛋白", "1.0-1.9 mmol/L", "mmol/L" },
+      { "糖化血红蛋白", "4.0-6.0 %", "%" }, { "总胆红素", "3.4-20.5 μmol/L", "μmol/L" },
+      { "白蛋白", "35-55 g/L", "g/L" }, { "促甲状腺激素", "0.27-4.2 mIU/L", "mIU/L" },
+      { "尿蛋白", "阴性", "" }, { "尿潜血", "阴性", "" }, { "乙肝表面抗原", "阴性", "" },
+      { "眼压", "10-21 mmHg", "mmHg" }, { "视力", "4.9-5.3", "" }, { "血钾", "3.5-5.5 mmol/L", "mmol/L" } };
+
+  /**
+   * 每块的用户数
+   */
+  private static final int CHUNK_USERS = 500;
+
+  /**
+   * 预约数分布的帕累托指数和上限
+   */
+  private static final double PARETO_ALPHA = 1.6;
+  private static final int MAX_APPOINTMENTS_PER_USER = 200;
+
+  /**
+   * 各月预约量的相对权重（1月至12月）
+   */
+  private static final double[] MONTH_WEIGHTS = { 0.6, 0.5, 1.2, 1.4, 1.3, 1.0, 0.8, 0.8, 1.3, 1.4, 1.2, 0.9 };
+  private static final double WEEKEND_WEIGHT = 0.4;
+  private static final double MAX_DAY_WEIGHT = 1.4;
+  private static final int FUTURE_DAYS = 60;
+
+  /**
+   * 生成参数
+   */
+  static final class Settings {
+    long seed = 42;
+    int users = 2000;
+    int appointments = 6000;
+    int workers = 4;
+    int years = 3;
+    int items = 120;
+    int groups = 30;
+    int groupMin = 20;
+    int groupMax = 55;
+    boolean analyze = true;
+
+    static Settings fromOptions(Map<String, String> options) {
+      Settings settings = new Settings();
+      settings.seed = Long.parseLong(options.getOrDefault("seed", String.valueOf(settings.seed)));
+      settings.users = Integer.parseInt(options.getOrDefault("users", String.valueOf(settings.users)));
+      settings.appointments = Integer.parseInt(options.getOrDefault("appointments",
+          String.valueOf(settings.appointments)));
+      settings.workers = Integer.parseInt(options.getOrDefault("workers", String.valueOf(settings.workers)));
+      settings.years = Integer.parseInt(options.getOrDefault("years", String.valueOf(settings.years)));
+      settings.items = Integer.parseInt(options.getOrDefault("items", String.valueOf(settings.items)));
+      settings.groups = Integer.parseInt(options.getOrDefault("groups", String.valueOf(settings.groups)));
+      settings.groupMin = Integer.parseInt(options.getOrDefault("groupMin", String.valueOf(settings.groupMin)));
+      settings.groupMax = Integer.parseInt(options.getOrDefault("groupMax", String.valueOf(settings.groupMax)));
+      settings.analyze = Boolean.parseBoolean(options.getOrDefault("analyze", String.valueOf(settings.analyze)));
+      return settings;
+    }
+  }
+
+  /**
+   * 检查组及其检查项的测量值分布
+   */
+  private static final class Group {
+    final int groupId;
+    final int[] itemIds;
+    final SyntheticValues.Distribution[] distributions;
+
+    Group(int groupId, int[] itemIds, SyntheticValues.Distribution[] distributions) {
+      this.groupId = groupId;
+      this.itemIds = itemIds;
+      this.distributions = distributions;
+    }
+  }
+
+  /**
+   * 已完成预约，写入结果时使用
+   */
+  private static final class CompletedAppointment {
+    final long appointmentId;
+    final long userId;
+    final double bias;
+    final Group group;
+    final LocalDate date;
+
+    CompletedAppointment(long appointmentId, long userId, double bias, Group group, LocalDate date) {
+      this.appointmentId = appointmentId;
+      this.userId = userId;
+      this.bias = bias;
+      this.group = group;
+      this.date = date;
+    }
+  }
+
+  private final DataSource dataSource;
+  private final Settings settings;
+  private final LongAdder appointmentRows = new LongAdder();
+  private final LongAdder resultRows = new LongAdder();
+  private final LongAdder historyRows = new LongAdder();
+
+  SyntheticDataGenerator(DataSource dataSource, Settings settings) {
+    this.dataSource = dataSource;
+    this.settings = settings;
+  }
+
+  public static void main(String[] args) {
+    int exitCode = 0;
+    try {
+      Map<String, String> options = new HashMap<>();
+      for (String arg : args) {
+        int separator = arg.indexOf('=');
+        if (!arg.startsWith("--") || separator < 0) {
+          throw new IllegalArgumentException("无法识别的参数: " + arg + "，格式应为 --名称=值");
+        }
+        options.put(arg.substring(2, separator), arg.substring(separator + 1));
+      }
+      new SyntheticDataGenerator(DatabaseConfig.getDataSource(), Settings.fromOptions(options)).generate();
+    } catch (Exception e) {
+      logger.error("生成合成数据失败", e);
+      exitCode = 1;
+    } finally {
+      DatabaseConfig.closeDataSource();
+    }
+    System.exit(exitCode);
+  }
+
+  /**
+   * 已有的合成用户数
+   */
+  int countSyntheticUsers() throws SQLException {
+    try (Connection connection = dataSource.getConnection();
+        PreparedStatement statement = connection.prepareStatement("SELECT COUNT(*) FROM users WHERE username LIKE ?")) {
+      statement.setString(1, likePrefix(USER_PREFIX));
+      try (ResultSet rs = statement.executeQuery()) {
+        rs.next();
+        return rs.getInt(1);
+      }
+    }
+  }
+
+  /**
+   * 生成合成数据
+   *
+   * @throws Exception 写入失败
+   */
+  void generate() throws Exception {
+    long start = System.nanoTime();
+    List<Group> groups = prepareCatalog();
+
+    long userBase;
+    int userNumberBase;
+    long appointmentBase;
+    try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+      userBase = queryLong(statement, "SELECT COALESCE(MAX(user_id), 0) + 1 FROM users");
+      appointmentBase = queryLong(statement, "SELECT COALESCE(MAX(appointment_id), 0) + 1 FROM appointments");
+    }
+    userNumberBase = countSyntheticUsers();
+
+    // 预约数由独立的随机数序列决定，先全部算出，按块分配预约ID
+    int chunkCount = (settings.users + CHUNK_USERS - 1) / CHUNK_USERS;
+    int[] appointmentCounts = planAppointmentCounts();
+    long[] chunkAppointmentBase = new long[chunkCount + 1];
+    chunkAppointmentBase[0] = appointmentBase;
+    for (int chunk = 0; chunk < chunkCount; chunk++) {
+      long sum = 0;
+      for (int i = chunk * CHUNK_USERS; i < Math.min(settings.users, (chunk + 1) * CHUNK_USERS); i++) {
+        sum += appointmentCounts[i];
+      }
+      chunkAppointmentBase[chunk + 1] = chunkAppointmentBase[chunk] + sum;
+    }
+    logger.info("开始生成：用户 {}，预约 {}，{} 个块，{} 个工作线程", settings.users,
+        chunkAppointmentBase[chunkCount] - appointmentBase, chunkCount, settings.workers);
+
+    ExecutorService executor = Executors.newFixedThreadPool(settings.workers);
+    AtomicInteger finishedChunks = new AtomicInteger();
+    try {
+      List<Future<?>> futures = new ArrayList<>(chunkCount);
+      for (int chunk = 0; chunk < chunkCount; chunk++) {
+        int currentChunk = chunk;
+        futures.add(executor.submit(() -> {
+          writeChunk(currentChunk, groups, appointmentCounts, userBase, userNumberBase,
+              chunkAppointmentBase[currentChunk]);
+          int finished = finishedChunks.incrementAndGet();
+          if (finished % 20 == 0 || finished == chunkCount) {
+            logger.info("已完成 {}/{} 块，体检结果 {} 条", finished, chunkCount, resultRows.sum());
+          }
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    finish();
+    logger.info("合成数据生成完成：用户 {}，预约 {}，体检结果 {}，病史 {}，耗时 {} 秒", settings.users,
+        appointmentRows.sum(), resultRows.sum(), historyRows.sum(), (System.nanoTime() - start) / 1_000_000_000);
+  }
+
+  /**
+   * 截断帕累托分布的预约数；截断和取整使总数偏离目标，再随机增减个别用户的预约数补齐
+   */
+  private int[] planAppointmentCounts() {
+    SplittableRandom random = new SplittableRandom(settings.seed);
+    double mean = Math.max(1.0, (double) settings.appointments / Math.max(1, settings.users));
+    double scale = mean * (PARETO_ALPHA - 1) / PARETO_ALPHA;
+    int[] counts = new int[settings.users];
+    long total = 0;
+    for (int i = 0; i < counts.length; i++) {
+      double value = scale / Math.pow(1.0 - random.nextDouble(), 1.0 / PARETO_ALPHA);
+      counts[i] = (int) Math.min(MAX_APPOINTMENTS_PER_USER, Math.max(1, Math.round(value)));
+      total += counts[i];
+    }
+
+    long target = Math.min(Math.max(settings.appointments, counts.length),
+        (long) counts.length * MAX_APPOINTMENTS_PER_USER);
+    while (total != target) {
+      int i = random.nextInt(counts.length);
+      if (total < target && counts[i] < MAX_APPOINTMENTS_PER_USER) {
+        counts[i]++;
+        total++;
+      } else if (total > target && counts[i] > 1) {
+        counts[i]--;
+        total--;
+      }
+    }
+    return counts;
+  }
+
+  /**
+   * 在一个事务中写入一块用户及其预约、结果和病史
+   */
+  private void writeChunk(int chunk, List<Group> groups, int[] appointmentCounts, long userBase, int userNumberBase,
+      long appointmentId) throws SQLException {
+    SplittableRandom random = new SplittableRandom(settings.seed + 0x9E3779B97F4A7C15L * (chunk + 1));
+    int from = chunk * CHUNK_USERS;
+    int to = Math.min(settings.users, from + CHUNK_USERS);
+    LocalDate today = LocalDate.now();
+    double[] biases = new double[to - from];
+    LocalDate[] birthDates = new LocalDate[to - from];
+
+    try (Connection connection = dataSource.getConnection()) {
+      connection.setAutoCommit(false);
+      CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+
+      try (CopyWriter users = new CopyWriter(copyManager, "users",
+          "user_id, username, password, email, uname, sex, bir, role")) {
+        for (int i = from; i < to; i++) {
+          long number = userNumberBase + i;
+          biases[i - from] = SyntheticValues.gaussian(random) * 0.5;
+          birthDates[i - from] = today.minusYears(18 + random.nextInt(62)).minusDays(random.nextInt(365));
+          users.field(userBase + i).field(USER_PREFIX + number).field(PASSWORD_HASH)
+              .field(USER_PREFIX + number + "@example.com").field("合成用户" + number)
+              .field(random.nextBoolean() ? "男" : "女");
+          users.rawField().append(birthDates[i - from]);
+          users.field("NORMAL_USER").endRow();
+        }
+      }
+
+      List<CompletedAppointment> completed = new ArrayList<>();
+      try (CopyWriter appointments = new CopyWriter(copyManager, "appointments",
+          "appointment_id, user_id, group_id, appointment_date, appointment_time, examination_method, status")) {
+        for (int i = from; i < to; i++) {
+          for (int n = 0; n < appointmentCounts[i]; n++) {
+            Group group = groups.get(random.nextInt(groups.size()));
+            LocalDate date = appointmentDate(random, today);
+            String status = status(random, date, today);
+            appointments.field(appointmentId).field(userBase + i).field(group.groupId);
+            appointments.rawField().append(date);
+            appointments.rawField().append(String.format("%02d:%02d:00", 8 + random.nextInt(4),
+                random.nextInt(4) * 15));
+            appointments.field(METHODS[random.nextInt(10) == 0 ? 1 : 0]).field(status).endRow();
+            if ("已完成".equals(status)) {
+              completed.add(new CompletedAppointment(appointmentId, userBase + i, biases[i - from], group, date));
+            }
+            appointmentId++;
+          }
+        }
+        appointmentRows.add(appointments.getRowCount());
+      }
+
+      try (CopyWriter results = new CopyWriter(copyManager, "examination_results",
+          "appointment_id, user_id, group_id, item_id, measured_value, recorded_at")) {
+        for (CompletedAppointment appointment : completed) {
+          String recordedAt = appointment.date + String.format(" %02d:%02d:00", 8 + random.nextInt(4),
+              random.nextInt(60));
+          Group group = appointment.group;
+          for (int k = 0; k < group.itemIds.length; k++) {
+            results.field(appointment.appointmentId).field(appointment.userId).field(group.groupId)
+                .field(group.itemIds[k]);
+            group.distributions[k].appendSample(results.rawField(), random, appointment.bias);
+            results.rawField().append(recordedAt);
+            results.endRow();
+          }
+        }
+        resultRows.add(results.getRowCount());
+      }
+
+      try (CopyWriter histories = new CopyWriter(copyManager, "medical_history",
+          "user_id, diagnosis, doctor_name, diagnosis_date")) {
+        for (int i = from; i < to; i++) {
+          // 年龄越大病史越多
+          int age = today.getYear() - birthDates[i - from].getYear();
+          int count = random.nextInt(1 + age / 20);
+          for (int n = 0; n < count; n++) {
+            histories.field(userBase + i).field(DIAGNOSES[random.nextInt(DIAGNOSES.length)])
+                .field("医生" + random.nextInt(200));
+            histories.rawField().append(today.minusDays(random.nextInt(10 * 365)));
+            histories.endRow();
+          }
+        }
+        historyRows.add(histories.getRowCount());
+      }
+
+      connection.commit();
+    }
+  }
+
+  /**
+   * 按季节和星期的权重做拒绝采样
+   */
+  private LocalDate appointmentDate(SplittableRandom random, LocalDate today) {
+    int span = settings.years * 365 + FUTURE_DAYS;
+    LocalDate first = today.minusYears(settings.years);
+    while (true) {
+      LocalDate date = first.plusDays(random.nextInt(span));
+      double weight = MONTH_WEIGHTS[date.getMonthValue() - 1];
+      DayOfWeek day = date.getDayOfWeek();
+      if (day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY) {
+        weight *= WEEKEND_WEIGHT;
+      }
+      if (random.nextDouble() * MAX_DAY_WEIGHT < weight) {
+        return date;
+      }
+    }
+  }
+
+  private static String status(SplittableRandom random, LocalDate date, LocalDate today) {
+    double roll = random.nextDouble();
+    if (date.isAfter(today)) {
+      return roll < 0.4 ? "待确认" : roll < 0.95 ? "已确认" : "已取消";
+    }
+    return roll < 0.85 ? "已完成" : roll < 0.95 ? "已取消" : "已确认";
+  }
+
+  /**
+   * 创建合成检查项和检查组（已有合成检查组时直接沿用），返回检查组及其检查项
+   */
+  private List<Group> prepareCatalog() throws SQLException {
+    SplittableRandom random = new SplittableRandom(settings.seed - 1);
+    try (Connection connection = dataSource.getConnection()) {
+      if (!queryIds(connection, "SELECT group_code, group_id FROM check_groups WHERE group_code LIKE ?", GROUP_PREFIX)
+          .isEmpty()) {
+        logger.info("沿用已有的合成检查组");
+        return loadGroups(connection);
+      }
+
+      connection.setAutoCommit(false);
+      String itemSql = "INSERT INTO check_items (item_code, item_name, reference_val, unit, is_active)"
+          + " VALUES (?, ?, ?, ?, TRUE) ON CONFLICT (item_code) DO NOTHING";
+      try (PreparedStatement statement = connection.prepareStatement(itemSql)) {
+        for (int i = 0; i < settings.items; i++) {
+          String[] template = ITEM_TEMPLATES[i % ITEM_TEMPLATES.length];
+          int round = i / ITEM_TEMPLATES.length;
+          statement.setString(1, String.format("%s%03d", ITEM_PREFIX, i));
+          statement.setString(2, round == 0 ? template[0] : template[0] + "（" + (round + 1) + "）");
+          statement.setString(3, template[1]);
+          statement.setString(4, template[2]);
+          statement.addBatch();
+        }
+        statement.executeBatch();
+      }
+
+      Map<String, Integer> itemIds = queryIds(connection,
+          "SELECT item_code, item_id FROM check_items WHERE item_code LIKE ?", ITEM_PREFIX);
+      List<Integer> allItemIds = new ArrayList<>(itemIds.values());
+      String groupSql = "INSERT INTO check_groups (group_code, group_name, description, is_active)"
+          + " VALUES (?, ?, '合成数据', TRUE) ON CONFLICT (group_code) DO NOTHING";
+      String linkSql = "INSERT INTO group_check_item (group_id, item_id) SELECT group_id, ? FROM check_groups"
+          + " WHERE group_code = ? ON CONFLICT DO NOTHING";
+      try (PreparedStatement groupStatement = connection.prepareStatement(groupSql);
+          PreparedStatement linkStatement = connection.prepareStatement(linkSql)) {
+        for (int g = 0; g < settings.groups; g++) {
+          String code = String.format("%s%02d", GROUP_PREFIX, g);
+          groupStatement.setString(1, code);
+          groupStatement.setString(2, "合成体检套餐" + (g + 1));
+          groupStatement.addBatch();
+
+          int size = Math.min(allItemIds.size(), settings.groupMin
+              + random.nextInt(Math.max(1, settings.groupMax - settings.groupMin + 1)));
+          List<Integer> shuffled = new ArrayList<>(allItemIds);
+          for (int k = 0; k < size; k++) {
+            int pick = k + random.nextInt(shuffled.size() - k);
+            Integer itemId = shuffled.set(pick, shuffled.get(k));
+            shuffled.set(k, itemId);
+            linkStatement.setInt(1, itemId);
+            linkStatement.setString(2, code);
+            linkStatement.addBatch();
+          }
+        }
+        groupStatement.executeBatch();
+        linkStatement.executeBatch();
+      }
+      connection.commit();
+      return loadGroups(connection);
+    }
+  }
+
+  private List<Group> loadGroups(Connection connection) throws SQLException {
+    Map<Integer, List<Object[]>> members = new LinkedHashMap<>();
+    String sql = "SELECT g.group_id, i.item_id, i.reference_val FROM check_groups g"
+        + " JOIN group_check_item gi ON gi.group_id = g.group_id JOIN check_items i ON i.item_id = gi.item_id"
+        + " WHERE g.group_code LIKE ? ORDER BY g.group_id, i.item_id";
+    try (PreparedStatement statement = connection.prepareStatement(sql)) {
+      statement.setString(1, likePrefix(GROUP_PREFIX));
+      try (ResultSet rs = statement.executeQuery()) {
+        while (rs.next()) {
+          members.computeIfAbsent(rs.getInt(1), k -> new ArrayList<>())
+              .add(new Object[] { rs.getInt(2), rs.getString(3) });
+        }
+      }
+    }
+    if (members.isEmpty()) {
+      throw new IllegalStateException("没有可用的合成检查组");
+    }
+
+    List<Group> groups = new ArrayList<>(members.size());
+    members.forEach((groupId, items) -> {
+      int[] itemIds = new int[items.size()];
+      SyntheticValues.Distribution[] distributions = new SyntheticValues.Distribution[items.size()];
+      for (int i = 0; i < items.size(); i++) {
+        itemIds[i] = (Integer) items.get(i)[0];
+        distributions[i] = SyntheticValues.forReference((String) items.get(i)[1]);
+      }
+      groups.add(new Group(groupId, itemIds, distributions));
+    });
+    return groups;
+  }
+
+  /**
+   * 显式写入了ID的表需要推进序列，否则之后的普通插入会主键冲突；最后更新统计信息
+   */
+  private void finish() throws SQLException {
+    try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+      statement.execute("SELECT setval(pg_get_serial_sequence('users', 'user_id'), (SELECT MAX(user_id) FROM users))");
+      statement.execute("SELECT setval(pg_get_serial_sequence('appointments', 'appointment_id'),"
+          + " (SELECT MAX(appointment_id) FROM appointments))");
+      if (settings.analyze) {
+        logger.info("正在更新统计信息...");
+        statement.execute("ANALYZE users, appointments, examination_results, medical_history");
+      }
+    }
+  }
+
+  private static Map<String, Integer> queryIds(Connection connection, String sql, String prefix)
+      throws SQLException {
+    Map<String, Integer> ids = new LinkedHashMap<>();
+    try (PreparedStatement statement = connection.prepareStatement(sql + " ORDER BY 1")) {
+      statement.setString(1, likePrefix(prefix));
+      try (ResultSet rs = statement.executeQuery()) {
+        while (rs.next()) {
+          ids.put(rs.getString(1), rs.getInt(2));
+        }
+      }
+    }
+    return ids;
+  }
+
+  private static long queryLong(Statement statement, String sql) throws SQLException {
+    try (ResultSet rs = statement.executeQuery(sql)) {
+      rs.next();
+      return rs.getLong(1);
+    }
+  }
+
+  static String likePrefix(String prefix) {
+    return prefix.replace("_", "\\_") + "%";
+  }
+}
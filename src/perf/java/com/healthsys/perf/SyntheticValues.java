@@ -0,0 +1,101 @@
+package com.healthsys.perf;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 按参考值生成测量值。
+ * 参考值形如 "120-160 g/L" 时按以范围中点为均值、四分之一范围宽度为标准差的正态分布取值（约95%落在范围内）；
+ * 形如 "&lt;5.2 mmol/L" 时按中位数为上限七成的对数正态分布取值；无法解析的参考值生成 "阴性"/"阳性"。
+ * 个人偏移（以标准差为单位）使同一个人的各次测量持续偏高或偏低，与真实人群相近。
+ *
+ * @author 梦辰
+ */
+final class SyntheticValues {
+
+  private static final Pattern RANGE = Pattern.compile("(\\d+(?:\\.\\d+)?)\\s*-\\s*(\\d+(?:\\.\\d+)?)");
+  private static final Pattern UPPER_BOUND = Pattern.compile("<\\s*(\\d+(?:\\.\\d+)?)");
+  private static final double POSITIVE_RATE = 0.05;
+  private static final double LOG_NORMAL_SIGMA = 0.35;
+
+  private static final Map<String, Distribution> CACHE = new ConcurrentHashMap<>();
+
+  private SyntheticValues() {
+  }
+
+  /**
+   * 单个检查项的测量值分布，解析一次后可重复取值
+   */
+  static final class Distribution {
+    private final boolean numeric;
+    private final boolean logNormal;
+    private final double center;
+    private final double spread;
+
+    private Distribution(boolean numeric, boolean logNormal, double center, double spread) {
+      this.numeric = numeric;
+      this.logNormal = logNormal;
+      this.center = center;
+      this.spread = spread;
+    }
+
+    /**
+     * 追加一个测量值（保留一位小数）
+     *
+     * @param target 目标缓冲区
+     * @param random 随机数生成器
+     * @param bias   个人偏移，以标准差为单位
+     */
+    void appendSample(StringBuilder target, SplittableRandom random, double bias) {
+      if (!numeric) {
+        target.append(random.nextDouble() < POSITIVE_RATE * (1 + Math.max(0, bias)) ? "阳性" : "阴性");
+        return;
+      }
+      double z = gaussian(random) + bias;
+      double value = logNormal ? center * Math.exp(LOG_NORMAL_SIGMA * z) : center + spread * z;
+      long tenths = Math.max(0, Math.round(value * 10));
+      target.append(tenths / 10).append('.').append(tenths % 10);
+    }
+  }
+
+  /**
+   * 获取参考值对应的分布
+   */
+  static Distribution forReference(String referenceVal) {
+    return CACHE.computeIfAbsent(referenceVal != null ? referenceVal : "", SyntheticValues::parse);
+  }
+
+  /**
+   * 生成一个测量值，无个人偏移
+   */
+  static String measuredValue(String referenceVal, SplittableRandom random) {
+    StringBuilder value = new StringBuilder(8);
+    forReference(referenceVal).appendSample(value, random, 0);
+    return value.toString();
+  }
+
+  /**
+   * 标准正态分布（Box-Muller）
+   */
+  static double gaussian(SplittableRandom random) {
+    double u = 1.0 - random.nextDouble();
+    return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * random.nextDouble());
+  }
+
+  private static Distribution parse(String referenceVal) {
+    Matcher range = RANGE.matcher(referenceVal);
+    if (range.find()) {
+      double min = Double.parseDouble(range.group(1));
+      double max = Double.parseDouble(range.group(2));
+      return new Distribution(true, false, (min + max) / 2, (max - min) / 4);
+    }
+    Matcher upper = UPPER_BOUND.matcher(referenceVal);
+    if (upper.find()) {
+      return new Distribution(true, true, Double.parseDouble(upper.group(1)) * 0.7, 0);
+    }
+    return new Distribution(false, false, 0, 0);
+  }
+}
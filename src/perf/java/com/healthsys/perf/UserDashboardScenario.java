@@ -0,0 +1,38 @@
+package com.healthsys.perf;
+
+import java.util.SplittableRandom;
+
+/**
+ * 普通用户打开个人页面：预约列表、体检数据表格首块、最新结果和近期病史。
+ * 与用户登录后各页面首次加载时的查询相同。
+ *
+ * @author 梦辰
+ */
+final class UserDashboardScenario implements Scenario {
+
+  private static final int FIRST_BLOCK_SIZE = 100;
+  private static final int RECENT_HISTORY_LIMIT = 5;
+
+  private final ServiceSet services;
+
+  UserDashboardScenario(ServiceSet services) {
+    this.services = services;
+  }
+
+  @Override
+  public String getName() {
+    return "user-dashboard";
+  }
+
+  @Override
+  public void runOnce(Dataset dataset, SplittableRandom random) {
+    Integer userId = dataset.randomUserId(random);
+    services.appointmentService.getAppointmentsByUserId(userId);
+    int total = services.examinationResultService.countExaminationResultsByUserId(userId);
+    if (total > 0) {
+      services.examinationResultService.getExaminationResultBlockByUserId(userId, null, 0, FIRST_BLOCK_SIZE);
+    }
+    services.examinationResultService.getLatestExaminationResultsByUserId(userId);
+    services.medicalHistoryService.getRecentMedicalHistory(userId, RECENT_HISTORY_LIMIT);
+  }
+}
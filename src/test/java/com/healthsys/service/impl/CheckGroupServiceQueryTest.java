@@ -0,0 +1,69 @@
+package com.healthsys.service.impl;
+
+import com.healthsys.dao.CheckGroupMapper;
+import com.healthsys.dao.CheckItemMapper;
+import com.healthsys.model.entity.CheckItem;
+import com.healthsys.service.ICheckGroupService;
+import com.healthsys.service.metrics.QueryCounter;
+import com.healthsys.support.StubMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 检查组服务的语句数约束，防止按检查项逐条查询的写法回归。
+ * 使用 Mapper 桩计数，不需要数据库。
+ *
+ * @author 梦辰
+ */
+class CheckGroupServiceQueryTest {
+
+  private static final Integer GROUP_ID = 1;
+
+  /**
+   * 检查项在关联表中的顺序
+   */
+  private static final List<Integer> LINKED_ITEM_IDS = List.of(7, 3, 5);
+
+  @Test
+  void getCheckItemsByGroupIdUsesSingleStatement() {
+    ICheckGroupService checkGroupService = createService();
+
+    List<CheckItem> items = QueryCounter.expectAtMost(1, () -> checkGroupService.getCheckItemsByGroupId(GROUP_ID));
+
+    assertEquals(LINKED_ITEM_IDS, items.stream().map(CheckItem::getItemId).collect(Collectors.toList()));
+  }
+
+  @Test
+  void getCheckItemsByGroupIdDoesNotQueryPerItem() {
+    ICheckGroupService checkGroupService = createService();
+
+    QueryCounter.Scope scope = QueryCounter.count("getCheckItemsByGroupId",
+        () -> checkGroupService.getCheckItemsByGroupId(GROUP_ID));
+
+    assertEquals(0, scope.getStatementCount("CheckItemMapper.selectById"), scope.describe());
+    assertEquals(1, scope.getStatementCount("CheckItemMapper.findActiveByGroupIdInLinkOrder"), scope.describe());
+    scope.assertNoRepeatedStatements(1);
+  }
+
+  private static ICheckGroupService createService() {
+    CheckGroupMapper checkGroupMapper = StubMapper.of(CheckGroupMapper.class)
+        .answer("getCheckItemIdsByGroupId", args -> new ArrayList<>(LINKED_ITEM_IDS))
+        .build();
+    CheckItemMapper checkItemMapper = StubMapper.of(CheckItemMapper.class)
+        .answer("selectById", args -> activeItem((Integer) args[0]))
+        .answer("findActiveByGroupIdInLinkOrder", args -> LINKED_ITEM_IDS.stream()
+            .map(CheckGroupServiceQueryTest::activeItem)
+            .collect(Collectors.toList()))
+        .build();
+    return new CheckGroupServiceImpl(checkGroupMapper, checkItemMapper);
+  }
+
+  private static CheckItem activeItem(Integer itemId) {
+    return CheckItem.builder().itemId(itemId).itemName("检查项" + itemId).isActive(true).build();
+  }
+}
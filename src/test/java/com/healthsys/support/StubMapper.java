@@ -0,0 +1,88 @@
+package com.healthsys.support;
+
+import com.healthsys.service.metrics.QueryCounter;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 测试用的 Mapper 桩，不需要数据库。
+ * 每次调用 Mapper 的抽象方法都按 "Mapper全名.方法名" 计入 QueryCounter，与实际执行语句时的语句ID一致；
+ * 接口的默认方法照常执行，其中调用的抽象方法分别计数。
+ * 未指定返回值的方法返回空列表、0、false 或 null。
+ *
+ * @param <M> Mapper 类型
+ * @author 梦辰
+ */
+public final class StubMapper<M> {
+
+  private final Class<M> mapperType;
+  private final Map<String, Function<Object[], Object>> answers = new HashMap<>();
+
+  private StubMapper(Class<M> mapperType) {
+    this.mapperType = mapperType;
+  }
+
+  public static <M> StubMapper<M> of(Class<M> mapperType) {
+    return new StubMapper<>(mapperType);
+  }
+
+  /**
+   * 指定方法的返回值，按方法名匹配
+   */
+  public StubMapper<M> answer(String methodName, Function<Object[], Object> answer) {
+    answers.put(methodName, answer);
+    return this;
+  }
+
+  public M build() {
+    InvocationHandler handler = (proxy, method, args) -> {
+      if (method.getDeclaringClass() == Object.class) {
+        return invokeObjectMethod(proxy, method, args);
+      }
+      if (method.isDefault()) {
+        return InvocationHandler.invokeDefault(proxy, method, args);
+      }
+      Object[] arguments = args != null ? args : new Object[0];
+      QueryCounter.record(mapperType.getName() + "." + method.getName(), Arrays.deepHashCode(arguments));
+      Function<Object[], Object> answer = answers.get(method.getName());
+      return answer != null ? answer.apply(arguments) : defaultValue(method.getReturnType());
+    };
+    return mapperType.cast(Proxy.newProxyInstance(mapperType.getClassLoader(), new Class<?>[] { mapperType },
+        handler));
+  }
+
+  private Object invokeObjectMethod(Object proxy, Method method, Object[] args) {
+    switch (method.getName()) {
+      case "equals":
+        return proxy == args[0];
+      case "hashCode":
+        return System.identityHashCode(proxy);
+      default:
+        return "StubMapper(" + mapperType.getSimpleName() + ")";
+    }
+  }
+
+  private static Object defaultValue(Class<?> type) {
+    if (List.class.isAssignableFrom(type)) {
+      return new ArrayList<>();
+    }
+    if (type == int.class || type == Integer.class) {
+      return 0;
+    }
+    if (type == long.class || type == Long.class) {
+      return 0L;
+    }
+    if (type == boolean.class || type == Boolean.class) {
+      return false;
+    }
+    return null;
+  }
+}
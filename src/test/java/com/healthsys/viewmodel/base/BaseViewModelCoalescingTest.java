@@ -0,0 +1,79 @@
+package com.healthsys.viewmodel.base;
+
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.beans.PropertyChangeEvent;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * EDT_COALESCED 模式下后台线程事件的合并：一帧内同一属性只投递最终值，
+ * 期间有过变化而最终值回到原值时仍投递最终值，完全没有变化时不投递。
+ *
+ * @author 梦辰
+ */
+class BaseViewModelCoalescingTest {
+
+  @Test
+  void burstReturningToOriginalValueStillDeliversFinalValue() throws Exception {
+    CoalescingViewModel viewModel = new CoalescingViewModel();
+
+    viewModel.fireLoading(false, true);
+    viewModel.fireLoading(true, false);
+
+    List<PropertyChangeEvent> events = viewModel.awaitDelivered();
+    assertEquals(1, events.size());
+    assertEquals(Boolean.FALSE, events.get(0).getNewValue());
+  }
+
+  @Test
+  void burstDeliversOnlyLastValue() throws Exception {
+    CoalescingViewModel viewModel = new CoalescingViewModel();
+
+    viewModel.fireLoading(false, true);
+    viewModel.fireLoading(true, true);
+
+    List<PropertyChangeEvent> events = viewModel.awaitDelivered();
+    assertEquals(1, events.size());
+    assertEquals(Boolean.TRUE, events.get(0).getNewValue());
+  }
+
+  @Test
+  void burstWithoutChangesIsNotDelivered() throws Exception {
+    CoalescingViewModel viewModel = new CoalescingViewModel();
+
+    viewModel.fireLoading(false, false);
+    viewModel.fireLoading(false, false);
+
+    assertEquals(0, viewModel.awaitDelivered().size());
+  }
+
+  private static final class CoalescingViewModel extends BaseViewModel {
+
+    /**
+     * 等待合并窗口结束的时间，远大于约一帧的合并窗口
+     */
+    private static final long FLUSH_WAIT_MILLIS = 200;
+
+    private final List<PropertyChangeEvent> delivered = new ArrayList<>();
+
+    CoalescingViewModel() {
+      setDispatchMode(DispatchMode.EDT_COALESCED);
+      addPropertyChangeListener("loading", delivered::add);
+    }
+
+    void fireLoading(boolean oldValue, boolean newValue) {
+      firePropertyChange("loading", oldValue, newValue);
+    }
+
+    List<PropertyChangeEvent> awaitDelivered() throws Exception {
+      Thread.sleep(FLUSH_WAIT_MILLIS);
+      List<PropertyChangeEvent> events = new ArrayList<>();
+      SwingUtilities.invokeAndWait(() -> events.addAll(delivered));
+      return events;
+    }
+  }
+}
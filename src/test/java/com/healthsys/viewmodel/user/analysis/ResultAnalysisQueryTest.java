@@ -0,0 +1,78 @@
+package com.healthsys.viewmodel.user.analysis;
+
+import com.healthsys.dao.CheckItemStatisticsMapper;
+import com.healthsys.dao.ExaminationResultMapper;
+import com.healthsys.model.dto.ExaminationResultTrend;
+import com.healthsys.service.IExaminationResultService;
+import com.healthsys.service.IPopulationStatisticsService;
+import com.healthsys.service.impl.ExaminationResultServiceImpl;
+import com.healthsys.service.impl.PopulationStatisticsServiceImpl;
+import com.healthsys.service.metrics.QueryCounter;
+import com.healthsys.support.StubMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * 体检结果分析报告数据加载的语句数约束：趋势一次查询取回，人群百分位从内存统计中查找，
+ * 语句数不随检查项数量增长。使用 Mapper 桩计数，不需要数据库。
+ *
+ * @author 梦辰
+ */
+class ResultAnalysisQueryTest {
+
+  /**
+   * 趋势查询一条，首次使用人群统计时加载快照一条
+   */
+  private static final int REPORT_STATEMENT_BUDGET = 2;
+
+  private static final Integer APPOINTMENT_ID = 1;
+  private static final int ITEM_COUNT = 20;
+
+  @Test
+  void buildReportDataPathStaysWithinBudget() {
+    ExaminationResultMapper examinationResultMapper = StubMapper.of(ExaminationResultMapper.class)
+        .answer("findTrendsByAppointmentId", args -> createTrends())
+        .build();
+    CheckItemStatisticsMapper statisticsMapper = StubMapper.of(CheckItemStatisticsMapper.class).build();
+    IPopulationStatisticsService populationStatisticsService =
+        new PopulationStatisticsServiceImpl(statisticsMapper, examinationResultMapper);
+    // 趋势查询不涉及队列分析
+    IExaminationResultService examinationResultService =
+        new ExaminationResultServiceImpl(examinationResultMapper, populationStatisticsService, null);
+
+    QueryCounter.Scope scope = QueryCounter.count("buildReport", () -> {
+      List<ExaminationResultTrend> trends = examinationResultService
+          .getExaminationResultTrendsByAppointmentId(APPOINTMENT_ID);
+      assertNotNull(trends);
+      assertFalse(trends.isEmpty());
+      ResultAnalysisViewModel.buildReport(trends, populationStatisticsService::getPercentile);
+    });
+
+    scope.assertAtMost(REPORT_STATEMENT_BUDGET);
+    assertEquals(1, scope.getStatementCount("ExaminationResultMapper.findTrendsByAppointmentId"), scope.describe());
+    scope.assertNoRepeatedStatements(1);
+  }
+
+  private static List<ExaminationResultTrend> createTrends() {
+    List<ExaminationResultTrend> trends = new ArrayList<>();
+    for (int itemId = 1; itemId <= ITEM_COUNT; itemId++) {
+      ExaminationResultTrend trend = new ExaminationResultTrend();
+      trend.setResultId(itemId);
+      trend.setAppointmentId(APPOINTMENT_ID);
+      trend.setItemId(itemId);
+      trend.setItemName("检查项" + itemId);
+      trend.setReferenceVal("3.9-6.1");
+      trend.setUnit("mmol/L");
+      trend.setMeasuredValue(String.valueOf(3.5 + itemId * 0.2));
+      trend.setPreviousValue(String.valueOf(3.6 + itemId * 0.2));
+      trends.add(trend);
+    }
+    return trends;
+  }
+}
@@ -0,0 +1,90 @@
+package com.healthsys.analysis;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * 异常标记判定的向量化内核，基于孵化模块 jdk.incubator.vector。
+ * 只处理完整的位图字（每字64行），每次比较一个向量宽度的行，比较掩码直接移入位图字；
+ * 首尾不足一字的行由 {@link AbnormalFlagEvaluator} 的标量实现处理。
+ * 只能在运行时已加载该模块时使用，是否可用由 {@link AbnormalFlagEvaluator} 判断。
+ *
+ * @author 梦辰
+ */
+final class VectorFlagKernel {
+
+  private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+
+  /**
+   * 与 {@link #DOUBLES} 通道数相同的整数向量，用于读取检查项ID和按ID收集参考范围
+   */
+  private static final VectorSpecies<Integer> INTS = VectorSpecies.of(int.class,
+      VectorShape.forBitSize(DOUBLES.vectorBitSize() / 2));
+
+  private static final int LANES = DOUBLES.length();
+
+  private VectorFlagKernel() {
+  }
+
+  /**
+   * 每次比较的行数，硬件不支持 SIMD 时为1
+   */
+  static int lanes() {
+    return LANES;
+  }
+
+  /**
+   * 用同一参考范围判定若干完整的位图字
+   *
+   * @return 异常行数
+   */
+  static int flagRange(double[] values, int fromWord, int toWord, double low, double high, long[] flags) {
+    int count = 0;
+    for (int wordIndex = fromWord; wordIndex < toWord; wordIndex++) {
+      int base = wordIndex << 6;
+      long word = 0;
+      for (int lane = 0; lane < 64; lane += LANES) {
+        DoubleVector value = DoubleVector.fromArray(DOUBLES, values, base + lane);
+        word |= value.compare(VectorOperators.LT, low).or(value.compare(VectorOperators.GT, high)).toLong() << lane;
+      }
+      flags[wordIndex] |= word;
+      count += Long.bitCount(word);
+    }
+    return count;
+  }
+
+  /**
+   * 按各行检查项的参考范围判定若干完整的位图字。
+   * 参考范围按检查项ID从数组中收集；含越界ID的一组行逐行判定并跳过越界行
+   */
+  static void flagRows(int[] itemIds, double[] values, double[] lows, double[] highs, int fromWord, int toWord,
+      long[] flags) {
+    int limit = lows.length;
+    for (int wordIndex = fromWord; wordIndex < toWord; wordIndex++) {
+      int base = wordIndex << 6;
+      long word = 0;
+      for (int lane = 0; lane < 64; lane += LANES) {
+        int row = base + lane;
+        // 无符号比较同时排除负数ID
+        if (IntVector.fromArray(INTS, itemIds, row).compare(VectorOperators.UNSIGNED_GE, limit).anyTrue()) {
+          for (int offset = 0; offset < LANES; offset++) {
+            int itemId = itemIds[row + offset];
+            if (itemId >= 0 && itemId < limit) {
+              double value = values[row + offset];
+              word |= ((value < lows[itemId]) | (value > highs[itemId]) ? 1L : 0L) << (lane + offset);
+            }
+          }
+          continue;
+        }
+        DoubleVector value = DoubleVector.fromArray(DOUBLES, values, row);
+        DoubleVector low = DoubleVector.fromArray(DOUBLES, lows, 0, itemIds, row);
+        DoubleVector high = DoubleVector.fromArray(DOUBLES, highs, 0, itemIds, row);
+        word |= value.compare(VectorOperators.LT, low).or(value.compare(VectorOperators.GT, high)).toLong() << lane;
+      }
+      flags[wordIndex] |= word;
+    }
+  }
+}